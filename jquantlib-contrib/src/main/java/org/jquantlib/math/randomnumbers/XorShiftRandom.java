@@ -1,7 +1,11 @@
 package org.jquantlib.math.randomnumbers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
+import org.jquantlib.QL;
+
 /**
  * An unbelievably fast, high-quality pseudorandom number generator suggested by George Marsaglia
  * in <a href="http://www.jstatsoft.org/v08/i14/paper/">&ldquo;Xorshift RNGs&rdquo;</a>,
@@ -11,10 +15,31 @@ import java.util.Random;
  * This class extends {@link Random}, overriding (as usual) the {@link Random#next(int)} method. Nonetheless,
  * since the generator is inherently 64-bit also {@link Random#nextLong()} and {@link Random#nextDouble()}
  * have been overridden for speed (preserving, of course, {@link Random}'s semantics).
+ * <p>
+ * The generator is linear modulo 2 and has period 2<sup>64</sup>&minus;1, so that it can jump ahead and be split into
+ * non-overlapping substreams. A draw is a call to {@link #nextLong()}, {@link #nextDouble()} or any method based on
+ * {@link #next(int)}, or a single element filled by {@link #nextDoubles(double[])}.
+ *
+ * @see JumpAhead
  */
-public class XorShiftRandom extends Random {
+public class XorShiftRandom extends Random implements JumpableRandomNumberGenerator<XorShiftRandom> {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Base 2 logarithm of the distance, in draws, between consecutive substreams
+	 *
+	 * @see #substreams(int)
+	 */
+	public static final int SUBSTREAM_LOG2_LENGTH = 48;
+
+	/**
+	 * Maximum number of substreams. The period of the generator is one draw shorter than
+	 * 2<sup>16</sup> substreams, so that one more substream would overlap the first one.
+	 *
+	 * @see #substreams(int)
+	 */
+	public static final int MAX_SUBSTREAMS = ( 1 << ( 64 - SUBSTREAM_LOG2_LENGTH ) ) - 1;
+
 	/** The internal state (and last returned value) of the algorithm. */
 	private long x;
 
@@ -42,6 +67,53 @@ public class XorShiftRandom extends Random {
 	 public double nextDouble() {
 		return ( nextLong() >>> 11 ) / (double) ( 1L << 53 );
 	}
+
+	@Override
+	public void nextDoubles( final double[] out ) {
+		long y = x;
+		for( int i = 0; i < out.length; i++ ) {
+			y ^= y << 13;
+			y ^= y >>> 7;
+			y ^= y << 17;
+			out[ i ] = ( y >>> 11 ) / (double) ( 1L << 53 );
+		}
+		x = y;
+	}
+
+	@Override
+	public void jump( final int log2Steps ) {
+		final long[] p = Jumps.INSTANCE.polynomial( log2Steps );
+		final int degree = JumpAhead.degree( p );
+		long y = x;
+		long r = 0L;
+		for( int i = 0; i <= degree; i++ ) {
+			if ( JumpAhead.coefficient( p, i ) ) r ^= y;
+			y ^= y << 13;
+			y ^= y >>> 7;
+			y ^= y << 17;
+		}
+		x = r;
+	}
+
+	@Override
+	public List<XorShiftRandom> substreams( final int count ) {
+		QL.require( count > 0, "number of substreams must be positive" ); // TODO: message
+		QL.require( count <= MAX_SUBSTREAMS, "too many substreams" ); // TODO: message
+		final List<XorShiftRandom> result = new ArrayList<XorShiftRandom>( count );
+		XorShiftRandom stream = new XorShiftRandom( x );
+		result.add( stream );
+		for( int i = 1; i < count; i++ ) {
+			stream = new XorShiftRandom( stream.x );
+			stream.jump( SUBSTREAM_LOG2_LENGTH );
+			result.add( stream );
+		}
+		return result;
+	}
+
+	@Override
+	public int substreamLog2Length() {
+		return SUBSTREAM_LOG2_LENGTH;
+	}
 	
 	public static void main( String arg[] ) {
 		final int n = Integer.parseInt( arg[ 0 ] );
@@ -52,4 +124,20 @@ public class XorShiftRandom extends Random {
 		System.err.println( 1000000.0 * ( time + System.currentTimeMillis() ) / n + " ns/gen" );
 		System.err.println( x ); // To avoid excision.
 	}
+
+	/**
+	 * Holds the jump-ahead facility, which is built the first time a generator jumps.
+	 */
+	private static class Jumps {
+		private static final JumpAhead INSTANCE;
+		static {
+			// the most significant bits of successive outputs follow the characteristic polynomial of the generator
+			final XorShiftRandom rng = new XorShiftRandom( 88172645463325252L );
+			final long[] bits = new long[ 2 ];
+			for( int i = 0; i < 128; i++ ) {
+				if ( rng.nextLong() < 0 ) bits[ i >>> 6 ] |= 1L << i;
+			}
+			INSTANCE = JumpAhead.fromSequence( bits, 128 );
+		}
+	}
 }
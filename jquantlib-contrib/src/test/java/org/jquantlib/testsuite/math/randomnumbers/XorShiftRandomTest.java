@@ -0,0 +1,125 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.math.randomnumbers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.jquantlib.QL;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.math.randomnumbers.XorShiftRandom;
+import org.junit.Test;
+
+/**
+ * Unit tests for XorShiftRandom
+ *
+ * @author agent
+ */
+public class XorShiftRandomTest {
+
+    public XorShiftRandomTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+    }
+
+    @Test
+    public void testJump() {
+        QL.info("Testing jumps of xorshift generators...");
+
+        // jumps must match draws one by one
+        for (int k = 0; k <= 16; k += 2) {
+            final XorShiftRandom jumped = new XorShiftRandom(42L);
+            final XorShiftRandom drawn = new XorShiftRandom(42L);
+            jumped.jump(k);
+            for (int i = 0; i < (1 << k); i++) {
+                drawn.nextLong();
+            }
+            for (int i = 0; i < 100; i++) {
+                if (jumped.nextLong() != drawn.nextLong())
+                    fail("jump by 2^" + k + " differs from sequential draws at draw #" + i);
+            }
+        }
+
+        // the period is 2^64-1, so that a jump by 2^64 draws amounts to a single draw
+        final XorShiftRandom jumped = new XorShiftRandom(5L);
+        final XorShiftRandom drawn = new XorShiftRandom(5L);
+        jumped.jump(64);
+        drawn.nextLong();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(drawn.nextLong(), jumped.nextLong());
+        }
+    }
+
+    @Test
+    public void testSubstreams() {
+        QL.info("Testing substreams of xorshift generators...");
+
+        final XorShiftRandom rng = new XorShiftRandom(12345L);
+        rng.nextLong();
+        final List<XorShiftRandom> streams = rng.substreams(3);
+        assertEquals(3, streams.size());
+
+        // each stream starts 2^48 draws after the previous one
+        for (int n = 0; n < streams.size(); n++) {
+            final XorShiftRandom expected = new XorShiftRandom(12345L);
+            expected.nextLong();
+            for (int i = 0; i < n; i++) {
+                expected.jump(XorShiftRandom.SUBSTREAM_LOG2_LENGTH);
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(expected.nextLong(), streams.get(n).nextLong());
+            }
+        }
+
+        // this generator is left untouched
+        final XorShiftRandom expected = new XorShiftRandom(12345L);
+        expected.nextLong();
+        assertEquals(expected.nextLong(), rng.nextLong());
+
+        // substreams must fit in the period
+        assertEquals(XorShiftRandom.MAX_SUBSTREAMS, rng.substreams(XorShiftRandom.MAX_SUBSTREAMS).size());
+        try {
+            rng.substreams(XorShiftRandom.MAX_SUBSTREAMS + 1);
+            fail("overlapping substreams must not be created");
+        } catch (final LibraryException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testNextDoubles() {
+        QL.info("Testing bulk draws of xorshift generators...");
+
+        final XorShiftRandom bulk = new XorShiftRandom(4442733263L);
+        final XorShiftRandom single = new XorShiftRandom(4442733263L);
+        final double[] out = new double[1000];
+        bulk.nextDoubles(out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(single.nextDouble(), out[i], 0.0);
+        }
+        assertEquals(single.nextLong(), bulk.nextLong());
+    }
+
+}
@@ -68,14 +68,38 @@ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 package org.jquantlib.experimental.math.randomnumbers;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jquantlib.QL;
 import org.jquantlib.experimental.math.randomnumbers.UniformRng;
+import org.jquantlib.math.randomnumbers.JumpAhead;
+import org.jquantlib.math.randomnumbers.JumpableRandomNumberGenerator;
 import org.jquantlib.math.randomnumbers.SeedGenerator;
 
 
 /**
+ * SIMD-oriented Fast Mersenne Twister
+ * <p>
+ * The generator is linear modulo 2, so that it can jump ahead and be split into non-overlapping substreams. A draw is a
+ * call to {@link #next()} or a single element filled by {@link #nextDoubles(double[])}.
+ *
+ * @see JumpAhead
+ *
  * @author Aaron Roth
  */
-public class SFMTUniformRng extends UniformRng<Integer> {
+public class SFMTUniformRng extends UniformRng<Integer> implements JumpableRandomNumberGenerator<SFMTUniformRng> {
+
+    /**
+     * Base 2 logarithm of the distance, in draws, between consecutive substreams
+     * <p>
+     * The period of the generator leaves room for 2<sup>19873</sup> substreams, so that any positive number of
+     * substreams can be requested.
+     *
+     * @see #substreams(int)
+     */
+    public static final int SUBSTREAM_LOG2_LENGTH = 64;
+
     /**
      * Mersenne Exponent. The period of the sequence is a multiple of
      * 2<sup><code>MEXP</code></sup> &minus; 1. If you adapt this code to
@@ -179,6 +203,14 @@ public class SFMTUniformRng extends UniformRng<Integer> {
         seed(seed);
     }
 
+    /**
+     * Creates a copy of a generator, which produces the same sequence from now on.
+     */
+    private SFMTUniformRng(final SFMTUniformRng other) {
+        System.arraycopy(other.sfmt, 0, sfmt, 0, N32);
+        idx = other.idx;
+    }
+
     /**
      * Applies the recursion formula, the heart of the block-generation of
      * the pseudorandom numbers.
@@ -306,6 +338,89 @@ public class SFMTUniformRng extends UniformRng<Integer> {
         
         return sfmt[idx++];
     }
+
+    /**
+     * Fills a buffer with uniform deviates in the open interval (0,1), each one of them obtained from a single draw.
+     *
+     * @param out is the buffer to be filled
+     */
+    @Override
+    public void nextDoubles(final double[] out) {
+        int i = 0;
+        while (i < out.length) {
+            if (idx >= N32) {
+                genRandAll();
+                idx = 0;
+            }
+            final int end = Math.min(out.length, i + N32 - idx);
+            while (i < end) {
+                out[i++] = ((sfmt[idx++] & 0xffffffffL) + 0.5) / 4294967296.0;
+            }
+        }
+    }
+
+    @Override
+    public void jump(final int log2Steps) {
+        QL.require(log2Steps >= 0, "number of steps must be a non-negative power of 2"); // TODO: message
+        if (log2Steps < 2) {
+            // less than a 128-bit word
+            for (int i = 1 << log2Steps; i > 0; i--) {
+                next();
+            }
+            return;
+        }
+
+        // The recursion produces 128-bit words, each one of them giving four draws. The state array holds the window of the
+        // recursion which starts at the current block: summing the windows obtained by stepping it forward gives the window
+        // 2^log2Steps draws ahead, which is taken from the same position.
+        final long[] p = Jumps.INSTANCE.polynomial(log2Steps - 2);
+        final int degree = JumpAhead.degree(p);
+        final int[] w = sfmt.clone();
+        final int[] r = new int[N32];
+        int pos = 0;
+        for (int i = 0; i <= degree; i++) {
+            if (JumpAhead.coefficient(p, i)) {
+                for (int j = pos; j < N32; j++) {
+                    r[j-pos] ^= w[j];
+                }
+                for (int j = 0; j < pos; j++) {
+                    r[N32-pos+j] ^= w[j];
+                }
+            }
+            step(w, pos);
+            pos = pos == N32-4 ? 0 : pos+4;
+        }
+        System.arraycopy(r, 0, sfmt, 0, N32);
+    }
+
+    @Override
+    public List<SFMTUniformRng> substreams(final int count) {
+        QL.require(count > 0, "number of substreams must be positive"); // TODO: message
+        final List<SFMTUniformRng> result = new ArrayList<SFMTUniformRng>(count);
+        SFMTUniformRng stream = new SFMTUniformRng(this);
+        result.add(stream);
+        for (int i = 1; i < count; i++) {
+            stream = new SFMTUniformRng(stream);
+            stream.jump(SUBSTREAM_LOG2_LENGTH);
+            result.add(stream);
+        }
+        return result;
+    }
+
+    @Override
+    public int substreamLog2Length() {
+        return SUBSTREAM_LOG2_LENGTH;
+    }
+
+    /**
+     * Replaces the oldest 128-bit word of a circular window of the recursion by the next one.
+     *
+     * @param w         window, as an array of 32-bit integers.
+     * @param pos       index in <code>w</code> of the oldest word.
+     */
+    private void step(final int[] w, final int pos) {
+        doRecursion(w, pos, w, pos, w, (pos + 4 * POS1) % N32, w, (pos + 4 * (N - 2)) % N32, w, (pos + 4 * (N - 1)) % N32);
+    }
     
     /**
      * Initializes the internal state array with a 32-bit seed.
@@ -399,4 +514,27 @@ public class SFMTUniformRng extends UniformRng<Integer> {
         periodCertification();
         idx = N32;
     }
+
+    /**
+     * Holds the jump-ahead facility, which is built the first time a generator jumps.
+     */
+    private static class Jumps {
+        private static final JumpAhead INSTANCE;
+        static {
+            // The least significant bits of successive 128-bit words follow a linear recurrence whose minimal polynomial is
+            // the characteristic polynomial of the recursion, of degree 128*N, so that jumps are valid for any state.
+            final int length = 2 * 128 * N;
+            final long[] bits = new long[(length + 63) / 64];
+            final SFMTUniformRng rng = new SFMTUniformRng(1);
+            for (int i = 0; i < length; i++) {
+                if ((rng.next() & 1) != 0) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+                rng.next();
+                rng.next();
+                rng.next();
+            }
+            INSTANCE = JumpAhead.fromSequence(bits, length);
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.math.randomnumbers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.jquantlib.QL;
+import org.jquantlib.experimental.math.randomnumbers.SFMTUniformRng;
+import org.junit.Test;
+
+/**
+ * Unit tests for SFMTUniformRng
+ *
+ * @author agent
+ */
+public class SFMTUniformRngTest {
+
+    public SFMTUniformRngTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+    }
+
+    @Test
+    public void testJump() {
+        QL.info("Testing jumps of SFMT generators...");
+
+        // jumps must match draws one by one, whatever the position within the current block and the current 128-bit word
+        final int[] offsets = { 0, 1, 3, 623, 624, 625 };
+        for (int k = 0; k <= 16; k += 4) {
+            for (final int offset : offsets) {
+                final SFMTUniformRng jumped = new SFMTUniformRng(42);
+                final SFMTUniformRng drawn = new SFMTUniformRng(42);
+                for (int i = 0; i < offset; i++) {
+                    jumped.next();
+                    drawn.next();
+                }
+                jumped.jump(k);
+                for (int i = 0; i < (1 << k); i++) {
+                    drawn.next();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (jumped.next().intValue() != drawn.next().intValue())
+                        fail("jump by 2^" + k + " after " + offset + " draws differs from sequential draws at draw #" + i);
+                }
+            }
+        }
+
+        // jumps compose
+        final SFMTUniformRng twice = new SFMTUniformRng(7);
+        final SFMTUniformRng once = new SFMTUniformRng(7);
+        twice.jump(40);
+        twice.jump(40);
+        once.jump(41);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(once.next(), twice.next());
+        }
+    }
+
+    @Test
+    public void testSubstreams() {
+        QL.info("Testing substreams of SFMT generators...");
+
+        final SFMTUniformRng rng = new SFMTUniformRng(12345);
+        rng.next();
+        final List<SFMTUniformRng> streams = rng.substreams(3);
+        assertEquals(3, streams.size());
+
+        // each stream starts 2^64 draws after the previous one
+        for (int n = 0; n < streams.size(); n++) {
+            final SFMTUniformRng expected = new SFMTUniformRng(12345);
+            expected.next();
+            for (int i = 0; i < n; i++) {
+                expected.jump(SFMTUniformRng.SUBSTREAM_LOG2_LENGTH);
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(expected.next(), streams.get(n).next());
+            }
+        }
+
+        // this generator is left untouched
+        final SFMTUniformRng expected = new SFMTUniformRng(12345);
+        expected.next();
+        assertEquals(expected.next(), rng.next());
+    }
+
+    @Test
+    public void testNextDoubles() {
+        QL.info("Testing bulk draws of SFMT generators...");
+
+        final SFMTUniformRng bulk = new SFMTUniformRng(44427);
+        final SFMTUniformRng single = new SFMTUniformRng(44427);
+        bulk.next();
+        single.next();
+        final double[] out = new double[2000];
+        bulk.nextDoubles(out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(((single.next() & 0xffffffffL) + 0.5) / 4294967296.0, out[i], 0.0);
+        }
+        assertEquals(single.next(), bulk.next());
+    }
+
+}
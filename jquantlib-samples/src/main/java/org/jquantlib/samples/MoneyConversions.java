@@ -0,0 +1,122 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.samples;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jquantlib.QL;
+import org.jquantlib.currencies.Currency;
+import org.jquantlib.currencies.ExchangeRate;
+import org.jquantlib.currencies.ExchangeRateManager;
+import org.jquantlib.currencies.Money;
+import org.jquantlib.currencies.America.USDCurrency;
+import org.jquantlib.currencies.Asia.JPYCurrency;
+import org.jquantlib.currencies.Europe.CHFCurrency;
+import org.jquantlib.currencies.Europe.DEMCurrency;
+import org.jquantlib.currencies.Europe.EURCurrency;
+import org.jquantlib.currencies.Europe.GBPCurrency;
+import org.jquantlib.samples.util.StopClock;
+
+/**
+ * Benchmarks conversions of Money amounts across currencies, from many threads at once.
+ * <p>
+ * Conversions look up rates in the {@link ExchangeRateManager}, most of them derived from chains of rates.
+ *
+ * @author agent
+ */
+public class MoneyConversions implements Runnable {
+
+    private static final int CONVERSIONS = 2000000;
+
+    public static void main(final String[] args) {
+        new MoneyConversions().run();
+    }
+
+    @Override
+    public void run() {
+        QL.validateExperimentalMode();
+
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+
+        final Currency[] currencies = {
+                new EURCurrency(), new USDCurrency(), new GBPCurrency(),
+                new CHFCurrency(), new JPYCurrency(), new DEMCurrency() };
+
+        final ExchangeRateManager manager = ExchangeRateManager.getInstance();
+        manager.clear();
+        manager.add(new ExchangeRate(currencies[0], currencies[1], 1.2042));
+        manager.add(new ExchangeRate(currencies[0], currencies[2], 0.6612));
+        manager.add(new ExchangeRate(currencies[1], currencies[3], 1.0400));
+        manager.add(new ExchangeRate(currencies[1], currencies[4], 90.130));
+
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final int perThread = CONVERSIONS / threads;
+        System.out.println("Converting " + perThread*threads + " amounts on " + threads + " threads");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final StopClock clock = new StopClock();
+            clock.startClock();
+
+            final List<Future<Double>> futures = new ArrayList<Future<Double>>(threads);
+            for (int t = 0; t < threads; t++) {
+                final int seed = t;
+                futures.add(executor.submit(new Callable<Double>() {
+                    @Override
+                    public Double call() {
+                        double total = 0.0;
+                        for (int i = 0; i < perThread; i++) {
+                            final Currency source = currencies[(i + seed) % currencies.length];
+                            final Currency target = currencies[(i / currencies.length + seed) % currencies.length];
+                            final Money money = new Money(100.0 + i % 100, source);
+                            money.convertTo(target);
+                            total += money.value();
+                        }
+                        return total;
+                    }
+                }));
+            }
+
+            double total = 0.0;
+            for (final Future<Double> future : futures) {
+                total += future.get();
+            }
+
+            clock.stopClock();
+            System.out.println("Checksum: " + total);
+            System.out.println("Conversions per second: " + (long) (1000.0*perThread*threads/Math.max(1, clock.getElapsedTime())));
+            clock.log();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
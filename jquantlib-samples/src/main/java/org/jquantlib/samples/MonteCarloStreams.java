@@ -0,0 +1,153 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+package org.jquantlib.samples;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jquantlib.QL;
+import org.jquantlib.Settings;
+import org.jquantlib.daycounters.Actual365Fixed;
+import org.jquantlib.daycounters.DayCounter;
+import org.jquantlib.exercise.EuropeanExercise;
+import org.jquantlib.exercise.Exercise;
+import org.jquantlib.instruments.EuropeanOption;
+import org.jquantlib.instruments.Option;
+import org.jquantlib.instruments.Payoff;
+import org.jquantlib.instruments.PlainVanillaPayoff;
+import org.jquantlib.instruments.VanillaOption;
+import org.jquantlib.math.randomnumbers.MersenneTwisterUniformRng;
+import org.jquantlib.math.randomnumbers.PseudoRandom;
+import org.jquantlib.math.statistics.Statistics;
+import org.jquantlib.pricingengines.PricingEngine;
+import org.jquantlib.pricingengines.vanilla.MakeMCEuropeanEngine;
+import org.jquantlib.processes.BlackScholesMertonProcess;
+import org.jquantlib.quotes.Handle;
+import org.jquantlib.quotes.Quote;
+import org.jquantlib.quotes.SimpleQuote;
+import org.jquantlib.samples.util.StopClock;
+import org.jquantlib.termstructures.BlackVolTermStructure;
+import org.jquantlib.termstructures.YieldTermStructure;
+import org.jquantlib.termstructures.volatilities.BlackConstantVol;
+import org.jquantlib.termstructures.yieldcurves.FlatForward;
+import org.jquantlib.time.Calendar;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.Month;
+import org.jquantlib.time.calendars.Target;
+
+/**
+ * Times a Monte Carlo European option priced over an increasing number of parallel streams of paths.
+ * <p>
+ * Every run draws the same number of paths. Each number of streams is timed twice, once evaluating
+ * the streams one after another and once evaluating them on a pool of as many threads, so that the
+ * speedup reported is due to the parallel evaluation alone. Both runs yield the very same value.
+ *
+ * @author agent
+ */
+public class MonteCarloStreams implements Runnable {
+
+    private static final int SAMPLES = 500000;
+    private static final int STEPS = 10;
+    private static final long SEED = 42;
+    private static final int[] STREAMS = { 1, 2, 4, 8 };
+    private static final int RUNS = 5;
+
+    public static void main(final String[] args) {
+        new MonteCarloStreams().run();
+    }
+
+    @Override
+    public void run() {
+
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+
+        final Calendar calendar = new Target();
+        final Date todaysDate = new Date(15, Month.May, 1998);
+        final Date maturity = new Date(17, Month.May, 1999);
+        new Settings().setEvaluationDate(todaysDate);
+        final DayCounter dayCounter = new Actual365Fixed();
+
+        final Handle<Quote> underlyingH = new Handle<Quote>(new SimpleQuote(36.0));
+        final Handle<YieldTermStructure> flatDividendTS = new Handle<YieldTermStructure>(new FlatForward(todaysDate, 0.00, dayCounter));
+        final Handle<YieldTermStructure> flatTermStructure = new Handle<YieldTermStructure>(new FlatForward(todaysDate, 0.06, dayCounter));
+        final Handle<BlackVolTermStructure> flatVolTS = new Handle<BlackVolTermStructure>(new BlackConstantVol(todaysDate, calendar, 0.20, dayCounter));
+        final BlackScholesMertonProcess bsmProcess = new BlackScholesMertonProcess(underlyingH, flatDividendTS, flatTermStructure, flatVolTS);
+
+        final Payoff payoff = new PlainVanillaPayoff(Option.Type.Put, 40.0);
+        final Exercise exercise = new EuropeanExercise(maturity);
+
+        System.out.println("Pricing with " + SAMPLES + " paths of " + STEPS + " steps on "
+                + Runtime.getRuntime().availableProcessors() + " available processors");
+
+        // warm up the virtual machine before taking any measure
+        for (final int streams : STREAMS) {
+            time(bsmProcess, payoff, exercise, streams, null);
+        }
+
+        final String fmt = "%7s %13s %13s %13s %8s\n";
+        System.out.printf(fmt, "streams", "NPV", "sequential ms", "parallel ms", "speedup");
+        for (final int streams : STREAMS) {
+            final ExecutorService executor = Executors.newFixedThreadPool(streams);
+            try {
+                final double[] sequential = time(bsmProcess, payoff, exercise, streams, null);
+                final double[] parallel = time(bsmProcess, payoff, exercise, streams, executor);
+                QL.ensure(sequential[0] == parallel[0], "parallel streams do not reproduce sequential streams"); // TODO: message
+                System.out.printf(fmt,
+                        streams,
+                        String.format("%.9f", parallel[0]),
+                        String.format("%.0f", sequential[1]),
+                        String.format("%.0f", parallel[1]),
+                        String.format("%.2f", sequential[1]/parallel[1]));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @return the NPV and the best time taken to calculate it over a few runs, in milliseconds
+     */
+    private double[] time(
+            final BlackScholesMertonProcess process,
+            final Payoff payoff,
+            final Exercise exercise,
+            final int streams,
+            final ExecutorService executor) {
+        final PricingEngine engine = new MakeMCEuropeanEngine<MersenneTwisterUniformRng, Statistics>(process, new PseudoRandom(), Statistics.class)
+            .withSteps(STEPS).withSamples(SAMPLES).withSeed(SEED).withStreams(streams).withExecutor(executor).value();
+        double npv = 0.0;
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            final VanillaOption option = new EuropeanOption(payoff, exercise);
+            option.setPricingEngine(engine);
+
+            final StopClock clock = new StopClock(StopClock.Unit.ns);
+            clock.startClock();
+            npv = option.NPV();
+            clock.stopClock();
+            best = Math.min(best, clock.getElapsedTime());
+        }
+        return new double[] { npv, best / 1.0e6 };
+    }
+
+}
@@ -36,6 +36,9 @@ import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
 import org.jquantlib.math.randomnumbers.RandomSequenceGenerator;
 import org.jquantlib.math.statistics.Statistics;
 import org.jquantlib.methods.montecarlo.MonteCarloModel;
+import org.jquantlib.methods.montecarlo.Path;
+import org.jquantlib.methods.montecarlo.PathGenerator;
+import org.jquantlib.methods.montecarlo.PathPricer;
 import org.jquantlib.methods.montecarlo.SingleVariate;
 import org.jquantlib.pricingengines.BlackCalculator;
 import org.jquantlib.processes.BlackScholesMertonProcess;
@@ -112,11 +115,21 @@ public class ReplicationError {
         // at each step the log of the stock
         // will have drift and sigma^2 variance
         final InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal> rsg = 
-        	new PseudoRandom(RandomSequenceGenerator.class, InverseCumulativeNormal.class).makeSequenceGenerator(nTimeSteps, 0L);
+        	new PseudoRandom().makeSequenceGenerator(nTimeSteps, 0L);
 
         final boolean brownianBridge = false;
 
-        final MonteCarloModel<SingleVariate, RandomNumberGenerator, Statistics> MCSimulation = new MonteCarloModel<SingleVariate, RandomNumberGenerator, Statistics>();
+        final PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>> myPathGenerator =
+            new PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>>(
+                    diffusion, maturity_.doubleValue(), nTimeSteps, rsg, brownianBridge);
+
+        // the path pricer knows how to price a path using a price process
+        final PathPricer<Path> myPathPricer = new ReplicationPathPricer(
+                payoff_.optionType(), payoff_.strike(), r_.doubleValue(), maturity_.doubleValue(), sigma_.doubleValue());
+
+        final MonteCarloModel<SingleVariate, RandomNumberGenerator, Statistics> MCSimulation =
+            new MonteCarloModel<SingleVariate, RandomNumberGenerator, Statistics>(
+                    myPathGenerator, myPathPricer, new Statistics(), false);
 
         // the model simulates nSamples paths
         MCSimulation.addSamples(nSamples);
@@ -23,6 +23,9 @@
 
 package org.jquantlib.cashflow;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jquantlib.QL;
 import org.jquantlib.Settings;
 import org.jquantlib.daycounters.DayCounter;
@@ -163,12 +166,31 @@ public class CashFlows {
             date = discountCurve.currentLink().referenceDate();
         }
 
-        double totalNPV = 0.0;
+        // discount all remaining cash flows at once
+        final Date limit = date.add(exDividendDays);
+        int n = 0;
         for (int i = 0; i < cashflows.size(); ++i) {
-            if (!cashflows.get(i).hasOccurred(date.add(exDividendDays))) {
-                totalNPV += cashflows.get(i).amount() * discountCurve.currentLink().discount(cashflows.get(i).date());
+            if (!cashflows.get(i).hasOccurred(limit)) {
+                n++;
+            }
+        }
+        final Date[] dates = new Date[n];
+        final double[] amounts = new double[n];
+        n = 0;
+        for (int i = 0; i < cashflows.size(); ++i) {
+            if (!cashflows.get(i).hasOccurred(limit)) {
+                dates[n] = cashflows.get(i).date();
+                amounts[n] = cashflows.get(i).amount();
+                n++;
             }
         }
+        final double[] discounts = new double[n];
+        discountCurve.currentLink().discount(dates, discounts);
+
+        double totalNPV = 0.0;
+        for (int i = 0; i < n; ++i) {
+            totalNPV += amounts[i] * discounts[i];
+        }
 
         if (npvDate.isNull())
             return totalNPV;
@@ -758,15 +780,25 @@ public class CashFlows {
         private final Handle<YieldTermStructure> termStructure;
         private final Date npvDate;
 
-        private double result;
+        // coupons are discounted all at once by result()
+        private final List<Date> dates;
+        private final List<Double> weights;
 
         public BPSCalculator(final Handle<YieldTermStructure> termStructure, final Date npvDate) {
             this.termStructure = termStructure;
             this.npvDate = npvDate;
-            this.result = 0.0;
+            this.dates = new ArrayList<Date>();
+            this.weights = new ArrayList<Double>();
         }
 
         public double result() {
+            final double[] discounts = new double[dates.size()];
+            termStructure.currentLink().discount(dates.toArray(new Date[dates.size()]), discounts);
+            double result = 0.0;
+            for (int i = 0; i < discounts.length; ++i) {
+                result += weights.get(i) * discounts[i];
+            }
+
             if (npvDate.isNull())
                 return result;
             else
@@ -788,7 +820,8 @@ public class CashFlows {
             @Override
             public void visit(final CashFlow o) {
                 final Coupon c = (Coupon) o;
-                result += c.accrualPeriod() * c.nominal() * termStructure.currentLink().discount(c.date());
+                weights.add(c.accrualPeriod() * c.nominal());
+                dates.add(c.date());
             }
         }
 
@@ -45,6 +45,7 @@ import org.jquantlib.Settings;
 import org.jquantlib.daycounters.DayCounter;
 import org.jquantlib.indexes.IborIndex;
 import org.jquantlib.indexes.IndexManager;
+import org.jquantlib.math.Constants;
 import org.jquantlib.quotes.Handle;
 import org.jquantlib.termstructures.YieldTermStructure;
 import org.jquantlib.time.Date;
@@ -160,13 +161,13 @@ public class IborCoupon extends FloatingRateCoupon {
             final IndexManager indexManager = IndexManager.getInstance();
             if (fixing_date.lt(today)) {
                 final double pastFixing = indexManager.getHistory(index_.name()).get(fixing_date);
-                QL.require(!Double.isNaN(pastFixing), "Missing fixing"); // TODO: message
+                QL.require(pastFixing != Constants.NULL_REAL, "Missing fixing"); // TODO: message
                 return pastFixing;
             }
             if (fixing_date.equals(today)) {
                 try {
                     final double pastFixing = indexManager.getHistory(index_.name()).get(fixing_date);
-                    if (! Double.isNaN (pastFixing))
+                    if (pastFixing != Constants.NULL_REAL)
                         return pastFixing;
                 } catch (final Exception e) {
                     ; // fall through and forecast
@@ -62,6 +62,7 @@ public class ExchangeRate {
         target_ = toCopy.target_;
         rate_ = toCopy.rate_;
         type_ = toCopy.type_;
+        rateChain_ = toCopy.rateChain_;
     }
 
     /**
@@ -114,9 +115,9 @@ public class ExchangeRate {
                 throw new LibraryException("exchange rate not applicable"); // TODO: message
             }
         case Derived:
-            if (amount.currency() == rateChain_.first().source() || amount.currency() == rateChain_.first().target()) {
+            if (amount.currency().eq(rateChain_.first().source()) || amount.currency().eq(rateChain_.first().target())) {
                 return rateChain_.second().exchange(rateChain_.first().exchange(amount));
-            } else if (amount.currency() == rateChain_.second().source() || amount.currency() == rateChain_.second().target()) {
+            } else if (amount.currency().eq(rateChain_.second().source()) || amount.currency().eq(rateChain_.second().target())) {
                 return rateChain_.first().exchange(rateChain_.second().exchange(amount));
             } else {
                 throw new LibraryException("exchange rate not applicable"); // TODO: message
@@ -40,8 +40,10 @@
 package org.jquantlib.currencies;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jquantlib.QL;
 import org.jquantlib.Settings;
@@ -66,19 +68,35 @@ import org.jquantlib.currencies.Europe.RONCurrency;
 import org.jquantlib.currencies.Europe.TRLCurrency;
 import org.jquantlib.currencies.Europe.TRYCurrency;
 import org.jquantlib.lang.exceptions.LibraryException;
-import org.jquantlib.lang.iterators.Iterables;
 import org.jquantlib.time.Date;
 import org.jquantlib.time.Month;
 
 /**
  * Exchange rate Repository.
+ * <p>
+ * Exchange rates are indexed by pair of currencies. The rates of a pair are kept as date-sorted, non overlapping validity
+ * intervals, so that a direct rate is found by binary search. Derived rates are memoized in a bounded cache, which is
+ * discarded whenever rates are added.
+ * <p>
+ * This class is thread safe. Lookups do not take any lock: rates of a pair are immutable and replaced as a whole when a
+ * rate is added.
  */
 public class ExchangeRateManager {
 
+    private static final String NO_DIRECT_CONVERSION = "no direct conversion available";
+    private static final String NO_CONVERSION = "no conversion available";
+
+    /** Maximum number of derived rates kept in cache. */
+    private static final int CACHE_SIZE = 4096;
+
     /** Singleton instance of the ExchangeRateManager. */
     private static volatile ExchangeRateManager instance = null;
-    /** The HashMape containing all ExchangeRates. */
-    private final HashMap<Object, List<Entry>> data_ = new HashMap<Object, List<Entry>>();
+
+    /** Rates of each pair of currencies, indexed by {@link #hash(Currency, Currency)}. */
+    private final ConcurrentMap<Integer, Rates> data_ = new ConcurrentHashMap<Integer, Rates>();
+
+    /** Cache of derived rates, replaced as a whole when rates are added. */
+    private volatile ConcurrentMap<Long, ExchangeRate> cache_ = new ConcurrentHashMap<Long, ExchangeRate>();
 
     /**
      * Returns a singleton of the ExchangeRateManager.
@@ -97,51 +115,6 @@ public class ExchangeRateManager {
         return instance;
     }
 
-    // FIXME: check whether this should be derived from some kind of (generic function)
-    /**
-     * Helper class to decide whether or a date is in the range of a specific entry.
-     */
-    public static class Valid_at /* implements Ops.DoublePredicate */{
-        Date d;
-
-        public Valid_at(final Date d) {
-            this.d = d;
-        }
-
-        public boolean operator(final Entry e) {
-            return d.ge(e.startDate) && d.le(e.endDate);
-        }
-        // @Override
-        // public boolean op(double a) {
-        // // TODO Auto-generated method stub
-        // return false;
-        // }
-
-    }
-
-    /**
-     * Entity to be stored in the repository.
-     */
-    public static class Entry {
-        /** The ExchangeRate of this Entry. */
-        public ExchangeRate rate;
-        /** Start and end date for this currency (note: they can be present multiple times in the repository) */
-        public Date startDate, endDate;
-
-        /**
-         * Constructs a new Entry
-         *
-         * @param rate The ExchangeRate
-         * @param start The start date of the period this ExchangeRate should be used (ie. when it should be used)
-         * @param end The end date of the period this ExchangeRate should be used (ie. when it should be used)
-         */
-        public Entry(final ExchangeRate rate, final Date start, final Date end) {
-            this.rate = (rate);
-            this.startDate = (start);
-            this.endDate = (end);
-        };
-    }
-
     /**
      * Constructs a new ExchangeRateManager and initialises the most used rates. Note: private; should only be accessed by
      * getInstance().
@@ -163,11 +136,25 @@ public class ExchangeRateManager {
      * @param endDate The end date of the period for which the above Exchange rate should be valid.
      */
     public void add(final ExchangeRate rate, final Date startDate, final Date endDate) {
-        /* @Key */final int k = hash(rate.source(), rate.target());
-        if (data_.get(k) == null) {
-            data_.put(k, new ArrayList<Entry>());
+        QL.require(startDate.le(endDate), "start date later than end date"); // TODO: message
+        /* @Key */final Integer k = hash(rate.source(), rate.target());
+        final int start = (int) startDate.serialNumber();
+        final int end = (int) endDate.serialNumber();
+
+        // lock-free update: retry when another thread has replaced the rates of the same pair in the meantime
+        while (true) {
+            final Rates rates = data_.get(k);
+            if (rates == null) {
+                if (data_.putIfAbsent(k, new Rates(rate, start, end)) == null) {
+                    break;
+                }
+            } else if (data_.replace(k, rates, rates.overlay(rate, start, end))) {
+                break;
+            }
         }
-        data_.get(k).add(0, new Entry(rate, startDate, endDate));
+
+        // cached rates may have been derived from rates which are no longer valid
+        cache_ = new ConcurrentHashMap<Long, ExchangeRate>();
     }
 
     /**
@@ -217,20 +204,19 @@ public class ExchangeRateManager {
 
         if (type == ExchangeRate.Type.Direct)
             return directLookup(source, target, date);
-        else if (!source.triangulationCurrency().empty()) {
-            final Currency link = source.triangulationCurrency();
-            if (link.eq(target))
-                return directLookup(source, link, date);
-            else
-                return ExchangeRate.chain(directLookup(source, link, date), lookup(link, target, date));
-        } else if (!target.triangulationCurrency().empty()) {
-            final Currency link = target.triangulationCurrency();
-            if (source.eq(link))
-                return directLookup(link, target, date);
-            else
-                return ExchangeRate.chain(lookup(source, link, date), directLookup(link, target, date));
-        } else
-            return smartLookup(source, target, date);
+
+        // the cache is read once, so that rates derived before it is discarded are never stored in the new one
+        final ConcurrentMap<Long, ExchangeRate> cache = cache_;
+        final Long key = Long.valueOf(((long) source.numericCode() * 1000 + target.numericCode()) << 32 | date.serialNumber());
+        ExchangeRate rate = cache.get(key);
+        if (rate == null) {
+            rate = derivedLookup(source, target, date);
+            if (cache.size() >= CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(key, rate);
+        }
+        return rate;
     }
 
     /**
@@ -253,7 +239,7 @@ public class ExchangeRateManager {
     }
 
     /**
-     * ???????????????????????????????????????????????
+     * Tells whether a hash obtained from {@link #hash(Currency, Currency)} involves a given currency
      *
      * @param k
      * @param c
@@ -263,6 +249,19 @@ public class ExchangeRateManager {
         return c.numericCode() == k % 1000 || c.numericCode() == k / 1000;
     }
 
+    /**
+     * Fetches an ExchangeRate from the repository.
+     *
+     * @param source The source currency of the exchange rate.
+     * @param target The target currency of the exchange rate.
+     * @param date The date when the exchange rate should be valid.
+     * @return The found ExchangeRate, or <code>null</code> if none is valid at the given date.
+     */
+    public ExchangeRate fetch(final Currency source, final Currency target, final Date date) {
+        final Rates rates = data_.get(hash(source, target));
+        return rates == null ? null : rates.at(date.serialNumber());
+    }
+
     /**
      * Adds obsoleted currencies to the repository.
      */
@@ -365,11 +364,31 @@ public class ExchangeRateManager {
             throw new UnsupportedOperationException("Work in progress");
 
         ExchangeRate rate = null;
-        QL.require(((rate = fetch(source, target, date)) != null) , "no direct conversion available");  // TODO: message
+        QL.require(((rate = fetch(source, target, date)) != null) , NO_DIRECT_CONVERSION);  // TODO: message
 
         return rate;
     }
 
+    /**
+     * Looks up a rate which may be derived by means of triangulation currencies or chains of rates
+     */
+    private ExchangeRate derivedLookup(final Currency source, final Currency target, final Date date) {
+        if (!source.triangulationCurrency().empty()) {
+            final Currency link = source.triangulationCurrency();
+            if (link.eq(target))
+                return directLookup(source, link, date);
+            else
+                return ExchangeRate.chain(directLookup(source, link, date), lookup(link, target, date));
+        } else if (!target.triangulationCurrency().empty()) {
+            final Currency link = target.triangulationCurrency();
+            if (source.eq(link))
+                return directLookup(link, target, date);
+            else
+                return ExchangeRate.chain(lookup(source, link, date), directLookup(link, target, date));
+        } else
+            return smartLookup(source, target, date);
+    }
+
     /**
      * @see #smartLookup(Currency, Currency, Date, int[])
      */
@@ -399,53 +418,32 @@ public class ExchangeRateManager {
         System.arraycopy(temp, 0, forbidden, 0, temp.length);
         forbidden[forbidden.length - 1] = (source.numericCode());
 
-        for (final Object key : Iterables.unmodifiableIterable(data_.keySet())) {
+        for (final Map.Entry<Integer, Rates> entry : data_.entrySet()) {
             // we look for exchange-rate data which involve our source
             // currency...
-            if (hashes((Integer) key, source) && !(data_.get(key).isEmpty())) {
+            if (hashes(entry.getKey(), source)) {
                 // ...whose other currency is not forbidden...
-                final Entry e = data_.get(key).get(0);
-                final Currency other =
-                    // if
-                    (source == e.rate.source()) ?
-                            // then
-                            e.rate.target()
-                            :
-                                // else
-                                e.rate.source();
-                            if (match(forbidden, other.numericCode()) == (forbidden.length - 1)) {
-                                // ...and which carries information for the requested date.
-                                final ExchangeRate head = fetch(source, other, date);
-                                try {
-                                    if (head != null) {
-                                        final ExchangeRate tail = smartLookup(other, target, date, forbidden);
-                                        // ..we're done.
-                                        return ExchangeRate.chain(head, tail);
-                                    }
-                                } catch (final Exception ex) {
-                                    // fall through...
-                                    // otherwise, we just discard this rate.
-                                }
-                            }
+                final ExchangeRate e = entry.getValue().rates[0];
+                final Currency other = source.eq(e.source()) ? e.target() : e.source();
+                if (match(forbidden, other.numericCode()) == -1) {
+                    // ...and which carries information for the requested date.
+                    final ExchangeRate head = fetch(source, other, date);
+                    try {
+                        if (head != null) {
+                            final ExchangeRate tail = smartLookup(other, target, date, forbidden);
+                            // ..we're done.
+                            return ExchangeRate.chain(head, tail);
+                        }
+                    } catch (final Exception ex) {
+                        // fall through...
+                        // otherwise, we just discard this rate.
+                    }
+                }
             }
         }
 
         // if the loop completed, we have no way to return the requested rate.
-        throw new LibraryException("no conversion available"); // TODO: message
-    }
-
-    /**
-     * Fetches an ExchangeRate from the HashMap.
-     *
-     * @param source The source currency of the exchange rate.
-     * @param target The target currency of the exchange rate.
-     * @param date The date when the exchange rate should be valid.
-     * @return The found ExchangeRate.
-     */
-    public ExchangeRate fetch(final Currency source, final Currency target, final Date date) {
-        final List<Entry> rates = data_.get(hash(source, target));
-        final int i = matchValidateAt(rates, date);
-        return i == rates.size() - 1 ? rates.get(i).rate : null;
+        throw new LibraryException(NO_CONVERSION); // TODO: message
     }
 
     /**
@@ -463,19 +461,82 @@ public class ExchangeRateManager {
         return -1;
     }
 
+
     /**
-     * Returns the index of the first valid element.
-     *
-     * @param rates The rates to be checked. List<Entry>
-     * @param date The date the rate has to be valid at. Date
-     * @return The index of the first valid entry. int
+     * Immutable rates of a pair of currencies, as date-sorted, non overlapping validity intervals
      */
-    private int matchValidateAt(final List<Entry> rates, final Date date) {
-        final Valid_at va = new Valid_at(date);
-        for (int i = 0; i < rates.size(); i++) {
-            if (va.operator(rates.get(i)))
-                return i;
+    private static final class Rates {
+        private final int[] starts;
+        private final int[] ends;
+        private final ExchangeRate[] rates;
+
+        private Rates(final ExchangeRate rate, final int start, final int end) {
+            this(new int[] { start }, new int[] { end }, new ExchangeRate[] { rate });
+        }
+
+        private Rates(final int[] starts, final int[] ends, final ExchangeRate[] rates) {
+            this.starts = starts;
+            this.ends = ends;
+            this.rates = rates;
+        }
+
+        /**
+         * @return the rate valid at a given date, or <code>null</code> if none
+         */
+        private ExchangeRate at(final long serial) {
+            // last interval which starts on or before the given date
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= serial) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            final int i = lo - 1;
+            return (i >= 0 && serial <= ends[i]) ? rates[i] : null;
+        }
+
+        /**
+         * @return new rates where a rate takes precedence over existing rates in its validity interval
+         */
+        private Rates overlay(final ExchangeRate rate, final int start, final int end) {
+            final List<Integer> s = new ArrayList<Integer>(starts.length + 2);
+            final List<Integer> e = new ArrayList<Integer>(starts.length + 2);
+            final List<ExchangeRate> r = new ArrayList<ExchangeRate>(starts.length + 2);
+            boolean added = false;
+            for (int i = 0; i < starts.length; i++) {
+                if (!added && starts[i] >= start) {
+                    s.add(start); e.add(end); r.add(rate);
+                    added = true;
+                }
+                // parts of existing intervals which lie before or after the new one
+                if (starts[i] < start) {
+                    s.add(starts[i]); e.add(Math.min(ends[i], start - 1)); r.add(rates[i]);
+                    if (!added && ends[i] >= start) {
+                        s.add(start); e.add(end); r.add(rate);
+                        added = true;
+                    }
+                }
+                if (ends[i] > end) {
+                    s.add(Math.max(starts[i], end + 1)); e.add(ends[i]); r.add(rates[i]);
+                }
+            }
+            if (!added) {
+                s.add(start); e.add(end); r.add(rate);
+            }
+
+            final int n = s.size();
+            final int[] newStarts = new int[n];
+            final int[] newEnds = new int[n];
+            for (int i = 0; i < n; i++) {
+                newStarts[i] = s.get(i);
+                newEnds[i] = e.get(i);
+            }
+            return new Rates(newStarts, newEnds, r.toArray(new ExchangeRate[n]));
         }
-        return -1;
     }
+
 }
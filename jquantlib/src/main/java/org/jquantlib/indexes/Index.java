@@ -31,7 +31,7 @@ import org.jquantlib.math.Closeness;
 import org.jquantlib.math.Constants;
 import org.jquantlib.time.Calendar;
 import org.jquantlib.time.Date;
-import org.jquantlib.time.TimeSeries;
+import org.jquantlib.time.TimeSeriesDouble;
 import org.jquantlib.util.DefaultObservable;
 import org.jquantlib.util.Observable;
 import org.jquantlib.util.Observer;
@@ -77,7 +77,7 @@ public abstract class Index implements Observable {
 	/**
 	 * @return the fixing TimeSeries
 	 */
-	public TimeSeries<Double> timeSeries() {
+	public TimeSeriesDouble timeSeries() {
 		return IndexManager.getInstance().getHistory(name());
 	}
 
@@ -103,10 +103,10 @@ public abstract class Index implements Observable {
 		boolean validFixing;
 		boolean noInvalidFixing = true;
 		boolean noDuplicatedFixing = true;
-		final TimeSeries<Double> h = IndexManager.getInstance().getHistory(tag);
+		final TimeSeriesDouble h = IndexManager.getInstance().getHistory(tag);
 
         validFixing = isValidFixingDate(date);
-        final Double currentValue = h.get(date);
+        final double currentValue = h.get(date);
         missingFixing = forceOverwrite || Closeness.isClose(currentValue, Constants.NULL_REAL);
         if (validFixing) {
             if (missingFixing) {
@@ -138,7 +138,7 @@ public abstract class Index implements Observable {
 		boolean validFixing;
 		boolean noInvalidFixing = true;
 		boolean noDuplicatedFixing = true;
-		final TimeSeries<Double> h = IndexManager.getInstance().getHistory(tag);
+		final TimeSeriesDouble h = IndexManager.getInstance().getHistory(tag);
 
 		for (final Date date : Iterables.unmodifiableIterable(dates)) {
             final double value = values.next();
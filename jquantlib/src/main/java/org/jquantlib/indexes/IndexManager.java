@@ -22,19 +22,28 @@
 
 package org.jquantlib.indexes;
 
+import java.io.File;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.jquantlib.time.TimeSeries;
+import org.jquantlib.time.TimeSeriesDouble;
+import org.jquantlib.time.TimeSeriesFile;
 import org.jquantlib.util.Observable;
 import org.jquantlib.util.ObservableValue;
 
 
+/**
+ * Global repository for past index fixings
+ * <p>
+ * Fixings are kept in {@link TimeSeriesDouble} instances, which store dates and values as primitive types.
+ * Histories can be saved to and loaded from a {@link TimeSeriesFile}, which is memory mapped when loaded.
+ */
 public class IndexManager {
 
     private static final long serialVersionUID = -9204254124065694863L;
     
-    private static Map<String, TimeSeries<Double>> data;
+    private static Map<String, TimeSeriesDouble> data;
     private static volatile IndexManager instance;
 
     
@@ -59,17 +68,21 @@ public class IndexManager {
     //
     
     private IndexManager() {
-	    this.data = new ConcurrentHashMap<String, TimeSeries<Double>>();
+	    this.data = new ConcurrentHashMap<String, TimeSeriesDouble>();
 	}
 
-	public TimeSeries<Double> getHistory(final String name) {
+	public TimeSeriesDouble getHistory(final String name) {
 		return data.get(name);
 	}
 
-	public void setHistory(final String name, final TimeSeries<Double> history) {
+	public void setHistory(final String name, final TimeSeriesDouble history) {
 		data.put(name, history);
 	}
 
+	public void setHistory(final String name, final TimeSeries<Double> history) {
+		data.put(name, new TimeSeriesDouble(history));
+	}
+
 	public void clearHistory(final String name) {
 		data.remove(name);
 	}
@@ -78,13 +91,35 @@ public class IndexManager {
 		data.clear();
 	}
 
+	/**
+	 * Loads histories from a file, replacing histories of the same names
+	 * <p>
+	 * The file is memory mapped: fixings are looked up directly from the file, without being read in advance.
+	 *
+	 * @see TimeSeriesFile
+	 */
+	public void loadHistories(final File file) {
+		data.putAll(TimeSeriesFile.map(file));
+	}
+
+	/**
+	 * Saves all histories to a file
+	 * <p>
+	 * Fixings of later dates can then be appended to the file by {@link TimeSeriesFile#append}.
+	 *
+	 * @see TimeSeriesFile
+	 */
+	public void saveHistories(final File file) {
+		TimeSeriesFile.write(file, data);
+	}
+
 	public Observable notifier(final String name) {
-	    TimeSeries<Double> value = data.get(name);
+	    TimeSeriesDouble value = data.get(name);
 		if (value == null){
-			value = new TimeSeries<Double>(Double.class);
+			value = new TimeSeriesDouble();
 			data.put(name, value);
 		}
-		return new ObservableValue<TimeSeries<Double>>(value);
+		return new ObservableValue<TimeSeriesDouble>(value);
 	}
 
 }
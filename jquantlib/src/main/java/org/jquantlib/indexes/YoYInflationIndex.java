@@ -27,6 +27,7 @@ import org.jquantlib.Settings;
 import org.jquantlib.currencies.Currency;
 import org.jquantlib.lang.annotation.Rate;
 import org.jquantlib.lang.annotation.Real;
+import org.jquantlib.math.Constants;
 import org.jquantlib.quotes.Handle;
 import org.jquantlib.termstructures.InflationTermStructure;
 import org.jquantlib.termstructures.YoYInflationTermStructure;
@@ -97,11 +98,11 @@ public abstract class YoYInflationIndex extends InflationIndex {
     		(fixingDate.eq(todayMinusLag) && !forecastTodaysFixing)) {
     		
     		@Real double pastFixing = IndexManager.getInstance().getHistory(name()).get(fixingDate);
-    		QL.require(!(Double.isNaN(pastFixing)) , "Missing " + name() + " fixing for " + fixingDate);
+    		QL.require(pastFixing != Constants.NULL_REAL , "Missing " + name() + " fixing for " + fixingDate);
     		
     		Date previousDate = fixingDate.sub(new Period(1,TimeUnit.Years));
     		@Rate double previousFixing = IndexManager.getInstance().getHistory(name()).get(previousDate);
-    		QL.require(!(Double.isNaN(pastFixing)) , "Missing " + name() + " fixing for " + previousFixing);
+    		QL.require(previousFixing != Constants.NULL_REAL , "Missing " + name() + " fixing for " + previousDate);
 
     		return pastFixing/previousFixing - 1.0;
     		
@@ -28,6 +28,7 @@ import org.jquantlib.currencies.Currency;
 import org.jquantlib.lang.annotation.Rate;
 import org.jquantlib.lang.annotation.Real;
 import org.jquantlib.lang.annotation.Time;
+import org.jquantlib.math.Constants;
 import org.jquantlib.quotes.Handle;
 import org.jquantlib.termstructures.InflationTermStructure;
 import org.jquantlib.termstructures.ZeroInflationTermStructure;
@@ -88,7 +89,7 @@ public abstract class ZeroInflationIndex extends InflationIndex {
     		(fixingDate.eq(todayMinusLag) && !forecastTodaysFixing)) {
     		
     		@Real double pastFixing = IndexManager.getInstance().getHistory(name()).get(fixingDate);
-    		QL.require(!(Double.isNaN(pastFixing)) , "Missing " + name() + " fixing for " + fixingDate);
+    		QL.require(pastFixing != Constants.NULL_REAL , "Missing " + name() + " fixing for " + fixingDate);
     		return pastFixing;
     	} else {
     		return forecastFixing(fixingDate);
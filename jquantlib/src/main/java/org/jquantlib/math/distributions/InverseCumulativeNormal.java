@@ -27,7 +27,7 @@ import org.jquantlib.Settings;
 import org.jquantlib.lang.exceptions.LibraryException;
 import org.jquantlib.math.Closeness;
 import org.jquantlib.math.Constants;
-import org.jquantlib.math.randomnumbers.InverseCumulative;
+import org.jquantlib.math.randomnumbers.BulkInverseCumulative;
 
 
 /**
@@ -41,9 +41,10 @@ import org.jquantlib.math.randomnumbers.InverseCumulative;
  * @author Dominik Holenstein
  */
 
-public class InverseCumulativeNormal implements InverseCumulative {
+public class InverseCumulativeNormal implements BulkInverseCumulative {
 
     static final private String SIGMA_MUST_BE_POSITIVE = "sigma must be greater than 0.0";
+    static final private String ARRAYS_TOO_SMALL = "arrays are too small";
 
     //
     // static final private fields
@@ -173,4 +174,48 @@ public class InverseCumulativeNormal implements InverseCumulative {
         }
         return average + z * sigma;
     }
+
+
+    //
+    // implements BulkInverseCumulative
+    //
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rational approximation of the central region is evaluated for all values in a first pass, which has no branches.
+     * Values which lie in the tails are then computed again by {@link #op(double)}. Results are identical to the ones
+     * returned by {@link #op(double)}.
+     * <p>
+     * Values are computed one by one when Halley's refinement is enabled or when <code>in</code> and <code>out</code> are
+     * the same array.
+     */
+    @Override
+    public void transform(final double[] in, final double[] out, final /*@NonNegative*/ int n) {
+        QL.require(sigma > 0.0 , SIGMA_MUST_BE_POSITIVE); // TODO: message
+        QL.require(n <= in.length && n <= out.length, ARRAYS_TOO_SMALL); // TODO: message
+        if (highPrecision || in == out) {
+            for (int i = 0; i < n; i++) {
+                out[i] = op(in[i]);
+            }
+            return;
+        }
+
+        // central region, evaluated everywhere
+        for (int i = 0; i < n; i++) {
+            final double z = in[i]-0.5;
+            final double r = z*z;
+            out[i] = average + sigma *
+                ((((((a1*r+a2)*r+a3)*r+a4)*r+a5)*r+a6)*z / (((((b1*r+b2)*r+b3)*r+b4)*r+b5)*r+1.0));
+        }
+
+        // tails, which also take care of values out of range
+        for (int i = 0; i < n; i++) {
+            final double x = in[i];
+            if (!(x >= xlow && x <= xhigh)) {
+                out[i] = op(x);
+            }
+        }
+    }
+
 }
@@ -22,7 +22,8 @@
 
 package org.jquantlib.math.distributions;
 
-import org.jquantlib.math.Ops;
+import org.jquantlib.QL;
+import org.jquantlib.math.randomnumbers.BulkInverseCumulative;
 
 /**
  * 
@@ -31,7 +32,7 @@ import org.jquantlib.math.Ops;
  */
 
 // TODO Add test case for MoroInverseCumulativeNormal class.
-public class MoroInverseCumulativeNormal extends NormalDistribution implements Ops.DoubleOp {
+public class MoroInverseCumulativeNormal extends NormalDistribution implements BulkInverseCumulative {
 	
     //
     // static final fields (constants)
@@ -106,4 +107,45 @@ public class MoroInverseCumulativeNormal extends NormalDistribution implements O
         return average + result * sigma;
     }
 
+
+    //
+    // implements BulkInverseCumulative
+    //
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The approximation of Beasley and Springer is evaluated for all values in a first pass, which has no branches. Values
+     * which lie in the tails are then computed again by {@link #op(double)}. Results are identical to the ones returned by
+     * {@link #op(double)}.
+     * <p>
+     * Values are computed one by one when <code>in</code> and <code>out</code> are the same array.
+     */
+    @Override
+    public void transform(final double[] in, final double[] out, final /*@NonNegative*/ int n) {
+        QL.require(n <= in.length && n <= out.length, "arrays are too small"); // TODO: message
+        if (in == out) {
+            for (int i = 0; i < n; i++) {
+                out[i] = op(in[i]);
+            }
+            return;
+        }
+
+        // central region, evaluated everywhere
+        for (int i = 0; i < n; i++) {
+            final double temp = in[i]-0.5;
+            final double r = temp*temp;
+            out[i] = average + sigma *
+                (temp * (((a3_*r+a2_)*r+a1_)*r+a0_) / ((((b3_*r+b2_)*r+b1_)*r+b0_)*r+1.0));
+        }
+
+        // tails, which also take care of values out of range
+        for (int i = 0; i < n; i++) {
+            final double x = in[i];
+            if (!(Math.abs(x-0.5) < 0.42)) {
+                out[i] = op(x);
+            }
+        }
+    }
+
 }
@@ -74,6 +74,15 @@ public abstract class AbstractInterpolation implements Interpolation {
         return impl.op(x);
     }
 
+    @Override
+    public void op(final /*@Real*/ double[] x, final /*@Real*/ double[] y, final boolean allowExtrapolation) /* @ReadOnly */ {
+        QL.require(y.length >= x.length, "output array is too small"); // TODO: message
+        for (final double xi : x) {
+            checkRange(xi, allowExtrapolation);
+        }
+        impl.op(x, y);
+    }
+
     @Override
     public /*@Real*/ double primitive(final /*@Real*/ double x) /* @ReadOnly */ {
         return primitive(x, false);
@@ -121,7 +130,10 @@ public abstract class AbstractInterpolation implements Interpolation {
 
     @Override
     public void update() {
+        // nodes are only checked when they may have changed, so that lookups do not scan them
+        QL.require(impl.extraSafetyChecks(), "unsorted values on array X"); // TODO: message
         impl.update();
+        impl.step = uniformStep(impl.vx);
     }
 
 
@@ -180,6 +192,73 @@ public abstract class AbstractInterpolation implements Interpolation {
     }
 
 
+    //
+    // package private static methods
+    //
+
+    /**
+     * Hunts the last node not greater than <i>x</i>, among nodes <i>0</i> to <i>last</i> of a sorted array, starting
+     * from node <i>from</i>.
+     * <p>
+     * The search steps away from <i>from</i> by increasing strides until it brackets <i>x</i>, then bisects. When
+     * <i>x</i> is close to <i>from</i>, which is the usual case when points are queried in ascending order, this takes a
+     * few comparisons instead of a full binary search. Results are the same as <code>upperBound(0, last+1, x)-1</code>.
+     *
+     * @note <i>x</i> must not be less than the first node
+     */
+    static int hunt(final Array v, final double x, final int from, final int last) {
+        int lo = Math.max(0, Math.min(from, last));
+        int hi;
+        if (!(x < v.get(lo))) {
+            // hunt up
+            int stride = 1;
+            hi = lo + 1;
+            while (hi <= last && !(x < v.get(hi))) {
+                lo = hi;
+                stride <<= 1;
+                hi = Math.min(lo + stride, last + 1);
+            }
+        } else {
+            // hunt down
+            int stride = 1;
+            hi = lo;
+            lo = Math.max(hi - 1, 0);
+            while (lo > 0 && x < v.get(lo)) {
+                hi = lo;
+                stride <<= 1;
+                lo = Math.max(hi - stride, 0);
+            }
+        }
+        // bisection, knowing that v[lo] <= x and that either hi is last+1 or x < v[hi]
+        while (hi - lo > 1) {
+            final int middle = (lo + hi) >>> 1;
+            if (x < v.get(middle)) {
+                hi = middle;
+            } else {
+                lo = middle;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * @return the distance between nodes if they are equally spaced, or zero otherwise
+     */
+    static double uniformStep(final Array v) {
+        if (v == null || v.size() < 2)
+            return 0.0;
+        final int n = v.size();
+        final double step = (v.last() - v.first()) / (n-1);
+        if (!(step > 0.0))
+            return 0.0;
+        for (int i=1; i<n; i++) {
+            if (Math.abs(v.get(i) - v.get(i-1) - step) > 1.0e-8*step)
+                return 0.0;
+        }
+        return step;
+    }
+
+
     //
     // protected inner classes
     //
@@ -196,6 +275,21 @@ public abstract class AbstractInterpolation implements Interpolation {
          */
         protected Array vy;
 
+        /**
+         * Segment found by the latest search, where the next search starts from.
+         * <p>
+         * This is just a hint, which is always verified against nodes: threads sharing an interpolation may overwrite
+         * each other's hints, but not results.
+         */
+        private int hint;
+
+        /**
+         * Distance between nodes if they are equally spaced, zero otherwise.
+         * <p>
+         * Segments of equally spaced nodes are guessed arithmetically. Guesses are verified, as hints are.
+         */
+        private double step;
+
 
         protected Impl(final Array vx, final Array vy) {
             this.vx = vx; // TODO: clone?
@@ -203,6 +297,8 @@ public abstract class AbstractInterpolation implements Interpolation {
 
             QL.require(vx.size() >= 2 , "not enough points to interpolate"); // TODO: message
             QL.require(extraSafetyChecks(), "unsorted values on array X");   // TODO: message
+            this.hint = 0;
+            this.step = uniformStep(vx);
         }
 
         //
@@ -218,7 +314,6 @@ public abstract class AbstractInterpolation implements Interpolation {
         }
 
         public final boolean isInRange(final double x) {
-            QL.require(extraSafetyChecks(), "unsorted values on array X"); // TODO: message
             final double x1 = xMin(), x2 = xMax();
             return (x >= x1 && x <= x2) || isClose(x,x1) || isClose(x,x2);
         }
@@ -254,24 +349,54 @@ public abstract class AbstractInterpolation implements Interpolation {
         public abstract double derivative(final double x) /* @ReadOnly */;
         public abstract double secondDerivative(final double x) /* @ReadOnly */;
 
+        /**
+         * Interpolates many points at once.
+         * <p>
+         * Derived classes are encouraged to walk segments with {@link #locate(double, int)} instead of locating each
+         * point from scratch.
+         */
+        public void op(final double[] x, final double[] y) /* @ReadOnly */ {
+            for (int k=0; k<x.length; k++) {
+                y[k] = op(x[k]);
+            }
+        }
+
 
         //
         // protected methods
         //
 
+        /**
+         * Finds the segment <i>x</i> belongs to, hunting from the segment found by the previous call, or from an
+         * arithmetic guess when nodes are equally spaced.
+         */
         protected int locate(final double x) /* @ReadOnly */ {
-            QL.require(extraSafetyChecks(), "unsorted values on array X"); // TODO: message
             if (x < vx.first())
                 return 0;
             else if (x > vx.last())
                 return vx.size()-2;
             else {
-                //return vx.upperBound(x)-1;
-                final int ub = vx.upperBound(vx.begin(), vx.end()-1, x)-1;
-                return ub;
+                final double h = step;
+                final int from = (h > 0.0) ? (int) ((x - vx.first()) / h) : hint;
+                final int i = hunt(vx, x, from, vx.size()-2);
+                hint = i;
+                return i;
             }
         }
 
+        /**
+         * Returns the same segment as {@link #locate(double)}, hunting from segment <i>from</i>, which is usually the
+         * segment of the previous point of a sorted sequence.
+         */
+        protected int locate(final double x, final int from) /* @ReadOnly */ {
+            if (x < vx.first())
+                return 0;
+            else if (x > vx.last())
+                return vx.size()-2;
+            else
+                return hunt(vx, x, from, vx.size()-2);
+        }
+
 
         //
         // private methods
@@ -315,6 +440,14 @@ public abstract class AbstractInterpolation implements Interpolation {
             return Math.exp(interpolation_.op(x, true));
         }
 
+        @Override
+        public void op(final double[] x, final double[] y) /* @ReadOnly */ {
+            interpolation_.op(x, y, true);
+            for (int k=0; k<x.length; k++) {
+                y[k] = Math.exp(y[k]);
+            }
+        }
+
         @Override
         public double primitive(final double x) /* @ReadOnly */ {
             throw new UnsupportedOperationException("LogInterpolation primitive not implemented"); // TODO: message
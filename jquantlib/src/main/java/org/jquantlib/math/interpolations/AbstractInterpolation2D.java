@@ -112,7 +112,12 @@ public class AbstractInterpolation2D implements Interpolation2D {
 
     @Override
     public void update() {
+        // nodes are only checked when they may have changed, so that lookups do not scan them
+        QL.require(impl_.extraSafetyChecksX(), "unsorted values on array X"); // TODO: message
+        QL.require(impl_.extraSafetyChecksY(), "unsorted values on array Y"); // TODO: message
         impl_.calculate();
+        impl_.stepX = AbstractInterpolation.uniformStep(impl_.vx);
+        impl_.stepY = AbstractInterpolation.uniformStep(impl_.vy);
     }
 
 
@@ -193,6 +198,18 @@ public class AbstractInterpolation2D implements Interpolation2D {
          */
         protected Matrix mz;
 
+        /**
+         * Segments found by latest searches, which are just hints
+         *
+         * @see AbstractInterpolation.Impl#locate(double)
+         */
+        private int hintX, hintY;
+
+        /**
+         * Distances between nodes if they are equally spaced, zero otherwise
+         */
+        private double stepX, stepY;
+
 
         //
         // protected constructors
@@ -212,6 +229,8 @@ public class AbstractInterpolation2D implements Interpolation2D {
                 QL.require(vx.get(i) <= vx.get(i + 1), "unsorted values on array X"); // TODO: message
                 QL.require(vy.get(i) <= vy.get(i + 1), "unsorted values on array Y"); // TODO: message
             }
+            this.stepX = AbstractInterpolation.uniformStep(vx);
+            this.stepY = AbstractInterpolation.uniformStep(vy);
         }
 
         //
@@ -240,13 +259,11 @@ public class AbstractInterpolation2D implements Interpolation2D {
         }
 
         public boolean isInRange(final double x, final double y) /*@ReadOnly*/ {
-            QL.require(extraSafetyChecksX(), "unsorted values on array X"); // TODO: message
             final double x1 = xMin(), x2 = xMax();
             final boolean xIsInrange = (x >= x1 && x <= x2) || isClose(x, x1) || isClose(x, x2);
             if (!xIsInrange)
                 return false;
 
-            QL.require(extraSafetyChecksY(), "unsorted values on array Y"); // TODO: message
             final double y1 = yMin(), y2 = yMax();
             return (y >= y1 && y <= y2) || isClose(y, y1) || isClose(y, y2);
         }
@@ -265,23 +282,31 @@ public class AbstractInterpolation2D implements Interpolation2D {
         //
 
         protected int locateX(final double x) /* @ReadOnly */{
-            QL.require(extraSafetyChecksX(), "unsorted values on array X"); // TODO: message
             if (x <= vx.first())
                 return 0;
             else if (x > vx.last())
                 return vx.size() - 2;
-            else
-                return vx.upperBound(x) - 1;
+            else {
+                final double h = stepX;
+                final int from = (h > 0.0) ? (int) ((x - vx.first()) / h) : hintX;
+                final int i = AbstractInterpolation.hunt(vx, x, from, vx.size() - 1);
+                hintX = i;
+                return i;
+            }
         }
 
         protected int locateY(final double y) /* @ReadOnly */{
-            QL.require(extraSafetyChecksY(), "unsorted values on array Y"); // TODO: message
             if (y <= vy.first())
                 return 0;
             else if (y > vy.last())
                 return vy.size() - 2;
-            else
-                return vy.upperBound(y) - 1;
+            else {
+                final double h = stepY;
+                final int from = (h > 0.0) ? (int) ((y - vy.first()) / h) : hintY;
+                final int j = AbstractInterpolation.hunt(vy, y, from, vy.size() - 1);
+                hintY = j;
+                return j;
+            }
         }
 
 
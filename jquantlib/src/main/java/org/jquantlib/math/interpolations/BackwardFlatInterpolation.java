@@ -94,6 +94,19 @@ public class BackwardFlatInterpolation extends AbstractInterpolation {
             }
         }
 
+        @Override
+        public void op(final double[] x, final double[] y) {
+            int i = 0;
+            for (int k=0; k<x.length; k++) {
+                if (x[k] <= vx.get(0)) {
+                    y[k] = vy.get(0);
+                } else {
+                    i = locate(x[k], i);
+                    y[k] = (x[k] == vx.get(i)) ? vy.get(i) : vy.get(i+1);
+                }
+            }
+        }
+
         @Override
         public double primitive(final double x) {
             final int i = locate(x);
@@ -474,6 +474,16 @@ public class CubicInterpolation extends AbstractInterpolation {
             return vy_[j] + dx*(va_[j] + dx*(vb_[j] + dx*vc_[j]));
         }
 
+        @Override
+        public void op(final double[] x, final double[] y) {
+            int j = 0;
+            for (int k=0; k<x.length; k++) {
+                j = locate(x[k], j);
+                final double dx = x[k] - vx_[j];
+                y[k] = vy_[j] + dx*(va_[j] + dx*(vb_[j] + dx*vc_[j]));
+            }
+        }
+
 
         @Override
         public double primitive(final double val) {
@@ -111,6 +111,19 @@ public class ForwardFlatInterpolation extends AbstractInterpolation {
             return vy.get(i);
         }
 
+        @Override
+        public void op(final double[] x, final double[] y) {
+            int i = 0;
+            for (int k=0; k<x.length; k++) {
+                if (x[k] >= vx.get(n-1)) {
+                    y[k] = vy.get(n-1);
+                } else {
+                    i = locate(x[k], i);
+                    y[k] = vy.get(i);
+                }
+            }
+        }
+
         @Override
         public double primitive(final double x) {
             final int i = locate(x);
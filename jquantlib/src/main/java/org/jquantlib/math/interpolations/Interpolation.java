@@ -68,6 +68,15 @@ public interface Interpolation extends Extrapolator, Ops.DoubleOp {
     public double derivative(final double x) /*@ReadOnly*/;
     public double secondDerivative(final double x) /*@ReadOnly*/;
 
+    /**
+     * Interpolates many values at once, which is faster than calling {@link #op(double, boolean)} repeatedly when
+     * <i>x</i> is sorted in ascending order.
+     *
+     * @param x are the points to be interpolated
+     * @param y receives interpolated values, and must be at least as long as <i>x</i>
+     */
+    public void op(final double[] x, final double[] y, boolean allowExtrapolation) /*@ReadOnly*/;
+
     public double xMin() /*@ReadOnly*/;
     public double xMax() /*@ReadOnly*/;
 
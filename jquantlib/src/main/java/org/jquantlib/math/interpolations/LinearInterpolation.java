@@ -111,6 +111,15 @@ public class LinearInterpolation extends AbstractInterpolation {
             return vy.get(i) + (x - vx.get(i))*vs.get(i);
         }
 
+        @Override
+        public void op(final double[] x, final double[] y) {
+            int i = 0;
+            for (int k=0; k<x.length; k++) {
+                i = locate(x[k], i);
+                y[k] = vy.get(i) + (x[k] - vx.get(i))*vs.get(i);
+            }
+        }
+
         @Override
         public double primitive(final double x) {
             final int i = locate(x);
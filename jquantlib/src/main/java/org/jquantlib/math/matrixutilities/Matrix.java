@@ -40,11 +40,18 @@ FOR A PARTICULAR PURPOSE.  See the license for more details.
  */
 package org.jquantlib.math.matrixutilities;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.jquantlib.QL;
+import org.jquantlib.lang.exceptions.LibraryException;
 import org.jquantlib.lang.annotation.QualityAssurance;
 import org.jquantlib.lang.annotation.QualityAssurance.Quality;
 import org.jquantlib.lang.annotation.QualityAssurance.Version;
@@ -163,6 +170,18 @@ import org.jquantlib.math.matrixutilities.internal.Address.MatrixAddress.MatrixO
 // TODO: better documentation
 public class Matrix extends Cells<Address.MatrixAddress> implements Cloneable {
 
+    /**
+     * Minimum number of multiply-add operations of a product for which bands of rows are submitted to an executor
+     *
+     * @see #mul(Matrix, ExecutorService)
+     */
+    public static final long PARALLEL_MUL_THRESHOLD = 1L << 21;
+
+    // tile sizes of the blocked product: a tile of the transposed operand spans about 64KB
+    private static final int MUL_BLOCK_INNER = 128;
+    private static final int MUL_BLOCK_COLS = 64;
+
+
     //
     // public constructors
     //
@@ -632,13 +651,37 @@ public class Matrix extends Cells<Address.MatrixAddress> implements Cloneable {
 
     /**
      * Returns a Matrix which represents the multiplication of <code>this</code> Matrix and <code>another</code> Matrix
+     * <p>
+     * When both operands are backed by direct row-major storage, the product is computed by a cache blocked kernel which
+     * traverses a transposed copy of <code>another</code>. Each element is accumulated in the same order as the plain triple
+     * loop, so that results do not depend on which kernel is employed.
      *
      * @param another
      * @return a new Matrix which contains the result
      */
     public Matrix mul(final Matrix another) {
+        return mul(another, null);
+    }
+
+    /**
+     * Returns a Matrix which represents the multiplication of <code>this</code> Matrix and <code>another</code> Matrix, employing
+     * an {@link ExecutorService} for computing bands of rows of the result in parallel.
+     * <p>
+     * Products smaller than {@link #PARALLEL_MUL_THRESHOLD} multiply-add operations are always computed by the calling thread.
+     * Results are identical to {@link #mul(Matrix)}.
+     *
+     * @param another
+     * @param executor is the executor used for computing bands of rows or <code>null</code> for sequential evaluation
+     * @return a new Matrix which contains the result
+     */
+    public Matrix mul(final Matrix another, final ExecutorService executor) {
         QL.require(cols() == another.rows(),  MATRIX_IS_INCOMPATIBLE); // QA:[RG]::verified
         final Matrix result = new Matrix(rows(), another.cols(), this.flags());
+        if (this.addr instanceof DirectMatrixAddress && another.addr instanceof DirectMatrixAddress) {
+            blockedMul(this, another, result, executor);
+            return result;
+        }
+
         final Address.MatrixAddress.MatrixOffset toff = this.addr.offset();
         final Address.MatrixAddress.MatrixOffset aoff = another.addr.offset();
         final int offsetT = this.addr.isFortran() ? 1 : 0;
@@ -1147,10 +1190,120 @@ public class Matrix extends Cells<Address.MatrixAddress> implements Cloneable {
 //    }
 
 
+    //
+    // private methods
+    //
+
+    private static void blockedMul(final Matrix a, final Matrix b, final Matrix result, final ExecutorService executor) {
+        final int rows = a.rows();
+        final int inner = a.cols();
+        final int cols = b.cols();
+        if (rows == 0 || inner == 0 || cols == 0)
+            return;
+
+        // transposed copy of b, so that the inner kernel traverses both operands sequentially
+        final double[] bt = new double[cols*inner];
+        final int offsetB = b.addr.isFortran() ? 1 : 0;
+        final int baseB = b.addr.op(offsetB, offsetB);
+        final int strideB = b.addr.cols();
+        for (int i = 0; i < inner; i++) {
+            final int rowB = baseB + i*strideB;
+            for (int col = 0; col < cols; col++) {
+                bt[col*inner+i] = b.$[rowB+col];
+            }
+        }
+
+        if (executor == null || rows < 2 || (long) rows*inner*cols < PARALLEL_MUL_THRESHOLD) {
+            new MulBand(a, bt, result, 0, rows).call();
+            return;
+        }
+
+        final int bands = Math.min(rows, 2*Runtime.getRuntime().availableProcessors());
+        final int bandRows = (rows + bands - 1) / bands;
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>(bands);
+        for (int row0 = 0; row0 < rows; row0 += bandRows) {
+            futures.add(executor.submit(new MulBand(a, bt, result, row0, Math.min(rows, row0+bandRows))));
+        }
+        for (final Future<Object> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LibraryException(e); // QA:[RG]::verified
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                throw new LibraryException(cause); // QA:[RG]::verified
+            }
+        }
+    }
+
+
     //
     // private inner classes
     //
 
+    /**
+     * Computes a band of rows of a blocked product.
+     * <p>
+     * Every element of the result is accumulated along the inner dimension in ascending order, starting from zero, which
+     * reproduces exactly the sums obtained by the plain triple loop.
+     */
+    private static final class MulBand implements Callable<Object> {
+
+        private final double[] a;
+        private final int baseA;
+        private final int strideA;
+        private final int inner;
+        private final double[] bt;
+        private final double[] r;
+        private final int baseR;
+        private final int strideR;
+        private final int cols;
+        private final int row0;
+        private final int row1;
+
+        private MulBand(final Matrix a, final double[] bt, final Matrix result, final int row0, final int row1) {
+            final int offsetA = a.addr.isFortran() ? 1 : 0;
+            final int offsetR = result.addr.isFortran() ? 1 : 0;
+            this.a = a.$;
+            this.baseA = a.addr.op(offsetA, offsetA);
+            this.strideA = a.addr.cols();
+            this.inner = a.cols();
+            this.bt = bt;
+            this.r = result.$;
+            this.baseR = result.addr.op(offsetR, offsetR);
+            this.strideR = result.addr.cols();
+            this.cols = result.cols();
+            this.row0 = row0;
+            this.row1 = row1;
+        }
+
+        @Override
+        public Object call() {
+            for (int i0 = 0; i0 < inner; i0 += MUL_BLOCK_INNER) {
+                final int i1 = Math.min(inner, i0 + MUL_BLOCK_INNER);
+                for (int c0 = 0; c0 < cols; c0 += MUL_BLOCK_COLS) {
+                    final int c1 = Math.min(cols, c0 + MUL_BLOCK_COLS);
+                    for (int row = row0; row < row1; row++) {
+                        final int rowA = baseA + row*strideA;
+                        final int rowR = baseR + row*strideR;
+                        for (int col = c0; col < c1; col++) {
+                            final int colB = col*inner;
+                            double sum = (i0 == 0) ? 0.0 : r[rowR+col];
+                            for (int i = i0; i < i1; i++) {
+                                sum += a[rowA+i] * bt[colB+i];
+                            }
+                            r[rowR+col] = sum;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
     private static class RangeRow extends Array {
 
         public RangeRow(
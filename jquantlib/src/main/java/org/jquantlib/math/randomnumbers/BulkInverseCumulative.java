@@ -0,0 +1,48 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.math.randomnumbers;
+
+/**
+ * Inverse cumulative distribution able to transform many values at once
+ * <p>
+ * Implementations are expected to be cheaper per value than repeated calls to <code>op(double)</code>, typically by
+ * evaluating the approximation of the central region in a loop free of branches, which the JIT compiler is able to
+ * vectorize, and fixing the tails in a second pass.
+ *
+ * @see InverseCumulativeRsg#nextBlock(double[], int)
+ *
+ * @author agent
+ */
+public interface BulkInverseCumulative extends InverseCumulative {
+
+    /**
+     * Computes <code>out[i] = op(in[i])</code> for <code>i</code> from 0 to <code>n-1</code>.
+     *
+     * @param in holds cumulative distribution values
+     * @param out receives distribution deviates; it should be a different array than <code>in</code> for best performance
+     * @param n is the number of values to be transformed
+     */
+    public void transform(double[] in, double[] out, /*@NonNegative*/ int n);
+
+}
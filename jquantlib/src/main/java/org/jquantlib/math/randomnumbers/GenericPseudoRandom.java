@@ -41,12 +41,13 @@
 
 package org.jquantlib.math.randomnumbers;
 
-import java.lang.reflect.Constructor;
-
-import org.jquantlib.QL;
 import org.jquantlib.lang.exceptions.LibraryException;
 
 /**
+ * Default traits for pseudo-random number generation
+ * <p>
+ * Builds Gaussian sequence generators out of a uniform {@link RandomNumberGenerator} and an {@link InverseCumulative}.
+ *
  * @param <RNG> represents the RandomNumberGenerator<T>
  * @param <IC> represents the InverseCumulative
  *
@@ -55,94 +56,83 @@ import org.jquantlib.lang.exceptions.LibraryException;
 public abstract class GenericPseudoRandom <RNG extends RandomNumberGenerator, IC extends InverseCumulative> {
 
     //
-    // static private fields
+    // static public fields
     //
 
-    //
-    // FIXME:: code review :: it's not clear how should this variable be used.
-    // Declared as private final till we discover what's the trick with it.
-    //
-    static private final boolean allowsErrorEstimate = true;
+    /**
+     * Pseudo-random sequences allow error estimation
+     */
+    static public final boolean allowsErrorEstimate = true;
+
 
     //
-    // FIXME: QuantLib:: This variable apparently is never initialized!!!
-    //
-    // The following command
-    //
-    //       find . -name '*.*pp' -exec fgrep -H -i 'icInstance' {} \;
-    //
-    // does not return any occurrence of icInstance in the left side of an assignment.
-    // So, we declare this variable as private final and initialize with null.
-    // This can change as soon as we find what's the trick with it.
+    // private fields
     //
-    static final private GenericPseudoRandom icInstance = null;
 
+    private final Class<? extends RandomNumberGenerator>   classRNG;
+    private final Class<? extends InverseCumulative>       classIC;
 
 
-    private final Class<? extends UniformRandomSequenceGenerator>	classRNG;
-    private final Class<? extends InverseCumulative>		classIC;
-    
-    
+    //
+    // protected constructors
+    //
 
-    protected GenericPseudoRandom(final Class<? extends UniformRandomSequenceGenerator> classRNG, final Class<? extends InverseCumulative> classIC) {
-    	QL.validateExperimentalMode();
+    protected GenericPseudoRandom(final Class<? extends RandomNumberGenerator> classRNG, final Class<? extends InverseCumulative> classIC) {
     	this.classRNG = classRNG;
     	this.classIC = classIC;
     }
 
-    
 
-    protected InverseCumulativeRsg<RandomSequenceGenerator<RNG>, IC> makeSequenceGenerator(
-            final /*@NonNegative*/ int dimension, 
+    //
+    // public methods
+    //
+
+    /**
+     * Creates a Gaussian sequence generator
+     * <p>
+     * The uniform generator is built by calling a constructor of <code>RNG</code> which accepts a <code>long</code> seed
+     * and the inverse cumulative is built by calling the default constructor of <code>IC</code>.
+     *
+     * @param dimension is the dimension of the sequences to be generated
+     * @param seed is the seed passed to the uniform random number generator
+     */
+    public InverseCumulativeRsg<RandomSequenceGenerator<RNG>, IC> makeSequenceGenerator(
+            final /*@NonNegative*/ int dimension,
             final /*@NonNegative*/ long seed) {
 
-        // instantiate a RandomNumberGenerator given its generic type (first generic parameter)
-        final RNG rng;
-        try {
-            // obtain RNG Class from first generic parameter
-            final Constructor<RNG> c = (Constructor<RNG>) classRNG.getConstructor(long.class);
-            rng = c.newInstance(seed);
-        } catch (final Exception e) {
-            throw new LibraryException(e); // QA:[RG]::verified
-        }
+        final RandomSequenceGenerator<RNG> rsg = new RandomSequenceGenerator<RNG>(classRNG, dimension, seed);
+        return makeSequenceGenerator(rsg);
+    }
 
-        // instantiate a RandomSequenceGenerator given a RNG type
-        final RandomSequenceGenerator<RNG> rsg;
-        try {
-            // obtain Class from previously created RNG variable
-        	
-        	
-            //FIXME:
-        	// "looks like" we need to add a method to RNG interface in order to obtain a RSG from a RNG
-        	//
-        	
-        	final Class<RandomSequenceGenerator<RNG>> rsgClass = null;
-            
-            
-            
-            
-            final Constructor<RandomSequenceGenerator<RNG>> c = rsgClass.getConstructor(int.class, rng.getClass());
-            rsg = c.newInstance(dimension, rng);
-        } catch (final Exception e) {
-            throw new LibraryException(e); // QA:[RG]::verified
-        }
+    /**
+     * Creates a Gaussian sequence generator out of a given uniform generator
+     * <p>
+     * This is intended for parallel simulations, where each worker is given one of the substreams of a
+     * {@link JumpableRandomNumberGenerator}, which are guaranteed not to overlap.
+     *
+     * @param dimension is the dimension of the sequences to be generated
+     * @param rng is the uniform random number generator, which is owned by the returned generator from now on
+     */
+    public InverseCumulativeRsg<RandomSequenceGenerator<RNG>, IC> makeSequenceGenerator(
+            final /*@NonNegative*/ int dimension,
+            final RNG rng) {
+        return makeSequenceGenerator(new RandomSequenceGenerator<RNG>(classRNG, dimension, rng));
+    }
+
+
+    //
+    // private methods
+    //
 
+    private InverseCumulativeRsg<RandomSequenceGenerator<RNG>, IC> makeSequenceGenerator(final RandomSequenceGenerator<RNG> rsg) {
         // instantiate a InverseCumulative given its generic type (second generic parameter)
         final IC ic;
         try {
-            // obtain IC Class from second generic parameter
-            final Constructor<IC> c;
-            if (icInstance!=null) {
-                c = (Constructor<IC>) classIC.getConstructor(rsg.getClass(), classIC.getClass());
-                ic = c.newInstance(rsg, icInstance);
-            } else {
-                c = (Constructor<IC>) classIC.getConstructor(rsg.getClass());
-                ic = c.newInstance(rsg);
-            }
+            ic = (IC) classIC.getConstructor().newInstance();
         } catch (final Exception e) {
             throw new LibraryException(e); // QA:[RG]::verified
         }
-        return (InverseCumulativeRsg<RandomSequenceGenerator<RNG>, IC>) ic;
+        return new InverseCumulativeRsg<RandomSequenceGenerator<RNG>, IC>(rsg, ic);
     }
 
 }
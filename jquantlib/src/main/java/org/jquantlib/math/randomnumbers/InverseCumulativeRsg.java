@@ -40,6 +40,7 @@
 
 package org.jquantlib.math.randomnumbers;
 
+import org.jquantlib.QL;
 import org.jquantlib.methods.montecarlo.Sample;
 
 /**
@@ -49,6 +50,9 @@ import org.jquantlib.methods.montecarlo.Sample;
  * distribution is used to calculate the distribution deviate.
  * 
  * The uniform deviate sequence is supplied by USG.
+ * <p>
+ * When IC is a {@link BulkInverseCumulative}, sequences are transformed at once. Many sequences can also be drawn at once
+ * by {@link #nextBlock(double[], int)}, which transforms all of them in a single call.
  * 
  * @author Richard Gomes
  */
@@ -59,26 +63,28 @@ public class InverseCumulativeRsg<USG extends UniformRandomSequenceGenerator, IC
 
     private final /*@NonNegative*/ int  dimension;
     private final USG                   ursg;
+    private final double[]              values;
     
     private Sample<double[]>            sequence;
     private IC                          ic;
+    private BulkInverseCumulative       bulk;
     private double                      weight;
+    private double[]                    uniforms;
     
 
     public InverseCumulativeRsg(final USG ursg) {
-        if (System.getProperty("EXPERIMENTAL")==null) {
-            throw new UnsupportedOperationException("Work in progress");
-        }
         this.ursg = ursg;
         this.dimension = this.ursg.dimension();
         this.weight = 1.0;
-        this.sequence = new Sample<double[]>(new double[this.dimension], this.weight);
+        this.values = new double[this.dimension];
+        this.sequence = new Sample<double[]>(this.values, this.weight);
         this.ic = null;
     }
 
     public InverseCumulativeRsg(final USG ursg, final IC ic) {
         this(ursg);
         this.ic = ic;
+        this.bulk = ic instanceof BulkInverseCumulative ? (BulkInverseCumulative) ic : null;
     }
 
 
@@ -99,21 +105,28 @@ public class InverseCumulativeRsg<USG extends UniformRandomSequenceGenerator, IC
     
     /**
      * @return next sample from the Gaussian distribution
+     *
+     * @note The returned sample and its underlying array are owned by this generator and are overwritten by the next call
      */
     @Override
     public Sample<double[]> nextSequence() /* @ReadOnly */ {
-        if (System.getProperty("EXPERIMENTAL")==null) throw new UnsupportedOperationException("Work in progress");
-        
-        Sample<double[]> sample = this.ursg.nextSequence();
-        double[] v = sample.value();
-        this.weight = sample.weight();
+        final Sample<double[]> sample = this.ursg.nextSequence();
+        final double[] v = sample.value();
         
-        double[] d = new double[this.dimension];
-        for (int i = 0; i < this.dimension; i++) {
-            d[i] = this.ic.op(v[i]);
+        if (this.bulk != null) {
+            this.bulk.transform(v, this.values, this.dimension);
+        } else {
+            for (int i = 0; i < this.dimension; i++) {
+                this.values[i] = this.ic.op(v[i]);
+            }
         }
 
-        return new Sample<double[]>(d, weight);
+        // a new sample is only needed when the weight changes, which never happens with pseudo-random sequences
+        if (sample.weight() != this.weight) {
+            this.weight = sample.weight();
+            this.sequence = new Sample<double[]>(this.values, this.weight);
+        }
+        return this.sequence;
     }
 
     @Override
@@ -121,4 +134,50 @@ public class InverseCumulativeRsg<USG extends UniformRandomSequenceGenerator, IC
         return this.sequence;
     }
 
+
+    //
+    // public methods
+    //
+
+    /**
+     * Draws <code>count</code> consecutive sequences into <code>out</code>, which receives the values of every sequence
+     * one after another. Sequences are identical to the ones returned by as many calls to {@link #nextSequence()}.
+     * <p>
+     * Uniform deviates are gathered first, then transformed by a single call to
+     * {@link BulkInverseCumulative#transform(double[], double[], int)} whenever IC supports it. Uniform deviates are taken
+     * from {@link SobolRsg#nextBlock(double[], int)} when USG is a {@link SobolRsg}.
+     * <p>
+     * {@link #lastSequence()} is not updated.
+     *
+     * @note Weights of the uniform sequences are not available from this method, which is meant for generators whose
+     * samples have unit weight, such as pseudo-random and Sobol generators.
+     *
+     * @param out receives <code>count*dimension()</code> values
+     * @param count is the number of sequences to be drawn
+     */
+    public void nextBlock(final double[] out, final /*@NonNegative*/ int count) {
+        final long size = (long) count * this.dimension;
+        QL.require(count >= 0 && out.length >= size, "output array is too small"); // TODO: message
+        final int n = (int) size;
+        if (this.uniforms == null || this.uniforms.length < n) {
+            this.uniforms = new double[n];
+        }
+
+        if (this.ursg instanceof SobolRsg) {
+            ((SobolRsg) this.ursg).nextBlock(this.uniforms, count);
+        } else {
+            for (int i = 0, pos = 0; i < count; i++, pos += this.dimension) {
+                System.arraycopy(this.ursg.nextSequence().value(), 0, this.uniforms, pos, this.dimension);
+            }
+        }
+
+        if (this.bulk != null) {
+            this.bulk.transform(this.uniforms, out, n);
+        } else {
+            for (int i = 0; i < n; i++) {
+                out[i] = this.ic.op(this.uniforms[i]);
+            }
+        }
+    }
+
 }
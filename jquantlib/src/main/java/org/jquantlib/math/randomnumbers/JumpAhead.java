@@ -0,0 +1,318 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.math.randomnumbers;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jquantlib.QL;
+
+/**
+ * Jump-ahead of random number generators based on linear recurrences modulo 2
+ * <p>
+ * The state <i>s</i> of a generator such as the Mersenne Twister is advanced by a linear transformation <i>T</i> over
+ * GF(2). If <i>&phi;</i> is the characteristic polynomial of <i>T</i>, advancing the generator by <i>J</i> steps amounts
+ * to computing <i>p(T)s</i>, where <i>p(x)=x<sup>J</sup></i> mod <i>&phi;(x)</i>. Generators evaluate <i>p(T)s</i> by
+ * summing the states obtained by stepping a copy of <i>s</i> forward <i>deg &phi;</i> times, which costs about as much as
+ * drawing <i>deg &phi;</i> numbers, no matter how large <i>J</i> is.
+ * <p>
+ * This class computes the polynomials <i>p</i> for jumps of 2<sup>k</sup> steps and caches them, as they only depend on the
+ * generator. The characteristic polynomial itself is obtained by the Berlekamp-Massey algorithm from any output bit of the
+ * generator, which is a linear recurrent sequence with the same minimal polynomial for generators with primitive
+ * characteristic polynomials.
+ * <p>
+ * Polynomials are represented as arrays of <code>long</code>, where bit <code>i%64</code> of element <code>i/64</code> is
+ * the coefficient of <i>x<sup>i</sup></i>.
+ *
+ * @see <a href="http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/ARTICLES/jump-seta-lfsr.pdf">Haramoto, Matsumoto, Nishimura,
+ *      Panneton, L'Ecuyer: Efficient Jump Ahead for F2-Linear Random Number Generators</a>
+ *
+ * @author agent
+ */
+public final class JumpAhead {
+
+    //
+    // private fields
+    //
+
+    private final long[] characteristic;
+    private final int degree;
+    private final ConcurrentHashMap<Integer, long[]> jumps;
+
+
+    //
+    // public constructors
+    //
+
+    /**
+     * @param characteristic is the characteristic polynomial of the generator
+     */
+    public JumpAhead(final long[] characteristic) {
+        this.degree = degree(characteristic);
+        QL.require(degree > 0, "characteristic polynomial must have positive degree"); // TODO: message
+        this.characteristic = characteristic.clone();
+        this.jumps = new ConcurrentHashMap<Integer, long[]>();
+    }
+
+
+    //
+    // public static methods
+    //
+
+    /**
+     * Builds a jump-ahead facility from a linear recurrent sequence of bits, such as the most significant bits of
+     * successive outputs of a generator.
+     *
+     * @param sequence holds the bits of the sequence
+     * @param length is the number of bits, which must be at least twice the degree of the characteristic polynomial
+     */
+    public static JumpAhead fromSequence(final long[] sequence, final int length) {
+        return new JumpAhead(minimalPolynomial(sequence, length));
+    }
+
+    /**
+     * Finds the minimal polynomial of a linear recurrent sequence of bits by means of the Berlekamp-Massey algorithm.
+     *
+     * @param sequence holds the bits of the sequence
+     * @param length is the number of bits, which must be at least twice the degree of the minimal polynomial
+     * @return the minimal polynomial
+     */
+    public static long[] minimalPolynomial(final long[] sequence, final int length) {
+        QL.require(length > 0 && sequence.length >= words(length), "sequence too short"); // TODO: message
+
+        // reversed sequence, so that discrepancies are inner products of aligned bit strings
+        final long[] reversed = new long[words(length)];
+        for (int i = 0; i < length; i++) {
+            if (coefficient(sequence, i)) {
+                final int j = length-1-i;
+                reversed[j >>> 6] |= 1L << j;
+            }
+        }
+
+        // connection polynomials
+        long[] c = new long[words(length+1)+1];
+        long[] b = new long[c.length];
+        c[0] = b[0] = 1L;
+        int l = 0;
+        int m = 1;
+        for (int n = 0; n < length; n++) {
+            if (discrepancy(c, l, reversed, length-1-n)) {
+                if (2*l <= n) {
+                    final long[] t = c.clone();
+                    addShifted(c, b, m);
+                    l = n+1-l;
+                    b = t;
+                    m = 1;
+                } else {
+                    addShifted(c, b, m);
+                    m++;
+                }
+            } else {
+                m++;
+            }
+        }
+
+        // the minimal polynomial is the reciprocal of the connection polynomial
+        final long[] result = new long[words(l+1)];
+        for (int i = 0; i <= l; i++) {
+            if (coefficient(c, i)) {
+                final int j = l-i;
+                result[j >>> 6] |= 1L << j;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the degree of a polynomial, or -1 if the polynomial is null
+     */
+    public static int degree(final long[] p) {
+        for (int i = p.length-1; i >= 0; i--) {
+            if (p[i] != 0L)
+                return (i << 6) + 63 - Long.numberOfLeadingZeros(p[i]);
+        }
+        return -1;
+    }
+
+    /**
+     * @return <code>true</code> if the coefficient of <i>x<sup>i</sup></i> is one
+     */
+    public static boolean coefficient(final long[] p, final int i) {
+        final int w = i >>> 6;
+        return w < p.length && (p[w] & (1L << i)) != 0L;
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * @return the degree of the characteristic polynomial, i.e: the number of steps needed to apply a jump polynomial
+     */
+    public int degree() {
+        return degree;
+    }
+
+    /**
+     * @return the characteristic polynomial
+     */
+    public long[] characteristic() {
+        return characteristic.clone();
+    }
+
+    /**
+     * Returns the jump polynomial <i>x<sup>J</sup></i> mod <i>&phi;(x)</i> for <i>J</i>=2<sup>log2Steps</sup>.
+     * <p>
+     * Polynomials are cached, so that the returned array must not be modified.
+     *
+     * @param log2Steps is the base 2 logarithm of the number of steps
+     */
+    public long[] polynomial(final int log2Steps) {
+        QL.require(log2Steps >= 0, "number of steps must be a non-negative power of 2"); // TODO: message
+        final Integer key = Integer.valueOf(log2Steps);
+        long[] p = jumps.get(key);
+        if (p == null) {
+            p = compute(log2Steps);
+            final long[] previous = jumps.putIfAbsent(key, p);
+            if (previous != null) {
+                p = previous;
+            }
+        }
+        return p;
+    }
+
+
+    //
+    // private methods
+    //
+
+    private long[] compute(final int log2Steps) {
+        // x^(2^k) is its own remainder as long as 2^k is smaller than the degree
+        int k = 0;
+        while (k < log2Steps && k < 30 && (1 << (k+1)) < degree) {
+            k++;
+        }
+        long[] p = new long[words(degree)];
+        final int e = 1 << k;
+        if (e < degree) {
+            p[e >>> 6] = 1L << e;
+        } else {
+            p[0] = 1L;
+            p = multiplyByX(p, e);
+        }
+        for (; k < log2Steps; k++) {
+            p = square(p);
+        }
+        return p;
+    }
+
+    private long[] multiplyByX(final long[] p, final int e) {
+        final long[] a = new long[words(degree+e)];
+        addShifted(a, p, e);
+        return reduce(a);
+    }
+
+    private long[] square(final long[] p) {
+        // squaring is linear modulo 2: coefficients just spread out
+        final long[] a = new long[2*p.length];
+        for (int i = 0; i < p.length; i++) {
+            a[2*i] = spread((int) p[i]);
+            a[2*i+1] = spread((int) (p[i] >>> 32));
+        }
+        return reduce(a);
+    }
+
+    private long[] reduce(final long[] a) {
+        for (int i = degree(a); i >= degree; i--) {
+            if (coefficient(a, i)) {
+                addShifted(a, characteristic, i-degree);
+            }
+        }
+        final long[] result = new long[words(degree)];
+        System.arraycopy(a, 0, result, 0, Math.min(a.length, result.length));
+        return result;
+    }
+
+
+    //
+    // private static methods
+    //
+
+    private static int words(final int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * @return the parity of the inner product between the coefficients of <code>c</code> up to degree <code>l</code> and the
+     * bits of <code>s</code> starting at bit <code>offset</code>
+     */
+    private static boolean discrepancy(final long[] c, final int l, final long[] s, final int offset) {
+        long acc = 0L;
+        final int shift = offset & 63;
+        int w = offset >>> 6;
+        for (int i = 0; i <= (l >>> 6); i++, w++) {
+            long bits = w < s.length ? s[w] >>> shift : 0L;
+            if (shift != 0 && w+1 < s.length) {
+                bits |= s[w+1] << (64-shift);
+            }
+            acc ^= c[i] & bits;
+        }
+        return (Long.bitCount(acc) & 1) != 0;
+    }
+
+    /**
+     * Adds <code>b</code> multiplied by <i>x<sup>shift</sup></i> to <code>a</code>, discarding terms which do not fit.
+     */
+    private static void addShifted(final long[] a, final long[] b, final int shift) {
+        final int words = shift >>> 6;
+        final int bits = shift & 63;
+        for (int i = 0; i < b.length && i+words < a.length; i++) {
+            if (b[i] == 0L) {
+                continue;
+            }
+            if (bits == 0) {
+                a[i+words] ^= b[i];
+            } else {
+                a[i+words] ^= b[i] << bits;
+                if (i+words+1 < a.length) {
+                    a[i+words+1] ^= b[i] >>> (64-bits);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the bits of <code>x</code> interleaved with zeros
+     */
+    private static long spread(final int x) {
+        long v = x & 0xffffffffL;
+        v = (v | (v << 16)) & 0x0000ffff0000ffffL;
+        v = (v | (v <<  8)) & 0x00ff00ff00ff00ffL;
+        v = (v | (v <<  4)) & 0x0f0f0f0f0f0f0f0fL;
+        v = (v | (v <<  2)) & 0x3333333333333333L;
+        v = (v | (v <<  1)) & 0x5555555555555555L;
+        return v;
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.math.randomnumbers;
+
+import java.util.List;
+
+/**
+ * Random number generator whose sequence can be split into independent substreams
+ * <p>
+ * Substreams are non-overlapping blocks of the sequence of a single generator, obtained by jumping ahead instead of
+ * reseeding. Unlike generators built from different seeds, substreams are guaranteed not to overlap as long as none of
+ * them draws more numbers than the distance between them. This makes them suitable for feeding parallel workers of a
+ * Monte Carlo simulation, each one of them owning its own substream.
+ *
+ * @param <T> is the type of the generator
+ *
+ * @see JumpAhead
+ *
+ * @author agent
+ */
+public interface JumpableRandomNumberGenerator<T extends JumpableRandomNumberGenerator<T>> {
+
+    /**
+     * Advances the generator by 2<sup>log2Steps</sup> draws, exactly as if that many numbers had been drawn and discarded.
+     *
+     * @param log2Steps is the base 2 logarithm of the number of draws to be skipped
+     */
+    public void jump(int log2Steps);
+
+    /**
+     * Returns independent generators, the first one being a copy of this generator and each one of the others starting
+     * 2<sup>{@link #substreamLog2Length()}</sup> draws ahead of the previous one. This generator is not modified.
+     *
+     * @param count is the number of substreams, which must not exceed the number of substreams which fit in the period of
+     *        the generator
+     * @return <code>count</code> generators
+     */
+    public List<T> substreams(int count);
+
+    /**
+     * @return the base 2 logarithm of the distance, in draws, between consecutive substreams
+     */
+    public int substreamLog2Length();
+
+    /**
+     * Fills a buffer with uniform deviates, as successive calls to the single deviate method of the generator would do.
+     *
+     * @param out is the buffer to be filled
+     */
+    public void nextDoubles(double[] out);
+
+}
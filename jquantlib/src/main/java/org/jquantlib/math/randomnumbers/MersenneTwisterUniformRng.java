@@ -22,6 +22,10 @@
 
 package org.jquantlib.math.randomnumbers;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jquantlib.QL;
 import org.jquantlib.methods.montecarlo.Sample;
 
 
@@ -48,6 +52,11 @@ import org.jquantlib.methods.montecarlo.Sample;
  * algorithms expecting a standard random generator, and hence benefit
  * from a better generator without code change.</p>
  *
+ * <p>The generator can jump ahead by 2<sup>k</sup> draws at the cost of
+ * about 20000 draws, whatever k is, which allows splitting its sequence
+ * into non-overlapping substreams for parallel workers. See
+ * {@link JumpAhead} and {@link #substreams(int)}.</p>
+ *
  * <p>This class is mainly a Java port of the 2002-01-26 version of
  * the generator written in C by Makoto Matsumoto and Takuji
  * Nishimura. Here is their original copyright:</p>
@@ -89,7 +98,17 @@ import org.jquantlib.methods.montecarlo.Sample;
  *
  * @version $Id: MersenneTwister.java 1666 2005-12-15 16:37:55Z luc $
  */
-public class MersenneTwisterUniformRng implements RandomNumberGenerator {
+public class MersenneTwisterUniformRng implements RandomNumberGenerator, JumpableRandomNumberGenerator<MersenneTwisterUniformRng> {
+
+    /**
+     * Base 2 logarithm of the distance, in draws, between consecutive substreams
+     * <p>
+     * The period of the generator leaves room for 2<sup>19873</sup> substreams, so that any positive number of
+     * substreams can be requested.
+     *
+     * @see #substreams(int)
+     */
+    public static final int SUBSTREAM_LOG2_LENGTH = 64;
 
     /**
      * Creates a new random number generator.
@@ -132,6 +151,14 @@ public class MersenneTwisterUniformRng implements RandomNumberGenerator {
         setSeed(seed);
     }
 
+    /**
+     * Creates a copy of a generator, which produces the same sequence from now on.
+     */
+    private MersenneTwisterUniformRng(final MersenneTwisterUniformRng other) {
+        mt = other.mt.clone();
+        mti = other.mti;
+    }
+
     /**
      * Reinitialize the generator as if just built with the given int seed.
      * <p>
@@ -238,23 +265,7 @@ public class MersenneTwisterUniformRng implements RandomNumberGenerator {
         int y;
 
         if (mti >= N) { // generate N words at one time
-            int mtNext = mt[0];
-            for (int k = 0; k < N - M; ++k) {
-                final int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
-            }
-            for (int k = N - M; k < N - 1; ++k) {
-                final int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
-            }
-            y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
-            mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
-
-            mti = 0;
+            generate();
         }
 
         y = mt[mti++];
@@ -274,19 +285,141 @@ public class MersenneTwisterUniformRng implements RandomNumberGenerator {
         return next(32);
     }
 
+    @Override
+    public void nextDoubles(final double[] out) {
+        int i = 0;
+        while (i < out.length) {
+            if (mti >= N) {
+                generate();
+            }
+            final int end = Math.min(out.length, i + N - mti);
+            while (i < end) {
+                int y = mt[mti++];
+                y ^= (y >>> 11);
+                y ^= (y << 7) & 0x9d2c5680;
+                y ^= (y << 15) & 0xefc60000;
+                y ^= (y >>> 18);
+                out[i++] = ((y & 0xffffffffL) + 0.5) / 4294967296.0;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A draw is a call to {@link #nextInt32()} or {@link #nextReal()}, or a single element filled by
+     * {@link #nextDoubles(double[])}.
+     */
+    @Override
+    public void jump(final int log2Steps) {
+        final long[] p = Jumps.INSTANCE.polynomial(log2Steps);
+        final int degree = JumpAhead.degree(p);
+
+        // Array mt holds the window of the linear recurrence which starts at the current block, whatever the number of words
+        // already taken from it. Summing the windows obtained by stepping it forward gives the window 2^log2Steps draws ahead, which
+        // is taken from the same position. Only the most significant bit of the first word belongs to the state, but its
+        // remaining bits are never used as mti is never zero here.
+        final int[] w = mt.clone();
+        final int[] r = new int[N];
+        int pos = 0;
+        for (int i = 0; i <= degree; i++) {
+            if (JumpAhead.coefficient(p, i)) {
+                for (int j = pos; j < N; j++) {
+                    r[j-pos] ^= w[j];
+                }
+                for (int j = 0; j < pos; j++) {
+                    r[N-pos+j] ^= w[j];
+                }
+            }
+            final int next = pos == N-1 ? 0 : pos+1;
+            final int y = (w[pos] & 0x80000000) | (w[next] & 0x7fffffff);
+            w[pos] = w[pos < N-M ? pos+M : pos+M-N] ^ (y >>> 1) ^ MAG01[y & 0x1];
+            pos = next;
+        }
+        System.arraycopy(r, 0, mt, 0, N);
+    }
+
+    @Override
+    public List<MersenneTwisterUniformRng> substreams(final int count) {
+        QL.require(count > 0, "number of substreams must be positive"); // TODO: message
+        final List<MersenneTwisterUniformRng> result = new ArrayList<MersenneTwisterUniformRng>(count);
+        MersenneTwisterUniformRng stream = new MersenneTwisterUniformRng(this);
+        result.add(stream);
+        for (int i = 1; i < count; i++) {
+            stream = new MersenneTwisterUniformRng(stream);
+            stream.jump(SUBSTREAM_LOG2_LENGTH);
+            result.add(stream);
+        }
+        return result;
+    }
+
+    @Override
+    public int substreamLog2Length() {
+        return SUBSTREAM_LOG2_LENGTH;
+    }
+
     public Sample<Double> next() /* @ReadOnly */{
-        // divide by 2^32
-        final double result = (nextInt32() + 0.5) / 4294967296.0;
-        return new Sample<Double>(result, 1.0);
+        return new Sample<Double>(nextReal(), 1.0);
+    }
+
+    @Override
+    public double nextReal() /* @ReadOnly */{
+        // nextInt32 returns a signed 32bit value: take it as unsigned and divide by 2^32
+        return ((nextInt32() & 0xffffffffL) + 0.5) / 4294967296.0;
+    }
+
+    /**
+     * Generates the next block of N words.
+     */
+    private void generate() {
+        int y;
+        int mtNext = mt[0];
+        for (int k = 0; k < N - M; ++k) {
+            final int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        for (int k = N - M; k < N - 1; ++k) {
+            final int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+        y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
+        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+
+        mti = 0;
     }
 
     private static final int N = 624;
     private static final int M = 397;
+    private static final int MEXP = 19937;
     private static final int[] MAG01 = { 0x0, 0x9908b0df };
 
     private final int[] mt;
     private int mti;
 
+    /**
+     * Holds the jump-ahead facility, which is built the first time a generator jumps.
+     */
+    private static class Jumps {
+        private static final JumpAhead INSTANCE;
+        static {
+            // any output bit of the generator is a linear recurrent sequence whose minimal polynomial is the characteristic
+            // polynomial of the generator
+            final int length = 2*MEXP;
+            final long[] bits = new long[(length+63)/64];
+            final MersenneTwisterUniformRng rng = new MersenneTwisterUniformRng(5489);
+            for (int i = 0; i < length; i++) {
+                if (rng.next(32) < 0) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            INSTANCE = JumpAhead.fromSequence(bits, length);
+        }
+    }
+
     private static final long serialVersionUID = 7666069655872848609L;
 
 }
@@ -22,28 +22,24 @@
 
 package org.jquantlib.math.randomnumbers;
 
-import org.jquantlib.QL;
 import org.jquantlib.math.distributions.InverseCumulativeNormal;
 
 /**
+ * Default traits for pseudo-random number generation
+ * <p>
+ * Gaussian sequences are obtained from a {@link MersenneTwisterUniformRng} by means of an {@link InverseCumulativeNormal}.
+ *
  * @author Richard Gomes
  */
 public class PseudoRandom /* <RNG extends MersenneTwisterUniformRng, IC extends InverseCumulativeNormal> */
         extends GenericPseudoRandom<MersenneTwisterUniformRng, InverseCumulativeNormal> {
 
-	public PseudoRandom(final Class<? extends UniformRandomSequenceGenerator> classRNG, final Class<? extends InverseCumulative> classIC) {
+    public PseudoRandom() {
+        this(MersenneTwisterUniformRng.class, InverseCumulativeNormal.class);
+    }
+
+	public PseudoRandom(final Class<? extends RandomNumberGenerator> classRNG, final Class<? extends InverseCumulative> classIC) {
 		super(classRNG, classIC);
 	}
-	
-	
-	
-    @Override
-    public InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal> makeSequenceGenerator(
-            final /*@NonNegative*/ int dimension, 
-            final /*@NonNegative*/ long seed) {
-
-    	QL.validateExperimentalMode();
-    	return super.makeSequenceGenerator(dimension, seed);
-    }
 
-}
\ No newline at end of file
+}
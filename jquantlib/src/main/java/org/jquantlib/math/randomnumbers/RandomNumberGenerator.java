@@ -32,6 +32,16 @@ public interface RandomNumberGenerator {
      */
     public Sample<Double> next() /*@ReadOnly*/;
 
+    /**
+     * Returns another random number as a primitive value.
+     * <p>
+     * This method is equivalent to <code>next().value()</code> for generators which produce samples of unit weight but it
+     * does not allocate any object, which makes it the preferred method in the inner loops of simulations.
+     *
+     * @return another random number
+     */
+    public /*@Real*/ double nextReal() /*@ReadOnly*/;
+
 
     /**
      * Once JVM does not support unsigned fixed arithmetic, we use 64bit variables as containers for 32bit values in order to reduce
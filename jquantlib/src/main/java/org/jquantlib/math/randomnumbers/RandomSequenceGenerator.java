@@ -61,7 +61,9 @@ public class RandomSequenceGenerator<RNG extends RandomNumberGenerator> implemen
 
     private final /*@NonNegative*/ int  dimension;
     private final RNG                   rng;
+    private final JumpableRandomNumberGenerator<?> bulk;
     private final double[]              sequence;
+    private final Sample<double[]>      sample;
     private final long[]                int32Sequence;
     
     private final Class<? extends RandomNumberGenerator>	classRNG;
@@ -76,13 +78,13 @@ public class RandomSequenceGenerator<RNG extends RandomNumberGenerator> implemen
     		final /*@NonNegative*/ int dimensionality, 
     		final RNG rng) {
 
-        if (System.getProperty("EXPERIMENTAL")==null) throw new UnsupportedOperationException("Work in progress");
-
         QL.require(dimensionality >= 1 , "dimensionality must be greater than 0"); // TODO: message
         this.classRNG = classRNG;
         this.dimension = dimensionality;
         this.rng = rng;
+        this.bulk = bulk(rng);
         this.sequence = new double[this.dimension];
+        this.sample = new Sample<double[]>(this.sequence, 1.0);
         this.int32Sequence = new long[this.dimension];
     }
 
@@ -97,13 +99,12 @@ public class RandomSequenceGenerator<RNG extends RandomNumberGenerator> implemen
     		final /*@NonNegative*/ int dimensionality, 
     		final long seed) {
 
-        if (System.getProperty("EXPERIMENTAL")==null) throw new UnsupportedOperationException("Work in progress");
-
         this.classRNG = classRNG;
         
         if (dimensionality < 1) throw new IllegalArgumentException("dimensionality must be greater than 0");
         this.dimension = dimensionality;
         this.sequence = new double[this.dimension];
+        this.sample = new Sample<double[]>(this.sequence, 1.0);
         this.int32Sequence = new long[this.dimension];
 
         // instantiate a generic RandomNumberGenerator
@@ -112,6 +113,19 @@ public class RandomSequenceGenerator<RNG extends RandomNumberGenerator> implemen
         } catch (final Exception e) {
             throw new LibraryException(e); // QA:[RG]::verified
         }
+        this.bulk = bulk(this.rng);
+    }
+
+
+    //
+    // private static methods
+    //
+
+    /**
+     * @return the generator itself if it is able to fill sequences at once, <code>null</code> otherwise
+     */
+    private static JumpableRandomNumberGenerator<?> bulk(final RandomNumberGenerator rng) {
+        return rng instanceof JumpableRandomNumberGenerator ? (JumpableRandomNumberGenerator<?>) rng : null;
     }
 
 
@@ -126,18 +140,25 @@ public class RandomSequenceGenerator<RNG extends RandomNumberGenerator> implemen
 
     @Override
     public final Sample<double[]> lastSequence() /* @ReadOnly */{
-        return new Sample<double[]>(sequence, 1.0);
+        return sample;
     }
 
+    /**
+     * @return the next sequence of uniform deviates
+     *
+     * @note The returned sample and its underlying array are owned by this generator and are overwritten by the next call
+     */
     @Override
     public final Sample<double[]> nextSequence() /* @ReadOnly */{
-        double weight = 1.0;
-        for (int i = 0; i < this.dimension; i++) {
-            final Sample<Double> sample = this.rng.next();
-            this.sequence[i] = sample.value();
-            weight *= sample.weight();
+        // pseudo-random numbers always have unit weight: draw primitive values and avoid boxing
+        if (bulk != null) {
+            bulk.nextDoubles(this.sequence);
+        } else {
+            for (int i = 0; i < this.dimension; i++) {
+                this.sequence[i] = this.rng.nextReal();
+            }
         }
-        return new Sample<double[]>(sequence, weight);
+        return sample;
     }
 
     @Override
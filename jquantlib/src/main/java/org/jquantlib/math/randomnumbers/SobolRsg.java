@@ -22,7 +22,6 @@ When applicable, the original copyright notice follows this notice.
 package org.jquantlib.math.randomnumbers;
 
 import org.jquantlib.QL;
-import org.jquantlib.math.Constants;
 import org.jquantlib.methods.montecarlo.Sample;
 
 /**
@@ -169,47 +168,6 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
             dim40SLinitializers
     };
 
-    private final int sizeSLinitializers
-    = dim02SLinitializers.length
-    + dim03SLinitializers.length
-    + dim04SLinitializers.length
-    + dim05SLinitializers.length
-    + dim06SLinitializers.length
-    + dim07SLinitializers.length
-    + dim08SLinitializers.length
-    + dim09SLinitializers.length
-    + dim10SLinitializers.length
-    + dim11SLinitializers.length
-    + dim12SLinitializers.length
-    + dim13SLinitializers.length
-    + dim14SLinitializers.length
-    + dim15SLinitializers.length
-    + dim16SLinitializers.length
-    + dim17SLinitializers.length
-    + dim18SLinitializers.length
-    + dim19SLinitializers.length
-    + dim20SLinitializers.length
-    + dim21SLinitializers.length
-    + dim22SLinitializers.length
-    + dim23SLinitializers.length
-    + dim24SLinitializers.length
-    + dim25SLinitializers.length
-    + dim26SLinitializers.length
-    + dim27SLinitializers.length
-    + dim28SLinitializers.length
-    + dim29SLinitializers.length
-    + dim30SLinitializers.length
-    + dim31SLinitializers.length
-    + dim32SLinitializers.length
-    + dim33SLinitializers.length
-    + dim34SLinitializers.length
-    + dim35SLinitializers.length
-    + dim36SLinitializers.length
-    + dim37SLinitializers.length
-    + dim38SLinitializers.length
-    + dim39SLinitializers.length
-    + dim40SLinitializers.length;
-
     // coefficients of the free direction integers as given in "Monte Carlo Methods in Finance", by Peter Jaeckel, section 8.3
     private static final long dim09initializers[] = {1, 3, 7, 7, 21, 0};
     private static final long dim10initializers[] = {1, 1, 5, 11, 27, 0};
@@ -269,39 +227,6 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
             dim32initializers
     };
 
-    private final int sizeInitializers
-    = dim02SLinitializers.length
-    + dim03SLinitializers.length
-    + dim04SLinitializers.length
-    + dim05SLinitializers.length
-    + dim06SLinitializers.length
-    + dim07SLinitializers.length
-    + dim08SLinitializers.length
-    + dim09initializers.length
-    + dim10initializers.length
-    + dim11initializers.length
-    + dim12initializers.length
-    + dim13initializers.length
-    + dim14initializers.length
-    + dim15initializers.length
-    + dim16initializers.length
-    + dim17initializers.length
-    + dim18initializers.length
-    + dim19initializers.length
-    + dim20initializers.length
-    + dim21initializers.length
-    + dim22initializers.length
-    + dim23initializers.length
-    + dim24initializers.length
-    + dim25initializers.length
-    + dim26initializers.length
-    + dim27initializers.length
-    + dim28initializers.length
-    + dim29initializers.length
-    + dim30initializers.length
-    + dim31initializers.length
-    + dim32initializers.length;
-
 
     // Lemieux coefficients of the free direction integers as given in Christiane Lemieux, private communication, September 2004
     private static final long dim041Linitializers[] = {1, 1, 3, 13, 7, 35, 61, 91, 0};
@@ -987,367 +912,6 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
         dim360Linitializers
     };
 
-    private final int sizeLinitializers
-    = dim02SLinitializers.length
-    + dim03SLinitializers.length
-    + dim04SLinitializers.length
-    + dim05SLinitializers.length
-    + dim06SLinitializers.length
-    + dim07SLinitializers.length
-    + dim08SLinitializers.length
-    + dim09SLinitializers.length
-    + dim10SLinitializers.length
-    + dim11SLinitializers.length
-    + dim12SLinitializers.length
-    + dim13SLinitializers.length
-    + dim14SLinitializers.length
-    + dim15SLinitializers.length
-    + dim16SLinitializers.length
-    + dim17SLinitializers.length
-    + dim18SLinitializers.length
-    + dim19SLinitializers.length
-    + dim20SLinitializers.length
-    + dim21SLinitializers.length
-    + dim22SLinitializers.length
-    + dim23SLinitializers.length
-    + dim24SLinitializers.length
-    + dim25SLinitializers.length
-    + dim26SLinitializers.length
-    + dim27SLinitializers.length
-    + dim28SLinitializers.length
-    + dim29SLinitializers.length
-    + dim30SLinitializers.length
-    + dim31SLinitializers.length
-    + dim32SLinitializers.length
-    + dim33SLinitializers.length
-    + dim34SLinitializers.length
-    + dim35SLinitializers.length
-    + dim36SLinitializers.length
-    + dim37SLinitializers.length
-    + dim38SLinitializers.length
-    + dim39SLinitializers.length
-    + dim40SLinitializers.length
-    + dim041Linitializers.length
-    + dim042Linitializers.length
-    + dim043Linitializers.length
-    + dim044Linitializers.length
-    + dim045Linitializers.length
-    + dim046Linitializers.length
-    + dim047Linitializers.length
-    + dim048Linitializers.length
-    + dim049Linitializers.length
-    + dim050Linitializers.length
-    + dim051Linitializers.length
-    + dim052Linitializers.length
-    + dim053Linitializers.length
-    + dim054Linitializers.length
-    + dim055Linitializers.length
-    + dim056Linitializers.length
-    + dim057Linitializers.length
-    + dim058Linitializers.length
-    + dim059Linitializers.length
-    + dim060Linitializers.length
-    + dim061Linitializers.length
-    + dim062Linitializers.length
-    + dim063Linitializers.length
-    + dim064Linitializers.length
-    + dim065Linitializers.length
-    + dim066Linitializers.length
-    + dim067Linitializers.length
-    + dim068Linitializers.length
-    + dim069Linitializers.length
-    + dim070Linitializers.length
-    + dim071Linitializers.length
-    + dim072Linitializers.length
-    + dim073Linitializers.length
-    + dim074Linitializers.length
-    + dim075Linitializers.length
-    + dim076Linitializers.length
-    + dim077Linitializers.length
-    + dim078Linitializers.length
-    + dim079Linitializers.length
-    + dim080Linitializers.length
-    + dim081Linitializers.length
-    + dim082Linitializers.length
-    + dim083Linitializers.length
-    + dim084Linitializers.length
-    + dim085Linitializers.length
-    + dim086Linitializers.length
-    + dim087Linitializers.length
-    + dim088Linitializers.length
-    + dim089Linitializers.length
-    + dim090Linitializers.length
-    + dim091Linitializers.length
-    + dim092Linitializers.length
-    + dim093Linitializers.length
-    + dim094Linitializers.length
-    + dim095Linitializers.length
-    + dim096Linitializers.length
-    + dim097Linitializers.length
-    + dim098Linitializers.length
-    + dim099Linitializers.length
-    + dim100Linitializers.length
-    + dim101Linitializers.length
-    + dim102Linitializers.length
-    + dim103Linitializers.length
-    + dim104Linitializers.length
-    + dim105Linitializers.length
-    + dim106Linitializers.length
-    + dim107Linitializers.length
-    + dim108Linitializers.length
-    + dim109Linitializers.length
-    + dim110Linitializers.length
-    + dim111Linitializers.length
-    + dim112Linitializers.length
-    + dim113Linitializers.length
-    + dim114Linitializers.length
-    + dim115Linitializers.length
-    + dim116Linitializers.length
-    + dim117Linitializers.length
-    + dim118Linitializers.length
-    + dim119Linitializers.length
-    + dim120Linitializers.length
-    + dim121Linitializers.length
-    + dim122Linitializers.length
-    + dim123Linitializers.length
-    + dim124Linitializers.length
-    + dim125Linitializers.length
-    + dim126Linitializers.length
-    + dim127Linitializers.length
-    + dim128Linitializers.length
-    + dim129Linitializers.length
-    + dim130Linitializers.length
-    + dim131Linitializers.length
-    + dim132Linitializers.length
-    + dim133Linitializers.length
-    + dim134Linitializers.length
-    + dim135Linitializers.length
-    + dim136Linitializers.length
-    + dim137Linitializers.length
-    + dim138Linitializers.length
-    + dim139Linitializers.length
-    + dim140Linitializers.length
-    + dim141Linitializers.length
-    + dim142Linitializers.length
-    + dim143Linitializers.length
-    + dim144Linitializers.length
-    + dim145Linitializers.length
-    + dim146Linitializers.length
-    + dim147Linitializers.length
-    + dim148Linitializers.length
-    + dim149Linitializers.length
-    + dim150Linitializers.length
-    + dim151Linitializers.length
-    + dim152Linitializers.length
-    + dim153Linitializers.length
-    + dim154Linitializers.length
-    + dim155Linitializers.length
-    + dim156Linitializers.length
-    + dim157Linitializers.length
-    + dim158Linitializers.length
-    + dim159Linitializers.length
-    + dim160Linitializers.length
-    + dim161Linitializers.length
-    + dim162Linitializers.length
-    + dim163Linitializers.length
-    + dim164Linitializers.length
-    + dim165Linitializers.length
-    + dim166Linitializers.length
-    + dim167Linitializers.length
-    + dim168Linitializers.length
-    + dim169Linitializers.length
-    + dim170Linitializers.length
-    + dim171Linitializers.length
-    + dim172Linitializers.length
-    + dim173Linitializers.length
-    + dim174Linitializers.length
-    + dim175Linitializers.length
-    + dim176Linitializers.length
-    + dim177Linitializers.length
-    + dim178Linitializers.length
-    + dim179Linitializers.length
-    + dim180Linitializers.length
-    + dim181Linitializers.length
-    + dim182Linitializers.length
-    + dim183Linitializers.length
-    + dim184Linitializers.length
-    + dim185Linitializers.length
-    + dim186Linitializers.length
-    + dim187Linitializers.length
-    + dim188Linitializers.length
-    + dim189Linitializers.length
-    + dim190Linitializers.length
-    + dim191Linitializers.length
-    + dim192Linitializers.length
-    + dim193Linitializers.length
-    + dim194Linitializers.length
-    + dim195Linitializers.length
-    + dim196Linitializers.length
-    + dim197Linitializers.length
-    + dim198Linitializers.length
-    + dim199Linitializers.length
-    + dim200Linitializers.length
-    + dim201Linitializers.length
-    + dim202Linitializers.length
-    + dim203Linitializers.length
-    + dim204Linitializers.length
-    + dim205Linitializers.length
-    + dim206Linitializers.length
-    + dim207Linitializers.length
-    + dim208Linitializers.length
-    + dim209Linitializers.length
-    + dim210Linitializers.length
-    + dim211Linitializers.length
-    + dim212Linitializers.length
-    + dim213Linitializers.length
-    + dim214Linitializers.length
-    + dim215Linitializers.length
-    + dim216Linitializers.length
-    + dim217Linitializers.length
-    + dim218Linitializers.length
-    + dim219Linitializers.length
-    + dim220Linitializers.length
-    + dim221Linitializers.length
-    + dim222Linitializers.length
-    + dim223Linitializers.length
-    + dim224Linitializers.length
-    + dim225Linitializers.length
-    + dim226Linitializers.length
-    + dim227Linitializers.length
-    + dim228Linitializers.length
-    + dim229Linitializers.length
-    + dim230Linitializers.length
-    + dim231Linitializers.length
-    + dim232Linitializers.length
-    + dim233Linitializers.length
-    + dim234Linitializers.length
-    + dim235Linitializers.length
-    + dim236Linitializers.length
-    + dim237Linitializers.length
-    + dim238Linitializers.length
-    + dim239Linitializers.length
-    + dim240Linitializers.length
-    + dim241Linitializers.length
-    + dim242Linitializers.length
-    + dim243Linitializers.length
-    + dim244Linitializers.length
-    + dim245Linitializers.length
-    + dim246Linitializers.length
-    + dim247Linitializers.length
-    + dim248Linitializers.length
-    + dim249Linitializers.length
-    + dim250Linitializers.length
-    + dim251Linitializers.length
-    + dim252Linitializers.length
-    + dim253Linitializers.length
-    + dim254Linitializers.length
-    + dim255Linitializers.length
-    + dim256Linitializers.length
-    + dim257Linitializers.length
-    + dim258Linitializers.length
-    + dim259Linitializers.length
-    + dim260Linitializers.length
-    + dim261Linitializers.length
-    + dim262Linitializers.length
-    + dim263Linitializers.length
-    + dim264Linitializers.length
-    + dim265Linitializers.length
-    + dim266Linitializers.length
-    + dim267Linitializers.length
-    + dim268Linitializers.length
-    + dim269Linitializers.length
-    + dim270Linitializers.length
-    + dim271Linitializers.length
-    + dim272Linitializers.length
-    + dim273Linitializers.length
-    + dim274Linitializers.length
-    + dim275Linitializers.length
-    + dim276Linitializers.length
-    + dim277Linitializers.length
-    + dim278Linitializers.length
-    + dim279Linitializers.length
-    + dim280Linitializers.length
-    + dim281Linitializers.length
-    + dim282Linitializers.length
-    + dim283Linitializers.length
-    + dim284Linitializers.length
-    + dim285Linitializers.length
-    + dim286Linitializers.length
-    + dim287Linitializers.length
-    + dim288Linitializers.length
-    + dim289Linitializers.length
-    + dim290Linitializers.length
-    + dim291Linitializers.length
-    + dim292Linitializers.length
-    + dim293Linitializers.length
-    + dim294Linitializers.length
-    + dim295Linitializers.length
-    + dim296Linitializers.length
-    + dim297Linitializers.length
-    + dim298Linitializers.length
-    + dim299Linitializers.length
-    + dim300Linitializers.length
-    + dim301Linitializers.length
-    + dim302Linitializers.length
-    + dim303Linitializers.length
-    + dim304Linitializers.length
-    + dim305Linitializers.length
-    + dim306Linitializers.length
-    + dim307Linitializers.length
-    + dim308Linitializers.length
-    + dim309Linitializers.length
-    + dim310Linitializers.length
-    + dim311Linitializers.length
-    + dim312Linitializers.length
-    + dim313Linitializers.length
-    + dim314Linitializers.length
-    + dim315Linitializers.length
-    + dim316Linitializers.length
-    + dim317Linitializers.length
-    + dim318Linitializers.length
-    + dim319Linitializers.length
-    + dim320Linitializers.length
-    + dim321Linitializers.length
-    + dim322Linitializers.length
-    + dim323Linitializers.length
-    + dim324Linitializers.length
-    + dim325Linitializers.length
-    + dim326Linitializers.length
-    + dim327Linitializers.length
-    + dim328Linitializers.length
-    + dim329Linitializers.length
-    + dim330Linitializers.length
-    + dim331Linitializers.length
-    + dim332Linitializers.length
-    + dim333Linitializers.length
-    + dim334Linitializers.length
-    + dim335Linitializers.length
-    + dim336Linitializers.length
-    + dim337Linitializers.length
-    + dim338Linitializers.length
-    + dim339Linitializers.length
-    + dim340Linitializers.length
-    + dim341Linitializers.length
-    + dim342Linitializers.length
-    + dim343Linitializers.length
-    + dim344Linitializers.length
-    + dim345Linitializers.length
-    + dim346Linitializers.length
-    + dim347Linitializers.length
-    + dim348Linitializers.length
-    + dim349Linitializers.length
-    + dim350Linitializers.length
-    + dim351Linitializers.length
-    + dim352Linitializers.length
-    + dim353Linitializers.length
-    + dim354Linitializers.length
-    + dim355Linitializers.length
-    + dim356Linitializers.length
-    + dim357Linitializers.length
-    + dim358Linitializers.length
-    + dim359Linitializers.length
-    + dim360Linitializers.length;
-
     //
     // public enums
     //
@@ -1361,14 +925,21 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
     //
 
     /**
-     * BITS = 8*sizeof(unsigned long) = 64
+     * Sobol integers are unsigned 32 bit wide numbers kept in 64 bit containers
+     *
+     * @see UniformRandomSequenceGenerator#nextInt32Sequence()
      */
-    private static final int BITS = 64;
+    private static final int BITS = 32;
 
     /**
      *  1/(2^bits_) (written as (1/2)/(2^(bits_-1)) to avoid long overflow)
      */
-    private static final double NORMALIZATION_FACTOR = 0.5 / (1 << (BITS-1));
+    private static final double NORMALIZATION_FACTOR = 0.5 / (1L << (BITS-1));
+
+    /**
+     * Number of points which can be drawn before the Gray code counter overflows
+     */
+    public static final long PERIOD = (1L << BITS) - 1;
 
 
     //
@@ -1451,7 +1022,7 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
 
         // degenerate (no free direction integers) first dimension
         for (int j=0; j < BITS; j++) {
-            directionIntegers[0][j] = (1 << (BITS-j-1));
+            directionIntegers[0][j] = (1L << (BITS-j-1));
         }
 
         int maxTabulated = 0;
@@ -1471,7 +1042,7 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
             break;
         case Jaeckel:
             // maxTabulated = 32;
-            maxTabulated = sizeInitializers/(Long.SIZE/8) + 1;
+            maxTabulated = initializers.length + 1;
             for (int k = 1; k < Math.min(this.dimensionality, maxTabulated); k++) {
                 int j = 0;
                 // 0UL marks coefficients' end for a given dimension
@@ -1485,7 +1056,7 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
             break;
         case SobolLevitan:
             // maxTabulated = 40;
-            maxTabulated = sizeSLinitializers/(Long.SIZE/8) + 1;
+            maxTabulated = SLinitializers.length + 1;
             for (int k = 1; k < Math.min(this.dimensionality, maxTabulated); k++) {
                 int j = 0;
                 // 0UL marks coefficients' end for a given dimension
@@ -1498,8 +1069,8 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
             }
             break;
         case SobolLevitanLemieux:
-            maxTabulated = 360;
-            maxTabulated = sizeLinitializers/(Long.SIZE/8) + 1;
+            // maxTabulated = 360;
+            maxTabulated = Linitializers.length + 1;
             for (int k = 1; k < Math.min(this.dimensionality, maxTabulated); k++) {
                 int j = 0;
                 // 0UL marks coefficients' end for a given dimension
@@ -1531,8 +1102,8 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
                         // rightmost l bits non-zero
 
                         // FIXME: Translate this line
-                        directionIntegers[k][l - 1] = (long) (u * (1 << l));
-                    } while (!((directionIntegers[k][l - 1] & 1) == 0));
+                        directionIntegers[k][l - 1] = (long) (u * (1L << l));
+                    } while ((directionIntegers[k][l - 1] & 1) == 0);
 
                     // iterate until the direction integer is odd
                     // that is it has the rightmost bit set
@@ -1625,24 +1196,107 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
     }
 
 
-    // skip to the n-th sample in the low-discrepancy sequence
-    private void skipTo(final /*@NonNegative*/ long skip) {
+    //
+    // private constructors
+    //
+
+    /**
+     * Creates a generator which shares direction integers with <code>other</code> and starts from the first point
+     */
+    private SobolRsg(final SobolRsg other) {
+        this.dimensionality = other.dimensionality;
+        this.directionIntegers = other.directionIntegers;
+        this.integerSequence = new long[this.dimensionality];
+        this.sequenceCounter = 0;
+        this.firstDraw = true;
+        for (int k=0; k<this.dimensionality; k++) {
+            integerSequence[k] = directionIntegers[k][0];
+        }
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * Skips to the n-th point of the sequence, so that the next draw returns the same point that the n-th draw
+     * of a new generator would return, counting from zero.
+     * <p>
+     * The point is obtained directly from the Gray code of <code>n+1</code>, which takes a number of operations
+     * proportional to the number of bits of <code>n</code>.
+     *
+     * @param skip is the number of points to be skipped
+     */
+    public void skipTo(final /*@NonNegative*/ long skip) {
+        QL.require(skip >= 0 && skip < PERIOD, "skip out of range"); // TODO: message
         final long n = skip + 1;
-        final long ops = (long) (Math.log(n) / Constants.M_LN2) + 1;
+        final int ops = Long.SIZE - Long.numberOfLeadingZeros(n);
 
         // Convert to Gray code
         final long gray = n ^ (n>>1);
 
-        // FIXME: Correct the following for loop regarding directionIntegers_ .
         for (int k = 0; k < this.dimensionality; k++) {
             integerSequence[k] = 0;
             for (int index = 0; index < ops; index++) {
                 if (((gray >> index) & 1) != 0) {
-                    integerSequence[k] = directionIntegers[k][index];
+                    integerSequence[k] ^= directionIntegers[k][index];
                 }
             }
         }
         sequenceCounter = skip;
+        firstDraw = true;
+    }
+
+    /**
+     * Draws <code>count</code> consecutive points into <code>out</code>, which receives the coordinates of every
+     * point one after another. Points are identical to the ones returned by as many calls to {@link #nextSequence()}.
+     * <p>
+     * Nothing is allocated, which makes this method preferable to {@link #nextSequence()} when many points are drawn.
+     * {@link #lastSequence()} is not updated.
+     *
+     * @param out receives <code>count*dimension()</code> coordinates
+     * @param count is the number of points to be drawn
+     */
+    public void nextBlock(final double[] out, final /*@NonNegative*/ int count) {
+        QL.require(out.length >= (long) count * this.dimensionality, "output array is too small"); // TODO: message
+        for (int i = 0, pos = 0; i < count; i++) {
+            final long[] v = nextInt32Sequence();
+            for (int k = 0; k < this.dimensionality; k++, pos++) {
+                out[pos] = v[k] * NORMALIZATION_FACTOR;
+            }
+        }
+    }
+
+    /**
+     * Splits the first <code>samples</code> points of the sequence into <code>parts</code> contiguous ranges, so that
+     * a quasi-Monte Carlo run can be spread over several workers and still employ the same points as a sequential run.
+     * <p>
+     * Points are split as samples are split among streams by
+     * {@link org.jquantlib.methods.montecarlo.MonteCarloModel MonteCarloModel}: each range contains
+     * <code>samples/parts</code> points and the first <code>samples%parts</code> ranges contain one extra point.
+     * <p>
+     * This generator is not affected.
+     *
+     * @param samples is the total number of points to be drawn
+     * @param parts is the number of ranges
+     * @return new generators, one per range, positioned at the first point of their ranges
+     */
+    public SobolRsg[] partition(final /*@NonNegative*/ long samples, final /*@NonNegative*/ int parts) {
+        QL.require(parts > 0, "number of parts must be positive"); // TODO: message
+        QL.require(samples >= 0 && samples < PERIOD, "number of samples out of range"); // TODO: message
+        final SobolRsg[] result = new SobolRsg[parts];
+        final long chunk = samples / parts;
+        final long remainder = samples % parts;
+        long first = 0;
+        for (int i = 0; i < parts; i++) {
+            result[i] = new SobolRsg(this);
+            if (first > 0) {
+                result[i].skipTo(first);
+            }
+            first += chunk + (i < remainder ? 1 : 0);
+        }
+        return result;
     }
 
 
@@ -1658,24 +1312,23 @@ public class SobolRsg implements UniformRandomSequenceGenerator {
     @Override
     public final long[] nextInt32Sequence() /* @ReadOnly */ {
         if (firstDraw) {
-            // it was precomputed in the constructor
+            // it was precomputed in the constructor or by skipTo
             firstDraw = false;
             return integerSequence;
         }
         // increment the counter
         sequenceCounter++;
         // did we overflow?
-        if (sequenceCounter == 0) {
+        if (sequenceCounter == PERIOD) {
             throw new ArithmeticException("period exceeded"); // TODO: message
         }
 
         // Instead of using the counter n as new unique generating integer
         // for the n-th draw use the Gray code G(n) as proposed
         // by Antonov and Saleev
-        long n = sequenceCounter;
+
         // Find rightmost zero bit of n
-        int j = 0;
-        while ((n & 1) != 0) { n >>= 1; j++; }
+        final int j = Long.numberOfTrailingZeros(~sequenceCounter);
         for (int k = 0; k < this.dimensionality; k++) {
             // XOR the appropriate direction number into each component of
             // the integer sequence to obtain a new Sobol integer for that
@@ -0,0 +1,124 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+package org.jquantlib.math.statistics;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Incremental statistics which can be fed by many threads at once
+ * <p>
+ * Every thread which adds samples accumulates them into its own stripe, which is an {@link IncrementalStatistics} private to
+ * that thread. Adding a sample therefore involves neither locks nor shared writes. Stripes are combined by
+ * {@link #statistics()} into a single {@link IncrementalStatistics}.
+ * <p>
+ * Results obtained by {@link #statistics()} take into account all samples added by threads which are known to have finished
+ * adding, for instance by means of <code>Future.get()</code> or <code>Thread.join()</code>. Samples added concurrently with
+ * {@link #statistics()} may be partially taken into account.
+ *
+ * @note Stripes are combined in the order threads first added samples, so that results may differ from a sequential
+ * accumulation of the same samples by rounding errors only.
+ *
+ * @see IncrementalStatistics#combine(IncrementalStatistics)
+ *
+ * @author agent
+ */
+public class ConcurrentIncrementalStatistics {
+
+    //
+    // private fields
+    //
+
+    private final ConcurrentLinkedQueue<IncrementalStatistics> stripes;
+    private final ThreadLocal<IncrementalStatistics> stripe;
+
+
+    //
+    // public constructors
+    //
+
+    public ConcurrentIncrementalStatistics() {
+        this.stripes = new ConcurrentLinkedQueue<IncrementalStatistics>();
+        this.stripe = new ThreadLocal<IncrementalStatistics>() {
+            @Override
+            protected IncrementalStatistics initialValue() {
+                final IncrementalStatistics result = new IncrementalStatistics();
+                stripes.add(result);
+                return result;
+            }
+        };
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * adds a datum to the stripe of the calling thread, with default weight
+     */
+    public void add(final /*@Real*/ double value) {
+        stripe.get().add(value);
+    }
+
+    /**
+     * adds a datum to the stripe of the calling thread, with its weight
+     * <p>
+     * weight must be positive or null
+     */
+    public void add(final /*@Real*/ double value, final /*@Real*/ double weight) {
+        stripe.get().add(value, weight);
+    }
+
+    /**
+     * adds a sequence of data to the stripe of the calling thread, with default weight
+     */
+    public void addSequence(final double[] datum) {
+        stripe.get().addSequence(datum);
+    }
+
+    /**
+     * adds a sequence of data to the stripe of the calling thread, each with its weight
+     */
+    public void addSequence(final double[] datum, final double[] weights) {
+        stripe.get().addSequence(datum, weights);
+    }
+
+    /**
+     * @return the number of stripes, i.e: the number of threads which have added samples so far
+     */
+    public /*@Size*/ int stripes() {
+        return stripes.size();
+    }
+
+    /**
+     * @return a new {@link IncrementalStatistics} which combines the samples added by all threads
+     */
+    public IncrementalStatistics statistics() {
+        final IncrementalStatistics result = new IncrementalStatistics();
+        for (final IncrementalStatistics s : stripes) {
+            result.combine(s);
+        }
+        return result;
+    }
+
+}
@@ -41,8 +41,8 @@
 
 package org.jquantlib.math.statistics;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jquantlib.QL;
@@ -73,7 +73,9 @@ import org.jquantlib.util.Pair;
  * <p>
  * It doesn't suffer the numerical instability problem of
  * IncrementalStatistics. The downside is that it stores all
- * samples, thus increasing the memory requirements.
+ * samples, thus increasing the memory requirements. Samples are
+ * kept in primitive arrays of values and weights, which costs
+ * 16 bytes per sample.
  * 
  * @author Praneet Tiwari
  * @author Richard Gomes
@@ -81,12 +83,19 @@ import org.jquantlib.util.Pair;
 @QualityAssurance(quality = Quality.Q4_UNIT, reviewers = { "Richard Gomes" }, version = Version.V097)
 public abstract class GeneralStatistics {
 	
-    private List<ComparablePair<Double, Double>> samples;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // samples are kept in primitive arrays, values and weights at the same positions
+    private double[] values;
+    private double[] weights;
+    private int size;
     private boolean sorted;
+    private boolean uniformWeights;
         
     private static final String EMPTY_SAMPLE_SET = "empty sample set";
     private static final String NEGATIVE_WEIGHT_NOT_ALLOWED = "negative weight not allowed";
     private static final String INCOMPATIBLE_ARRAY_SIZES = "incompatible array sizes";
+    private static final String INVALID_SAMPLE_INDEX = "invalid sample index";
     
 
     public GeneralStatistics() {
@@ -102,6 +111,7 @@ public abstract class GeneralStatistics {
      * adds a sequence of data to the set, with default weight
      */
     public void addSequence(final double[] datum) {
+        ensureCapacity(size + datum.length);
 	    for (int i=0; i<datum.length; i++) {
 	    	add(datum[i]);
 	    }
@@ -114,6 +124,7 @@ public abstract class GeneralStatistics {
     		final double[] datum, 
     		final double[] weights) {
         QL.require(datum.length==weights.length, INCOMPATIBLE_ARRAY_SIZES);
+        ensureCapacity(size + datum.length);
         for (int i=0; i<datum.length; i++) {
         	add(datum[i], weights[i]);
         }
@@ -123,6 +134,7 @@ public abstract class GeneralStatistics {
      * adds a sequence of data to the set, with default weight
      */
     public void addSequence(final Array datum) {
+        ensureCapacity(size + datum.size());
 	    for (int i=0; i<datum.size(); i++) {
 	    	add(datum.get(i));
 	    }
@@ -135,6 +147,7 @@ public abstract class GeneralStatistics {
     		final Array datum, 
     		final Array weights) {
         QL.require(datum.size()==weights.size(), INCOMPATIBLE_ARRAY_SIZES);
+        ensureCapacity(size + datum.size());
         for (int i=0; i<datum.size(); i++) {
         	add(datum.get(i), weights.get(i));
         }
@@ -144,8 +157,11 @@ public abstract class GeneralStatistics {
      * resets the data to a null set
      */
     public void reset() {
-    	samples = new ArrayList<ComparablePair<Double, Double>>();
+        values = new double[INITIAL_CAPACITY];
+        weights = new double[INITIAL_CAPACITY];
+        size = 0;
         sorted = true;
+        uniformWeights = true;
     }
 
     /**
@@ -153,23 +169,60 @@ public abstract class GeneralStatistics {
      */
     public void sort() /*@ReadOnly*/ {
         if (!sorted) {
-            Collections.sort(samples);
+            if (uniformWeights) {
+                // weights are all the same, so that only values need to be moved around
+                Arrays.sort(values, 0, size);
+            } else {
+                sort(values, weights, 0, size-1);
+            }
             sorted = true;
         }
     }
     
     public /*@Size*/ int samples() /*@ReadOnly*/ {
-        return samples.size();
+        return size;
     }
 
+    /**
+     * Returns a read-only view of the samples as pairs <i>(value, weight)</i>.
+     * <p>
+     * Pairs are created on demand, so that callers iterating over large sample sets should prefer {@link #value(int)} and
+     * {@link #weight(int)}.
+     */
     public List<ComparablePair<Double, Double>> data() /*@ReadOnly*/ {
-    	return Collections.unmodifiableList(samples);
+        return new AbstractList<ComparablePair<Double, Double>>() {
+            @Override
+            public ComparablePair<Double, Double> get(final int index) {
+                return new ComparablePair<Double, Double>(value(index), weight(index));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @return the value of the i-th sample
+     */
+    public /*@Real*/ double value(final /*@Size*/ int i) /*@ReadOnly*/ {
+        QL.require(i >= 0 && i < size, IndexOutOfBoundsException.class, INVALID_SAMPLE_INDEX);
+        return values[i];
+    }
+
+    /**
+     * @return the weight of the i-th sample
+     */
+    public /*@Real*/ double weight(final /*@Size*/ int i) /*@ReadOnly*/ {
+        QL.require(i >= 0 && i < size, IndexOutOfBoundsException.class, INVALID_SAMPLE_INDEX);
+        return weights[i];
     }
 
     public /*@Real*/ double weightSum() /*@ReadOnly*/ {
         /*@Real*/ double result = 0.0;
-        for (final ComparablePair<Double, Double> it : samples) {
-        	result += it.second();
+        for (int i=0; i<size; i++) {
+            result += weights[i];
         }
         return result;
     }
@@ -235,21 +288,37 @@ public abstract class GeneralStatistics {
 
     public /*@Real*/ double min() /*@ReadOnly*/ {
         QL.require(samples()>0, EMPTY_SAMPLE_SET);
-        return Collections.min(samples).first();
+        if (sorted)
+            return values[0];
+        double result = values[0];
+        for (int i=1; i<size; i++) {
+            if (Double.compare(values[i], result) < 0) {
+                result = values[i];
+            }
+        }
+        return result;
     }
 
     public /*@Real*/ double max() /*@ReadOnly*/ {
         QL.require(samples()>0, EMPTY_SAMPLE_SET);
-        return Collections.max(samples).first();
+        if (sorted)
+            return values[size-1];
+        double result = values[0];
+        for (int i=1; i<size; i++) {
+            if (Double.compare(values[i], result) > 0) {
+                result = values[i];
+            }
+        }
+        return result;
     }
 
     public final Pair<Double, Integer> expectationValue(final Ops.DoubleOp f, final Ops.DoublePredicate inRange) {
         double num = 0.0;
         double den = 0.0;
         int n = 0;
-        for (final ComparablePair<Double, Double> element : samples) {
-            final double x = element.first();
-            final double w = element.second();
+        for (int i=0; i<size; i++) {
+            final double x = values[i];
+            final double w = weights[i];
             if (inRange.op(x)) {
                 num += f.op(x) * w;
                 den += w;
@@ -269,17 +338,17 @@ public abstract class GeneralStatistics {
 
         sort();
 
-        int k = 0; final int l = samples.size()-1;
+        int k = 0; final int l = size-1;
         
         /* the sum of weight is non null, therefore there's at least one sample */
-        /*@Real*/ double integral = samples.get(k).second();
+        /*@Real*/ double integral = weights[k];
         /*@Real*/ final double target = percent*sampleWeight;
         
         while (integral < target && k != l) {
         	k++;
-            integral += samples.get(k).second();
+            integral += weights[k];
         }
-        return samples.get(k).first();
+        return values[k];
     }
 
     public /*@Real*/ double topPercentile(final /*@Real*/ double percent) /*@ReadOnly*/ {
@@ -289,17 +358,17 @@ public abstract class GeneralStatistics {
 
         sort();
 
-        int k = samples.size()-1; final int l = 0;
+        int k = size-1; final int l = 0;
         
         /* the sum of weight is non null, therefore there's at least one sample */
-        /*@Real*/ double integral = samples.get(k).second();
+        /*@Real*/ double integral = weights[k];
         /*@Real*/ final double target = percent*sampleWeight;
         
         while (integral < target && k != l) {
         	k--;
-            integral += samples.get(k).second();
+            integral += weights[k];
         }
-        return samples.get(k).first();
+        return values[k];
     }
     
     public void add(/*@Real*/ final double value) {
@@ -308,8 +377,99 @@ public abstract class GeneralStatistics {
     
     public void add(/*@Real*/ final double value, /*@Real*/ final double weight) {
         QL.require(weight>=0.0, NEGATIVE_WEIGHT_NOT_ALLOWED);
-        samples.add(new ComparablePair<Double, Double>(value, weight));
+        if (size == values.length) {
+            ensureCapacity(size + 1);
+        }
+        if (size > 0 && weight != weights[0]) {
+            uniformWeights = false;
+        }
+        values[size] = value;
+        weights[size] = weight;
+        size++;
         sorted = false;
     }
-    
+
+    /**
+     * adds all samples held by another statistics object, keeping their weights and their order
+     */
+    public void merge(final GeneralStatistics other) {
+        final int n = other.samples();
+        if (n == 0)
+            return;
+        ensureCapacity(size + n);
+        if (uniformWeights && (!other.uniformWeights || (size > 0 && other.weights[0] != weights[0]))) {
+            uniformWeights = false;
+        }
+        System.arraycopy(other.values, 0, values, size, n);
+        System.arraycopy(other.weights, 0, weights, size, n);
+        size += n;
+        sorted = false;
+    }
+
+
+    //
+    // private methods
+    //
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > values.length) {
+            final int length = Math.max(capacity, values.length + (values.length >> 1));
+            values = Arrays.copyOf(values, length);
+            weights = Arrays.copyOf(weights, length);
+        }
+    }
+
+    /**
+     * Sorts values in increasing order, moving weights along with their values.
+     * <p>
+     * This is a median-of-three quicksort which recurses on the smaller partition, finished by insertion sort on short ranges.
+     */
+    private static void sort(final double[] v, final double[] w, int lo, int hi) {
+        while (hi - lo > 16) {
+            final int mid = (lo + hi) >>> 1;
+            if (Double.compare(v[mid], v[lo]) < 0) swap(v, w, mid, lo);
+            if (Double.compare(v[hi], v[lo]) < 0) swap(v, w, hi, lo);
+            if (Double.compare(v[hi], v[mid]) < 0) swap(v, w, hi, mid);
+            final double pivot = v[mid];
+
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (Double.compare(v[i], pivot) < 0) i++;
+                while (Double.compare(v[j], pivot) > 0) j--;
+                if (i <= j) {
+                    swap(v, w, i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (j - lo < hi - i) {
+                sort(v, w, lo, j);
+                lo = i;
+            } else {
+                sort(v, w, i, hi);
+                hi = j;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            final double vi = v[i];
+            final double wi = w[i];
+            int j = i - 1;
+            while (j >= lo && Double.compare(v[j], vi) > 0) {
+                v[j+1] = v[j];
+                w[j+1] = w[j];
+                j--;
+            }
+            v[j+1] = vi;
+            w[j+1] = wi;
+        }
+    }
+
+    private static void swap(final double[] v, final double[] w, final int i, final int j) {
+        final double tv = v[i]; v[i] = v[j]; v[j] = tv;
+        final double tw = w[i]; w[i] = w[j]; w[j] = tw;
+    }
+
 }
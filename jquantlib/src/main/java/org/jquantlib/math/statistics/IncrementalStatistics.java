@@ -354,6 +354,59 @@ public class IncrementalStatistics extends GenericRiskStatistics {
         
         
         
+    /**
+     * adds all samples accumulated by another object to this set.
+     * <p>
+     * Running sums are plain weighted power sums, so that merging two accumulators amounts to adding their sums together. The
+     * result is the same, up to rounding, as if all samples had been added to a single accumulator. This allows partial
+     * accumulators filled by different threads to be combined at the end.
+     *
+     * @param other is the accumulator to be combined into this one; it is not modified
+     */
+    public void combine(final IncrementalStatistics other) {
+        if (other.sampleNumber_ == 0)
+            return;
+
+        /*@Size*/ final int oldSamples = sampleNumber_;
+        sampleNumber_ += other.sampleNumber_;
+        QL.ensure(sampleNumber_ > oldSamples, MAX_NUMBER_OF_SAMPLES_REACHED);
+
+        downsideSampleNumber_ += other.downsideSampleNumber_;
+        sampleWeight_ += other.sampleWeight_;
+        downsideSampleWeight_ += other.downsideSampleWeight_;
+        sum_ += other.sum_;
+        quadraticSum_ += other.quadraticSum_;
+        downsideQuadraticSum_ += other.downsideQuadraticSum_;
+        cubicSum_ += other.cubicSum_;
+        fourthPowerSum_ += other.fourthPowerSum_;
+        if (oldSamples == 0) {
+            min_ = other.min_;
+            max_ = other.max_;
+        } else {
+            min_ = Math.min(other.min_, min_);
+            max_ = Math.max(other.max_, max_);
+        }
+    }
+
+    /**
+     * adds all samples held by another statistics object
+     * <p>
+     * Samples kept by a {@link GeneralStatistics} are added one by one with their weights, whilst another
+     * {@link IncrementalStatistics} is combined by means of {@link #combine(IncrementalStatistics)}.
+     */
+    @Override
+    public void merge(final GeneralStatistics other) {
+        if (other instanceof IncrementalStatistics) {
+            combine((IncrementalStatistics) other);
+        } else {
+            for (int i=0; i<other.samples(); i++) {
+                add(other.value(i), other.weight(i));
+            }
+        }
+    }
+
+
+
     /**
      * resets the data to a null set
      */
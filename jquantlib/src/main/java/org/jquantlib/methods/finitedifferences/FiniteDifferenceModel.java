@@ -98,10 +98,13 @@ public class FiniteDifferenceModel<S extends Operator, T extends MixedScheme<S>>
         return rollbackImpl(a, from, to, steps, condition);
     }
 
-    private Array rollbackImpl(Array a, final /*@Time*/double from, final /*@Time*/double to, final int steps, final StepCondition<Array> condition) {
+    private Array rollbackImpl(final Array values, final /*@Time*/double from, final /*@Time*/double to, final int steps, final StepCondition<Array> condition) {
         if (from <= to)
             throw new IllegalStateException("trying to roll back from " + from + " to " + to);
 
+        // the caller's array is copied once and then evolved in place at every step
+        final Array a = values.clone();
+
         final /* @Time */ double dt = (from - to) / steps;
         /* @Time */ double t = from;
         evolver.setStep(dt);
@@ -117,7 +120,7 @@ public class FiniteDifferenceModel<S extends Operator, T extends MixedScheme<S>>
 
                     // perform a small step to stoppingTimes_[j]...
                     evolver.setStep(now - stoppingTimes.get(j));
-                    a = evolver.step(a, now);
+                    evolver.stepInPlace(a, now);
                     if (condition != null) {
                         condition.applyTo(a, stoppingTimes.get(j));
                     }
@@ -130,7 +133,7 @@ public class FiniteDifferenceModel<S extends Operator, T extends MixedScheme<S>>
                 // complete the big one...
                 if (now > next) {
                     evolver.setStep(now - next);
-                    a = evolver.step(a, now);
+                    evolver.stepInPlace(a, now);
                     if (condition != null) {
                         condition.applyTo(a, next);
                     }
@@ -141,7 +144,7 @@ public class FiniteDifferenceModel<S extends Operator, T extends MixedScheme<S>>
             } else {
                 // if we didn't, the evolver is already set to the
                 // default step, which is ok for us.
-                a = evolver.step(a, now);
+                evolver.stepInPlace(a, now);
                 if (condition != null) {
                     condition.applyTo(a, next);
                 }
@@ -24,6 +24,7 @@ package org.jquantlib.methods.finitedifferences;
 import java.util.List;
 
 import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.math.matrixutilities.Matrix;
 
 /**
  * @author Srinivas Hasti
@@ -59,54 +60,159 @@ import org.jquantlib.math.matrixutilities.Array;
  * \ingroup findiff
  */
 public class MixedScheme<T extends Operator> {
-	private T L, I, explicitPart, implicitPart;
+	private T L, explicitPart, implicitPart;
 	/* Time */private double dt;
 	/* Real */private double theta;
 	private List<BoundaryCondition<T>> bcs;
+	private final Array work;
+	// scratch buffer of the implicit solver, owned by this scheme rather than by the operator
+	private final double[] factors;
+
+	// buffers and column views used when stepping a strip of arrays at once
+	private Matrix strip, workStrip;
+	private Array[] stripColumns, workStripColumns;
 
 	public MixedScheme(T op,
 	/* Real */double theta, List<BoundaryCondition<T>> bcs2) {
 		L = op;
-		I = (T)op.identity(op.size());
 		this.theta = theta;
 		this.bcs = bcs2;
+		// operators and work buffers are allocated once and updated in place at every step
+		if (theta != 1.0)
+			explicitPart = (T)op.identity(op.size());
+		if (theta != 0.0)
+			implicitPart = (T)op.identity(op.size());
+		work = new Array(op.size());
+		factors = new double[op.size()];
 	}
 
+	/**
+	 * Evolves <code>a</code> by one step, returning the result in a new array.
+	 * <code>a</code> itself is not modified.
+	 *
+	 * @see #stepInPlace(Array, double)
+	 */
 	public Array step(Array a, /* Time */double t) {
+		final Array result = a.clone();
+		stepInPlace(result, t);
+		return result;
+	}
+
+	/**
+	 * Evolves <code>a</code> by one step, overwriting its contents.
+	 * <p>
+	 * No memory is allocated: the operators are updated in place when <code>L</code> is
+	 * time dependent and the intermediate result is kept in a work buffer owned by this scheme.
+	 *
+	 * @param a is the array to be evolved; it must be contiguous
+	 * @param t is the time the step starts from
+	 * @return <code>a</code>
+	 */
+	public Array stepInPlace(final Array a, /* Time */final double t) {
 		int i;
 		for (i = 0; i < bcs.size(); i++)
 			bcs.get(i).setTime(t);
+		Array rhs = a;
 		if (theta != 1.0) { // there is an explicit part
 			if (L.isTimeDependent()) {
 				L.setTime(t);
-				explicitPart = (T) I.subtract(L.multiply((1.0 - theta) * dt)); // I-((1.0-theta) * dt)*L_;
+				explicitPart.assignIdentityPlus(-(1.0 - theta) * dt, L); // I-((1.0-theta) * dt)*L_;
 			}
 			for (i = 0; i < bcs.size(); i++)
 				bcs.get(i).applyBeforeApplying(explicitPart);
-			a = explicitPart.applyTo(a);
+			explicitPart.applyTo(a, work);
+			rhs = work;
 			for (i = 0; i < bcs.size(); i++)
-				bcs.get(i).applyAfterApplying(a);
+				bcs.get(i).applyAfterApplying(rhs);
 		}
 		if (theta != 0.0) { // there is an implicit part
 			if (L.isTimeDependent()) {
 				L.setTime(t - dt);
-				implicitPart = (T) I.add(L.multiply(theta * dt)); // I_+(theta_ * dt_)*L_;
+				implicitPart.assignIdentityPlus(theta * dt, L); // I_+(theta_ * dt_)*L_;
 			}
 			for (i = 0; i < bcs.size(); i++)
-				bcs.get(i).applyBeforeSolving(implicitPart, a);
-			a = implicitPart.solveFor(a);
+				bcs.get(i).applyBeforeSolving(implicitPart, rhs);
+			implicitPart.solveFor(rhs, a, factors);
 			for (i = 0; i < bcs.size(); i++)
 				bcs.get(i).applyAfterSolving(a);
+		} else {
+			a.fill(rhs);
+		}
+
+		return a;
+	}
+
+	/**
+	 * Evolves by one step every column of <code>a</code>, overwriting its contents.
+	 * <p>
+	 * This is equivalent to calling {@link #stepInPlace(Array, double)} on each column, but the
+	 * explicit and implicit operators are built once and the implicit operator is factorized once
+	 * per step for all columns. Boundary conditions are applied to every column.
+	 * <p>
+	 * Work buffers and column views are allocated the first time a given matrix is stepped and are
+	 * reused while the same matrix is passed in.
+	 *
+	 * @param a is a matrix with one column per array to be evolved
+	 * @param t is the time the step starts from
+	 * @return <code>a</code>
+	 */
+	public Matrix stepInPlace(final Matrix a, /* Time */final double t) {
+		if (a != strip) {
+			strip = a;
+			stripColumns = columns(a);
+			workStrip = new Matrix(a.rows(), a.cols());
+			workStripColumns = columns(workStrip);
+		}
+		int i, c;
+		for (i = 0; i < bcs.size(); i++)
+			bcs.get(i).setTime(t);
+		Matrix rhs = a;
+		Array[] rhsColumns = stripColumns;
+		if (theta != 1.0) { // there is an explicit part
+			if (L.isTimeDependent()) {
+				L.setTime(t);
+				explicitPart.assignIdentityPlus(-(1.0 - theta) * dt, L); // I-((1.0-theta) * dt)*L_;
+			}
+			for (i = 0; i < bcs.size(); i++)
+				bcs.get(i).applyBeforeApplying(explicitPart);
+			explicitPart.applyTo(a, workStrip);
+			rhs = workStrip;
+			rhsColumns = workStripColumns;
+			for (i = 0; i < bcs.size(); i++)
+				for (c = 0; c < rhsColumns.length; c++)
+					bcs.get(i).applyAfterApplying(rhsColumns[c]);
+		}
+		if (theta != 0.0) { // there is an implicit part
+			if (L.isTimeDependent()) {
+				L.setTime(t - dt);
+				implicitPart.assignIdentityPlus(theta * dt, L); // I_+(theta_ * dt_)*L_;
+			}
+			for (i = 0; i < bcs.size(); i++)
+				for (c = 0; c < rhsColumns.length; c++)
+					bcs.get(i).applyBeforeSolving(implicitPart, rhsColumns[c]);
+			implicitPart.solveFor(rhs, a, factors);
+			for (i = 0; i < bcs.size(); i++)
+				for (c = 0; c < stripColumns.length; c++)
+					bcs.get(i).applyAfterSolving(stripColumns[c]);
+		} else {
+			a.fill(rhs);
 		}
-		
+
 		return a;
 	}
 
+	private static Array[] columns(final Matrix m) {
+		final Array[] result = new Array[m.cols()];
+		for (int c = 0; c < result.length; c++)
+			result[c] = m.rangeCol(c);
+		return result;
+	}
+
 	public void setStep(/* Time */double dt) {
 		this.dt = dt;
 		if (theta != 1.0) // there is an explicit part
-			explicitPart = (T) I.subtract(L.multiply((1.0 - theta) * dt)); // I - ((1.0 - theta) * dt) * L
+			explicitPart.assignIdentityPlus(-(1.0 - theta) * dt, L); // I - ((1.0 - theta) * dt) * L
 		if (theta != 0.0) // there is an implicit part
-			implicitPart = (T) I.add(L.multiply(theta * dt)); // I + (theta * dt) * L
+			implicitPart.assignIdentityPlus(theta * dt, L); // I + (theta * dt) * L
 	}
 }
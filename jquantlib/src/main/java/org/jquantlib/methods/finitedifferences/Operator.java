@@ -22,6 +22,7 @@
 package org.jquantlib.methods.finitedifferences;
 
 import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.math.matrixutilities.Matrix;
 
 /**
  * @author Srinivas Hasti
@@ -43,6 +44,40 @@ public interface Operator {
 	public Array solveFor(Array a);
     public double[] solveFor(double[] a);
 
+    /**
+     * Applies <code>this</code> operator to <code>a</code>, storing the result into <code>result</code>,
+     * which must not be the same array as <code>a</code>.
+     */
+    public void applyTo(Array a, Array result);
+
+    /**
+     * Solves the linear system for the right-hand side <code>a</code>, storing the solution into
+     * <code>result</code>, which may be the same array as <code>a</code>.
+     * <p>
+     * <code>work</code> is a scratch buffer of at least {@link #size()} elements owned by the caller, so
+     * that an operator can be shared by threads which solve with their own buffers.
+     */
+    public void solveFor(Array a, Array result, double[] work);
+
+    /**
+     * Applies <code>this</code> operator to every column of <code>a</code>, storing the results into the
+     * columns of <code>result</code>, which must not be the same matrix as <code>a</code>.
+     */
+    public void applyTo(Matrix a, Matrix result);
+
+    /**
+     * Solves the linear system for every column of <code>a</code>, storing the solutions into the
+     * columns of <code>result</code>, which may be the same matrix as <code>a</code>.
+     * <p>
+     * <code>work</code> is a scratch buffer of at least {@link #size()} elements owned by the caller.
+     */
+    public void solveFor(Matrix a, Matrix result, double[] work);
+
+    /**
+     * Overwrites the coefficients of <code>this</code> operator with those of <i>I + a*d</i>.
+     */
+    public void assignIdentityPlus(double a, Operator d);
+
     public <T extends Operator> void swap(T from);
 
     public <T extends Operator> T add(T d);
@@ -19,11 +19,13 @@
  */
 package org.jquantlib.methods.finitedifferences;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Vector;
 
 import org.jquantlib.lang.exceptions.LibraryException;
 import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.math.matrixutilities.Matrix;
 
 /**
  * @author Srinivas Hasti
@@ -36,6 +38,7 @@ import org.jquantlib.math.matrixutilities.Array;
 public abstract class ParallelEvolver<S extends Operator, T extends MixedScheme<S>>  {
 	
     private final List<T> evolvers;
+    private final List<Strip> strips;
     
     private final Class<? extends Operator>		classS; 
     private final Class<? extends MixedScheme>	classT; 
@@ -50,6 +53,28 @@ public abstract class ParallelEvolver<S extends Operator, T extends MixedScheme<
         evolvers = new Vector<T>(L.size());
         for (int i = 0; i < L.size(); i++)
             evolvers.add(getEvolver(L.get(i), bcs.get(i)));
+
+        // arrays evolved by the same operator under the same boundary conditions form a strip
+        final List<List<Integer>> members = new ArrayList<List<Integer>>();
+        for (int i = 0; i < L.size(); i++) {
+            List<Integer> group = null;
+            for (final List<Integer> g : members) {
+                final int j = g.get(0);
+                if (L.get(j) == L.get(i) && sameConditions(bcs.get(j), bcs.get(i))) {
+                    group = g;
+                    break;
+                }
+            }
+            if (group == null) {
+                group = new ArrayList<Integer>();
+                members.add(group);
+            }
+            group.add(i);
+        }
+        strips = new ArrayList<Strip>(members.size());
+        for (final List<Integer> g : members) {
+            strips.add(new Strip(g, L.get(g.get(0)).size()));
+        }
     }
 
     public List<Array> step(final List<Array> a, final double t) {
@@ -59,6 +84,30 @@ public abstract class ParallelEvolver<S extends Operator, T extends MixedScheme<
         return a;
     }
 
+    /**
+     * Evolves every array of <code>a</code> in place.
+     * <p>
+     * Arrays which share both their operator instance and their boundary conditions are evolved
+     * together as the columns of a matrix, so that the implicit operator is factorized once per step
+     * for all of them. Their values are copied into and out of that matrix around the step.
+     *
+     * @see MixedScheme#stepInPlace(Array, double)
+     * @see MixedScheme#stepInPlace(Matrix, double)
+     */
+    public List<Array> stepInPlace(final List<Array> a, final double t) {
+        for (final Strip strip : strips) {
+            if (strip.index.length == 1) {
+                final int i = strip.index[0];
+                evolvers.get(i).stepInPlace(a.get(i), t);
+            } else {
+                strip.copyIn(a);
+                evolvers.get(strip.index[0]).stepInPlace(strip.values, t);
+                strip.copyOut(a);
+            }
+        }
+        return a;
+    }
+
     public void setStep(final double dt) {
         for (int i = 0; i < evolvers.size(); i++)
             evolvers.get(i).setStep(dt);
@@ -73,4 +122,48 @@ public abstract class ParallelEvolver<S extends Operator, T extends MixedScheme<
         }
     }
 
+    private static <S extends Operator> boolean sameConditions(final List<BoundaryCondition<S>> a, final List<BoundaryCondition<S>> b) {
+        if (a == b)
+            return true;
+        if (a.size() != b.size())
+            return false;
+        for (int i = 0; i < a.size(); i++)
+            if (a.get(i) != b.get(i))
+                return false;
+        return true;
+    }
+
+
+    //
+    // private inner classes
+    //
+
+    /**
+     * Arrays evolved together, stored as the columns of a matrix
+     */
+    private static class Strip {
+        private final int[] index;
+        private final Matrix values;
+
+        public Strip(final List<Integer> index, final int size) {
+            this.index = new int[index.size()];
+            for (int k = 0; k < this.index.length; k++)
+                this.index[k] = index.get(k);
+            this.values = this.index.length > 1 ? new Matrix(size, this.index.length) : null;
+        }
+
+        public void copyIn(final List<Array> a) {
+            for (int k = 0; k < index.length; k++)
+                values.fillCol(k, a.get(index[k]));
+        }
+
+        public void copyOut(final List<Array> a) {
+            for (int k = 0; k < index.length; k++) {
+                final Array dst = a.get(index[k]);
+                for (int j = 0; j < dst.size(); j++)
+                    dst.set(j, values.get(j, k));
+            }
+        }
+    }
+
 }
@@ -87,13 +87,17 @@ public class StandardSystemFiniteDifferenceModel {
 		return rollbackImpl(a, from, to, steps, condition);
 	}
 
-	private List<Array> rollbackImpl(List<Array> a, final/* @Time */double from,
+	private List<Array> rollbackImpl(final List<Array> a, final/* @Time */double from,
 			final/* @Time */double to, final int steps,
 			final StepConditionSet<Array> condition) {
 		if (from <= to)
 			throw new IllegalStateException("trying to roll back from " + from
 					+ " to " + to);
 
+		// arrays are copied once and then evolved in place at every step
+		for (int i = 0; i < a.size(); i++)
+			a.set(i, a.get(i).clone());
+
 		/* @Time */final double dt = (from - to) / steps;
 		double t = from;
 		evolver.setStep(dt);
@@ -109,7 +113,7 @@ public class StandardSystemFiniteDifferenceModel {
 
 					// perform a small step to stoppingTimes_[j]...
 					evolver.setStep(now - stoppingTimes.get(j));
-					a = evolver.step(a, now);
+					evolver.stepInPlace(a, now);
 					if (condition != null) {
                         condition.applyTo(a, stoppingTimes.get(j));
                     }
@@ -123,7 +127,7 @@ public class StandardSystemFiniteDifferenceModel {
 				// complete the big one...
 				if (now > next) {
 					evolver.setStep(now - next);
-					a = evolver.step(a, now);
+					evolver.stepInPlace(a, now);
 					if (condition != null) {
                         condition.applyTo(a, next);
                     }
@@ -134,7 +138,7 @@ public class StandardSystemFiniteDifferenceModel {
 			} else {
 				// if we didn't, the evolver is already set to the
 				// default step, which is ok for us.
-				a = evolver.step(a, now);
+				evolver.stepInPlace(a, now);
 				if (condition != null) {
                     condition.applyTo(a, next);
                 }
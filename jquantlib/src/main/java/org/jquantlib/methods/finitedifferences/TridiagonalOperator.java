@@ -23,6 +23,8 @@
 package org.jquantlib.methods.finitedifferences;
 
 import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.math.matrixutilities.Matrix;
+import org.jquantlib.math.matrixutilities.internal.Address;
 
 /**
  * @author Srinivas Hasti
@@ -37,7 +39,6 @@ public class TridiagonalOperator implements Operator {
 	protected Array diagonal;
 	protected Array upperDiagonal;
 
-
 	public TridiagonalOperator(final int size) {
 		if (size >= 3) {
 			this.lowerDiagonal = new Array(size - 1);
@@ -366,6 +367,262 @@ public class TridiagonalOperator implements Operator {
 
 
 
+    /**
+     * Applies <code>this</code> operator to <code>v</code> without allocating.
+     *
+     * @param v is the array the operator is applied to
+     * @param result receives the product; it must have the same size as <code>v</code> and must not be <code>v</code> itself
+     */
+    @Override
+    public void applyTo(final Array v, final Array result) {
+        final int n = size();
+        if (v.size() != n)
+            throw new IllegalStateException("vector of the wrong size (" + v.size() + "instead of " + n + ")");
+        if (result.size() != n)
+            throw new IllegalStateException("result of the wrong size (" + result.size() + "instead of " + n + ")");
+        if (result == v)
+            throw new IllegalStateException("result must not be the input vector");
+
+        result.set(0, diagonal.get(0) * v.get(0) + upperDiagonal.get(0) * v.get(1));
+        for (int j=1; j<=n-2; j++) {
+            result.set(j, diagonal.get(j) * v.get(j) + lowerDiagonal.get(j-1) * v.get(j-1) + upperDiagonal.get(j) * v.get(j+1));
+        }
+        result.set(n-1, diagonal.get(n-1) * v.get(n-1) + lowerDiagonal.get(n-2) * v.get(n-2));
+    }
+
+    /**
+     * Solves the linear system for a given right-hand side, allocating a scratch buffer.
+     *
+     * @see #solveFor(Array, Array, double[])
+     */
+    public void solveFor(final Array rhs, final Array result) {
+        solveFor(rhs, result, new double[size()]);
+    }
+
+    /**
+     * Solves the linear system for a given right-hand side without allocating.
+     * <p>
+     * The forward sweep reads <code>rhs[j]</code> before <code>result[j]</code> is written, hence
+     * <code>result</code> may be <code>rhs</code> itself.
+     *
+     * @param rhs is the right-hand side
+     * @param result receives the solution; it must have the same size as <code>rhs</code>
+     * @param work is a scratch buffer of at least {@link #size()} elements, which must not be used by
+     *        another thread meanwhile
+     */
+    @Override
+    public void solveFor(final Array rhs, final Array result, final double[] work) {
+        final int n = size();
+        if (rhs.size() != n)
+            throw new IllegalStateException("rhs has the wrong size");
+        if (result.size() != n)
+            throw new IllegalStateException("result has the wrong size");
+        if (work.length < n)
+            throw new IllegalStateException("work buffer is too small");
+        final double[] tmp = work;
+
+        double bet = diagonal.first();
+        if (bet == 0.0) throw new IllegalStateException("division by zero");
+
+        result.set(0, rhs.first() / bet);
+        int j;
+        for (j = 1; j <= n - 1; j++) {
+            tmp[j] = upperDiagonal.get(j - 1) / bet;
+            bet = diagonal.get(j) - lowerDiagonal.get(j - 1) * tmp[j];
+            if (bet == 0.0) throw new IllegalStateException("division by zero");
+            result.set(j, (rhs.get(j) - lowerDiagonal.get(j - 1) * result.get(j - 1)) / bet);
+        }
+
+        // cannot be j>=0 with Size j
+        for (j = n - 2; j > 0; --j) {
+            result.set(j, result.get(j) - (tmp[j + 1] * result.get(j + 1)));
+        }
+
+        result.set(0, result.first() - (tmp[1] * result.get(1)));
+    }
+
+    /**
+     * Applies <code>this</code> operator to every column of <code>v</code> without allocating.
+     *
+     * @param v is a matrix whose columns the operator is applied to
+     * @param result receives the products column by column; it must have the same dimensions as
+     *        <code>v</code> and must not be <code>v</code> itself
+     */
+    @Override
+    @SuppressWarnings("deprecation") // dense matrices are addressed through their underlying array
+    public void applyTo(final Matrix v, final Matrix result) {
+        final int n = size();
+        final int k = v.cols();
+        if (v.rows() != n)
+            throw new IllegalStateException("matrix of the wrong size (" + v.rows() + " rows instead of " + n + ")");
+        if (result.rows() != n || result.cols() != k)
+            throw new IllegalStateException("result of the wrong size");
+        if (result == v)
+            throw new IllegalStateException("result must not be the input matrix");
+
+        if (isDense(v) && isDense(result)) {
+            final double[] x = v.$;
+            final double[] y = result.$;
+            double d = diagonal.get(0), u = upperDiagonal.get(0);
+            for (int c=0; c<k; c++) {
+                y[c] = d * x[c] + u * x[k+c];
+            }
+            for (int j=1, row=k; j<=n-2; j++, row+=k) {
+                final double l = lowerDiagonal.get(j-1);
+                d = diagonal.get(j);
+                u = upperDiagonal.get(j);
+                for (int c=row; c<row+k; c++) {
+                    y[c] = d * x[c] + l * x[c-k] + u * x[c+k];
+                }
+            }
+            final double l = lowerDiagonal.get(n-2);
+            d = diagonal.get(n-1);
+            for (int c=(n-1)*k; c<n*k; c++) {
+                y[c] = d * x[c] + l * x[c-k];
+            }
+        } else {
+            double d = diagonal.get(0), u = upperDiagonal.get(0);
+            for (int c=0; c<k; c++) {
+                result.set(0, c, d * v.get(0, c) + u * v.get(1, c));
+            }
+            for (int j=1; j<=n-2; j++) {
+                final double l = lowerDiagonal.get(j-1);
+                d = diagonal.get(j);
+                u = upperDiagonal.get(j);
+                for (int c=0; c<k; c++) {
+                    result.set(j, c, d * v.get(j, c) + l * v.get(j-1, c) + u * v.get(j+1, c));
+                }
+            }
+            final double l = lowerDiagonal.get(n-2);
+            d = diagonal.get(n-1);
+            for (int c=0; c<k; c++) {
+                result.set(n-1, c, d * v.get(n-1, c) + l * v.get(n-2, c));
+            }
+        }
+    }
+
+    /**
+     * Solves the linear system for every column of <code>rhs</code>, allocating a scratch buffer.
+     *
+     * @see #solveFor(Matrix, Matrix, double[])
+     */
+    public void solveFor(final Matrix rhs, final Matrix result) {
+        solveFor(rhs, result, new double[size()]);
+    }
+
+    /**
+     * Solves the linear system for every column of <code>rhs</code> without allocating.
+     * <p>
+     * The operator is factorized once for all right-hand sides, so that a strip of <i>K</i> systems
+     * sharing this operator costs one factorization instead of <i>K</i>. Substitutions run row by row
+     * across all columns, which interleaves <i>K</i> independent recurrences. Every column obtains exactly the same values which {@link #solveFor(Array, Array)}
+     * would obtain for it. <code>result</code> may be <code>rhs</code> itself.
+     *
+     * @param rhs is a matrix whose columns are right-hand sides
+     * @param result receives the solutions column by column; it must have the same dimensions as <code>rhs</code>
+     * @param work is a scratch buffer of at least {@link #size()} elements, which must not be used by
+     *        another thread meanwhile
+     */
+    @Override
+    @SuppressWarnings("deprecation") // dense matrices are addressed through their underlying array
+    public void solveFor(final Matrix rhs, final Matrix result, final double[] work) {
+        final int n = size();
+        final int k = rhs.cols();
+        if (rhs.rows() != n)
+            throw new IllegalStateException("rhs has the wrong size");
+        if (result.rows() != n || result.cols() != k)
+            throw new IllegalStateException("result has the wrong size");
+        if (work.length < n)
+            throw new IllegalStateException("work buffer is too small");
+        final double[] tmp = work;
+
+        // the factorization is carried along the forward substitution, which runs row by row across
+        // all right-hand sides; each factor is computed once and used for every column
+        double bet = diagonal.first();
+        if (bet == 0.0) throw new IllegalStateException("division by zero");
+
+        if (isDense(rhs) && isDense(result)) {
+            final double[] b = rhs.$;
+            final double[] x = result.$;
+            for (int c = 0; c < k; c++) {
+                x[c] = b[c] / bet;
+            }
+            for (int j = 1, row = k; j <= n - 1; j++, row += k) {
+                final double l = lowerDiagonal.get(j - 1);
+                tmp[j] = upperDiagonal.get(j - 1) / bet;
+                bet = diagonal.get(j) - l * tmp[j];
+                if (bet == 0.0) throw new IllegalStateException("division by zero");
+                for (int c = row; c < row + k; c++) {
+                    x[c] = (b[c] - l * x[c - k]) / bet;
+                }
+            }
+            // back substitution
+            for (int j = n - 2, row = (n - 2) * k; j >= 0; --j, row -= k) {
+                final double t = tmp[j + 1];
+                for (int c = row; c < row + k; c++) {
+                    x[c] = x[c] - (t * x[c + k]);
+                }
+            }
+        } else {
+            for (int c = 0; c < k; c++) {
+                result.set(0, c, rhs.get(0, c) / bet);
+            }
+            for (int j = 1; j <= n - 1; j++) {
+                final double l = lowerDiagonal.get(j - 1);
+                tmp[j] = upperDiagonal.get(j - 1) / bet;
+                bet = diagonal.get(j) - l * tmp[j];
+                if (bet == 0.0) throw new IllegalStateException("division by zero");
+                for (int c = 0; c < k; c++) {
+                    result.set(j, c, (rhs.get(j, c) - l * result.get(j - 1, c)) / bet);
+                }
+            }
+            // back substitution
+            for (int j = n - 2; j >= 0; --j) {
+                final double t = tmp[j + 1];
+                for (int c = 0; c < k; c++) {
+                    result.set(j, c, result.get(j, c) - (t * result.get(j + 1, c)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Plain matrices which own their storage keep their elements row by row in an underlying array of
+     * exactly their size, which allows kernels to address them directly.
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean isDense(final Matrix m) {
+        return m.getClass() == Matrix.class && m.size() > 0 && m.$.length == m.size()
+            && !m.flags().contains(Address.Flags.FORTRAN);
+    }
+
+    /**
+     * Overwrites the diagonals of <code>this</code> operator with those of <i>I + a*D</i>, so that
+     * time-dependent schemes can refresh their operators at every step without allocating.
+     * <p>
+     * The time setter of <code>this</code> operator is left untouched.
+     *
+     * @param a is the factor applied to <code>op</code>
+     * @param op is a TridiagonalOperator of the same size as <code>this</code>
+     */
+    @Override
+    public void assignIdentityPlus(final double a, final Operator op) {
+        final TridiagonalOperator D = (TridiagonalOperator) op;
+        final int n = size();
+        if (D.size() != n)
+            throw new IllegalStateException("operator of the wrong size (" + D.size() + "instead of " + n + ")");
+        for (int i = 0; i < n - 1; i++) {
+            lowerDiagonal.set(i, a * D.lowerDiagonal.get(i));
+            diagonal.set(i, 1.0 + a * D.diagonal.get(i));
+            upperDiagonal.set(i, a * D.upperDiagonal.get(i));
+        }
+        if (n > 0) {
+            diagonal.set(n - 1, 1.0 + a * D.diagonal.get(n - 1));
+        }
+    }
+
+
+
     //TODO : code review against QuantLib/C++
     /*public Operator assign(Operator d) {
 		swap(d);
@@ -39,7 +39,6 @@
 
 package org.jquantlib.methods.lattices;
 
-import org.jquantlib.math.matrixutilities.Array;
 import org.jquantlib.time.TimeGrid;
 
 /**
@@ -94,8 +93,8 @@ public class BlackScholesLattice<T extends Tree> extends TreeLattice1D {
 	}
 
 	@Override
-    public void stepback(final int i, final Array values, final Array newValues) {
-		for (int j = 0; j < size(i); j++)
-			newValues.set(j, (pd * values.get(j) + pu * values.get(j + 1)) * discount);
+    protected void stepback(final int i, final double[] values, final double[] newValues, final int from, final int to) {
+		for (int j = from; j < to; j++)
+			newValues[j] = (pd * values[j] + pu * values[j + 1]) * discount;
 	}
 }
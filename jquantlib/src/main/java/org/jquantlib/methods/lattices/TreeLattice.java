@@ -39,10 +39,17 @@
 
 package org.jquantlib.methods.lattices;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.jquantlib.QL;
 import org.jquantlib.instruments.DiscretizedAsset;
+import org.jquantlib.lang.exceptions.LibraryException;
 import org.jquantlib.math.Closeness;
 import org.jquantlib.math.matrixutilities.Array;
 import org.jquantlib.time.TimeGrid;
@@ -60,12 +67,29 @@ import org.jquantlib.time.TimeGrid;
  */
 public abstract class TreeLattice extends Lattice {
 
+    /**
+     * Default minimum number of nodes of a time step for which bands of nodes are submitted to an executor
+     *
+     * @see #setExecutor(ExecutorService)
+     */
+    public static final int PARALLEL_STEPBACK_THRESHOLD = 1 << 14;
+
     private final int n;
     private int statePricesLimit;
 
     // Arrow-Debrew state prices
     protected Vector<Array> statePrices;
 
+    // branching of each time step, kept in flat arrays and computed when first needed
+    private final double[][] probabilities;
+    private final int[][] descendants;
+    private final boolean[] adjacent;
+    private final double[][] discounts;
+
+    // parallel rollback is off unless an executor is given
+    private ExecutorService executor;
+    private int parallelThreshold;
+
 
     //
     // public constructors
@@ -79,6 +103,14 @@ public abstract class TreeLattice extends Lattice {
         statePrices = new Vector<Array>();
         statePrices.add(new Array(1).fill(1.0));//ZH: Verified with QL097
         statePricesLimit = 0;
+
+        final int steps = Math.max(t.size() - 1, 0);
+        this.probabilities = new double[steps][];
+        this.descendants = new int[steps][];
+        this.adjacent = new boolean[steps];
+        this.discounts = new double[steps][];
+        this.executor = null;
+        this.parallelThreshold = PARALLEL_STEPBACK_THRESHOLD;
     }
 
 
@@ -99,41 +131,154 @@ public abstract class TreeLattice extends Lattice {
     // protected methods
     //
 
+    @SuppressWarnings("deprecation") // dense arrays are addressed through their underlying storage
     protected void computeStatePrices(final int until) {
         for (int i = statePricesLimit; i < until; i++) {
-            statePrices.add(new Array(size(i + 1)));
-            for (int j = 0; j < size(i); j++) {
-                final double disc = discount(i, j);
-                final double statePrice = statePrices.get(i).get(j);
-                final Array array = statePrices.get(i + 1);
+            branching(i);
+            final double[] p = probabilities[i];
+            final int[] k = descendants[i];
+            final double[] disc = discounts[i];
+            final double[] prices = statePrices.get(i).$;
+            final Array array = new Array(size(i + 1));
+            final double[] next = array.$;
+            for (int j = 0, m = 0; j < disc.length; j++, m += n) {
+                final double statePrice = prices[j];
                 for (int l = 0; l < n; l++) {
-                    final int index = descendant(i, j, l);
-                    final double oldValue = array.get(index);
-                    array.set(index, oldValue + (statePrice * disc * probability(i, j, l)));
+                    final int index = adjacent[i] ? k[j] + l : k[m + l];
+                    next[index] = next[index] + (statePrice * disc[j] * p[m + l]);
                 }
             }
+            statePrices.add(array);
         }
         statePricesLimit = until;
     }
 
+    /**
+     * Rolls values back from time step <code>i+1</code> to time step <code>i</code>
+     * <p>
+     * Both arrays are addressed from their first position. Only the first <code>size(i)</code> elements of
+     * <code>newValues</code> are written.
+     * <p>
+     * When an executor is given and the time step has at least as many nodes as the parallel threshold, the
+     * nodes are split into bands which are rolled back in parallel. Every node is calculated exactly as it is
+     * sequentially, which makes results identical.
+     *
+     * @param i is the time step values are rolled back to
+     * @param values are the values at time step <code>i+1</code>
+     * @param newValues receives the values at time step <code>i</code>
+     */
+    protected void stepback(final int i, final double[] values, final double[] newValues) {
+        final int size = size(i);
+        if (executor == null || size < 2 || size < parallelThreshold) {
+            stepback(i, values, newValues, 0, size);
+            return;
+        }
+
+        final int bands = Math.min(size, 2*Runtime.getRuntime().availableProcessors());
+        final int bandNodes = (size + bands - 1) / bands;
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>(bands);
+        for (int j0 = 0; j0 < size; j0 += bandNodes) {
+            futures.add(executor.submit(new StepbackBand(i, values, newValues, j0, Math.min(size, j0 + bandNodes))));
+        }
+        for (final Future<Object> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LibraryException(e); // QA:[RG]::verified
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                throw new LibraryException(cause); // QA:[RG]::verified
+            }
+        }
+    }
+
+    /**
+     * Rolls values back from time step <code>i+1</code> to nodes <code>from</code> (inclusive) up to <code>to</code>
+     * (exclusive) of time step <code>i</code>
+     * <p>
+     * Derived classes whose branching allows a cheaper calculation are expected to override this method. It may be
+     * called by several threads at once for disjoint ranges of nodes.
+     *
+     * @param i is the time step values are rolled back to
+     * @param values are the values at time step <code>i+1</code>
+     * @param newValues receives the values at time step <code>i</code>
+     * @param from is the first node to be calculated
+     * @param to is the node after the last one to be calculated
+     */
+    protected void stepback(final int i, final double[] values, final double[] newValues, final int from, final int to) {
+        branching(i);
+        final double[] p = probabilities[i];
+        final int[] k = descendants[i];
+        final double[] disc = discounts[i];
+
+        if (adjacent[i] && n == 3) {
+            // trinomial branching
+            for (int j = from, m = 3 * from; j < to; j++, m += 3) {
+                final int k0 = k[j];
+                newValues[j] = (p[m] * values[k0] + p[m + 1] * values[k0 + 1] + p[m + 2] * values[k0 + 2]) * disc[j];
+            }
+        } else if (adjacent[i] && n == 2) {
+            // binomial branching
+            for (int j = from, m = 2 * from; j < to; j++, m += 2) {
+                final int k0 = k[j];
+                newValues[j] = (p[m] * values[k0] + p[m + 1] * values[k0 + 1]) * disc[j];
+            }
+        } else {
+            for (int j = from, m = n * from; j < to; j++, m += n) {
+                double value = 0.0;
+                for (int l = 0; l < n; l++)
+                    value += p[m + l] * values[adjacent[i] ? k[j] + l : k[m + l]];
+                newValues[j] = value * disc[j];
+            }
+        }
+    }
+
 
     //
     // public methods
     //
 
+    /**
+     * Enables or disables parallel rollback
+     *
+     * @param executor is the executor used for rolling back bands of nodes or <code>null</code> for sequential evaluation
+     */
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param nodes is the minimum number of nodes of a time step for which bands of nodes are submitted to the executor
+     */
+    public void setParallelThreshold(final int nodes) {
+        QL.require(nodes > 0, "parallel threshold must be positive"); // TODO: message
+        this.parallelThreshold = nodes;
+    }
+
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    public int parallelThreshold() {
+        return parallelThreshold;
+    }
+
     public Array statePrices(final int i) {
         if (i > statePricesLimit)
             computeStatePrices(i);
         return statePrices.get(i);
     }
 
+    @SuppressWarnings("deprecation") // dense arrays are addressed through their underlying storage
     public void stepback(final int i, final Array values, final Array newValues) {
-        for (int j = 0; j < size(i); j++) {
-            double value = 0.0;
-            for (int l = 0; l < n; l++)
-                value += probability(i, j, l) * values.get(descendant(i, j, l));
-            value *= discount(i, j);
-            newValues.set(j, value);
+        final double[] result = isDense(newValues) ? newValues.$ : new double[size(i)];
+        stepback(i, isDense(values) ? values.$ : copy(values, new double[values.size()]), result);
+        if (result != newValues.$) {
+            for (int j = 0; j < size(i); j++)
+                newValues.set(j, result[j]);
         }
     }
 
@@ -164,7 +309,15 @@ public abstract class TreeLattice extends Lattice {
         asset.adjustValues();
     }
 
+    /**
+     * Rolls back an asset without allocating memory at each time step
+     * <p>
+     * Values are rolled back in turn into two buffers, which are as large as the widest time step involved.
+     * The asset is given a view on the buffer holding its current values, which remains valid until the next
+     * time step overwrites it.
+     */
     @Override
+    @SuppressWarnings("deprecation") // dense arrays are addressed through their underlying storage
     public void partialRollback(final DiscretizedAsset asset, final double to) {
 
         final double from = asset.time();
@@ -177,15 +330,119 @@ public abstract class TreeLattice extends Lattice {
         final int iFrom = t.index(from);
         final int iTo = t.index(to);
 
+        int capacity = 0;
+        for (int i = iTo; i <= iFrom; i++)
+            capacity = Math.max(capacity, size(i));
+        final Array[] buffers = new Array[] { new Array(capacity), new Array(capacity) };
+
+        Array latest = null;
         for (int i = iFrom - 1; i >= iTo; --i) {
-            final Array newValues = new Array(size(i));
-            stepback(i, asset.values(), newValues);
+            final Array buffer = buffers[i & 1];
+            final double[] previous = buffers[(i + 1) & 1].$;
+            final Array values = asset.values();
+            final double[] source;
+            if (values == latest)
+                source = previous;
+            else if (isDense(values))
+                source = values.$;
+            else
+                source = copy(values, previous);
+            stepback(i, source, buffer.$);
+            final int size = size(i);
+            latest = (size == capacity) ? buffer : buffer.range(0, size);
             asset.setTime(t.get(i));
-            asset.setValues(newValues);
+            asset.setValues(latest);
             // skip the very last adjustment
             if (i != iTo)
                 asset.adjustValues();
         }
     }
 
+
+    //
+    // private methods
+    //
+
+    /**
+     * Stores the probabilities, descendants and discounts of time step <code>i</code> into flat arrays.
+     * <p>
+     * When the descendants of each node are adjacent, only the first one is kept.
+     */
+    private synchronized void branching(final int i) {
+        if (discounts[i] != null)
+            return;
+
+        final int size = size(i);
+        final double[] p = new double[size * n];
+        final int[] k = new int[size * n];
+        final double[] disc = new double[size];
+        boolean consecutive = true;
+        for (int j = 0, m = 0; j < size; j++, m += n) {
+            for (int l = 0; l < n; l++) {
+                p[m + l] = probability(i, j, l);
+                k[m + l] = descendant(i, j, l);
+                consecutive &= (k[m + l] == k[m] + l);
+            }
+            disc[j] = discount(i, j);
+        }
+
+        probabilities[i] = p;
+        if (consecutive) {
+            final int[] first = new int[size];
+            for (int j = 0; j < size; j++)
+                first[j] = k[j * n];
+            descendants[i] = first;
+        } else {
+            descendants[i] = k;
+        }
+        adjacent[i] = consecutive;
+        discounts[i] = disc;
+    }
+
+    /**
+     * Plain arrays which own their storage keep their elements in an underlying array of exactly their
+     * size, which allows kernels to address them directly.
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean isDense(final Array a) {
+        return a.getClass() == Array.class && a.begin() == 0 && a.$.length == a.size();
+    }
+
+    private static double[] copy(final Array a, final double[] result) {
+        for (int j = 0; j < a.size(); j++)
+            result[j] = a.get(j);
+        return result;
+    }
+
+
+    //
+    // private inner classes
+    //
+
+    /**
+     * Rolls back a band of nodes of a time step
+     */
+    private final class StepbackBand implements Callable<Object> {
+
+        private final int i;
+        private final double[] values;
+        private final double[] newValues;
+        private final int from;
+        private final int to;
+
+        private StepbackBand(final int i, final double[] values, final double[] newValues, final int from, final int to) {
+            this.i = i;
+            this.values = values;
+            this.newValues = newValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Object call() {
+            stepback(i, values, newValues, from, to);
+            return null;
+        }
+    }
+
 }
@@ -42,8 +42,6 @@
 
 package org.jquantlib.methods.lattices;
 
-import java.util.Vector;
-
 import org.jquantlib.processes.StochasticProcess1D;
 import org.jquantlib.time.TimeGrid;
 
@@ -64,9 +62,9 @@ public class TrinomialTree extends Tree {
 
 	public static final Branches branches = Branches.TRINOMIAL;
 
-	protected Vector<Branching> branchings_ = new Vector<Branching>();
+	protected Branching[] branchings_;
 	protected double x0_;
-	protected Vector<Double> dx_ = new Vector<Double>();
+	protected double[] dx_;
 	protected TimeGrid timeGrid_;
 
 	public TrinomialTree(final StochasticProcess1D process, final TimeGrid timeGrid) {
@@ -75,14 +73,15 @@ public class TrinomialTree extends Tree {
 
 	public TrinomialTree(final StochasticProcess1D process, final TimeGrid timeGrid, final boolean isPositive) {
 		super(timeGrid.size());
-		dx_.add(new Double(1));
-		dx_.add(new Double(0.0));
 		timeGrid_ = timeGrid;
 		x0_ = process.x0();
 
 		final int nTimeSteps = timeGrid.size() - 1;
-		Integer jMin = 0;
-		Integer jMax = 0;
+		branchings_ = new Branching[nTimeSteps];
+		dx_ = new double[nTimeSteps + 1];
+		dx_[0] = 0.0;
+		int jMin = 0;
+		int jMax = 0;
 
 		for (int i = 0; i < nTimeSteps; i++) {
 			final double t = timeGrid.at(i);
@@ -91,21 +90,21 @@ public class TrinomialTree extends Tree {
 			// Variance must be independent of x
 			final double v2 = process.variance(t, 0.0, dt);
 			/* Volatility */final double v = Math.sqrt(v2);
-			dx_.add(v * Math.sqrt(3.0));
+			dx_[i + 1] = v * Math.sqrt(3.0);
 
-			final Branching branching = new Branching();
+			final Branching branching = new Branching(jMax - jMin + 1);
 			for (int j = jMin; j <= jMax; j++) {
-				final double x = x0_ + j * dx_.get(i);
+				final double x = x0_ + j * dx_[i];
 				final double m = process.expectation(t, x, dt);
-				int temp = (int) Math.floor((m - x0_) / dx_.get(i + 1) + 0.5);
+				int temp = (int) Math.floor((m - x0_) / dx_[i + 1] + 0.5);
 
 				if (isPositive) {
-                    while (x0_ + (temp - 1) * dx_.get(i + 1) <= 0) {
+                    while (x0_ + (temp - 1) * dx_[i + 1] <= 0) {
                         temp++;
                     }
                 }
 
-				final double e = m - (x0_ + temp * dx_.get(i + 1));
+				final double e = m - (x0_ + temp * dx_[i + 1]);
 				final double e2 = e * e;
 				final double e3 = e * Math.sqrt(3.0);
 
@@ -115,7 +114,7 @@ public class TrinomialTree extends Tree {
 
 				branching.add(temp, p1, p2, p3);
 			}
-			branchings_.add(branching);
+			branchings_[i] = branching;
 
 			jMin = branching.jMin();
 			jMax = branching.jMax();
@@ -124,7 +123,7 @@ public class TrinomialTree extends Tree {
 	}
 
 	public double dx(final int i) {
-		return dx_.get(i).doubleValue();
+		return dx_[i];
 	}
 
 	public TimeGrid timeGrid() {
@@ -133,7 +132,7 @@ public class TrinomialTree extends Tree {
 
 	@Override
 	public int size(final int i) {
-		return i == 0 ? 1 : branchings_.get(i - 1).size();
+		return i == 0 ? 1 : branchings_[i - 1].size();
 	}
 
 	@Override
@@ -141,26 +140,36 @@ public class TrinomialTree extends Tree {
 		if (i == 0)
             return x0_;
         else
-            return x0_ + (branchings_.get(i - 1).jMin() + (double) (index)) * dx(i);
+            return x0_ + (branchings_[i - 1].jMin() + (double) (index)) * dx(i);
 	}
 
 	@Override
 	public int descendant(final int i, final int index, final int branch) {
-		return branchings_.get(i).descendant(index, branch);
+		return branchings_[i].descendant(index, branch);
 	}
 
 	@Override
 	public double probability(final int i, final int index, final int branch) {
-		return branchings_.get(i).probability(index, branch);
+		return branchings_[i].probability(index, branch);
 	}
 
+	/**
+	 * Branching scheme of a single time step
+	 * <p>
+	 * Nodes are stored in primitive arrays, so that the middle descendant and the three
+	 * probabilities of a node can be read without boxing.
+	 */
 	private static class Branching {
 
-		private final Vector<Integer> k_ = new Vector<Integer>();
-		private final Vector<Vector<Double>> probs_ = new Vector<Vector<Double>>(3);
+		private final int[] k_;
+		private final double[] probs_;
+		private int size_;
 		private int kMin_, jMin_, kMax_, jMax_;
 
-		public Branching() {
+		public Branching(final int nodes) {
+			k_ = new int[nodes];
+			probs_ = new double[3 * nodes];
+			size_ = 0;
 			kMin_ = Integer.MAX_VALUE;
 			jMin_ = Integer.MAX_VALUE;
 			kMax_ = Integer.MIN_VALUE;
@@ -168,11 +177,11 @@ public class TrinomialTree extends Tree {
 		}
 
 		public int descendant(final int index, final int branch) {
-			return k_.elementAt(index) - jMin_ - 1 + branch;
+			return k_[index] - jMin_ - 1 + branch;
 		}
 
 		public double probability(final int index, final int branch) {
-			return probs_.elementAt(branch).elementAt(index);
+			return probs_[3 * index + branch];
 		}
 
 		public int size() {
@@ -189,17 +198,11 @@ public class TrinomialTree extends Tree {
 
 		public void add(final int k, final double p1, final double p2, final double p3) {
 			// store
-			k_.add(k);
-			final Vector<Double> v1 = new Vector<Double>();
-			final Vector<Double> v2 = new Vector<Double>();
-			final Vector<Double> v3 = new Vector<Double>();
-			v1.add(new Double(p1));
-			v2.add(new Double(p2));
-			v3.add(new Double(p3));
-
-			probs_.add(v1);
-			probs_.add(v2);
-			probs_.add(v3);
+			k_[size_] = k;
+			probs_[3 * size_] = p1;
+			probs_[3 * size_ + 1] = p2;
+			probs_[3 * size_ + 2] = p3;
+			size_++;
 
 			// maintain invariants
 			kMin_ = Math.min(kMin_, k);
@@ -75,8 +75,6 @@ public class BrownianBridge {
      * @param steps
      */
     public BrownianBridge(final/* @NonNegative */int steps) {
-        if (System.getProperty("EXPERIMENTAL")==null)
-            throw new UnsupportedOperationException("Work in progress");
         this.size_ = steps;
         this.t_ = new double[this.size_];
         this.sqrtdt_ = new double[this.size_];
@@ -207,6 +205,11 @@ public class BrownianBridge {
 
     /**
      * Brownian-bridge constructor
+     * <p>
+     * The variations are written into <code>output</code>, which is supplied by the caller, so that no memory is allocated.
+     *
+     * @param input is a sequence of {@link #size()} unit Gaussian variates
+     * @param output receives the normalized variations and must be a different array than <code>input</code>
      */
     //
     //TODO: Improve this method.
@@ -221,6 +224,10 @@ public class BrownianBridge {
             throw new IllegalArgumentException("invalid sequence");
         if (input.length != size_)
             throw new IllegalArgumentException("incompatible sequence size");
+        if (output == null || output.length != size_)
+            throw new IllegalArgumentException("incompatible output size");
+        if (output == input)
+            throw new IllegalArgumentException("output must not be the input sequence");
         // We use output to store the path...
         output[size_ - 1] = stdDev_[0] * input[0];
         for (int i = 1; i < size_; ++i) {
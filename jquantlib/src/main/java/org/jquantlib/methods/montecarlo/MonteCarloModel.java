@@ -38,8 +38,21 @@
 
 package org.jquantlib.methods.montecarlo;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.jquantlib.QL;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.math.Constants;
 import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
+import org.jquantlib.math.statistics.GeneralStatistics;
 import org.jquantlib.math.statistics.Statistics;
+import org.jquantlib.time.TimeGrid;
 
 /**
  *
@@ -53,6 +66,21 @@ import org.jquantlib.math.statistics.Statistics;
  * The constructor accepts two safe references, i.e. two smart pointers, one to a path generator and the other to a path pricer. In
  * case of control variate technique the user should provide the additional control option, namely the option path pricer and the
  * option value.
+ * <p>
+ * When more than one path generator is given, each one of them is regarded as an independent stream of paths and the samples
+ * requested by {@link #addSamples(int)} are split among them in contiguous chunks: the first streams receive one extra sample
+ * when the number of samples is not a multiple of the number of streams. Every stream accumulates its samples into a private
+ * {@link Statistics} object and these partial results are merged into the sample accumulator in stream order. As a consequence,
+ * results only depend on the number of streams and on how each stream was seeded, but never on how many threads were
+ * actually employed or how tasks were scheduled, which means that results are reproducible bit by bit.
+ * <p>
+ * Streams are evaluated by the {@link ExecutorService} passed to the constructor or sequentially by the calling thread when no
+ * executor is given. Path pricers are shared by all streams and must be thread safe, which is normally the case since path pricers
+ * are immutable objects.
+ * <p>
+ * Every stream generates and prices its paths in blocks by means of {@link PathGenerator#next(PathBlock)} and
+ * {@link PathPricer#op(PathBlock, double[])}. Blocks are filled in place, so that no objects are allocated per sample, and paths
+ * are generated in the same order as they would be one at a time.
  *
  * @category mcarlo
  *
@@ -60,100 +88,235 @@ import org.jquantlib.math.statistics.Statistics;
  */
 public class MonteCarloModel<MC extends Variate, RNG extends RandomNumberGenerator, S extends Statistics> {
 
-	public MonteCarloModel() {
-        if (System.getProperty("EXPERIMENTAL")==null)
-            throw new UnsupportedOperationException("Work in progress");
-	}
+    //
+    // private fields
+    //
 
-//    private PathGeneratorType pathGenerator_;
-//    private PathPricerType pathPricer_;
+    private final List<PathGenerator<?>> pathGenerators_;
+    private final PathPricer<Path> pathPricer_;
+    private final S sampleAccumulator_;
+    private final boolean isAntitheticVariate_;
+    private final PathPricer<Path> cvPathPricer_;
+    private final double cvOptionValue_;
+    private final boolean isControlVariate_;
+    private final ExecutorService executor_;
 
-      private S sampleAccumulator_;
-//    private boolean isAntitheticVariate_;
-//    private PathPricerType cvPathPricer_;
-//    private ResultType cvOptionValue_;
-//    private boolean isControlVariate_;
+    /**
+     * Maximum number of values held by the block of paths of a stream
+     */
+    private static final int MAX_BLOCK_VALUES = 1 << 16;
 
-	public void addSamples(final int size){
-		//  TODO... we have to work on this a bit.
 
-	}
+    //
+    // public constructors
+    //
 
-	public S sampleAccumulator(){
-		return sampleAccumulator_;
-	}
+    public MonteCarloModel(
+            final PathGenerator<?> pathGenerator,
+            final PathPricer<Path> pathPricer,
+            final S sampleAccumulator,
+            final boolean antitheticVariate) {
+        this(pathGenerator, pathPricer, sampleAccumulator, antitheticVariate, null, Constants.NULL_REAL);
+    }
 
+    public MonteCarloModel(
+            final PathGenerator<?> pathGenerator,
+            final PathPricer<Path> pathPricer,
+            final S sampleAccumulator,
+            final boolean antitheticVariate,
+            final PathPricer<Path> cvPathPricer,
+            final double cvOptionValue) {
+        this(Collections.<PathGenerator<?>>singletonList(pathGenerator),
+             pathPricer, sampleAccumulator, antitheticVariate, cvPathPricer, cvOptionValue, null);
+    }
 
-}
+    /**
+     * Monte Carlo model which splits samples among several independent streams of paths
+     *
+     * @param pathGenerators is a list of independent path generators, one per stream
+     * @param executor is the executor used for evaluating streams in parallel or <code>null</code> for sequential evaluation
+     */
+    public MonteCarloModel(
+            final List<? extends PathGenerator<?>> pathGenerators,
+            final PathPricer<Path> pathPricer,
+            final S sampleAccumulator,
+            final boolean antitheticVariate,
+            final PathPricer<Path> cvPathPricer,
+            final double cvOptionValue,
+            final ExecutorService executor) {
+        QL.require(pathGenerators != null && pathGenerators.size() > 0, "no path generators given"); // TODO: message
+        this.pathGenerators_ = new ArrayList<PathGenerator<?>>(pathGenerators);
+        this.pathPricer_ = pathPricer;
+        this.sampleAccumulator_ = sampleAccumulator;
+        this.isAntitheticVariate_ = antitheticVariate;
+        this.cvPathPricer_ = cvPathPricer;
+        this.cvOptionValue_ = cvOptionValue;
+        this.isControlVariate_ = (cvPathPricer != null);
+        this.executor_ = executor;
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * @return the number of independent streams of paths
+     */
+    public int streams() /* @ReadOnly */ {
+        return pathGenerators_.size();
+    }
+
+    public void addSamples(final int samples) {
+        final int streams = pathGenerators_.size();
+        if (streams == 1) {
+            addSamples(pathGenerators_.get(0), samples, sampleAccumulator_);
+            return;
+        }
+
+        final List<StreamTask> tasks = new ArrayList<StreamTask>(streams);
+        final int chunk = samples / streams;
+        final int remainder = samples % streams;
+        for (int i = 0; i < streams; i++) {
+            tasks.add(new StreamTask(pathGenerators_.get(i), (i < remainder) ? chunk + 1 : chunk));
+        }
+
+        if (executor_ == null) {
+            for (final StreamTask task : tasks) {
+                sampleAccumulator_.merge(task.call());
+            }
+        } else {
+            final List<Future<Statistics>> futures = new ArrayList<Future<Statistics>>(streams);
+            for (final StreamTask task : tasks) {
+                futures.add(executor_.submit(task));
+            }
+            // merge partial results in stream order, so that results do not depend on scheduling
+            for (final Future<Statistics> future : futures) {
+                sampleAccumulator_.merge(await(future));
+            }
+        }
+    }
+
+    public S sampleAccumulator() /* @ReadOnly */ {
+        return sampleAccumulator_;
+    }
+
+
+    //
+    // public static methods
+    //
+
+    /**
+     * Derives the seed of a given stream from a base seed.
+     * <p>
+     * Stream zero employs the base seed itself, so that a single stream reproduces a plain sequential simulation. Seeds of other
+     * streams are obtained by scrambling the base seed and the stream number by means of the finalizer of the SplitMix64 generator,
+     * which makes seeds of neighbouring streams uncorrelated.
+     *
+     * @param seed is the base seed
+     * @param stream is the stream number
+     * @return the seed to be employed by the random number generator of the given stream
+     */
+    public static long streamSeed(final long seed, final /*@NonNegative*/ int stream) {
+        if (stream == 0)
+            return seed;
+        long z = seed + stream * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
 
 
-//template <template <class> class MC, class RNG, class S = Statistics>
-//class MonteCarloModel {
-//  public:
-//    typedef MC<RNG> mc_traits;
-//    typedef RNG rng_traits;
-//    typedef typename MC<RNG>::path_generator_type path_generator_type;
-//    typedef typename MC<RNG>::path_pricer_type path_pricer_type;
-//    typedef typename path_generator_type::sample_type sample_type;
-//    typedef typename path_pricer_type::result_type result_type;
-//    typedef S stats_type;
-//    // constructor
-//    MonteCarloModel(
-//              const boost::shared_ptr<path_generator_type>& pathGenerator,
-//              const boost::shared_ptr<path_pricer_type>& pathPricer,
-//              const stats_type& sampleAccumulator,
-//              bool antitheticVariate,
-//              const boost::shared_ptr<path_pricer_type>& cvPathPricer
-//                    = boost::shared_ptr<path_pricer_type>(),
-//              result_type cvOptionValue = result_type())
-//    : pathGenerator_(pathGenerator), pathPricer_(pathPricer),
-//      sampleAccumulator_(sampleAccumulator),
-//      isAntitheticVariate_(antitheticVariate),
-//      cvPathPricer_(cvPathPricer), cvOptionValue_(cvOptionValue) {
-//        if (!cvPathPricer_)
-//            isControlVariate_ = false;
-//        else
-//            isControlVariate_ = true;
-//    }
-//    void addSamples(Size samples);
-//    const stats_type& sampleAccumulator(void) const;
-//  private:
-//    boost::shared_ptr<path_generator_type> pathGenerator_;
-//    boost::shared_ptr<path_pricer_type> pathPricer_;
-//    stats_type sampleAccumulator_;
-//    bool isAntitheticVariate_;
-//    boost::shared_ptr<path_pricer_type> cvPathPricer_;
-//    result_type cvOptionValue_;
-//    bool isControlVariate_;
-//};
-//
-//
-//// inline definitions
-//template <template <class> class MC, class RNG, class S>
-//inline void MonteCarloModel<MC,RNG,S>::addSamples(Size samples) {
-//    for(Size j = 1; j <= samples; j++) {
-//
-//        sample_type path = pathGenerator_->next();
-//        result_type price = (*pathPricer_)(path.value);
-//
-//        if (isControlVariate_)
-//            price += cvOptionValue_-(*cvPathPricer_)(path.value);
-//
-//        if (isAntitheticVariate_) {
-//            path = pathGenerator_->antithetic();
-//            result_type price2 = (*pathPricer_)(path.value);
-//            if (isControlVariate_)
-//                price2 += cvOptionValue_-(*cvPathPricer_)(path.value);
-//            sampleAccumulator_.add((price+price2)/2.0, path.weight);
-//        } else {
-//            sampleAccumulator_.add(price, path.weight);
-//        }
-//    }
-//}
-//
-//template <template <class> class MC, class RNG, class S>
-//inline const typename MonteCarloModel<MC,RNG,S>::stats_type&
-//MonteCarloModel<MC,RNG,S>::sampleAccumulator() const {
-//    return sampleAccumulator_;
-//}
-//
+    //
+    // private methods
+    //
+
+    private void addSamples(final PathGenerator<?> pathGenerator, final int samples, final GeneralStatistics accumulator) {
+        if (samples <= 0)
+            return;
+
+        // paths are generated and priced in blocks which are filled in place
+        final TimeGrid timeGrid = pathGenerator.timeGrid();
+        final int blockSize = Math.min(samples, Math.max(1, MAX_BLOCK_VALUES / timeGrid.size()));
+        PathBlock block = new PathBlock(timeGrid, blockSize);
+        final double[] prices = new double[blockSize];
+        final double[] prices2 = isAntitheticVariate_ ? new double[blockSize] : null;
+        final double[] cvPrices = isControlVariate_ ? new double[blockSize] : null;
+
+        for (int done = 0; done < samples; done += block.size()) {
+            final int n = Math.min(blockSize, samples - done);
+            if (block.size() != n) {
+                block = new PathBlock(timeGrid, n);
+            }
+
+            pathGenerator.next(block);
+            pathPricer_.op(block, prices);
+            if (isControlVariate_) {
+                cvPathPricer_.op(block, cvPrices);
+                for (int p = 0; p < n; p++) {
+                    prices[p] += cvOptionValue_ - cvPrices[p];
+                }
+            }
+
+            if (isAntitheticVariate_) {
+                pathGenerator.antithetic(block);
+                pathPricer_.op(block, prices2);
+                if (isControlVariate_) {
+                    cvPathPricer_.op(block, cvPrices);
+                    for (int p = 0; p < n; p++) {
+                        prices2[p] += cvOptionValue_ - cvPrices[p];
+                    }
+                }
+                for (int p = 0; p < n; p++) {
+                    accumulator.add((prices[p] + prices2[p]) / 2.0, block.weight(p));
+                }
+            } else {
+                for (int p = 0; p < n; p++) {
+                    accumulator.add(prices[p], block.weight(p));
+                }
+            }
+        }
+    }
+
+    private static Statistics await(final Future<Statistics> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LibraryException(e); // QA:[RG]::verified
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new LibraryException(cause); // QA:[RG]::verified
+        }
+    }
+
+
+
+    //
+    // private inner classes
+    //
+
+    /**
+     * Adds a chunk of samples taken from a single stream of paths to a private accumulator
+     */
+    private final class StreamTask implements Callable<Statistics> {
+
+        private final PathGenerator<?> pathGenerator;
+        private final int samples;
+
+        private StreamTask(final PathGenerator<?> pathGenerator, final int samples) {
+            this.pathGenerator = pathGenerator;
+            this.samples = samples;
+        }
+
+        @Override
+        public Statistics call() {
+            final Statistics partial = new Statistics();
+            addSamples(pathGenerator, samples, partial);
+            return partial;
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+package org.jquantlib.methods.montecarlo;
+
+import org.jquantlib.QL;
+import org.jquantlib.time.TimeGrid;
+
+/**
+ * Block of single-factor random walks sharing the same time grid
+ * <p>
+ * Values are kept in a single array laid out time-major, i.e: the values of all paths at a given time are contiguous.
+ * The value of path <code>p</code> at the <code>i</code>-th point of the time grid is stored at position
+ * <code>i*size()+p</code>. This layout allows processes and path pricers to work on all paths of the block at once
+ * by means of simple loops over arrays.
+ *
+ * @note Every path includes the initial asset value as its first point.
+ *
+ * @see Path
+ *
+ * @category mcarlo
+ *
+ * @author agent
+ */
+public class PathBlock {
+
+    //
+    // private fields
+    //
+
+    private final TimeGrid timeGrid_;
+    private final /*@NonNegative*/ int size_;
+    private final double[] values_;
+    private final double[] weights_;
+
+
+    //
+    // public constructors
+    //
+
+    /**
+     * @param timeGrid is the time grid shared by all paths
+     * @param size is the number of paths held by this block
+     */
+    public PathBlock(final TimeGrid timeGrid, final /*@NonNegative*/ int size) {
+        QL.require(size > 0, "number of paths must be positive"); // TODO: message
+        this.timeGrid_ = timeGrid;
+        this.size_ = size;
+        this.values_ = new double[timeGrid.size() * size];
+        this.weights_ = new double[size];
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * @return the number of paths held by this block
+     */
+    public /*@NonNegative*/ int size() /* @ReadOnly */ {
+        return size_;
+    }
+
+    /**
+     * @return the number of points of every path
+     */
+    public /*@NonNegative*/ int length() /* @ReadOnly */ {
+        return timeGrid_.size();
+    }
+
+    public TimeGrid timeGrid() /* @ReadOnly */ {
+        return timeGrid_;
+    }
+
+    public /*@Time*/ double time(final /*@NonNegative*/ int i) /* @ReadOnly */ {
+        return timeGrid_.get(i);
+    }
+
+    /**
+     * @return the underlying array of values, laid out time-major
+     */
+    public double[] values() {
+        return values_;
+    }
+
+    /**
+     * @return the position in {@link #values()} where values at the <code>i</code>-th point of the time grid start
+     */
+    public /*@NonNegative*/ int offset(final /*@NonNegative*/ int i) /* @ReadOnly */ {
+        return i * size_;
+    }
+
+    /**
+     * @return the value of path <code>p</code> at the <code>i</code>-th point of the time grid
+     */
+    public double value(final /*@NonNegative*/ int p, final /*@NonNegative*/ int i) /* @ReadOnly */ {
+        return values_[i * size_ + p];
+    }
+
+    /**
+     * @return the underlying array of weights, one for each path
+     */
+    public double[] weights() {
+        return weights_;
+    }
+
+    public double weight(final /*@NonNegative*/ int p) /* @ReadOnly */ {
+        return weights_[p];
+    }
+
+    /**
+     * Copies a path of this block into a {@link Path} owned by the caller
+     *
+     * @param p is the path to be copied
+     * @param path receives the values of the path and must have been built on the time grid of this block
+     */
+    public void path(final /*@NonNegative*/ int p, final Path path) /* @ReadOnly */ {
+        QL.require(path.length() == timeGrid_.size(), "path length does not match the time grid"); // TODO: message
+        final double[] values = path.getValues_();
+        for (int i = 0, k = p; i < values.length; i++, k += size_) {
+            values[i] = values_[k];
+        }
+    }
+
+}
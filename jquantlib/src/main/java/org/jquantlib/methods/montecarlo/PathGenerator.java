@@ -41,8 +41,8 @@
 
 package org.jquantlib.methods.montecarlo;
 
-import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
-import org.jquantlib.math.randomnumbers.RandomSequenceGeneratorIntf;
+import org.jquantlib.QL;
+import org.jquantlib.math.randomnumbers.UniformRandomSequenceGenerator;
 import org.jquantlib.processes.StochasticProcess1D;
 import org.jquantlib.time.TimeGrid;
 
@@ -56,17 +56,21 @@ import org.jquantlib.time.TimeGrid;
  * @author Richard Gomes
  */
 //TEST the generated paths are checked against cached results 
-// public class PathGenerator<RNG extends RandomNumberGenerator<Path>, GSG extends RandomSequenceGenerator<Path, RNG>> { // should be GaussianSequenceGenerator ?
-public class PathGenerator<RNG extends RandomNumberGenerator, GSG extends RandomSequenceGeneratorIntf> { // should be GaussianSequenceGenerator ?
-
-    private boolean brownianBridge_;
-    private GSG generator_;
-    private /*@NonNegative*/ int dimension_;
-    private TimeGrid timeGrid_;
-    private StochasticProcess1D process_;
-    // XXX private Sample<Path> next_;
-    private double[] temp_;
-    private BrownianBridge bb_;
+public class PathGenerator<GSG extends UniformRandomSequenceGenerator> {
+
+    private final boolean brownianBridge_;
+    private final GSG generator_;
+    private final /*@NonNegative*/ int dimension_;
+    private final TimeGrid timeGrid_;
+    private final StochasticProcess1D process_;
+    private final double[] temp_;
+    private final BrownianBridge bb_;
+
+    // buffers employed by block generation, allocated on first use
+    private double[][] increments_;
+    private double[] weights_;
+    private double[] state_;
+    private double[] negated_;
 
     
     public PathGenerator(
@@ -75,21 +79,16 @@ public class PathGenerator<RNG extends RandomNumberGenerator, GSG extends Random
                           final /*@NonNegative*/ int timeSteps,
                           final GSG generator,
                           final boolean brownianBridge) {
-        if (System.getProperty("EXPERIMENTAL")==null) {
-            throw new UnsupportedOperationException("Work in progress");
-        }
         this.brownianBridge_ = brownianBridge;
         this.generator_ = generator;
         this.dimension_ = generator.dimension();
         this.timeGrid_ = new TimeGrid(length, timeSteps);
         this.process_ = process;
-        //XXX this.next_ = new Sample<Path>( new Path(this.timeGrid_), 1.0 );
         this.temp_ = new double[this.dimension_];
         this.bb_ = new BrownianBridge(this.timeGrid_);
         
-        if (dimension_!= timeSteps){
-            throw new IllegalArgumentException(
-                    "sequence generator dimensionality (" + dimension_ + ") != timeSteps (" + timeSteps + ")");}
+        QL.require(dimension_ == timeSteps,
+                "sequence generator dimensionality (" + dimension_ + ") != timeSteps (" + timeSteps + ")");
     }
 
     public PathGenerator(
@@ -97,64 +96,159 @@ public class PathGenerator<RNG extends RandomNumberGenerator, GSG extends Random
                         final TimeGrid timeGrid,
                         final GSG generator,
                         final boolean brownianBridge) {
-        if (System.getProperty("EXPERIMENTAL")==null) {
-            throw new UnsupportedOperationException("Work in progress");
-        }
         this.brownianBridge_ = brownianBridge;
         this.generator_ = generator;
         this.dimension_ = generator.dimension();
         this.timeGrid_ = timeGrid;
         this.process_ = process;
-        //XXX this.next_ = new Sample<Path>(new Path(timeGrid), 1.0);
         this.temp_ = new double[this.dimension_];
         this.bb_ = new BrownianBridge(this.timeGrid_);
 
-        if (dimension_ != timeGrid_.size()-1){
-            throw new IllegalArgumentException(
-                    "sequence generator dimensionality (" + dimension_ + ") != timeSteps (" + (timeGrid_.size()-1) + ")");}
+        QL.require(dimension_ == timeGrid_.size()-1,
+                "sequence generator dimensionality (" + dimension_ + ") != timeSteps (" + (timeGrid_.size()-1) + ")");
+    }
+
+    public final TimeGrid timeGrid() /* @ReadOnly */ {
+        return timeGrid_;
     }
 
-    private final Sample<Path> next() /* @ReadOnly */ {
-        return next(false);
+    public final Sample<Path> next() /* @ReadOnly */ {
+        final Path path = new Path(timeGrid_);
+        return new Sample<Path>(path, next(path, false));
     }
 
     public final Sample<Path> antithetic() /* @ReadOnly */ {
-        return next(true);
+        final Path path = new Path(timeGrid_);
+        return new Sample<Path>(path, next(path, true));
     }
 
-    public final Sample<Path> next(final boolean antithetic) /* @ReadOnly */ {
-
-//      
-// TODO :: code review            
-//                 
-//        final Sample<List<Path>> sequence_ =
-//            antithetic ? generator_.lastSequence()
-//                       : generator_.nextSequence();
-//
-//        if (brownianBridge_) {
-//            bb_.transform(sequence_.getValue().getValues_(), this.temp_);
-//        } else {
-//            DoubleArrays.copy(sequence_.getValue().getValues_(), 0, this.dimension_);
-//        }
-//
-//        
-//        // XXX next_.weight = sequence_.weight;
-//        Sample<Path> next_ = new Sample<Path>(new Path(timeGrid_), sequence_.getWeight());
-//      
-//
-//        Path path = next_.getValue();
-//        path.setValues_( 0, process_.x0() );
-//
-//        for (int i=1; i<path.length(); i++) {
-//            /*@Time*/ double  t = timeGrid_.get(i-1);
-//            /*@Time*/ double  dt = timeGrid_.dt(i-1);
-//            double d = process_.evolve(t, path.getValues_(i-1), dt, antithetic ? -temp_[i-1] : temp_[i-1]);
-//            path.setValues_(i, d);
-//        }
-//
-//        return next_;
-        
-        return null;  
+    /**
+     * Generates the next path into a path owned by the caller
+     * <p>
+     * This method does not allocate any object, which allows the inner loop of a simulation to reuse a single {@link Path}
+     * for all samples.
+     *
+     * @param path is the path to be filled, which must have been built on the time grid of this generator
+     * @return the weight of the generated path
+     */
+    public final double next(final Path path) /* @ReadOnly */ {
+        return next(path, false);
+    }
+
+    /**
+     * Generates the antithetic twin of the last generated path into a path owned by the caller
+     *
+     * @param path is the path to be filled, which must have been built on the time grid of this generator
+     * @return the weight of the generated path
+     *
+     * @see #next(Path)
+     */
+    public final double antithetic(final Path path) /* @ReadOnly */ {
+        return next(path, true);
+    }
+
+    private double next(final Path path, final boolean antithetic) /* @ReadOnly */ {
+        QL.require(path.length() == timeGrid_.size(), "path length does not match the time grid"); // TODO: message
+
+        final Sample<double[]> sequence_ = antithetic ? generator_.lastSequence() : generator_.nextSequence();
+
+        final double[] dw;
+        if (brownianBridge_) {
+            bb_.transform(sequence_.value(), this.temp_);
+            dw = this.temp_;
+        } else {
+            dw = sequence_.value();
+        }
+
+        final double[] values = path.getValues_();
+        values[0] = process_.x0();
+
+        final double sign = antithetic ? -1.0 : 1.0;
+        for (int i=1; i<values.length; i++) {
+            /*@Time*/ final double t = timeGrid_.get(i-1);
+            /*@Time*/ final double dt = timeGrid_.dt(i-1);
+            values[i] = process_.evolve(t, values[i-1], dt, sign*dw[i-1]);
+        }
+
+        return sequence_.weight();
+    }
+
+
+    /**
+     * Generates the next block of paths
+     * <p>
+     * Paths are generated one sequence at a time, exactly in the same order as successive calls to {@link #next(Path)}
+     * would do, and they are evolved all together by {@link StochasticProcess1D#evolve(double, double, double[], double[])}.
+     * Buffers are allocated when a block size is first seen, so that generating blocks of constant size does not allocate
+     * any object.
+     *
+     * @param block is the block to be filled, which must have been built on the time grid of this generator
+     */
+    public final void next(final PathBlock block) /* @ReadOnly */ {
+        QL.require(block.length() == timeGrid_.size(), "path length does not match the time grid"); // TODO: message
+        final int n = block.size();
+        if (weights_ == null || weights_.length != n) {
+            increments_ = new double[dimension_][n];
+            weights_ = new double[n];
+            state_ = new double[n];
+            negated_ = new double[n];
+        }
+
+        for (int p = 0; p < n; p++) {
+            final Sample<double[]> sequence_ = generator_.nextSequence();
+            final double[] dw;
+            if (brownianBridge_) {
+                bb_.transform(sequence_.value(), this.temp_);
+                dw = this.temp_;
+            } else {
+                dw = sequence_.value();
+            }
+            for (int i = 0; i < dimension_; i++) {
+                increments_[i][p] = dw[i];
+            }
+            weights_[p] = sequence_.weight();
+        }
+
+        evolve(block, false);
+    }
+
+    /**
+     * Generates the antithetic twins of the paths of the last generated block
+     *
+     * @param block is the block to be filled, which must have the same size as the last generated block
+     *
+     * @see #next(PathBlock)
+     */
+    public final void antithetic(final PathBlock block) /* @ReadOnly */ {
+        QL.require(block.length() == timeGrid_.size(), "path length does not match the time grid"); // TODO: message
+        QL.require(weights_ != null && weights_.length == block.size(), "no block of the same size was generated"); // TODO: message
+        evolve(block, true);
+    }
+
+    private void evolve(final PathBlock block, final boolean antithetic) {
+        final int n = block.size();
+        final double[] values = block.values();
+
+        final double x0 = process_.x0();
+        for (int p = 0; p < n; p++) {
+            state_[p] = x0;
+        }
+        System.arraycopy(state_, 0, values, 0, n);
+        System.arraycopy(weights_, 0, block.weights(), 0, n);
+
+        for (int i = 1; i < timeGrid_.size(); i++) {
+            /*@Time*/ final double t = timeGrid_.get(i-1);
+            /*@Time*/ final double dt = timeGrid_.dt(i-1);
+            double[] dw = increments_[i-1];
+            if (antithetic) {
+                for (int p = 0; p < n; p++) {
+                    negated_[p] = -dw[p];
+                }
+                dw = negated_;
+            }
+            process_.evolve(t, dt, state_, dw);
+            System.arraycopy(state_, 0, values, i*n, n);
+        }
     }
 
 }
@@ -40,6 +40,7 @@
 
 package org.jquantlib.methods.montecarlo;
 
+import org.jquantlib.QL;
 import org.jquantlib.math.Ops;
 
 
@@ -56,11 +57,28 @@ import org.jquantlib.math.Ops;
 public abstract class PathPricer<PathType> implements Ops.Op<PathType, Double> {
 
 	public PathPricer() {
-        if (System.getProperty("EXPERIMENTAL")==null) {
-            throw new UnsupportedOperationException("Work in progress");
-        }
 	}
 	
 	public abstract Double op(final PathType path);
 
+	/**
+	 * Prices all paths of a block
+	 * <p>
+	 * The default implementation copies every path of the block into a {@link Path} and prices it by means of
+	 * {@link #op(Object)}, which is only meaningful for pricers of single-factor paths. Derived classes are expected to
+	 * override this method and evaluate the payoff directly on the values of the block.
+	 *
+	 * @param block is the block of paths to be priced
+	 * @param results receives the value of every path of the block
+	 */
+	@SuppressWarnings("unchecked")
+	public void op(final PathBlock block, final double[] results) {
+		QL.require(results.length >= block.size(), "results array is too small"); // TODO: message
+		final Path path = new Path(block.timeGrid());
+		for (int p = 0; p < block.size(); p++) {
+			block.path(p, path);
+			results[p] = op((PathType) path);
+		}
+	}
+
 }
@@ -39,9 +39,20 @@
 
 package org.jquantlib.pricingengines;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.jquantlib.QL;
+import org.jquantlib.math.Constants;
 import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
 import org.jquantlib.math.statistics.Statistics;
+import org.jquantlib.methods.montecarlo.MonteCarloModel;
+import org.jquantlib.methods.montecarlo.Path;
+import org.jquantlib.methods.montecarlo.PathGenerator;
+import org.jquantlib.methods.montecarlo.PathPricer;
 import org.jquantlib.methods.montecarlo.Variate;
+import org.jquantlib.time.TimeGrid;
 
 /**
  *
@@ -49,189 +60,200 @@ import org.jquantlib.methods.montecarlo.Variate;
  * <p>
  * Eventually this class might offer greeks methods. Deriving a class from McSimulation gives an easy way to write a Monte Carlo
  * engine.
+ * <p>
+ * Samples can be split among several independent streams of paths, which are evaluated in parallel when an
+ * {@link ExecutorService} is given. Results are reproducible for a given seed and a given number of streams.
  *
- * @ee McVanillaEngine
+ * @see MonteCarloModel
+ * @see org.jquantlib.pricingengines.vanilla.MCVanillaEngine
  *
  * @author Richard Gomes
  */
-public class MCSimulation<MC extends Variate, RNG extends RandomNumberGenerator, S extends Statistics> {
+public abstract class MCSimulation<MC extends Variate, RNG extends RandomNumberGenerator, S extends Statistics> {
+
+    //
+    // protected fields
+    //
+
+    protected MonteCarloModel<MC, RNG, S> mcModel_;
+    protected final boolean antitheticVariate_;
+    protected final boolean controlVariate_;
+    protected final /*@NonNegative*/ int streams_;
+    protected final ExecutorService executor_;
+
+
+    //
+    // protected constructors
+    //
 
-    public MCSimulation() {
-        throw new UnsupportedOperationException();
+    protected MCSimulation(final boolean antitheticVariate, final boolean controlVariate) {
+        this(antitheticVariate, controlVariate, 1, null);
     }
 
-}
+    /**
+     * @param streams is the number of independent streams of paths samples are split into
+     * @param executor is the executor used for evaluating streams in parallel or <code>null</code> for sequential evaluation
+     */
+    protected MCSimulation(
+            final boolean antitheticVariate,
+            final boolean controlVariate,
+            final /*@NonNegative*/ int streams,
+            final ExecutorService executor) {
+        QL.require(streams > 0, "number of streams must be positive"); // TODO: message
+        this.antitheticVariate_ = antitheticVariate;
+        this.controlVariate_ = controlVariate;
+        this.streams_ = streams;
+        this.executor_ = executor;
+    }
+
+
+    //
+    // protected abstract methods
+    //
+
+    protected abstract PathPricer<Path> pathPricer();
+
+    /**
+     * @param stream is the stream number, from zero up to the number of streams minus one
+     * @return a path generator which is independent of the ones returned for other streams
+     */
+    protected abstract PathGenerator<?> pathGenerator(/*@NonNegative*/ int stream);
 
+    protected abstract TimeGrid timeGrid();
 
+    /**
+     * @return an empty sample accumulator
+     */
+    protected abstract S sampleAccumulatorInstance();
 
-//template <template <class> class MC, class RNG, class S = Statistics>
-//class McSimulation {
-//  public:
-//    typedef typename MonteCarloModel<MC,RNG,S>::path_generator_type
-//        path_generator_type;
-//    typedef typename MonteCarloModel<MC,RNG,S>::path_pricer_type
-//        path_pricer_type;
-//    typedef typename MonteCarloModel<MC,RNG,S>::stats_type
-//        stats_type;
-//    typedef typename MonteCarloModel<MC,RNG,S>::result_type result_type;
-//
-//    virtual ~McSimulation() {}
-//    //! add samples until the required absolute tolerance is reached
-//    result_type value(Real tolerance,
-//                      Size maxSamples = QL_MAX_INTEGER,
-//                      Size minSamples = 1023) const;
-//    //! simulate a fixed number of samples
-//    result_type valueWithSamples(Size samples) const;
-//    //! error estimated using the samples simulated so far
-//    result_type errorEstimate() const;
-//    //! access to the sample accumulator for richer statistics
-//    const stats_type& sampleAccumulator(void) const;
-//    //! basic calculate method provided to inherited pricing engines
-//    void calculate(Real requiredTolerance,
-//                   Size requiredSamples,
-//                   Size maxSamples) const;
-//  protected:
-//    McSimulation(bool antitheticVariate,
-//                 bool controlVariate)
-//    : antitheticVariate_(antitheticVariate),
-//      controlVariate_(controlVariate) {}
-//    virtual boost::shared_ptr<path_pricer_type> pathPricer() const = 0;
-//    virtual boost::shared_ptr<path_generator_type> pathGenerator()
-//                                                               const = 0;
-//    virtual TimeGrid timeGrid() const = 0;
-//    virtual boost::shared_ptr<path_pricer_type> controlPathPricer() const {
-//        return boost::shared_ptr<path_pricer_type>();
-//    }
-//    virtual boost::shared_ptr<PricingEngine> controlPricingEngine() const {
-//        return boost::shared_ptr<PricingEngine>();
-//    }
-//    virtual result_type controlVariateValue() const {
-//        return Null<result_type>();
-//    }
-//    template <class Sequence>
-//    static Real maxError(const Sequence& sequence) {
-//        return *std::max_element(sequence.begin(), sequence.end());
-//    }
-//    static Real maxError(Real error) {
-//        return error;
-//    }
-//
-//    mutable boost::shared_ptr<MonteCarloModel<MC,RNG,S> > mcModel_;
-//    bool antitheticVariate_, controlVariate_;
-//};
-//
-//
-//// inline definitions
-//template <template <class> class MC, class RNG, class S>
-//inline typename McSimulation<MC,RNG,S>::result_type
-//    McSimulation<MC,RNG,S>::value(Real tolerance,
-//                                          Size maxSamples,
-//                                          Size minSamples) const {
-//    Size sampleNumber =
-//        mcModel_->sampleAccumulator().samples();
-//    if (sampleNumber<minSamples) {
-//        mcModel_->addSamples(minSamples-sampleNumber);
-//        sampleNumber = mcModel_->sampleAccumulator().samples();
-//    }
-//
-//    Size nextBatch;
-//    Real order;
-//    result_type error(mcModel_->sampleAccumulator().errorEstimate());
-//    while (maxError(error) > tolerance) {
-//        QL_REQUIRE(sampleNumber<maxSamples,
-//                   "max number of samples (" << maxSamples
-//                   << ") reached, while error (" << error
-//                   << ") is still above tolerance (" << tolerance << ")");
-//
-//        // conservative estimate of how many samples are needed
-//        order = maxError(error*error)/tolerance/tolerance;
-//        nextBatch =
-//            Size(std::max<Real>(sampleNumber*order*0.8-sampleNumber,
-//                                minSamples));
-//
-//        // do not exceed maxSamples
-//        nextBatch = std::min(nextBatch, maxSamples-sampleNumber);
-//        sampleNumber += nextBatch;
-//        mcModel_->addSamples(nextBatch);
-//        error = result_type(mcModel_->sampleAccumulator().errorEstimate());
-//    }
-//
-//    return result_type(mcModel_->sampleAccumulator().mean());
-//}
-//
-//
-//template <template <class> class MC, class RNG, class S>
-//inline typename McSimulation<MC,RNG,S>::result_type
-//    McSimulation<MC,RNG,S>::valueWithSamples(Size samples) const {
-//
-//    Size sampleNumber = mcModel_->sampleAccumulator().samples();
-//
-//    QL_REQUIRE(samples>=sampleNumber,
-//               "number of already simulated samples (" << sampleNumber
-//               << ") greater than requested samples (" << samples << ")");
-//
-//    mcModel_->addSamples(samples-sampleNumber);
-//
-//    return result_type(mcModel_->sampleAccumulator().mean());
-//}
-//
-//
-//template <template <class> class MC, class RNG, class S>
-//inline void McSimulation<MC,RNG,S>::calculate(Real requiredTolerance,
-//                                              Size requiredSamples,
-//                                              Size maxSamples) const {
-//
-//    QL_REQUIRE(requiredTolerance != Null<Real>() ||
-//               requiredSamples != Null<Size>(),
-//               "neither tolerance nor number of samples set");
-//
-//    //! Initialize the one-factor Monte Carlo
-//    if (this->controlVariate_) {
-//
-//        result_type controlVariateValue = this->controlVariateValue();
-//        QL_REQUIRE(controlVariateValue != Null<result_type>(),
-//                   "engine does not provide "
-//                   "control-variation price");
-//
-//        boost::shared_ptr<path_pricer_type> controlPP =
-//            this->controlPathPricer();
-//        QL_REQUIRE(controlPP,
-//                   "engine does not provide "
-//                   "control-variation path pricer");
-//
-//        this->mcModel_ =
-//            boost::shared_ptr<MonteCarloModel<MC,RNG,S> >(
-//                new MonteCarloModel<MC,RNG,S>(
-//                       pathGenerator(), this->pathPricer(), stats_type(),
-//                       this->antitheticVariate_, controlPP,
-//                       controlVariateValue));
-//    } else {
-//        this->mcModel_ =
-//            boost::shared_ptr<MonteCarloModel<MC,RNG,S> >(
-//                new MonteCarloModel<MC,RNG,S>(
-//                       pathGenerator(), this->pathPricer(), S(),
-//                       this->antitheticVariate_));
-//    }
-//
-//    if (requiredTolerance != Null<Real>()) {
-//        if (maxSamples != Null<Size>())
-//            this->value(requiredTolerance, maxSamples);
-//        else
-//            this->value(requiredTolerance);
-//    } else {
-//        this->valueWithSamples(requiredSamples);
-//    }
-//
-//}
-//
-//template <template <class> class MC, class RNG, class S>
-//inline typename McSimulation<MC,RNG,S>::result_type
-//    McSimulation<MC,RNG,S>::errorEstimate() const {
-//    return mcModel_->sampleAccumulator().errorEstimate();
-//}
-//
-//template <template <class> class MC, class RNG, class S>
-//inline const typename McSimulation<MC,RNG,S>::stats_type&
-//McSimulation<MC,RNG,S>::sampleAccumulator() const {
-//    return mcModel_->sampleAccumulator();
-//}
+
+    //
+    // protected methods
+    //
+
+    protected PathPricer<Path> controlPathPricer() {
+        return null;
+    }
+
+    protected PricingEngine controlPricingEngine() {
+        return null;
+    }
+
+    protected /*@Real*/ double controlVariateValue() {
+        return Constants.NULL_REAL;
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * add samples until the required absolute tolerance is reached
+     */
+    public /*@Real*/ double value(final /*@Real*/ double tolerance) {
+        return value(tolerance, Constants.NULL_INTEGER, 1023);
+    }
+
+    /**
+     * add samples until the required absolute tolerance is reached
+     */
+    public /*@Real*/ double value(
+            final /*@Real*/ double tolerance,
+            final /*@NonNegative*/ int maxSamples,
+            final /*@NonNegative*/ int minSamples) {
+        int sampleNumber = mcModel_.sampleAccumulator().samples();
+        if (sampleNumber < minSamples) {
+            mcModel_.addSamples(minSamples - sampleNumber);
+            sampleNumber = mcModel_.sampleAccumulator().samples();
+        }
+
+        double error = mcModel_.sampleAccumulator().errorEstimate();
+        while (error > tolerance) {
+            QL.require(sampleNumber < maxSamples,
+                    "max number of samples (" + maxSamples + ") reached, while error (" + error
+                    + ") is still above tolerance (" + tolerance + ")");
+
+            // conservative estimate of how many samples are needed
+            final double order = error * error / tolerance / tolerance;
+            int nextBatch = (int) Math.max(sampleNumber * order * 0.8 - sampleNumber, minSamples);
+
+            // do not exceed maxSamples
+            nextBatch = Math.min(nextBatch, maxSamples - sampleNumber);
+            sampleNumber += nextBatch;
+            mcModel_.addSamples(nextBatch);
+            error = mcModel_.sampleAccumulator().errorEstimate();
+        }
+
+        return mcModel_.sampleAccumulator().mean();
+    }
+
+    /**
+     * simulate a fixed number of samples
+     */
+    public /*@Real*/ double valueWithSamples(final /*@NonNegative*/ int samples) {
+        final int sampleNumber = mcModel_.sampleAccumulator().samples();
+        QL.require(samples >= sampleNumber,
+                "number of already simulated samples (" + sampleNumber + ") greater than requested samples (" + samples + ")");
+        mcModel_.addSamples(samples - sampleNumber);
+        return mcModel_.sampleAccumulator().mean();
+    }
+
+    /**
+     * error estimated using the samples simulated so far
+     */
+    public /*@Real*/ double errorEstimate() /* @ReadOnly */ {
+        return mcModel_.sampleAccumulator().errorEstimate();
+    }
+
+    /**
+     * access to the sample accumulator for richer statistics
+     */
+    public S sampleAccumulator() /* @ReadOnly */ {
+        return mcModel_.sampleAccumulator();
+    }
+
+    /**
+     * basic calculate method provided to inherited pricing engines
+     */
+    public void calculate(
+            final /*@Real*/ double requiredTolerance,
+            final /*@NonNegative*/ int requiredSamples,
+            final /*@NonNegative*/ int maxSamples) {
+
+        QL.require(requiredTolerance != Constants.NULL_REAL || requiredSamples != Constants.NULL_INTEGER,
+                "neither tolerance nor number of samples set");
+
+        final List<PathGenerator<?>> generators = new ArrayList<PathGenerator<?>>(streams_);
+        for (int i = 0; i < streams_; i++) {
+            generators.add(pathGenerator(i));
+        }
+
+        if (this.controlVariate_) {
+            final double controlVariateValue = this.controlVariateValue();
+            QL.require(controlVariateValue != Constants.NULL_REAL, "engine does not provide control-variation price");
+
+            final PathPricer<Path> controlPP = this.controlPathPricer();
+            QL.require(controlPP != null, "engine does not provide control-variation path pricer");
+
+            this.mcModel_ = new MonteCarloModel<MC, RNG, S>(
+                    generators, this.pathPricer(), sampleAccumulatorInstance(),
+                    this.antitheticVariate_, controlPP, controlVariateValue, executor_);
+        } else {
+            this.mcModel_ = new MonteCarloModel<MC, RNG, S>(
+                    generators, this.pathPricer(), sampleAccumulatorInstance(),
+                    this.antitheticVariate_, null, Constants.NULL_REAL, executor_);
+        }
+
+        if (requiredTolerance != Constants.NULL_REAL) {
+            if (maxSamples != Constants.NULL_INTEGER) {
+                this.value(requiredTolerance, maxSamples, 1023);
+            } else {
+                this.value(requiredTolerance);
+            }
+        } else {
+            this.valueWithSamples(requiredSamples);
+        }
+    }
+
+}
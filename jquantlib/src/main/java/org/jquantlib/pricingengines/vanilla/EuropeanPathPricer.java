@@ -0,0 +1,91 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+/*
+ Copyright (C) 2003 Ferdinando Ametrano
+ Copyright (C) 2000, 2001, 2002, 2003 RiskMap srl
+ Copyright (C) 2007 StatPro Italia srl
+
+ This file is part of QuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://quantlib.org/
+
+ QuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the QuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <quantlib-dev@lists.sf.net>. The license is also available online at
+ <http://quantlib.org/license.shtml>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+*/
+
+package org.jquantlib.pricingengines.vanilla;
+
+import org.jquantlib.QL;
+import org.jquantlib.instruments.Option;
+import org.jquantlib.instruments.PlainVanillaPayoff;
+import org.jquantlib.methods.montecarlo.Path;
+import org.jquantlib.methods.montecarlo.PathBlock;
+import org.jquantlib.methods.montecarlo.PathPricer;
+
+/**
+ * Path pricer for European options
+ * <p>
+ * Instances are immutable and can be shared by concurrent streams of paths.
+ *
+ * @category mcarlo
+ *
+ * @author agent
+ */
+public class EuropeanPathPricer extends PathPricer<Path> {
+
+    private final PlainVanillaPayoff payoff;
+    private final /*@DiscountFactor*/ double discount;
+
+    public EuropeanPathPricer(
+            final Option.Type type,
+            final /*@Real*/ double strike,
+            final /*@DiscountFactor*/ double discount) {
+        QL.require(strike>=0.0, "strike less than zero not allowed"); // TODO: message
+        this.payoff = new PlainVanillaPayoff(type, strike);
+        this.discount = discount;
+    }
+
+    @Override
+    public Double op(final Path path) /* @ReadOnly */ {
+        QL.require(path.length() > 0, "the path cannot be empty"); // TODO: message
+        return payoff.get(path.getValues_(path.length()-1)) * discount;
+    }
+
+    @Override
+    public void op(final PathBlock block, final double[] results) /* @ReadOnly */ {
+        QL.require(results.length >= block.size(), "results array is too small"); // TODO: message
+        final double[] values = block.values();
+        final int n = block.size();
+        final int last = block.offset(block.length()-1);
+        for (int p = 0; p < n; p++) {
+            results[p] = payoff.get(values[last+p]) * discount;
+        }
+    }
+
+}
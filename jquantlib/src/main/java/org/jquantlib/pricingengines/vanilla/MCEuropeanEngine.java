@@ -38,243 +38,95 @@
 
 package org.jquantlib.pricingengines.vanilla;
 
+import java.util.concurrent.ExecutorService;
+
+import org.jquantlib.QL;
+import org.jquantlib.instruments.PlainVanillaPayoff;
+import org.jquantlib.math.randomnumbers.GenericPseudoRandom;
+import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
+import org.jquantlib.math.statistics.Statistics;
+import org.jquantlib.methods.montecarlo.Path;
+import org.jquantlib.methods.montecarlo.PathPricer;
+import org.jquantlib.methods.montecarlo.SingleVariate;
+import org.jquantlib.processes.GeneralizedBlackScholesProcess;
+
 /**
  * European option pricing engine using Monte Carlo simulation
  *
  * @category vanillaengines
  *
+ * @see MakeMCEuropeanEngine
+ *
  * @author Richard Gomes
  */
-//test the correctness of the returned value is tested by checking it against analytic results.
-public class MCEuropeanEngine /*extends MCVanillaEngine<
-        SingleVariate extends Variate,
-        RNG extends RandomNumberGenerator,
-        S extends Statistics>*/ {
+//TEST the correctness of the returned value is tested by checking it against analytic results.
+public class MCEuropeanEngine<RNG extends RandomNumberGenerator, S extends Statistics> extends MCVanillaEngine<SingleVariate<?, RNG, ?>, RNG, S> {
+
+    private static final String NON_PLAIN_PAYOFF_GIVEN = "non-plain payoff given";
+    private static final String BLACK_SCHOLES_PROCESS_REQUIRED = "Black-Scholes process required";
 
-    public MCEuropeanEngine() {
-        throw new UnsupportedOperationException("work in progress");
+
+    //
+    // public constructors
+    //
+
+    public MCEuropeanEngine(
+            final GeneralizedBlackScholesProcess process,
+            final /*@NonNegative*/ int timeSteps,
+            final /*@NonNegative*/ int timeStepsPerYear,
+            final boolean brownianBridge,
+            final boolean antitheticVariate,
+            final boolean controlVariate,
+            final /*@NonNegative*/ int requiredSamples,
+            final /*@Real*/ double requiredTolerance,
+            final /*@NonNegative*/ int maxSamples,
+            final /*@NonNegative*/ long seed,
+            final GenericPseudoRandom<RNG, ?> rngTraits,
+            final Class<? extends S> classS) {
+        this(process, timeSteps, timeStepsPerYear, brownianBridge, antitheticVariate, controlVariate,
+             requiredSamples, requiredTolerance, maxSamples, seed, rngTraits, classS, 1, null);
     }
 
-}
+    /**
+     * @param streams is the number of independent streams of paths samples are split into
+     * @param executor is the executor used for evaluating streams in parallel or <code>null</code> for sequential evaluation
+     */
+    public MCEuropeanEngine(
+            final GeneralizedBlackScholesProcess process,
+            final /*@NonNegative*/ int timeSteps,
+            final /*@NonNegative*/ int timeStepsPerYear,
+            final boolean brownianBridge,
+            final boolean antitheticVariate,
+            final boolean controlVariate,
+            final /*@NonNegative*/ int requiredSamples,
+            final /*@Real*/ double requiredTolerance,
+            final /*@NonNegative*/ int maxSamples,
+            final /*@NonNegative*/ long seed,
+            final GenericPseudoRandom<RNG, ?> rngTraits,
+            final Class<? extends S> classS,
+            final /*@NonNegative*/ int streams,
+            final ExecutorService executor) {
+        super(process, timeSteps, timeStepsPerYear, brownianBridge, antitheticVariate, controlVariate,
+              requiredSamples, requiredTolerance, maxSamples, seed, rngTraits, classS, streams, executor);
+    }
+
+
+    //
+    // overrides MCVanillaEngine
+    //
+
+    @Override
+    protected PathPricer<Path> pathPricer() {
+        QL.require(a.payoff instanceof PlainVanillaPayoff, NON_PLAIN_PAYOFF_GIVEN);
+        final PlainVanillaPayoff payoff = (PlainVanillaPayoff) a.payoff;
 
+        QL.require(process_ instanceof GeneralizedBlackScholesProcess, BLACK_SCHOLES_PROCESS_REQUIRED);
+        final GeneralizedBlackScholesProcess process = (GeneralizedBlackScholesProcess) process_;
 
-//template <class RNG = PseudoRandom, class S = Statistics>
-//class MCEuropeanEngine : public MCVanillaEngine<SingleVariate,RNG,S> {
-//  public:
-//    typedef
-//    typename MCVanillaEngine<SingleVariate,RNG,S>::path_generator_type
-//        path_generator_type;
-//    typedef
-//    typename MCVanillaEngine<SingleVariate,RNG,S>::path_pricer_type
-//        path_pricer_type;
-//    typedef typename MCVanillaEngine<SingleVariate,RNG,S>::stats_type
-//        stats_type;
-//    // constructor
-//    MCEuropeanEngine(Size timeSteps,
-//                     Size timeStepsPerYear,
-//                     bool brownianBridge,
-//                     bool antitheticVariate,
-//                     bool controlVariate,
-//                     Size requiredSamples,
-//                     Real requiredTolerance,
-//                     Size maxSamples,
-//                     BigNatural seed);
-//  protected:
-//    boost::shared_ptr<path_pricer_type> pathPricer() const;
-//};
-//
-////! Monte Carlo European engine factory
-//template <class RNG = PseudoRandom, class S = Statistics>
-//class MakeMCEuropeanEngine {
-//  public:
-//    MakeMCEuropeanEngine();
-//    // named parameters
-//    MakeMCEuropeanEngine& withSteps(Size steps);
-//    MakeMCEuropeanEngine& withStepsPerYear(Size steps);
-//    MakeMCEuropeanEngine& withBrownianBridge(bool b = true);
-//    MakeMCEuropeanEngine& withSamples(Size samples);
-//    MakeMCEuropeanEngine& withTolerance(Real tolerance);
-//    MakeMCEuropeanEngine& withMaxSamples(Size samples);
-//    MakeMCEuropeanEngine& withSeed(BigNatural seed);
-//    MakeMCEuropeanEngine& withAntitheticVariate(bool b = true);
-//    MakeMCEuropeanEngine& withControlVariate(bool b = true);
-//    // conversion to pricing engine
-//    operator boost::shared_ptr<PricingEngine>() const;
-//  private:
-//    bool antithetic_, controlVariate_;
-//    Size steps_, stepsPerYear_, samples_, maxSamples_;
-//    Real tolerance_;
-//    bool brownianBridge_;
-//    BigNatural seed_;
-//};
-//
-//class EuropeanPathPricer : public PathPricer<Path> {
-//  public:
-//    EuropeanPathPricer(Option::Type type,
-//                       Real strike,
-//                       DiscountFactor discount);
-//    Real operator()(const Path& path) const;
-//  private:
-//    PlainVanillaPayoff payoff_;
-//    DiscountFactor discount_;
-//};
-//
-//
-//// inline definitions
-//
-//template <class RNG, class S>
-//inline
-//MCEuropeanEngine<RNG,S>::MCEuropeanEngine(Size timeSteps,
-//                                          Size timeStepsPerYear,
-//                                          bool brownianBridge,
-//                                          bool antitheticVariate,
-//                                          bool controlVariate,
-//                                          Size requiredSamples,
-//                                          Real requiredTolerance,
-//                                          Size maxSamples,
-//                                          BigNatural seed)
-//: MCVanillaEngine<SingleVariate,RNG,S>(timeSteps,
-//                                       timeStepsPerYear,
-//                                       brownianBridge,
-//                                       antitheticVariate,
-//                                       controlVariate,
-//                                       requiredSamples,
-//                                       requiredTolerance,
-//                                       maxSamples,
-//                                       seed) {}
-//
-//
-//template <class RNG, class S>
-//inline
-//boost::shared_ptr<QL_TYPENAME MCEuropeanEngine<RNG,S>::path_pricer_type>
-//MCEuropeanEngine<RNG,S>::pathPricer() const {
-//
-//    boost::shared_ptr<PlainVanillaPayoff> payoff =
-//        boost::dynamic_pointer_cast<PlainVanillaPayoff>(
-//            this->arguments_.payoff);
-//    QL_REQUIRE(payoff, "non-plain payoff given");
-//
-//    boost::shared_ptr<GeneralizedBlackScholesProcess> process =
-//        boost::dynamic_pointer_cast<GeneralizedBlackScholesProcess>(
-//            this->arguments_.stochasticProcess);
-//    QL_REQUIRE(process, "Black-Scholes process required");
-//
-//    return boost::shared_ptr<
-//                   QL_TYPENAME MCEuropeanEngine<RNG,S>::path_pricer_type>(
-//      new EuropeanPathPricer(
-//          payoff->optionType(),
-//          payoff->strike(),
-//          process->riskFreeRate()->discount(this->timeGrid().back())));
-//}
-//
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>::MakeMCEuropeanEngine()
-//: antithetic_(false), controlVariate_(false),
-//  steps_(Null<Size>()), stepsPerYear_(Null<Size>()),
-//  samples_(Null<Size>()), maxSamples_(Null<Size>()),
-//  tolerance_(Null<Real>()), brownianBridge_(false), seed_(0) {}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withSteps(Size steps) {
-//    steps_ = steps;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withStepsPerYear(Size steps) {
-//    stepsPerYear_ = steps;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withSamples(Size samples) {
-//    QL_REQUIRE(tolerance_ == Null<Real>(),
-//               "tolerance already set");
-//    samples_ = samples;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withTolerance(Real tolerance) {
-//    QL_REQUIRE(samples_ == Null<Size>(),
-//               "number of samples already set");
-//    QL_REQUIRE(RNG::allowsErrorEstimate,
-//               "chosen random generator policy "
-//               "does not allow an error estimate");
-//    tolerance_ = tolerance;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withMaxSamples(Size samples) {
-//    maxSamples_ = samples;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withSeed(BigNatural seed) {
-//    seed_ = seed;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withBrownianBridge(bool brownianBridge) {
-//    brownianBridge_ = brownianBridge;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withAntitheticVariate(bool b) {
-//    antithetic_ = b;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline MakeMCEuropeanEngine<RNG,S>&
-//MakeMCEuropeanEngine<RNG,S>::withControlVariate(bool b) {
-//    controlVariate_ = b;
-//    return *this;
-//}
-//
-//template <class RNG, class S>
-//inline
-//MakeMCEuropeanEngine<RNG,S>::operator boost::shared_ptr<PricingEngine>()
-//                                                                  const {
-//    QL_REQUIRE(steps_ != Null<Size>() || stepsPerYear_ != Null<Size>(),
-//               "number of steps not given");
-//    QL_REQUIRE(steps_ == Null<Size>() || stepsPerYear_ == Null<Size>(),
-//               "number of steps overspecified");
-//    return boost::shared_ptr<PricingEngine>(new
-//        MCEuropeanEngine<RNG,S>(steps_,
-//                                stepsPerYear_,
-//                                brownianBridge_,
-//                                antithetic_,
-//                                controlVariate_,
-//                                samples_, tolerance_,
-//                                maxSamples_,
-//                                seed_));
-//}
-//
-//
-//
-//inline EuropeanPathPricer::EuropeanPathPricer(Option::Type type,
-//                                              Real strike,
-//                                              DiscountFactor discount)
-//: payoff_(type, strike), discount_(discount) {
-//    QL_REQUIRE(strike>=0.0,
-//               "strike less than zero not allowed");
-//}
-//
-//inline Real EuropeanPathPricer::operator()(const Path& path) const {
-//    QL_REQUIRE(path.length() > 0, "the path cannot be empty");
-//    return payoff_(path.back()) * discount_;
-//}
+        return new EuropeanPathPricer(
+                payoff.optionType(),
+                payoff.strike(),
+                process.riskFreeRate().currentLink().discount(timeGrid().back()));
+    }
+
+}
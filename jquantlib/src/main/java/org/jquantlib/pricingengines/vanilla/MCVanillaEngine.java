@@ -38,134 +38,258 @@
 
 package org.jquantlib.pricingengines.vanilla;
 
+import java.util.concurrent.ExecutorService;
+
+import org.jquantlib.QL;
+import org.jquantlib.instruments.OneAssetOption;
+import org.jquantlib.instruments.VanillaOption;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.math.Constants;
+import org.jquantlib.math.randomnumbers.GenericPseudoRandom;
+import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
+import org.jquantlib.math.randomnumbers.UniformRandomSequenceGenerator;
+import org.jquantlib.math.statistics.Statistics;
+import org.jquantlib.methods.montecarlo.MonteCarloModel;
+import org.jquantlib.methods.montecarlo.Path;
+import org.jquantlib.methods.montecarlo.PathGenerator;
+import org.jquantlib.methods.montecarlo.PathPricer;
+import org.jquantlib.methods.montecarlo.Variate;
+import org.jquantlib.pricingengines.MCSimulation;
+import org.jquantlib.pricingengines.PricingEngine;
+import org.jquantlib.processes.GeneralizedBlackScholesProcess;
+import org.jquantlib.processes.StochasticProcess1D;
+import org.jquantlib.time.TimeGrid;
+
 /**
  * Pricing engine for vanilla options using Monte Carlo simulation
+ * <p>
+ * Samples are split among <code>streams</code> independent streams of paths. The path generator of stream <i>i</i>
+ * is seeded with {@link MonteCarloModel#streamSeed(long, int)} so that results are reproducible for a given seed and a given
+ * number of streams, no matter if streams are evaluated sequentially or in parallel by an {@link ExecutorService}.
  *
  * @category vanillaengines
  *
  * @author Richard Gomes
  */
-public class MCVanillaEngine /*extends McSimulation<MC extends Variate, RNG extends RandomNumberGenerator, S>*/ {
+public abstract class MCVanillaEngine<MC extends Variate, RNG extends RandomNumberGenerator, S extends Statistics>
+        extends VanillaOption.EngineImpl {
+
+    //
+    // protected final fields
+    //
+
+    protected final StochasticProcess1D process_;
+    protected final /*@NonNegative*/ int timeSteps_;
+    protected final /*@NonNegative*/ int timeStepsPerYear_;
+    protected final /*@NonNegative*/ int requiredSamples_;
+    protected final /*@NonNegative*/ int maxSamples_;
+    protected final /*@Real*/ double requiredTolerance_;
+    protected final boolean brownianBridge_;
+    protected final /*@NonNegative*/ long seed_;
+
+    protected final OneAssetOption.ArgumentsImpl a;
+    protected final OneAssetOption.ResultsImpl r;
+
 
-    public MCVanillaEngine() {
-        throw new UnsupportedOperationException("work in progress");
+    //
+    // private final fields
+    //
+
+    private final GenericPseudoRandom<RNG, ?> rngTraits_;
+    private final Class<? extends S> classS_;
+    private final Simulation simulation_;
+
+
+    //
+    // protected constructors
+    //
+
+    protected MCVanillaEngine(
+            final StochasticProcess1D process,
+            final /*@NonNegative*/ int timeSteps,
+            final /*@NonNegative*/ int timeStepsPerYear,
+            final boolean brownianBridge,
+            final boolean antitheticVariate,
+            final boolean controlVariate,
+            final /*@NonNegative*/ int requiredSamples,
+            final /*@Real*/ double requiredTolerance,
+            final /*@NonNegative*/ int maxSamples,
+            final /*@NonNegative*/ long seed,
+            final GenericPseudoRandom<RNG, ?> rngTraits,
+            final Class<? extends S> classS) {
+        this(process, timeSteps, timeStepsPerYear, brownianBridge, antitheticVariate, controlVariate,
+             requiredSamples, requiredTolerance, maxSamples, seed, rngTraits, classS, 1, null);
     }
 
-}
+    /**
+     * @param streams is the number of independent streams of paths samples are split into
+     * @param executor is the executor used for evaluating streams in parallel or <code>null</code> for sequential evaluation
+     */
+    protected MCVanillaEngine(
+            final StochasticProcess1D process,
+            final /*@NonNegative*/ int timeSteps,
+            final /*@NonNegative*/ int timeStepsPerYear,
+            final boolean brownianBridge,
+            final boolean antitheticVariate,
+            final boolean controlVariate,
+            final /*@NonNegative*/ int requiredSamples,
+            final /*@Real*/ double requiredTolerance,
+            final /*@NonNegative*/ int maxSamples,
+            final /*@NonNegative*/ long seed,
+            final GenericPseudoRandom<RNG, ?> rngTraits,
+            final Class<? extends S> classS,
+            final /*@NonNegative*/ int streams,
+            final ExecutorService executor) {
+        this.a = (OneAssetOption.ArgumentsImpl)arguments_;
+        this.r = (OneAssetOption.ResultsImpl)results_;
+        this.process_ = process;
+        this.timeSteps_ = timeSteps;
+        this.timeStepsPerYear_ = timeStepsPerYear;
+        this.requiredSamples_ = requiredSamples;
+        this.maxSamples_ = maxSamples;
+        this.requiredTolerance_ = requiredTolerance;
+        this.brownianBridge_ = brownianBridge;
+        this.seed_ = seed;
+        this.rngTraits_ = rngTraits;
+        this.classS_ = classS;
+        this.simulation_ = new Simulation(antitheticVariate, controlVariate, streams, executor);
+        this.process_.addObserver(this);
+    }
 
 
-//template <template <class> class MC, class RNG,
-//class S = Statistics, class Inst = VanillaOption>
-//class MCVanillaEngine : public Inst::engine,
-//              public McSimulation<MC,RNG,S> {
-//public:
-//void calculate() const {
-//McSimulation<MC,RNG,S>::calculate(requiredTolerance_,
-//                                requiredSamples_,
-//                                maxSamples_);
-//this->results_.value = this->mcModel_->sampleAccumulator().mean();
-//if (RNG::allowsErrorEstimate)
-//this->results_.errorEstimate =
-//  this->mcModel_->sampleAccumulator().errorEstimate();
-//}
-//protected:
-//typedef typename McSimulation<MC,RNG,S>::path_generator_type
-//path_generator_type;
-//typedef typename McSimulation<MC,RNG,S>::path_pricer_type
-//path_pricer_type;
-//typedef typename McSimulation<MC,RNG,S>::stats_type
-//stats_type;
-//typedef typename McSimulation<MC,RNG,S>::result_type
-//result_type;
-//// constructor
-//MCVanillaEngine(Size timeSteps,
-//          Size timeStepsPerYear,
-//          bool brownianBridge,
-//          bool antitheticVariate,
-//          bool controlVariate,
-//          Size requiredSamples,
-//          Real requiredTolerance,
-//          Size maxSamples,
-//          BigNatural seed);
-//// McSimulation implementation
-//TimeGrid timeGrid() const;
-//boost::shared_ptr<path_generator_type> pathGenerator() const {
-//
-//Size dimensions = this->arguments_.stochasticProcess->factors();
-//TimeGrid grid = this->timeGrid();
-//typename RNG::rsg_type generator =
-//  RNG::make_sequence_generator(dimensions*(grid.size()-1),seed_);
-//return boost::shared_ptr<path_generator_type>(
-//     new path_generator_type(this->arguments_.stochasticProcess,
-//                             grid, generator, brownianBridge_));
-//}
-//result_type controlVariateValue() const;
-//// data members
-//Size timeSteps_, timeStepsPerYear_;
-//Size requiredSamples_, maxSamples_;
-//Real requiredTolerance_;
-//bool brownianBridge_;
-//BigNatural seed_;
-//};
-//
-//
-//// template definitions
-//
-//template <template <class> class MC, class RNG, class S, class Inst>
-//inline MCVanillaEngine<MC,RNG,S,Inst>::MCVanillaEngine(Size timeSteps,
-//                                        Size timeStepsPerYear,
-//                                        bool brownianBridge,
-//                                        bool antitheticVariate,
-//                                        bool controlVariate,
-//                                        Size requiredSamples,
-//                                        Real requiredTolerance,
-//                                        Size maxSamples,
-//                                        BigNatural seed)
-//: McSimulation<MC,RNG,S>(antitheticVariate, controlVariate),
-//timeSteps_(timeSteps), timeStepsPerYear_(timeStepsPerYear),
-//requiredSamples_(requiredSamples), maxSamples_(maxSamples),
-//requiredTolerance_(requiredTolerance),
-//brownianBridge_(brownianBridge), seed_(seed) {}
-//
-//template <template <class> class MC, class RNG, class S, class Inst>
-//inline typename MCVanillaEngine<MC,RNG,S,Inst>::result_type
-//MCVanillaEngine<MC,RNG,S,Inst>::controlVariateValue() const {
-//
-//boost::shared_ptr<PricingEngine> controlPE =
-//this->controlPricingEngine();
-//QL_REQUIRE(controlPE,
-//     "engine does not provide "
-//     "control variation pricing engine");
-//
-//typename Inst::arguments* controlArguments =
-//  dynamic_cast<typename Inst::arguments*>(
-//                                     controlPE->getArguments());
-//
-//QL_REQUIRE(controlArguments, "engine is using inconsistent arguments");
-//
-//*controlArguments = this->arguments_;
-//controlPE->calculate();
-//
-//const typename Inst::results* controlResults =
-//  dynamic_cast<const typename Inst::results*>(
-//                                       controlPE->getResults());
-//QL_REQUIRE(controlResults,
-//     "engine returns an inconsistent result type");
-//
-//return result_type(controlResults->value);
-//}
-//
-//
-//template <template <class> class MC, class RNG, class S, class Inst>
-//inline TimeGrid MCVanillaEngine<MC,RNG,S,Inst>::timeGrid() const {
-//Date lastExerciseDate = this->arguments_.exercise->lastDate();
-//Time t = this->arguments_.stochasticProcess->time(lastExerciseDate);
-//if (this->timeSteps_ != Null<Size>()) {
-//return TimeGrid(t, this->timeSteps_);
-//} else if (this->timeStepsPerYear_ != Null<Size>()) {
-//Size steps = static_cast<Size>(this->timeStepsPerYear_*t);
-//return TimeGrid(t, std::max<Size>(steps, 1));
-//} else {
-//QL_FAIL("time steps not specified");
-//}
-//}
+    //
+    // protected abstract methods
+    //
+
+    protected abstract PathPricer<Path> pathPricer();
+
+
+    //
+    // protected methods
+    //
+
+    protected PathPricer<Path> controlPathPricer() {
+        return null;
+    }
+
+    protected PricingEngine controlPricingEngine() {
+        return null;
+    }
+
+    protected /*@Real*/ double controlVariateValue() {
+        final PricingEngine controlPE = controlPricingEngine();
+        QL.require(controlPE != null, "engine does not provide control variation pricing engine"); // TODO: message
+
+        final OneAssetOption.ArgumentsImpl controlArguments = (OneAssetOption.ArgumentsImpl) controlPE.getArguments();
+        controlArguments.payoff = a.payoff;
+        controlArguments.exercise = a.exercise;
+        controlPE.calculate();
+
+        final OneAssetOption.ResultsImpl controlResults = (OneAssetOption.ResultsImpl) controlPE.getResults();
+        return controlResults.value;
+    }
+
+    protected TimeGrid timeGrid() {
+        /*@Time*/ final double t = process_.time(a.exercise.lastDate());
+        if (timeSteps_ != Constants.NULL_INTEGER)
+            return new TimeGrid(t, timeSteps_);
+        else if (timeStepsPerYear_ != Constants.NULL_INTEGER) {
+            final int steps = (int) (timeStepsPerYear_ * t);
+            return new TimeGrid(t, Math.max(steps, 1));
+        } else
+            throw new LibraryException("time steps not specified"); // TODO: message
+    }
+
+    protected PathGenerator<?> pathGenerator(final /*@NonNegative*/ int stream) {
+        final int dimensions = process_.factors();
+        final TimeGrid grid = timeGrid();
+        final long seed = MonteCarloModel.streamSeed(seed_, stream);
+        final UniformRandomSequenceGenerator generator = rngTraits_.makeSequenceGenerator(dimensions*(grid.size()-1), seed);
+        return new PathGenerator<UniformRandomSequenceGenerator>(process_, grid, generator, brownianBridge_);
+    }
+
+    /**
+     * @return the simulation which backs this engine, which gives access to richer statistics
+     */
+    protected MCSimulation<MC, RNG, S> simulation() {
+        return simulation_;
+    }
+
+
+    //
+    // implements PricingEngine
+    //
+
+    @Override
+    public void calculate() /* @ReadOnly */ {
+        // The local volatility of a Black-Scholes process is built lazily, which is not thread safe. Build it on this thread,
+        // before streams start sharing the process.
+        if (process_ instanceof GeneralizedBlackScholesProcess) {
+            ((GeneralizedBlackScholesProcess) process_).localVolatility();
+        }
+        simulation_.calculate(requiredTolerance_, requiredSamples_, maxSamples_);
+        r.value = simulation_.sampleAccumulator().mean();
+        if (GenericPseudoRandom.allowsErrorEstimate) {
+            r.errorEstimate = simulation_.sampleAccumulator().errorEstimate();
+        }
+    }
+
+
+    //
+    // private inner classes
+    //
+
+    /**
+     * Binds {@link MCSimulation} to this engine
+     */
+    private final class Simulation extends MCSimulation<MC, RNG, S> {
+
+        private Simulation(
+                final boolean antitheticVariate,
+                final boolean controlVariate,
+                final int streams,
+                final ExecutorService executor) {
+            super(antitheticVariate, controlVariate, streams, executor);
+        }
+
+        @Override
+        protected PathPricer<Path> pathPricer() {
+            return MCVanillaEngine.this.pathPricer();
+        }
+
+        @Override
+        protected PathGenerator<?> pathGenerator(final int stream) {
+            return MCVanillaEngine.this.pathGenerator(stream);
+        }
+
+        @Override
+        protected TimeGrid timeGrid() {
+            return MCVanillaEngine.this.timeGrid();
+        }
+
+        @Override
+        protected PathPricer<Path> controlPathPricer() {
+            return MCVanillaEngine.this.controlPathPricer();
+        }
+
+        @Override
+        protected PricingEngine controlPricingEngine() {
+            return MCVanillaEngine.this.controlPricingEngine();
+        }
+
+        @Override
+        protected double controlVariateValue() {
+            return MCVanillaEngine.this.controlVariateValue();
+        }
+
+        @Override
+        protected S sampleAccumulatorInstance() {
+            try {
+                return classS_.newInstance();
+            } catch (final Exception e) {
+                throw new LibraryException(e); // QA:[RG]::verified
+            }
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+/*
+ Copyright (C) 2003 Ferdinando Ametrano
+ Copyright (C) 2000, 2001, 2002, 2003 RiskMap srl
+ Copyright (C) 2007 StatPro Italia srl
+
+ This file is part of QuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://quantlib.org/
+
+ QuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the QuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <quantlib-dev@lists.sf.net>. The license is also available online at
+ <http://quantlib.org/license.shtml>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+*/
+
+package org.jquantlib.pricingengines.vanilla;
+
+import java.util.concurrent.ExecutorService;
+
+import org.jquantlib.QL;
+import org.jquantlib.math.Constants;
+import org.jquantlib.math.randomnumbers.GenericPseudoRandom;
+import org.jquantlib.math.randomnumbers.RandomNumberGenerator;
+import org.jquantlib.math.statistics.Statistics;
+import org.jquantlib.pricingengines.PricingEngine;
+import org.jquantlib.processes.GeneralizedBlackScholesProcess;
+
+/**
+ * Monte Carlo European engine factory
+ * <p>
+ * This class provides a more comfortable interface to the argument list of {@link MCEuropeanEngine}'s constructor.
+ *
+ * @category vanillaengines
+ *
+ * @author agent
+ */
+public class MakeMCEuropeanEngine<RNG extends RandomNumberGenerator, S extends Statistics> {
+
+    private final GeneralizedBlackScholesProcess process_;
+    private final GenericPseudoRandom<RNG, ?> rngTraits_;
+    private final Class<? extends S> classS_;
+    private boolean antithetic_;
+    private boolean controlVariate_;
+    private /*@NonNegative*/ int steps_;
+    private /*@NonNegative*/ int stepsPerYear_;
+    private /*@NonNegative*/ int samples_;
+    private /*@NonNegative*/ int maxSamples_;
+    private /*@Real*/ double tolerance_;
+    private boolean brownianBridge_;
+    private /*@NonNegative*/ long seed_;
+    private /*@NonNegative*/ int streams_;
+    private ExecutorService executor_;
+
+    public MakeMCEuropeanEngine(
+            final GeneralizedBlackScholesProcess process,
+            final GenericPseudoRandom<RNG, ?> rngTraits,
+            final Class<? extends S> classS) {
+        this.process_ = process;
+        this.rngTraits_ = rngTraits;
+        this.classS_ = classS;
+        this.antithetic_ = false;
+        this.controlVariate_ = false;
+        this.steps_ = Constants.NULL_INTEGER;
+        this.stepsPerYear_ = Constants.NULL_INTEGER;
+        this.samples_ = Constants.NULL_INTEGER;
+        this.maxSamples_ = Constants.NULL_INTEGER;
+        this.tolerance_ = Constants.NULL_REAL;
+        this.brownianBridge_ = false;
+        this.seed_ = 0;
+        this.streams_ = 1;
+        this.executor_ = null;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withSteps(final /*@NonNegative*/ int steps) {
+        steps_ = steps;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withStepsPerYear(final /*@NonNegative*/ int steps) {
+        stepsPerYear_ = steps;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withBrownianBridge() {
+        return withBrownianBridge(true);
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withBrownianBridge(final boolean b) {
+        brownianBridge_ = b;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withSamples(final /*@NonNegative*/ int samples) {
+        QL.require(tolerance_ == Constants.NULL_REAL, "tolerance already set"); // TODO: message
+        samples_ = samples;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withTolerance(final /*@Real*/ double tolerance) {
+        QL.require(samples_ == Constants.NULL_INTEGER, "number of samples already set"); // TODO: message
+        QL.require(GenericPseudoRandom.allowsErrorEstimate, "chosen random generator policy does not allow an error estimate"); // TODO: message
+        tolerance_ = tolerance;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withMaxSamples(final /*@NonNegative*/ int samples) {
+        maxSamples_ = samples;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withSeed(final /*@NonNegative*/ long seed) {
+        seed_ = seed;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withAntitheticVariate() {
+        return withAntitheticVariate(true);
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withAntitheticVariate(final boolean b) {
+        antithetic_ = b;
+        return this;
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withControlVariate() {
+        return withControlVariate(true);
+    }
+
+    public MakeMCEuropeanEngine<RNG, S> withControlVariate(final boolean b) {
+        controlVariate_ = b;
+        return this;
+    }
+
+    /**
+     * Splits samples among a given number of independent streams of paths.
+     * <p>
+     * Results are reproducible for a given seed and a given number of streams.
+     */
+    public MakeMCEuropeanEngine<RNG, S> withStreams(final /*@NonNegative*/ int streams) {
+        QL.require(streams > 0, "number of streams must be positive"); // TODO: message
+        streams_ = streams;
+        return this;
+    }
+
+    /**
+     * Evaluates streams of paths in parallel by means of a given executor.
+     */
+    public MakeMCEuropeanEngine<RNG, S> withExecutor(final ExecutorService executor) {
+        executor_ = executor;
+        return this;
+    }
+
+    public PricingEngine value() /* @ReadOnly */ {
+        QL.require(steps_ != Constants.NULL_INTEGER || stepsPerYear_ != Constants.NULL_INTEGER, "number of steps not given"); // TODO: message
+        QL.require(steps_ == Constants.NULL_INTEGER || stepsPerYear_ == Constants.NULL_INTEGER, "number of steps overspecified"); // TODO: message
+        return new MCEuropeanEngine<RNG, S>(
+                process_, steps_, stepsPerYear_, brownianBridge_, antithetic_, controlVariate_,
+                samples_, tolerance_, maxSamples_, seed_, rngTraits_, classS_, streams_, executor_);
+    }
+
+}
@@ -83,7 +83,10 @@ public abstract class FDStepConditionEngine extends FDVanillaEngine {
 
         prices =  new SampledCurve(intrinsicValues);
         controlPrices = new SampledCurve(intrinsicValues);
-        controlOperator =  new TridiagonalOperator(finiteDifferenceOperator);
+        // the control variate is evolved by the very same operator and boundary conditions,
+        // which lets the evolver solve both systems with a single factorization per step
+        controlOperator = finiteDifferenceOperator;
+        controlBCs.clear();
         controlBCs.add(bcS.get(0));
         controlBCs.add(bcS.get(1));
 
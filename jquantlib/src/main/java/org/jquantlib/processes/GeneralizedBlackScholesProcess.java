@@ -41,6 +41,7 @@
 
 package org.jquantlib.processes;
 
+import org.jquantlib.QL;
 import org.jquantlib.lang.exceptions.LibraryException;
 import org.jquantlib.quotes.Handle;
 import org.jquantlib.quotes.Quote;
@@ -236,6 +237,31 @@ public class GeneralizedBlackScholesProcess extends StochasticProcess1D {
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When the local volatility does not depend on the asset value and the process is discretized by an
+     * {@link EulerDiscretization}, drift and diffusion are the same for the whole batch and are calculated only once.
+     * Otherwise, the default behaviour is kept.
+     */
+    @Override
+    public void evolve(final /*@Time*/ double t0, final /*@Time*/ double dt, final /*@Real*/ double[] x, final double[] dw) {
+        final LocalVolTermStructure localVol = localVolatility().currentLink();
+        final boolean flat = (localVol instanceof LocalConstantVol || localVol instanceof LocalVolCurve);
+        if (!flat || x.length == 0 || discretization1D == null || discretization1D.getClass() != EulerDiscretization.class) {
+            super.evolve(t0, dt, x, dw);
+            return;
+        }
+        QL.require(x.length == dw.length, "sizes of values and increments do not match"); // TODO: message
+
+        // any asset value gives the same coefficients
+        final double growth = Math.exp(discretization1D.driftDiscretization(this, t0, x[0], dt));
+        final double stdDev = discretization1D.diffusionDiscretization(this, t0, x[0], dt);
+        for (int j = 0; j < x.length; j++) {
+            x[j] = x[j] * growth * Math.exp(stdDev * dw[j]);
+        }
+    }
+
     @Override
     public final/* @Time */double time(final Date d) {
         final YieldTermStructure yts = riskFreeRate.currentLink();
@@ -38,6 +38,7 @@
  */
 package org.jquantlib.processes;
 
+import org.jquantlib.QL;
 import org.jquantlib.math.Constants;
 import org.jquantlib.quotes.Handle;
 import org.jquantlib.termstructures.Compounding;
@@ -148,4 +149,28 @@ public class HullWhiteProcess extends StochasticProcess1D {
         return process.variance(t0, x0, dt);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The shift of the expectation and the standard deviation do not depend on the state, so they are calculated only once
+     * for the whole batch.
+     */
+    @Override
+    public void evolve(
+            final /* @Time */ double t0,
+            final /* @Time */ double dt,
+            final double[] x,
+            final double[] dw) {
+        QL.require(x.length == dw.length, "sizes of values and increments do not match"); // TODO: message
+        final double alpha1 = alpha(t0 + dt);
+        final double alpha0 = alpha(t0) * Math.exp(-a * dt);
+        final double stdDev = process.stdDeviation(t0, process.x0(), dt);
+        final double level = process.level();
+        final double decay = Math.exp(-process.speed() * dt);
+        for (int j = 0; j < x.length; j++) {
+            final double expectation = (level + (x[j] - level) * decay) + alpha1 - alpha0;
+            x[j] = expectation + stdDev * dw[j];
+        }
+    }
+
 }
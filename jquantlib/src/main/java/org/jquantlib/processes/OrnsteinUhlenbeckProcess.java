@@ -143,4 +143,24 @@ public class OrnsteinUhlenbeckProcess extends StochasticProcess1D {
             return 0.5 * volatility_ * volatility_ / speed_ * (1.0 - Math.exp(-2.0 * speed_ * dt));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The decay factor and the standard deviation do not depend on the state, so they are calculated only once for the
+     * whole batch.
+     */
+    @Override
+    public void evolve(
+            final double /* @Time */t0,
+            final double /* @Time */dt,
+            final double[] /* @Real */x,
+            final double[] dw) {
+        QL.require(x.length == dw.length, "sizes of values and increments do not match"); // TODO: message
+        final double decay = Math.exp(-speed_ * dt);
+        final double stdDev = stdDeviation(t0, x0_, dt);
+        for (int j = 0; j < x.length; j++) {
+            x[j] = (level_ + (x[j] - level_) * decay) + stdDev * dw[j];
+        }
+    }
+
 }
\ No newline at end of file
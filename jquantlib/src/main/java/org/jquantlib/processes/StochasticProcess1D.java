@@ -148,6 +148,26 @@ public abstract class StochasticProcess1D extends StochasticProcess {
         return apply(expectation(t0,x0,dt), stdDeviation(t0,x0,dt) * dw);
     }
 
+    /**
+     * Evolves a batch of asset values over a time interval {@latex$ \Delta t }
+     * <p>
+     * The values in <code>x</code> are replaced by the values returned by {@link #evolve(double, double, double, double)}
+     * for each one of them and the corresponding Brownian increment in <code>dw</code>. By default, this method simply
+     * iterates over the batch. Derived classes which are able to compute the coefficients of the discretization once for
+     * the whole batch should override it.
+     *
+     * @param t0 is the starting time
+     * @param dt is the time interval
+     * @param x contains the asset values at time t0 and receives the asset values at time t0+dt
+     * @param dw contains the Brownian increments, one for each asset value
+     */
+    public void evolve(final /*@Time*/ double t0, final /*@Time*/ double dt, final /*@Real*/ double[] x, final double[] dw) {
+        QL.require(x.length == dw.length, "sizes of values and increments do not match"); // TODO: message
+        for (int j = 0; j < x.length; j++) {
+            x[j] = evolve(t0, x[j], dt, dw[j]);
+        }
+    }
+
     /**
      * Applies a change to the asset value. By default, it
      * returns {@latex$ x + \Delta x }.
@@ -208,6 +208,25 @@ abstract public class AbstractYieldTermStructure extends AbstractTermStructure i
     abstract protected /*DiscountFactor*/ double discountImpl(final /*@Time*/ double t);
 
 
+    //
+    // protected methods
+    //
+
+    /**
+     * Calculates discount factors for many times at once.
+     * <p>
+     * Derived classes should override this method when discount factors for times sorted in ascending order can be
+     * obtained faster than one at a time.
+     *
+     * @category calculations
+     */
+    protected void discountImpl(final /*@Time*/ double[] times, final /*@DiscountFactor*/ double[] out) {
+        for (int i=0; i<times.length; i++) {
+            out[i] = discountImpl(times[i]);
+        }
+    }
+
+
     //
     // implements YieldTermStructure
     //
@@ -393,6 +412,27 @@ abstract public class AbstractYieldTermStructure extends AbstractTermStructure i
         return discountImpl(t);
     }
 
+    @Override
+    public void discount(final Date[] dates, final /*@DiscountFactor*/ double[] out) {
+        QL.require(out.length >= dates.length, "output array is too small"); // TODO: message
+        final /*@Time*/ double[] times = new double[dates.length];
+        for (int i=0; i<dates.length; i++) {
+            checkRange(dates[i], false);
+            times[i] = timeFromReference(dates[i]);
+        }
+        discountImpl(times, out);
+    }
+
+    @Override
+    public void discount(final /*@Time*/ double[] times, final /*@DiscountFactor*/ double[] out) {
+        QL.require(out.length >= times.length, "output array is too small"); // TODO: message
+        QL.require(out != times, "times and discount factors must be different arrays"); // TODO: message
+        for (final double t : times) {
+            checkRange(t, false);
+        }
+        discountImpl(times, out);
+    }
+
 
     // ----- public methods ::: par rates -----
 
@@ -80,6 +80,10 @@ public abstract class BootstrapHelper <TS extends TermStructure> implements Obse
         this.quote = new Handle<Quote>(new SimpleQuote(quote));
     }
 
+    public Handle<Quote> quote() {
+        return quote;
+    }
+
     public abstract double impliedQuote();
 
     public double quoteError() {
@@ -38,7 +38,17 @@ import org.jquantlib.time.Date;
 
 /**
  * Universal piecewise-term-structure boostrapper.
- * 
+ * <p>
+ * Pillar dates, times and values are kept between calculations, together with the interpolation built on them. As long
+ * as maturities of instruments do not change, a new calculation updates pillar values in place, starting from the values
+ * obtained by the previous calculation.
+ * <p>
+ * In incremental mode, when the interpolation is not global, only pillars from the earliest instrument whose quote has
+ * changed onwards are solved again, because pillars before it do not depend on quotes of later instruments.
+ *
+ * @note Incremental mode assumes that instruments depend only on their quotes and on the curve being bootstrapped.
+ * Instruments which depend on other market data must not be bootstrapped incrementally.
+ *
  * @author Richard Gomes
  */
 
@@ -53,6 +63,7 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
     //
 
     private boolean         validCurve;
+    private boolean         incremental;
     private PiecewiseCurve  ts;
     private RateHelper[]    instruments;
 
@@ -60,11 +71,21 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
     private Interpolator    interpolator;
     private Interpolation   interpolation;
 
+    private Date[]          dates;
+    private Array           times;
+    private Array           data;
+    private double[]        quotes;
+
+    private int             iterations;
+    private int             solvedPillars;
+    private long            elapsedTime;
+
     //
     // final private fields
     //
 
     final private Class<?>  typeCurve;
+    final private Brent     solver;
 
 
     //
@@ -81,12 +102,54 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
             throw new LibraryException(ReflectConstants.WRONG_ARGUMENT_TYPE);
         }
         this.typeCurve = typeCurve;
+        this.solver = new Brent();
 
         this.validCurve = false;
+        this.incremental = false;
         this.ts = null;
     }
 
 
+    //
+    // public methods
+    //
+
+    /**
+     * @return <code>true</code> if only pillars affected by changed quotes are solved again
+     */
+    public boolean incremental() {
+        return incremental;
+    }
+
+    /**
+     * Enables or disables incremental mode.
+     */
+    public void setIncremental(final boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * @return the number of iterations performed by the latest calculation
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * @return the number of pillars solved by the latest calculation, summed over all iterations
+     */
+    public int solvedPillars() {
+        return solvedPillars;
+    }
+
+    /**
+     * @return the time taken by the latest calculation, in nanoseconds
+     */
+    public long elapsedTime() {
+        return elapsedTime;
+    }
+
+
     //
     // implements Bootstrap
     //
@@ -116,26 +179,22 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
     @Override
     public void calculate () {
 
+        final long start = System.nanoTime();
         final int n = instruments.length;
-        Date dates[] = ts.dates();
-        /*@Time*/ double times[] = ts.times();
-        double data[] = ts.data();
-
-        // ensure rate helpers are sorted
-        Arrays.sort(instruments, new BootstrapHelperSorter());
-
-        // check that there is no instruments with the same maturity
-        for (int i=1; i<n; ++i) {
-            final Date m1 = instruments[i-1].latestDate();
-            final Date m2 = instruments[i].latestDate();
-            QL.require(m1 != m2, "two instruments have the same maturity");
-        }
 
         // check that there is no instruments with invalid quote
         for (int i=0; i<n; ++i) {
             QL.require(instruments[i].quoteIsValid(), " instrument has an invalid quote");
         }
 
+        // first pillar to be solved
+        int first = 1;
+        if (!validCurve || !samePillars()) {
+            setupPillars();
+        } else if (incremental && !interpolator.global()) {
+            first = firstChangedPillar();
+        }
+
         // setup instruments
         for (int i=0; i<n; ++i) {
             // don't try this at home!
@@ -144,42 +203,17 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
             instruments[i].setTermStructure(ts);
         }
 
-        // calculate dates and times
-        dates = new Date[n+1];
-        times = new /*@Time*/ double[n+1];
-        dates[0] = traits.initialDate(ts);
-        times[0] = ts.timeFromReference(dates[0]);
-        for (int i=0; i<n; ++i) {
-            dates[i+1] = instruments[i].latestDate();
-            times[i+1] = ts.timeFromReference(dates[i+1]);
-        }
-        ts.setDates(dates);
-        ts.setTimes(times);
-
-        // set initial guess only if the current curve cannot be used as guess
-        if (validCurve) {
-            QL.ensure(ts.data().length == n+1, "dimension mismatch");
-        } else {
-            data = new /*@Rate*/ double[n+1];
-            data[0] = traits.initialValue(ts);
-            for (int i=0; i<n; ++i) {
-                data[i+1] = traits.initialGuess();
-            }
-            ts.setData(data);
-        }
-
-        final Brent solver = new Brent ();
         final int maxIterations = traits.maxIterations();
+        final double[] data = this.data.$;
+        this.iterations = 0;
+        this.solvedPillars = 0;
 
         for (int iteration = 0;; ++iteration) {
+            this.iterations++;
             // only read safe to use as a reference
-            final double previousData[] = data.clone(); // TODO: verify if clone() is needed
-            // restart from the previous interpolation
-            if (validCurve) {
-                ts.setInterpolation(interpolator.interpolate(new Array(times), new Array(data)));
-            }
+            final double previousData[] = data.clone();
 
-            for (int i=1; i<n+1; ++i) {
+            for (int i=first; i<n+1; ++i) {
                 /*
                 for (int k = 0; k < data.size(); ++ k)
                 {
@@ -200,7 +234,7 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
                 final RateHelper instrument = instruments[i-1];
                 double guess = 0.0;
                 if (validCurve|| iteration>0) {
-                    guess = ts.data()[i];
+                    guess = data[i];
                 } else if (i==1) {
                     guess = traits.initialGuess();
                 } else {
@@ -221,15 +255,15 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
                 if (! validCurve && iteration == 0) {
                     // extend interpolation a point at a time
                     try {
-                        ts.setInterpolation(interpolator.interpolate (new Array(times, i+1), new Array(data)));
+                        ts.setInterpolation(interpolator.interpolate (new Array(times.$, i+1), this.data));
                     } catch (final Exception e) {
                         // no chance to fix it in a later iteration
-                        if (ts.interpolator().global()) {
+                        if (!ts.interpolator().global()) {
                             throw new LibraryException("no chance to fix it in a later iteration");
                         }
 
                         // otherwise, if the target interpolation is not usable yet
-                        ts.setInterpolation(new Linear().interpolate (new Array(times, i+1), new Array(data)));
+                        ts.setInterpolation(new Linear().interpolate (new Array(times.$, i+1), this.data));
                     }
                 }
                 // required because we just changed the data
@@ -246,13 +280,16 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
                     validCurve = false;
                     QL.error ("could not bootstrap");
                 }
+                this.solvedPillars++;
             }
+            // the latest guess of the solver may differ from its solution
+            ts.interpolation().update();
 
             if (!interpolator.global ()) {
                 break; // no need for convergence loop
             } else if (!validCurve && iteration == 0) {
                 // ensure the target interpolation is used
-                ts.setInterpolation(interpolator.interpolate (new Array(times), new Array(data)));
+                ts.setInterpolation(interpolator.interpolate (times, this.data));
 
                 // at least one more iteration is needed to check convergence
                 continue;
@@ -277,6 +314,93 @@ public class IterativeBootstrap<Curve extends PiecewiseYieldCurve> implements Bo
 
         }
         validCurve = true;
+
+        // remember quotes the curve was bootstrapped on
+        for (int i=0; i<n; ++i) {
+            quotes[i] = instruments[i].quote().currentLink().value();
+        }
+        this.elapsedTime = System.nanoTime() - start;
+    }
+
+
+    //
+    // private methods
+    //
+
+    /**
+     * Sorts instruments and calculates pillar dates and times. Pillar values obtained by the previous calculation are
+     * kept as initial guess when possible.
+     */
+    private void setupPillars() {
+
+        final int n = instruments.length;
+
+        // ensure rate helpers are sorted
+        Arrays.sort(instruments, new BootstrapHelperSorter());
+
+        // check that there is no instruments with the same maturity
+        for (int i=1; i<n; ++i) {
+            final Date m1 = instruments[i-1].latestDate();
+            final Date m2 = instruments[i].latestDate();
+            QL.require(m1 != m2, "two instruments have the same maturity");
+        }
+
+        // calculate dates and times
+        this.dates = new Date[n+1];
+        this.times = new Array(n+1);
+        dates[0] = traits.initialDate(ts);
+        times.set(0, ts.timeFromReference(dates[0]));
+        for (int i=0; i<n; ++i) {
+            dates[i+1] = instruments[i].latestDate();
+            times.set(i+1, ts.timeFromReference(dates[i+1]));
+        }
+        ts.setDates(dates);
+        ts.setTimes(times.$);
+
+        // set initial guess only if the current curve cannot be used as guess
+        final Array previousData = this.data;
+        this.data = new Array(n+1);
+        if (validCurve && previousData != null && previousData.size() == n+1) {
+            System.arraycopy(previousData.$, 0, data.$, 0, n+1);
+            // restart from the previous interpolation
+            ts.setData(data.$);
+            ts.setInterpolation(interpolator.interpolate(times, data));
+        } else {
+            validCurve = false;
+            data.set(0, traits.initialValue(ts));
+            for (int i=0; i<n; ++i) {
+                data.set(i+1, traits.initialGuess());
+            }
+            ts.setData(data.$);
+        }
+        this.quotes = new double[n];
+    }
+
+    /**
+     * @return <code>true</code> if pillar dates of the current curve are still the maturities of instruments
+     */
+    private boolean samePillars() {
+        final int n = instruments.length;
+        if (dates == null || dates.length != n+1 || !dates[0].equals(traits.initialDate(ts)))
+            return false;
+        for (int i=0; i<n; ++i) {
+            if (!dates[i+1].equals(instruments[i].latestDate()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the pillar of the earliest instrument whose quote has changed since the latest calculation, or the first
+     * pillar if no quote has changed
+     */
+    private int firstChangedPillar() {
+        final int n = instruments.length;
+        for (int i=0; i<n; ++i) {
+            if (quotes[i] != instruments[i].quote().currentLink().value())
+                return i+1;
+        }
+        return 1;
     }
 
-}
\ No newline at end of file
+}
@@ -286,6 +286,35 @@ public abstract interface YieldTermStructure extends TermStructure {
      */
     public abstract/* @DiscountFactor */double discount(final/* @Time */double t, boolean extrapolate);
 
+    /**
+     * Returns discount factors for many dates or times at once. In the
+     * former case, times are calculated as fractions of year from the
+     * reference date.
+     * <p>
+     * This is faster than obtaining discount factors one at a time, in
+     * particular when dates or times are sorted in ascending order, as
+     * cash flows of a leg usually are.
+     *
+     * @param out receives discount factors, and must be at least as long as <i>dates</i>
+     *
+     * @category discount factors
+     */
+    public abstract void discount(final Date[] dates, /* @DiscountFactor */double[] out);
+
+    /**
+     * Returns discount factors for many dates or times at once.
+     * <p>
+     * The same day-counting rule used by the term structure should be used for
+     * calculating the passed times.
+     *
+     * @param out receives discount factors, and must be at least as long as <i>times</i>, but not the same array
+     *
+     * @category discount factors
+     *
+     * @see #discount(Date[], double[])
+     */
+    public abstract void discount(final/* @Time */double[] times, /* @DiscountFactor */double[] out);
+
     /**
      * Returns the implied par rate for a given sequence of payments at the given dates or times. In the former case, times are
      * calculated as fractions of year from the reference date.
@@ -40,7 +40,6 @@ FOR A PARTICULAR PURPOSE.  See the license for more details.
 
 package org.jquantlib.termstructures.yieldcurves;
 
-import java.util.Arrays;
 
 import org.jquantlib.QL;
 import org.jquantlib.Settings;
@@ -96,7 +95,7 @@ public class Discount implements Traits {
 
     @Override
     public void updateGuess(final double[] data, final double value, final int i) {
-        Arrays.fill(data, value);
+        data[i] = value;
     }
 
 
@@ -196,7 +196,7 @@ public class InterpolatedDiscountCurve<I extends Interpolator> extends AbstractY
             final Calendar calendar,
             final DayCounter dc,
             final Interpolator interpolator) {
-        super(settlementDays, new Calendar(), dc);
+        super(settlementDays, calendar, dc);
         QL.validateExperimentalMode();
 
         QL.require(classI!=null, "Generic type for Interpolation is null");
@@ -303,6 +303,21 @@ public class InterpolatedDiscountCurve<I extends Interpolator> extends AbstractY
 		throw new UnsupportedOperationException();
 	}
 
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * Takes an immutable snapshot of this curve, as it is at this moment.
+     *
+     * @see YieldCurveSnapshot
+     */
+    public YieldCurveSnapshot snapshot() {
+        return new YieldCurveSnapshot(
+                referenceDate(), calendar(), dayCounter(), maxDate(), times, data, interpolator, false, allowsExtrapolation());
+    }
 	
 	//
 	// overrides AbstractYieldTermStructure
@@ -312,5 +327,10 @@ public class InterpolatedDiscountCurve<I extends Interpolator> extends AbstractY
     protected double discountImpl(final double t) {
         return interpolation.op(t, true);
     }
+
+	@Override
+    protected void discountImpl(final double[] times, final double[] out) {
+        interpolation.op(times, out, true);
+    }
     
 }
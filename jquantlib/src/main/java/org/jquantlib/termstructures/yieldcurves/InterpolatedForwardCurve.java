@@ -196,7 +196,7 @@ public class InterpolatedForwardCurve<I extends Interpolator> extends ForwardRat
             final Calendar calendar,
             final DayCounter dc,
             final Interpolator interpolator) {
-        super(settlementDays, new Calendar(), dc);
+        super(settlementDays, calendar, dc);
         QL.validateExperimentalMode();
 
 		QL.require(classI!=null, "Generic type for Interpolation is null");
@@ -191,7 +191,7 @@ public class InterpolatedZeroCurve<I extends Interpolator> extends ZeroYieldStru
             final Calendar calendar,
             final DayCounter dc,
             final Interpolator interpolator) {
-        super(settlementDays, new Calendar(), dc);
+        super(settlementDays, calendar, dc);
         QL.validateExperimentalMode();
 
 		QL.require(classI!=null, "Generic type for Interpolation is null");
@@ -306,6 +306,21 @@ public class InterpolatedZeroCurve<I extends Interpolator> extends ZeroYieldStru
 		return zeroYieldImpl(t);
 	}
 
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * Takes an immutable snapshot of this curve, as it is at this moment.
+     *
+     * @see YieldCurveSnapshot
+     */
+    public YieldCurveSnapshot snapshot() {
+        return new YieldCurveSnapshot(
+                referenceDate(), calendar(), dayCounter(), maxDate(), times, data, interpolator, true, allowsExtrapolation());
+    }
 	
 	//
 	// overrides ZeroYieldStructure
@@ -315,5 +330,10 @@ public class InterpolatedZeroCurve<I extends Interpolator> extends ZeroYieldStru
 	protected double zeroYieldImpl(final double t) {
 		return interpolation.op(t, true);
 	}
+
+	@Override
+	protected void zeroYieldImpl(final double[] times, final double[] out) {
+		interpolation.op(times, out, true);
+	}
 	
 }
@@ -610,6 +610,28 @@ public class PiecewiseYieldCurve<
     }
 
 
+    //
+    // public methods
+    //
+
+    /**
+     * Bootstraps this curve, if needed, and takes an immutable snapshot of it.
+     *
+     * @note Snapshots are only available for curves built on discount factors or zero yields, without jumps.
+     *
+     * @see YieldCurveSnapshot
+     */
+    public YieldCurveSnapshot snapshot() {
+        QL.require(jumps.length == 0, "snapshots of curves with jumps are not supported"); // TODO: message
+        calculate();
+        if (baseCurve instanceof InterpolatedDiscountCurve)
+            return ((InterpolatedDiscountCurve<?>) baseCurve).snapshot();
+        if (baseCurve instanceof InterpolatedZeroCurve)
+            return ((InterpolatedZeroCurve<?>) baseCurve).snapshot();
+        throw new LibraryException("snapshots of forward curves are not supported"); // TODO: message
+    }
+
+
     //
     // overrides LazyObject
     //
@@ -679,97 +701,128 @@ public class PiecewiseYieldCurve<
 
     @Override
     public double discount(final Date d, final boolean extrapolate) {
+        calculate();
         return baseCurve.discount(d, extrapolate);
     }
 
     @Override
     public double discount(final Date d) {
+        calculate();
         return baseCurve.discount(d);
     }
 
     @Override
     public double discount(final double t, final boolean extrapolate) {
+        calculate();
         return baseCurve.discount(t, extrapolate);
     }
 
     @Override
     public double discount(final double t) {
+        calculate();
         return baseCurve.discount(t);
     }
 
+    @Override
+    public void discount(final Date[] dates, final double[] out) {
+        calculate();
+        baseCurve.discount(dates, out);
+    }
+
+    @Override
+    public void discount(final double[] times, final double[] out) {
+        calculate();
+        baseCurve.discount(times, out);
+    }
+
     @Override
     public InterestRate forwardRate(final Date d1, final Date d2, final DayCounter dayCounter, final Compounding comp, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.forwardRate(d1, d2, dayCounter, comp, freq, extrapolate);
     }
 
     @Override
     public InterestRate forwardRate(final Date d1, final Date d2, final DayCounter resultDayCounter, final Compounding comp, final Frequency freq) {
+        calculate();
         return baseCurve.forwardRate(d1, d2, resultDayCounter, comp, freq);
     }
 
     @Override
     public InterestRate forwardRate(final Date d1, final Date d2, final DayCounter resultDayCounter, final Compounding comp) {
+        calculate();
         return baseCurve.forwardRate(d1, d2, resultDayCounter, comp);
     }
 
     @Override
     public InterestRate forwardRate(final Date d, final Period p, final DayCounter dayCounter, final Compounding comp, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.forwardRate(d, p, dayCounter, comp, freq, extrapolate);
     }
 
     @Override
     public InterestRate forwardRate(final Date d, final Period p, final DayCounter resultDayCounter, final Compounding comp, final Frequency freq) {
+        calculate();
         return baseCurve.forwardRate(d, p, resultDayCounter, comp, freq);
     }
 
     @Override
     public InterestRate forwardRate(final double time1, final double time2, final Compounding comp, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.forwardRate(time1, time2, comp, freq, extrapolate);
     }
 
     @Override
     public InterestRate forwardRate(final double t1, final double t2, final Compounding comp, final Frequency freq) {
+        calculate();
         return baseCurve.forwardRate(t1, t2, comp, freq);
     }
 
     @Override
     public InterestRate forwardRate(final double t1, final double t2, final Compounding comp) {
+        calculate();
         return baseCurve.forwardRate(t1, t2, comp);
     }
 
     @Override
     public double parRate(final Date[] dates, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.parRate(dates, freq, extrapolate);
     }
 
 
     @Override
     public double parRate(final double[] times, final Frequency frequency, final boolean extrapolate) {
+        calculate();
         return baseCurve.parRate(times, frequency, extrapolate);
     }
 
     @Override
     public double parRate(final int tenor, final Date startDate, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.parRate(tenor, startDate, freq, extrapolate);
     }
 
     @Override
     public InterestRate zeroRate(final Date d, final DayCounter dayCounter, final Compounding comp, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.zeroRate(d, dayCounter, comp, freq, extrapolate);
     }
 
     @Override
     public InterestRate zeroRate(final Date d, final DayCounter resultDayCounter, final Compounding comp, final Frequency freq) {
+        calculate();
         return baseCurve.zeroRate(d, resultDayCounter, comp, freq);
     }
 
     @Override
     public InterestRate zeroRate(final Date d, final DayCounter resultDayCounter, final Compounding comp) {
+        calculate();
         return baseCurve.zeroRate(d, resultDayCounter, comp);
     }
 
     @Override
     public InterestRate zeroRate(final double time, final Compounding comp, final Frequency freq, final boolean extrapolate) {
+        calculate();
         return baseCurve.zeroRate(time, comp, freq, extrapolate);
     }
 
@@ -790,6 +843,7 @@ public class PiecewiseYieldCurve<
 
     @Override
     public double maxTime() {
+        calculate();
         return baseCurve.maxTime();
     }
 
@@ -0,0 +1,271 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.termstructures.yieldcurves;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.jquantlib.QL;
+import org.jquantlib.Settings;
+import org.jquantlib.daycounters.DayCounter;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.math.interpolations.Interpolation.Interpolator;
+import org.jquantlib.quotes.Handle;
+import org.jquantlib.termstructures.IterativeBootstrap;
+import org.jquantlib.termstructures.RateHelper;
+import org.jquantlib.time.Calendar;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.TimeUnit;
+
+/**
+ * Bootstraps many {@link PiecewiseYieldCurve} instances sharing the same traits, interpolation, settlement days, calendar
+ * and day counter, for instance all curves of a given currency under several scenarios.
+ * <p>
+ * Curves can be bootstrapped concurrently by an {@link ExecutorService}. Each curve is bootstrapped by a single task,
+ * which runs with the settings of the thread which submitted it and the given evaluation date. Settings of the thread
+ * which runs the task are restored when the task finishes.
+ * <p>
+ * Rate helpers are not thread safe: their quotes, handles and helpers themselves are observed by the curve being
+ * bootstrapped and are modified by the bootstrap. For this reason, each curve is described by {@link Instruments}, which
+ * creates its rate helpers on the thread which bootstraps the curve.
+ * <p>
+ * Curves are returned as {@link YieldCurveSnapshot} instances, which have a fixed reference date, are no longer affected by
+ * the evaluation date or by quotes, and can be shared by any number of threads. Only {@link Discount} and
+ * {@link ZeroYield} traits are supported.
+ *
+ * @author agent
+ */
+public class PiecewiseYieldCurveFactory<T extends Traits, I extends Interpolator> {
+
+    /**
+     * Creates the rate helpers a curve is bootstrapped on.
+     * <p>
+     * Rate helpers, their handles and quotes must not be shared by other curves.
+     */
+    public interface Instruments {
+        /**
+         * Called on the thread which bootstraps the curve, once the evaluation date is set.
+         *
+         * @return new rate helpers
+         */
+        public RateHelper[] instruments();
+    }
+
+
+    //
+    // private final fields
+    //
+
+    private final Class<T> classT;
+    private final Class<I> classI;
+    private final /*@Natural*/ int settlementDays;
+    private final Calendar calendar;
+    private final DayCounter dayCounter;
+    private final /*@Real*/ double accuracy;
+
+
+    //
+    // public constructors
+    //
+
+    public PiecewiseYieldCurveFactory(
+            final Class<T> classT,
+            final Class<I> classI,
+            final /*@Natural*/ int settlementDays,
+            final Calendar calendar,
+            final DayCounter dayCounter) {
+        this(classT, classI, settlementDays, calendar, dayCounter, 1.0e-12);
+    }
+
+    public PiecewiseYieldCurveFactory(
+            final Class<T> classT,
+            final Class<I> classI,
+            final /*@Natural*/ int settlementDays,
+            final Calendar calendar,
+            final DayCounter dayCounter,
+            final /*@Real*/ double accuracy) {
+        QL.require(classT!=null, "Generic type for Traits is null");
+        QL.require(classI!=null, "Generic type for Interpolation is null");
+        QL.require(classT==Discount.class || classT==ZeroYield.class, "only discount and zero yield curves are supported"); // TODO: message
+        QL.require(calendar!=null, "calendar must be informed"); // TODO: message
+        QL.require(dayCounter!=null, "day counter must be informed"); // TODO: message
+        this.classT = classT;
+        this.classI = classI;
+        this.settlementDays = settlementDays;
+        this.calendar = calendar;
+        this.dayCounter = dayCounter;
+        this.accuracy = accuracy;
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * Bootstraps a curve on the calling thread.
+     *
+     * @param evaluationDate is the evaluation date the curve is bootstrapped on
+     * @param instruments creates the rate helpers of the curve
+     * @return a snapshot of the curve
+     */
+    public YieldCurveSnapshot build(final Date evaluationDate, final Instruments instruments) {
+        return new Task(evaluationDate, instruments).call();
+    }
+
+    /**
+     * Bootstraps curves concurrently.
+     *
+     * @param evaluationDate is the evaluation date curves are bootstrapped on
+     * @param instruments creates the rate helpers of each curve
+     * @param executor runs one task per curve
+     * @return snapshots of curves, in the same order as <code>instruments</code>
+     */
+    public List<YieldCurveSnapshot> build(
+            final Date evaluationDate,
+            final List<? extends Instruments> instruments,
+            final ExecutorService executor) {
+        QL.require(executor!=null, "executor must be informed"); // TODO: message
+        final List<Future<YieldCurveSnapshot>> futures = new ArrayList<Future<YieldCurveSnapshot>>(instruments.size());
+        for (final Instruments i : instruments) {
+            futures.add(executor.submit(new Task(evaluationDate, i)));
+        }
+        final List<YieldCurveSnapshot> result = new ArrayList<YieldCurveSnapshot>(futures.size());
+        for (final Future<YieldCurveSnapshot> future : futures) {
+            try {
+                result.add(future.get());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new LibraryException(e); // QA:[RG]::verified
+            } catch (final ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException)
+                    throw (RuntimeException) cause;
+                throw new LibraryException(cause); // QA:[RG]::verified
+            }
+        }
+        return result;
+    }
+
+
+    //
+    // private inner classes
+    //
+
+    /**
+     * Bootstraps a curve with the settings of the thread which created the task
+     */
+    private class Task implements Callable<YieldCurveSnapshot> {
+
+        private final Date evaluationDate;
+        private final Instruments instruments;
+        private final ThreadSettings settings;
+
+        public Task(final Date evaluationDate, final Instruments instruments) {
+            QL.require(evaluationDate!=null && !evaluationDate.isNull(), "null date"); // TODO: message
+            QL.require(instruments!=null, "instruments must be informed"); // TODO: message
+            this.evaluationDate = evaluationDate.clone();
+            this.instruments = instruments;
+            this.settings = new ThreadSettings();
+        }
+
+        @Override
+        public YieldCurveSnapshot call() {
+            final ThreadSettings previous = new ThreadSettings();
+            settings.install(evaluationDate);
+            final Date today = new Settings().evaluationDate();
+            RateHelper[] helpers = null;
+            try {
+                helpers = instruments.instruments();
+                final Date referenceDate = calendar.advance(today, settlementDays, TimeUnit.Days);
+                // IterativeBootstrap is declared on the raw curve type, and arrays of Handle<Quote> cannot be created
+                @SuppressWarnings({ "rawtypes", "unchecked" })
+                final PiecewiseYieldCurve<T, I, IterativeBootstrap> curve = new PiecewiseYieldCurve<T, I, IterativeBootstrap>(
+                        classT, classI, IterativeBootstrap.class,
+                        referenceDate, helpers, dayCounter,
+                        new Handle/*<Quote>*/[0], new Date[0], accuracy);
+                // bootstrap now, then keep results only
+                return curve.snapshot();
+            } finally {
+                // rate helpers must not follow evaluation dates of this thread anymore
+                if (helpers != null) {
+                    for (final RateHelper helper : helpers) {
+                        today.deleteObserver(helper);
+                    }
+                }
+                previous.install(previous.evaluationDate);
+            }
+        }
+    }
+
+
+    /**
+     * Settings of a thread
+     */
+    private static class ThreadSettings {
+
+        private final boolean negativeRates;
+        private final boolean extraSafetyChecks;
+        private final boolean todaysPayments;
+        private final boolean useIndexedCoupon;
+        private final boolean enforcesTodaysHistoricFixings;
+        private final boolean refineHighPrecisionUsingHalleysMethod;
+        private final Date evaluationDate;
+
+        /**
+         * Keeps the settings of the calling thread
+         */
+        public ThreadSettings() {
+            final Settings settings = new Settings();
+            this.negativeRates = settings.isNegativeRates();
+            this.extraSafetyChecks = settings.isExtraSafetyChecks();
+            this.todaysPayments = settings.isTodaysPayments();
+            this.useIndexedCoupon = settings.isUseIndexedCoupon();
+            this.enforcesTodaysHistoricFixings = settings.isEnforcesTodaysHistoricFixings();
+            this.refineHighPrecisionUsingHalleysMethod = settings.isRefineHighPrecisionUsingHalleysMethod();
+            this.evaluationDate = new Date(settings.evaluationDate().serialNumber());
+        }
+
+        /**
+         * Installs these settings on the calling thread, with a given evaluation date
+         */
+        public void install(final Date evaluationDate) {
+            final Settings settings = new Settings();
+            settings.setNegativeRates(negativeRates);
+            settings.setExtraSafetyChecks(extraSafetyChecks);
+            settings.setTodaysPayments(todaysPayments);
+            settings.setUseIndexedCoupon(useIndexedCoupon);
+            settings.setEnforcesTodaysHistoricFixings(enforcesTodaysHistoricFixings);
+            settings.setRefineHighPrecisionUsingHalleysMethod(refineHighPrecisionUsingHalleysMethod);
+            if (!settings.evaluationDate().equals(evaluationDate)) {
+                settings.setEvaluationDate(evaluationDate);
+            }
+        }
+    }
+
+}
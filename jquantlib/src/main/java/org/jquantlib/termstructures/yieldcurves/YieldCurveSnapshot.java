@@ -0,0 +1,286 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.termstructures.yieldcurves;
+
+import org.jquantlib.QL;
+import org.jquantlib.daycounters.DayCounter;
+import org.jquantlib.math.interpolations.Interpolation;
+import org.jquantlib.math.interpolations.Interpolation.Interpolator;
+import org.jquantlib.math.interpolations.factories.Linear;
+import org.jquantlib.math.interpolations.factories.LogLinear;
+import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.termstructures.AbstractYieldTermStructure;
+import org.jquantlib.time.Calendar;
+import org.jquantlib.time.Date;
+
+/**
+ * Immutable snapshot of an interpolated yield curve
+ * <p>
+ * A snapshot keeps node times and values of the curve it was taken from in primitive arrays, together with an
+ * interpolation which is calculated once. Its reference date is fixed and it does not observe anything, so that results
+ * never change. Snapshots can be shared by any number of threads without synchronization.
+ * <p>
+ * Linear and log-linear interpolations are evaluated directly on precomputed slopes. Other interpolations are built on
+ * private copies of nodes.
+ * <p>
+ * Besides methods of {@link org.jquantlib.termstructures.YieldTermStructure}, methods {@link #zeroRate(double)} and
+ * {@link #forwardRate(double, double)} take times and return continuously compounded rates without creating any
+ * objects.
+ *
+ * @see InterpolatedDiscountCurve#snapshot()
+ * @see InterpolatedZeroCurve#snapshot()
+ * @see PiecewiseYieldCurve#snapshot()
+ *
+ * @author agent
+ */
+public final class YieldCurveSnapshot extends AbstractYieldTermStructure {
+
+    private static final String SNAPSHOT_IS_IMMUTABLE = "yield curve snapshots are immutable";
+    private static final String NOT_ENOUGH_NODES = "at least two nodes are required";
+
+    /**
+     * Time step employed when rates are requested over an empty interval
+     */
+    private static final /*@Time*/ double dt = 0.0001;
+
+
+    //
+    // private final fields
+    //
+
+    private final /*@Time*/ double[] times;
+    private final double[] values;
+    private final double[] slopes;
+    private final boolean logValues;
+    private final boolean zeroYields;
+    private final Interpolation interpolation;
+    private final Date maxDate;
+    private final /*@Time*/ double maxTime;
+
+
+    //
+    // package private constructors
+    //
+
+    /**
+     * @param referenceDate is the reference date of the curve
+     * @param calendar is the calendar of the curve
+     * @param dc is the day counter of the curve
+     * @param maxDate is the latest date of the curve
+     * @param times are node times
+     * @param data are node values, which are copied
+     * @param interpolator is the interpolator of the curve
+     * @param zeroYields tells if node values are zero yields rather than discount factors
+     * @param extrapolate tells if extrapolation is allowed
+     */
+    YieldCurveSnapshot(
+            final Date referenceDate,
+            final Calendar calendar,
+            final DayCounter dc,
+            final Date maxDate,
+            final /*@Time*/ double[] times,
+            final double[] data,
+            final Interpolator interpolator,
+            final boolean zeroYields,
+            final boolean extrapolate) {
+        super(referenceDate.clone(), calendar, dc);
+        QL.require(times.length == data.length, "times and data must have the same size"); // TODO: message
+        QL.require(times.length >= 2, NOT_ENOUGH_NODES);
+
+        final int n = times.length;
+        this.times = times.clone();
+        this.zeroYields = zeroYields;
+        this.maxDate = maxDate.clone();
+        this.maxTime = super.timeFromReference(this.maxDate);
+        if (extrapolate) {
+            super.enableExtrapolation();
+        }
+
+        if (interpolator instanceof Linear || interpolator instanceof LogLinear) {
+            // same calculations as LinearInterpolation and LogLinearInterpolation
+            this.logValues = interpolator instanceof LogLinear;
+            this.values = new double[n];
+            for (int i=0; i<n; i++) {
+                if (logValues) {
+                    QL.require(data[i]>0.0, "invalid value"); // TODO: message
+                    values[i] = Math.log(data[i]);
+                } else {
+                    values[i] = data[i];
+                }
+            }
+            this.slopes = new double[n-1];
+            for (int i=1; i<n; i++) {
+                final double dx = this.times[i] - this.times[i-1];
+                slopes[i-1] = (values[i] - values[i-1]) / dx;
+            }
+            this.interpolation = null;
+        } else {
+            this.logValues = false;
+            this.values = data.clone();
+            this.slopes = null;
+            this.interpolation = interpolator.interpolate(new Array(this.times), new Array(this.values));
+            this.interpolation.update();
+        }
+    }
+
+
+    //
+    // public methods
+    //
+
+    /**
+     * @return node times
+     */
+    public /*@Time*/ double[] times() {
+        return times.clone();
+    }
+
+    /**
+     * Returns the continuously compounded zero rate up to a given time.
+     *
+     * @see #zeroRate(double, org.jquantlib.termstructures.Compounding, org.jquantlib.time.Frequency, boolean)
+     */
+    public /*@Rate*/ double zeroRate(final /*@Time*/ double time) {
+        final /*@Time*/ double t = (time == 0.0) ? dt : time;
+        /*@CompoundFactor*/ final double compound = 1/discount(t);
+        return Math.log(compound) / t;
+    }
+
+    /**
+     * Returns the continuously compounded forward rate between two times.
+     *
+     * @see #forwardRate(double, double, org.jquantlib.termstructures.Compounding, org.jquantlib.time.Frequency, boolean)
+     */
+    public /*@Rate*/ double forwardRate(final /*@Time*/ double t1, final /*@Time*/ double time2) {
+        final /*@Time*/ double t2 = (time2 == t1) ? t1 + dt : time2;
+        QL.require(t1 <= t2 , "time1 must be <= time2"); // TODO: message
+        /*@CompoundFactor*/ final double compound = discount(t1) / discount(t2);
+        return Math.log(compound) / (t2 - t1);
+    }
+
+
+    //
+    // overrides AbstractYieldTermStructure
+    //
+
+    @Override
+    protected /*@DiscountFactor*/ double discountImpl(final /*@Time*/ double t) {
+        final double value;
+        if (interpolation != null) {
+            value = interpolation.op(t, true);
+        } else {
+            final int i = locate(t);
+            final double y = values[i] + (t - times[i])*slopes[i];
+            value = logValues ? Math.exp(y) : y;
+        }
+        return zeroYields ? Math.exp(-value*t) : value;
+    }
+
+    @Override
+    protected void discountImpl(final /*@Time*/ double[] t, final /*@DiscountFactor*/ double[] out) {
+        if (interpolation != null) {
+            interpolation.op(t, out, true);
+        } else {
+            int i = 0;
+            for (int k=0; k<t.length; k++) {
+                i = locate(t[k], i);
+                final double y = values[i] + (t[k] - times[i])*slopes[i];
+                out[k] = logValues ? Math.exp(y) : y;
+            }
+        }
+        if (zeroYields) {
+            for (int k=0; k<t.length; k++) {
+                out[k] = Math.exp(-out[k]*t[k]);
+            }
+        }
+    }
+
+
+    //
+    // overrides AbstractTermStructure
+    //
+
+    @Override
+    public Date maxDate() {
+        return maxDate.clone();
+    }
+
+    @Override
+    public /*@Time*/ double maxTime() {
+        return maxTime;
+    }
+
+    @Override
+    public void enableExtrapolation() {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_IMMUTABLE);
+    }
+
+    @Override
+    public void disableExtrapolation() {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_IMMUTABLE);
+    }
+
+
+    //
+    // private methods
+    //
+
+    /**
+     * Finds the segment a time belongs to, as <code>AbstractInterpolation.Impl.locate</code> does.
+     */
+    private int locate(final /*@Time*/ double t) {
+        final int n = times.length;
+        if (t < times[0])
+            return 0;
+        else if (t > times[n-1])
+            return n-2;
+        // first node after t, last node excluded
+        int lo = 0;
+        int hi = n-1;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (times[mid] <= t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo-1;
+    }
+
+    /**
+     * Finds the segment a time belongs to, walking forward from the segment of the previous time of a sorted sequence.
+     */
+    private int locate(final /*@Time*/ double t, final int from) {
+        if (t < times[from])
+            return locate(t);
+        final int last = times.length-2;
+        int i = from;
+        while (i < last && times[i+1] <= t) {
+            i++;
+        }
+        return i;
+    }
+
+}
@@ -180,6 +180,29 @@ public abstract class ZeroYieldStructure extends AbstractYieldTermStructure {
         return Math.exp(-r*t);
     }
 
+	/**
+	 * Returns discount factors for many times calculating them from zero yields.
+	 */
+	@Override
+	protected void discountImpl(/*@Time*/ final double[] times, /*@DiscountFactor*/ final double[] out) /* @ReadOnly */ {
+	    zeroYieldImpl(times, out);
+	    for (int i=0; i<times.length; i++) {
+	        out[i] = Math.exp(-out[i]*times[i]);
+	    }
+	}
+
+	/**
+	 * Returns zero yields for many times at once.
+	 * <p>
+	 * Derived classes should override this method when zero yields for times sorted in ascending order can be obtained
+	 * faster than one at a time.
+	 */
+	protected void zeroYieldImpl(/*@Time*/ final double[] times, /*@Rate*/ final double[] out) /* @ReadOnly */ {
+	    for (int i=0; i<times.length; i++) {
+	        out[i] = zeroYieldImpl(times[i]);
+	    }
+	}
+
 
 	//
 	// abstract methods
@@ -60,6 +60,11 @@ import org.jquantlib.lang.exceptions.LibraryException;
  * A calendar should be defined for specific exchange holiday schedule or for
  * general country holiday schedule. Legacy city holiday schedule calendars will
  * be moved to the exchange/country convention.
+ * <p>
+ * Holiday rules are evaluated once per date: business days of every year
+ * which is looked up are kept in a bitmap, which is discarded whenever
+ * holidays are added or removed. Counting and skipping business days then
+ * amounts to counting bits.
  *
  * @author Richard Gomes
  */
@@ -86,6 +91,18 @@ public class Calendar {
     protected Impl impl;
 
 
+    //
+    // private fields
+    //
+
+    /**
+     * Lazily built index of business days
+     *
+     * @see #businessDays()
+     */
+    private BusinessDays businessDays;
+
+
     //
     // public constructors
     //
@@ -121,18 +138,31 @@ public class Calendar {
      * Returns <tt>true</tt> if the date is a business day for the given market.
      */
     public boolean isBusinessDay(final Date d) /* @ReadOnly */{
-        if (impl.addedHolidays.contains(d))
-            return false;
-        if (impl.removedHolidays.contains(d))
-            return true;
-        return impl.isBusinessDay(d);
+        return isBusinessDay(d.serialNumber());
+    }
+
+    /**
+     * Returns <tt>true</tt> if the date given by its serial number is a business day for the given market.
+     */
+    public boolean isBusinessDay(final long serialNumber) /* @ReadOnly */{
+        final Year year = businessDays().year(serialNumber);
+        if (year != null)
+            return year.isBusinessDay((int) (serialNumber - year.first));
+        return isBusinessDayByRule(new Date(serialNumber));
     }
 
     /**
      * Returns <tt>true</tt> if the date is a holiday for the given market.
      */
     public boolean isHoliday(final Date d) /* @ReadOnly */{
-        return !isBusinessDay(d);
+        return !isBusinessDay(d.serialNumber());
+    }
+
+    /**
+     * Returns <tt>true</tt> if the date given by its serial number is a holiday for the given market.
+     */
+    public boolean isHoliday(final long serialNumber) /* @ReadOnly */{
+        return !isBusinessDay(serialNumber);
     }
 
     /**
@@ -148,7 +178,14 @@ public class Calendar {
      * given market.
      */
     public boolean isEndOfMonth(final Date d) /* @ReadOnly */{
-        return (d.month() != adjust(d.add(1)).month());
+        return isEndOfMonth(d.serialNumber());
+    }
+
+    /**
+     * Returns <tt>true</tt> if the date given by its serial number is last business day for the month in given market.
+     */
+    public boolean isEndOfMonth(final long serialNumber) /* @ReadOnly */{
+        return (Date.month(serialNumber) != Date.month(adjust(serialNumber + 1, BusinessDayConvention.Following)));
     }
 
     /**
@@ -158,7 +195,14 @@ public class Calendar {
      * @return last business Date based on passed date
      */
     public Date endOfMonth(final Date d) /* @ReadOnly */{
-        return adjust(Date.endOfMonth(d), BusinessDayConvention.Preceding);
+        return new Date(endOfMonth(d.serialNumber()));
+    }
+
+    /**
+     * Returns the serial number of the last business day of the month to which a serial number belongs
+     */
+    public long endOfMonth(final long serialNumber) /* @ReadOnly */{
+        return adjust(Date.endOfMonth(serialNumber), BusinessDayConvention.Preceding);
     }
 
     /**
@@ -168,6 +212,7 @@ public class Calendar {
      * silently.
      * */
     public void addHoliday(final Date d) {
+        impl.version++;
         // if d was a genuine holiday previously removed, revert the change
         impl.removedHolidays.remove(d);
         // if it's already a holiday, leave the calendar alone.
@@ -184,6 +229,7 @@ public class Calendar {
      * silently.
      */
     public void removeHoliday(final Date d) {
+        impl.version++;
         // if d was an artificially-added holiday, revert the change
         impl.addedHolidays.remove(d);
         // if it's already a business day, leave the calendar alone.
@@ -231,23 +277,33 @@ public class Calendar {
      * @note The input date is not modified
      */
     public Date adjust(final Date d, final BusinessDayConvention c) /* @ReadOnly */ {
+        return new Date(adjust(d.serialNumber(), c));
+    }
+
+    /**
+     * Adjusts a non-business day, given by its serial number, to the appropriate near business day
+     * with respect to the given convention.
+     *
+     * @return the serial number of the adjusted date
+     */
+    public long adjust(final long serialNumber, final BusinessDayConvention c) /* @ReadOnly */ {
         if (c == BusinessDayConvention.Unadjusted)
-            return d.clone();
-        final Date d1 = d.clone();
+            return serialNumber;
+        long d1 = serialNumber;
         if (c == BusinessDayConvention.Following || c == BusinessDayConvention.ModifiedFollowing) {
             while (isHoliday(d1)) {
-                d1.inc();
+                d1++;
             }
             if (c == BusinessDayConvention.ModifiedFollowing) {
-                if (d1.month() != d.month())
-                    return adjust(d, BusinessDayConvention.Preceding);
+                if (Date.month(d1) != Date.month(serialNumber))
+                    return adjust(serialNumber, BusinessDayConvention.Preceding);
             }
         } else if (c == BusinessDayConvention.Preceding || c == BusinessDayConvention.ModifiedPreceding) {
             while (isHoliday(d1)) {
-                d1.dec();
+                d1--;
             }
-            if (c == BusinessDayConvention.ModifiedPreceding && d1.month() != d.month())
-                return adjust(d, BusinessDayConvention.Following);
+            if (c == BusinessDayConvention.ModifiedPreceding && Date.month(d1) != Date.month(serialNumber))
+                return adjust(serialNumber, BusinessDayConvention.Following);
         } else
             throw new LibraryException(UKNOWN_BUSINESS_DAY_CONVENTION);
         return d1;
@@ -311,41 +367,63 @@ public class Calendar {
      */
     public Date advance(
             final Date d,
-            int n,
+            final int n,
             final TimeUnit unit,
             final BusinessDayConvention c,
             final boolean endOfMonth) /* @ReadOnly */{
         QL.require(d != null && !d.isNull(), "null date");
+        return new Date(advance(d.serialNumber(), n, unit, c, endOfMonth));
+    }
+
+    /**
+     * Advances the date given by its serial number as specified by the given number of time units
+     * and returns the serial number of the result.
+     * <p>
+     * This method does not allocate any object while the dates involved are covered by the index of business days, which
+     * makes it the preferred method when many dates are generated, for instance by schedules.
+     */
+    public long advance(
+            final long serialNumber,
+            int n,
+            final TimeUnit unit,
+            final BusinessDayConvention c,
+            final boolean endOfMonth) /* @ReadOnly */{
+        QL.require(serialNumber > 0, "null date");
         if (n == 0)
-            return adjust(d, c);
+            return adjust(serialNumber, c);
         else if (unit == TimeUnit.Days) {
-            final Date d1 = d.clone();
+            final long serial = advanceBusinessDays(serialNumber, n);
+            if (serial != 0)
+                return serial;
+
+            // out of the range covered by the index of business days
+            long d1 = serialNumber;
             if (n > 0) {
                 while (n > 0) {
-                    d1.inc();
+                    d1++;
                     while (isHoliday(d1)) {
-                        d1.inc();
+                        d1++;
                     }
                     n--;
                 }
             } else {
                 while (n < 0) {
-                    d1.dec();
+                    d1--;
                     while (isHoliday(d1)) {
-                        d1.dec();
+                        d1--;
                     }
                     n++;
                 }
             }
             return d1;
         } else if (unit == TimeUnit.Weeks) {
-            final Date d1 = d.add(new Period(n, unit));
+            final long d1 = Date.advance(serialNumber, n, unit);
             return adjust(d1, c);
         } else {
-            final Date d1 = d.add(new Period(n, unit));
+            final long d1 = Date.advance(serialNumber, n, unit);
 
             // we are sure the unit is Months or Years
-            if (endOfMonth && isEndOfMonth(d))
+            if (endOfMonth && isEndOfMonth(serialNumber))
                 return endOfMonth(d1);
 
             return adjust(d1, c);
@@ -364,7 +442,11 @@ public class Calendar {
             final boolean includeFirst, final boolean includeLast) /* @ReadOnly */{
         int wd = 0;
         if (from.ne(to)) {
-            if (from.lt(to)) {
+            final int count = countBusinessDays(
+                    Math.min(from.serialNumber(), to.serialNumber()), Math.max(from.serialNumber(), to.serialNumber()));
+            if (count >= 0) {
+                wd = count;
+            } else if (from.lt(to)) {
                 // the last one is treated separately to avoid
                 // incrementing Date::maxDate()
                 for (Date d = from.clone(); d.lt(to); d=d.add(1)) {
@@ -402,6 +484,108 @@ public class Calendar {
     }
 
 
+    //
+    // protected static methods
+    //
+
+    /**
+     * Returns the version of the holiday rules of a calendar.
+     * <p>
+     * Calendars which depend on other calendars must take versions of such calendars into account when overriding
+     * {@link Impl#version()}.
+     *
+     * @see Impl#version()
+     */
+    protected static long version(final Calendar c) {
+        return c.impl.version();
+    }
+
+
+    //
+    // private methods
+    //
+
+    /**
+     * Tells whether a date is a business day by evaluating the holiday rules of the calendar.
+     */
+    private boolean isBusinessDayByRule(final Date d) {
+        if (impl.addedHolidays.contains(d))
+            return false;
+        if (impl.removedHolidays.contains(d))
+            return true;
+        return impl.isBusinessDay(d);
+    }
+
+    /**
+     * Returns the index of business days, building a new one if holidays were added or removed since the current index
+     * was built.
+     */
+    private BusinessDays businessDays() {
+        final long version = impl.version();
+        BusinessDays result = businessDays;
+        if (result == null || result.version != version) {
+            result = new BusinessDays(version);
+            businessDays = result;
+        }
+        return result;
+    }
+
+    /**
+     * Counts business days between two serial numbers, both inclusive.
+     *
+     * @return the number of business days or -1 if the index does not cover the given range
+     */
+    private int countBusinessDays(final long from, final long to) {
+        final BusinessDays index = businessDays();
+        final Year yearFrom = index.year(from);
+        final Year yearTo = index.year(to);
+        if (yearFrom == null || yearTo == null)
+            return -1;
+        if (yearFrom == yearTo)
+            return yearFrom.rank((int) (to - yearFrom.first + 1)) - yearFrom.rank((int) (from - yearFrom.first));
+        int result = yearFrom.total - yearFrom.rank((int) (from - yearFrom.first));
+        for (int y = yearFrom.year + 1; y < yearTo.year; y++) {
+            result += index.year(y).total;
+        }
+        return result + yearTo.rank((int) (to - yearTo.first + 1));
+    }
+
+    /**
+     * Finds the n-th business day after (n &gt; 0) or before (n &lt; 0) a given serial number.
+     *
+     * @return the serial number of the business day found or zero if the index does not cover the range to be searched
+     */
+    private long advanceBusinessDays(final long serial, int n) {
+        final BusinessDays index = businessDays();
+        Year year = index.year(serial);
+        if (year == null)
+            return 0;
+        if (n > 0) {
+            // business days strictly after serial
+            int rank = year.rank((int) (serial - year.first + 1));
+            while (n > year.total - rank) {
+                n -= year.total - rank;
+                year = index.year(year.year + 1);
+                if (year == null)
+                    return 0;
+                rank = 0;
+            }
+            return year.first + year.select(rank + n - 1);
+        } else {
+            // business days strictly before serial
+            int rank = year.rank((int) (serial - year.first));
+            while (-n > rank) {
+                n += rank;
+                year = index.year(year.year - 1);
+                if (year == null)
+                    return 0;
+                rank = year.total;
+            }
+            return year.first + year.select(rank + n);
+        }
+    }
+
+
     //
     // public static methods
     //
@@ -423,6 +607,7 @@ public class Calendar {
 
         private final Set<Date> addedHolidays = new HashSet<Date>();
         private final Set<Date> removedHolidays = new HashSet<Date>();
+        private long version;
 
         protected Impl() {
             // only extended classes can instantiate
@@ -432,6 +617,131 @@ public class Calendar {
         public abstract boolean isBusinessDay(final Date d);
         public abstract boolean isWeekend(Weekday w);
 
+        /**
+         * Returns a number which changes whenever holidays are added to or removed from this calendar.
+         * <p>
+         * The index of business days is rebuilt when this number changes. Implementations which depend on other calendars
+         * must add the versions of such calendars, obtained by {@link Calendar#version(Calendar)}.
+         */
+        protected long version() {
+            return version;
+        }
+
+    }
+
+
+    //
+    // private inner classes
+    //
+
+    /**
+     * Index of business days, built one year at a time on demand.
+     * <p>
+     * Years are published without synchronization. This is safe because a {@link Year} is immutable: concurrent
+     * threads may eventually build the same year twice, but never observe a partially built one.
+     */
+    private final class BusinessDays {
+
+        private static final int FIRST_YEAR = 1901;
+        private static final int LAST_YEAR = 2199;
+        private static final long MIN_SERIAL = 367;     // Jan 1st, 1901
+        private static final long MAX_SERIAL = 109574;  // Dec 31st, 2199
+
+        private final long version;
+        private final Year[] years;
+
+        private BusinessDays(final long version) {
+            this.version = version;
+            this.years = new Year[LAST_YEAR - FIRST_YEAR + 1];
+        }
+
+        /**
+         * @return the year which contains a serial number or <code>null</code> if it is out of range
+         */
+        private Year year(final long serial) {
+            if (serial < MIN_SERIAL || serial > MAX_SERIAL)
+                return null;
+            return year(Date.year(serial));
+        }
+
+        /**
+         * @return the given year or <code>null</code> if it is out of range
+         */
+        private Year year(final int y) {
+            if (y < FIRST_YEAR || y > LAST_YEAR)
+                return null;
+            Year result = years[y - FIRST_YEAR];
+            if (result == null) {
+                result = new Year(y);
+                years[y - FIRST_YEAR] = result;
+            }
+            return result;
+        }
+    }
+
+
+    /**
+     * Business days of a year, as a bitmap with one bit per day, plus the number of business days before each word
+     */
+    private final class Year {
+
+        private final int year;
+        private final long first;
+        private final int total;
+        private final long[] bits;
+        private final int[] counts;
+
+        private Year(final int year) {
+            final Date d = new Date(1, 1, year);
+            final int days = Date.isLeap(year) ? 366 : 365;
+            this.year = year;
+            this.first = d.serialNumber();
+            this.bits = new long[(days + 63) >>> 6];
+            for (int i = 0; i < days; i++) {
+                if (i > 0) {
+                    d.inc();
+                }
+                if (isBusinessDayByRule(d)) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            this.counts = new int[bits.length + 1];
+            for (int w = 0; w < bits.length; w++) {
+                counts[w+1] = counts[w] + Long.bitCount(bits[w]);
+            }
+            this.total = counts[bits.length];
+        }
+
+        private boolean isBusinessDay(final int day) {
+            return (bits[day >>> 6] & (1L << day)) != 0;
+        }
+
+        /**
+         * @return the number of business days before a given day of this year, counted from zero
+         */
+        private int rank(final int day) {
+            final int w = day >>> 6;
+            if (w == bits.length)
+                return total;
+            return counts[w] + Long.bitCount(bits[w] & ((1L << day) - 1));
+        }
+
+        /**
+         * @return the day of this year, counted from zero, of the k-th business day, also counted from zero
+         */
+        private int select(int k) {
+            int w = 0;
+            while (counts[w+1] <= k) {
+                w++;
+            }
+            k -= counts[w];
+            long word = bits[w];
+            while (k > 0) {
+                word &= word - 1;
+                k--;
+            }
+            return (w << 6) + Long.numberOfTrailingZeros(word);
+        }
     }
 
 
@@ -24,6 +24,7 @@ package org.jquantlib.time;
 
 import java.io.Serializable;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Locale;
@@ -197,6 +198,15 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
         false
     };
 
+    /**
+     * Day of year, year, month and day of month of every valid serial number, packed as
+     * <code>dayOfYear&lt;&lt;18 | (year-1900)&lt;&lt;9 | month&lt;&lt;5 | dayOfMonth</code>.
+     * <p>
+     * This table costs about 430KB and turns inspectors into a single array lookup, which matters when thousands of dates
+     * are processed by schedules, calendars and time series.
+     */
+    private static final int[] serialNumberInfo = serialNumberInfo();
+
 
 
 
@@ -274,7 +284,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
     }
 
     public int dayOfMonth() /* @ReadOnly */ {
-        return dayOfYear() - monthOffset(month().value(), isLeap(year()));
+        return dayOfMonth(serialNumber);
     }
 
     /**
@@ -283,28 +293,15 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      * @return
      */
     public int dayOfYear() /* @ReadOnly */ {
-        return (int) (serialNumber - yearOffset(year()));
+        return dayOfYear(serialNumber);
     }
 
     public Month month() /* @ReadOnly */ {
-        final int d = dayOfYear(); // dayOfYear is 1 based
-        int m = d / 30 + 1;
-        final boolean leap = isLeap(year());
-        while (d <= monthOffset(m, leap)) {
-            --m;
-        }
-        while (d > monthOffset(m + 1, leap)) {
-            ++m;
-        }
-        return Month.valueOf(m);
+        return Month.valueOf(month(serialNumber));
     }
 
     public int year() /* @ReadOnly */ {
-        int y = (int) (serialNumber / 365) + 1900;
-        if (serialNumber <= yearOffset(y)) {
-            --y;
-        }
-        return y;
+        return year(serialNumber);
     }
 
     public long serialNumber() /* @ReadOnly */ {
@@ -325,7 +322,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
     public Date addAssign(final int days) {
         serialNumber += days;
         checkSerialNumber();
-        delegatedObservable.notifyObservers();
+        notifyObservers();
         return this;
     }
 
@@ -336,9 +333,9 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      */
     //-- Date& operator+=(const Period&);
     public Date addAssign(final Period period) {
-        serialNumber = advance(this, period.length(), period.units());
+        serialNumber = advance(serialNumber, period.length(), period.units());
         checkSerialNumber();
-        delegatedObservable.notifyObservers();
+        notifyObservers();
         return this;
     }
 
@@ -351,7 +348,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
     public Date subAssign(final int days) {
         serialNumber -= days;
         checkSerialNumber();
-        delegatedObservable.notifyObservers();
+        notifyObservers();
         return this;
     }
 
@@ -362,9 +359,9 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      */
     //-- Date& operator-=(const Period&);
     public Date subAssign(final Period period) {
-        serialNumber = advance(this, -1 * period.length(), period.units());
+        serialNumber = advance(serialNumber, -1 * period.length(), period.units());
         checkSerialNumber();
-        delegatedObservable.notifyObservers();
+        notifyObservers();
         return this;
     }
 
@@ -429,7 +426,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      */
     //-- Date operator+(const Period&) const;
     public Date add(final Period period) /* @ReadOnly */ {
-        return new Date( advance(this, period.length(), period.units()) );
+        return new Date( advance(serialNumber, period.length(), period.units()) );
     }
 
     /**
@@ -449,7 +446,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      */
     //-- Date operator-(const Period&) const;
     public Date sub(final Period period) /* @ReadOnly */ {
-        return new Date( advance(this, -1 * period.length(), period.units()) );
+        return new Date( advance(serialNumber, -1 * period.length(), period.units()) );
     }
 
     /**
@@ -573,42 +570,59 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
 
     /**
      * Implements multiple inheritance via delegate pattern to an inner class
+     * <p>
+     * The delegate is only created when the first observer is registered. Most dates are never observed and this way they do
+     * not carry an observer list around.
      */
-    private final Observable delegatedObservable = new DefaultObservable(this);
+    private transient volatile Observable delegatedObservable;
 
     @Override
 	public final void addObserver(final Observer observer) {
-        delegatedObservable.addObserver(observer);
+        observable().addObserver(observer);
     }
 
     @Override
 	public final int countObservers() {
-        return delegatedObservable.countObservers();
+        final Observable observable = delegatedObservable;
+        return (observable == null) ? 0 : observable.countObservers();
     }
 
     @Override
 	public final void deleteObserver(final Observer observer) {
-        delegatedObservable.deleteObserver(observer);
+        final Observable observable = delegatedObservable;
+        if (observable != null) {
+            observable.deleteObserver(observer);
+        }
     }
 
     @Override
 	public final void notifyObservers() {
-        delegatedObservable.notifyObservers();
+        final Observable observable = delegatedObservable;
+        if (observable != null) {
+            observable.notifyObservers();
+        }
     }
 
     @Override
 	public final void notifyObservers(final Object arg) {
-        delegatedObservable.notifyObservers(arg);
+        final Observable observable = delegatedObservable;
+        if (observable != null) {
+            observable.notifyObservers(arg);
+        }
     }
 
     @Override
 	public final void deleteObservers() {
-        delegatedObservable.deleteObservers();
+        final Observable observable = delegatedObservable;
+        if (observable != null) {
+            observable.deleteObservers();
+        }
     }
 
     @Override
 	public final List<Observer> getObservers() {
-        return delegatedObservable.getObservers();
+        final Observable observable = delegatedObservable;
+        return (observable == null) ? Collections.<Observer>emptyList() : observable.getObservers();
     }
 
 
@@ -647,10 +661,17 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
     // implements Cloneable
     //
 
+    /**
+     * Returns a copy of <code>this</code> date.
+     * <p>
+     * Observers are not copied: the new instance starts with no observers.
+     */
     @Override
     public Date clone() {
         try {
-            return (Date) super.clone();
+            final Date result = (Date) super.clone();
+            result.delegatedObservable = null;
+            return result;
         } catch (final CloneNotSupportedException e) {
             throw new LibraryException(e);
         }
@@ -704,22 +725,45 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
     // private methods
     //
 
+    private Observable observable() {
+        Observable observable = delegatedObservable;
+        if (observable == null) {
+            synchronized (this) {
+                observable = delegatedObservable;
+                if (observable == null) {
+                    observable = new DefaultObservable(this);
+                    delegatedObservable = observable;
+                }
+            }
+        }
+        return observable;
+    }
+
     private void checkSerialNumber() {
         QL.ensure((serialNumber >= minimumSerialNumber()) && (serialNumber <= maximumSerialNumber()),
         "Date's serial number is outside allowed range"); // TODO: message
     }
 
 
-    private long advance(final Date date, final int n, final TimeUnit units) {
+    //
+    // public static methods
+    //
+
+    /**
+     * Advances a serial number by a given number of time units, as {@link #add(Period)} does.
+     *
+     * @return the serial number of the resulting date
+     */
+    public static long advance(final long serialNumber, final int n, final TimeUnit units) {
         switch (units) {
         case Days:
-            return (n + date.serialNumber);
+            return (n + serialNumber);
         case Weeks:
-            return (7 * n + date.serialNumber);
+            return (7 * n + serialNumber);
         case Months: {
-            int d = date.dayOfMonth();
-            int m = date.month().value() + n;
-            int y = date.year();
+            int d = dayOfMonth(serialNumber);
+            int m = month(serialNumber) + n;
+            int y = year(serialNumber);
             while (m > 12) {
                 m -= 12;
                 y += 1;
@@ -738,9 +782,9 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
             return result;
         }
         case Years: {
-            int d = date.dayOfMonth();
-            final int m = date.month().value();
-            final int y = date.year() + n;
+            int d = dayOfMonth(serialNumber);
+            final int m = month(serialNumber);
+            final int y = year(serialNumber) + n;
 
             QL.ensure(y > 1900 && y <= 2199 , "year out of bounds. It must be in [1901,2199]"); // TODO: message
             if (d == 29 && m == Month.February.value() && !isLeap(y)) {
@@ -755,10 +799,81 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
         }
     }
 
+    /**
+     * @return the serial number of a date given as day, month and year
+     */
+    public static long serialNumber(final int day, final int month, final int year) {
+        return fromDMY(day, month, year);
+    }
 
-    //
-    // public static methods
-    //
+    /**
+     * @return the day of month of a serial number
+     */
+    public static int dayOfMonth(final long serialNumber) {
+        final int info = info(serialNumber);
+        if (info != 0)
+            return info & 31;
+        return dayOfYear(serialNumber) - monthOffset(month(serialNumber), isLeap(year(serialNumber)));
+    }
+
+    /**
+     * @return the day of year of a serial number, one-based (Jan 1st = 1)
+     */
+    public static int dayOfYear(final long serialNumber) {
+        final int info = info(serialNumber);
+        if (info != 0)
+            return info >>> 18;
+        return (int) (serialNumber - yearOffset(year(serialNumber)));
+    }
+
+    /**
+     * @return the month of a serial number, as a number
+     */
+    public static int month(final long serialNumber) {
+        final int info = info(serialNumber);
+        if (info != 0)
+            return (info >>> 5) & 15;
+        final int d = dayOfYear(serialNumber); // dayOfYear is 1 based
+        int m = d / 30 + 1;
+        final boolean leap = isLeap(year(serialNumber));
+        while (d <= monthOffset(m, leap)) {
+            --m;
+        }
+        while (d > monthOffset(m + 1, leap)) {
+            ++m;
+        }
+        return m;
+    }
+
+    /**
+     * @return the year of a serial number
+     */
+    public static int year(final long serialNumber) {
+        final int info = info(serialNumber);
+        if (info != 0)
+            return ((info >>> 9) & 511) + 1900;
+        int y = (int) (serialNumber / 365) + 1900;
+        if (serialNumber <= yearOffset(y)) {
+            --y;
+        }
+        return y;
+    }
+
+    /**
+     * @return the serial number of the last day of the month to which a serial number belongs
+     */
+    public static long endOfMonth(final long serialNumber) {
+        final int m = month(serialNumber);
+        final int y = year(serialNumber);
+        return fromDMY(monthLength(m, isLeap(y)), m, y);
+    }
+
+    /**
+     * @return whether a serial number is the last day of its month
+     */
+    public static boolean isEndOfMonth(final long serialNumber) {
+        return (dayOfMonth(serialNumber) == monthLength(month(serialNumber), isLeap(year(serialNumber))));
+    }
 
     /**
      * Today's date.
@@ -807,9 +922,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      * @return a new instance
      */
     public static final Date endOfMonth(final Date d) {
-        final int m = d.month().value();
-        final int y = d.year();
-        return new Date(monthLength(m, isLeap(y)), m, y);
+        return new Date(endOfMonth(d.serialNumber()));
     }
 
     /**
@@ -818,7 +931,7 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
      * @return
      */
     public static final boolean isEndOfMonth(final Date d) {
-        return (d.dayOfMonth() == monthLength(d.month().value(), isLeap(d.year())));
+        return isEndOfMonth(d.serialNumber());
     }
 
     /**
@@ -927,6 +1040,31 @@ public class Date implements Observable, Comparable<Date>, Serializable, Cloneab
         return 109574;    // Dec 31st, 2199
     }
 
+    /**
+     * @return the packed day of year, year, month and day of month of a serial number or zero if it is out of range
+     * @see #serialNumberInfo
+     */
+    private static int info(final long serialNumber) {
+        final long i = serialNumber - minimumSerialNumber();
+        return (i >= 0 && i < serialNumberInfo.length) ? serialNumberInfo[(int) i] : 0;
+    }
+
+    private static int[] serialNumberInfo() {
+        final int[] result = new int[(int) (maximumSerialNumber() - minimumSerialNumber() + 1)];
+        int i = 0;
+        for (int y = 1901; y <= 2199; y++) {
+            final boolean leap = isLeap(y);
+            int dayOfYear = 1;
+            for (int m = 1; m <= 12; m++) {
+                final int len = monthLength(m, leap);
+                for (int d = 1; d <= len; d++) {
+                    result[i++] = (dayOfYear++ << 18) | ((y - 1900) << 9) | (m << 5) | d;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * This method is intended to calculate the integer value of a (day, month, year)
      *
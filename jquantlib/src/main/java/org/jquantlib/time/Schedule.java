@@ -22,7 +22,9 @@
 
 package org.jquantlib.time;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -53,8 +55,8 @@ public class Schedule {
     private final BusinessDayConvention terminationDateConvention_;
     private final boolean endOfMonth_;
     private final boolean finalIsRegular_;
-    private final List< Date > dates_;
-    private final List<Boolean> isRegular_;
+    private final int[] serials_;
+    private final boolean[] isRegular_;
 
 
     //
@@ -81,8 +83,11 @@ public class Schedule {
     }
 
     public Schedule(final List<Date> dates, final Calendar calendar, final BusinessDayConvention convention) {
-    	this.dates_ = dates;
-        this.isRegular_ = new ArrayList<Boolean>(); // TODO: use a data structure backed by primitive types instead
+        this.serials_ = new int[dates.size()];
+        for (int i=0; i<serials_.length; i++) {
+            serials_[i] = (int) dates.get(i).serialNumber();
+        }
+        this.isRegular_ = new boolean[0];
 
     	this.calendar_ = calendar;
     	this.convention_ = convention;
@@ -107,6 +112,11 @@ public class Schedule {
     	this(effectiveDate, terminationDate, tenor, calendar, convention, terminationDateConvention, rule, endOfMonth, new Date(), new Date());
     }
 
+    /**
+     * Generates a schedule according to the given rule.
+     * <p>
+     * Dates are generated as serial numbers, so that no {@link Date} is allocated per generated date.
+     */
     public Schedule(final Date  effectiveDate,
 			final Date  terminationDate,
 			final Period  tenor,
@@ -118,9 +128,6 @@ public class Schedule {
 			final Date firstDate,
 			final Date nextToLastDate) {
 
-        this.dates_ = new ArrayList<Date>(); // TODO: use a data structure backed by primitive types instead
-        this.isRegular_ = new ArrayList<Boolean>(); // TODO: use a data structure backed by primitive types instead
-
         this.fullInterface_ = true;
         this.tenor_ = tenor;
         this.calendar_ = calendar;
@@ -147,7 +154,10 @@ public class Schedule {
                        "non positive tenor (" + tenor + ") not allowed"); // TODO: message
         }
 
-        if ( firstDate != null && !firstDate.isNull() ) {
+        final boolean hasFirstDate = firstDate != null && !firstDate.isNull();
+        final boolean hasNextToLastDate = nextToLastDate != null && !nextToLastDate.isNull();
+
+        if ( hasFirstDate ) {
             switch (rule_) {
               case Backward:
               case Forward:
@@ -174,7 +184,7 @@ public class Schedule {
                 throw new LibraryException(errMsg); // TODO: message
             }
         }
-        if ( nextToLastDate != null && !nextToLastDate.isNull() ) {
+        if ( hasNextToLastDate ) {
             switch (rule_) {
               case Backward:
               case Forward:
@@ -201,48 +211,60 @@ public class Schedule {
             }
         }
 
+        final long effective = effectiveDate.serialNumber();
+        final long termination = terminationDate.serialNumber();
+        final int length = tenor.length();
+        final TimeUnit units = tenor.units();
+
+        // dates are collected in generation order, i.e: backwards when the rule is Backward
+        int[] serials = new int[rule_ == DateGeneration.Rule.Zero ? 2 : estimateSize(effective, termination, tenor) + 4];
+        boolean[] isRegular = new boolean[serials.length];
+        int size = 0;
+        int regulars = 0;
 
         // calendar needed for endOfMonth adjustment
         final Calendar nullCalendar = new NullCalendar();
         int periods = 1;
-        Date seed, exitDate;
+        long seed, exitDate;
         switch (rule_) {
 
           case Zero:
             tenor_ = new Period(0, TimeUnit.Days);
-            dates_.add(effectiveDate);
-            dates_.add(terminationDate);
-            isRegular_.add(new Boolean(true));
+            serials = ensure(serials, size+1);
+            serials[size++] = (int) effective;
+            serials = ensure(serials, size+1);
+            serials[size++] = (int) termination;
+            isRegular = ensure(isRegular, regulars+1);
+            isRegular[regulars++] = true;
             break;
 
           case Backward:
 
-            dates_.add(terminationDate);
-
-            seed = terminationDate.clone();
-            if ( nextToLastDate != null && !nextToLastDate.isNull() ) {
-                dates_.add(0, nextToLastDate);
-                final Date temp = nullCalendar.advance(seed, tenor_.mul(periods).negative(), convention, endOfMonth);
-                if (temp.ne(nextToLastDate)) {
-                    isRegular_.add(0, new Boolean(false));
-                } else {
-                    isRegular_.add(0, new Boolean(true));
-                }
-                seed = nextToLastDate.clone();
+            serials = ensure(serials, size+1);
+            serials[size++] = (int) termination;
+
+            seed = termination;
+            if ( hasNextToLastDate ) {
+                final long nextToLast = nextToLastDate.serialNumber();
+                serials = ensure(serials, size+1);
+                serials[size++] = (int) nextToLast;
+                final long temp = nullCalendar.advance(seed, -periods*length, units, convention, endOfMonth);
+                isRegular = ensure(isRegular, regulars+1);
+                isRegular[regulars++] = (temp == nextToLast);
+                seed = nextToLast;
             }
 
-            exitDate = effectiveDate.clone();
-            if ( firstDate != null && !firstDate.isNull() ) {
-                exitDate = firstDate.clone();
-            }
+            exitDate = hasFirstDate ? firstDate.serialNumber() : effective;
 
             while (true) {
-                final Date temp = nullCalendar.advance(seed, tenor_.mul(periods).negative(), convention, endOfMonth);
-                if (temp .lt(exitDate)) {
+                final long temp = nullCalendar.advance(seed, -periods*length, units, convention, endOfMonth);
+                if (temp < exitDate) {
                     break;
                 } else {
-                    dates_.add(0, temp);
-                    isRegular_.add(0, new Boolean(true));
+                    serials = ensure(serials, size+1);
+                    serials[size++] = (int) temp;
+                    isRegular = ensure(isRegular, regulars+1);
+                    isRegular[regulars++] = true;
                     ++periods;
                 }
             }
@@ -251,11 +273,15 @@ public class Schedule {
                 convention = BusinessDayConvention.Preceding;
             }
 
-            if (calendar.adjust(dates_.get(0),convention).ne(
-                calendar.adjust(effectiveDate, convention))) {
-                dates_.add(0, effectiveDate);
-                isRegular_.add(0, new Boolean(false));
+            if (calendar.adjust(serials[size-1], convention) != calendar.adjust(effective, convention)) {
+                serials = ensure(serials, size+1);
+                serials[size++] = (int) effective;
+                isRegular = ensure(isRegular, regulars+1);
+                isRegular[regulars++] = false;
             }
+
+            reverse(serials, size);
+            reverse(isRegular, regulars);
             break;
 
           case Twentieth:
@@ -267,41 +293,42 @@ public class Schedule {
           // fall through
           case Forward:
 
-            dates_.add(effectiveDate);
+            serials = ensure(serials, size+1);
+            serials[size++] = (int) effective;
 
-            seed = effectiveDate.clone();
+            seed = effective;
 
-            if (firstDate != null && !firstDate.isNull() ) {
-                dates_.add(firstDate);
-                final Date temp = nullCalendar.advance(seed, tenor_.mul(periods), convention, endOfMonth);
-                if (temp.ne(firstDate) ) {
-                    isRegular_.add(new Boolean(false));
-                } else {
-                    isRegular_.add(new Boolean(true));
-                }
-                seed = firstDate.clone();
+            if ( hasFirstDate ) {
+                final long first = firstDate.serialNumber();
+                serials = ensure(serials, size+1);
+                serials[size++] = (int) first;
+                final long temp = nullCalendar.advance(seed, periods*length, units, convention, endOfMonth);
+                isRegular = ensure(isRegular, regulars+1);
+                isRegular[regulars++] = (temp == first);
+                seed = first;
             } else if (rule_ == DateGeneration.Rule.Twentieth ||
                        rule_ == DateGeneration.Rule.TwentiethIMM) {
-                final Date next20th = nextTwentieth(effectiveDate, rule_);
-                if (next20th.ne(effectiveDate)) {
-                    dates_.add(next20th);
-                    isRegular_.add(new Boolean(false));
-                    seed = next20th.clone();
+                final long next20th = nextTwentieth(effectiveDate, rule_).serialNumber();
+                if (next20th != effective) {
+                    serials = ensure(serials, size+1);
+                    serials[size++] = (int) next20th;
+                    isRegular = ensure(isRegular, regulars+1);
+                    isRegular[regulars++] = false;
+                    seed = next20th;
                 }
             }
 
-            exitDate = terminationDate.clone();
-            if ( nextToLastDate != null && !nextToLastDate.isNull() ) {
-                exitDate = nextToLastDate.clone();
-            }
+            exitDate = hasNextToLastDate ? nextToLastDate.serialNumber() : termination;
 
             while (true) {
-                final Date temp = nullCalendar.advance(seed, tenor_.mul(periods), convention, endOfMonth);
-                if ( temp.gt(exitDate) ) {
+                final long temp = nullCalendar.advance(seed, periods*length, units, convention, endOfMonth);
+                if (temp > exitDate) {
                     break;
                 } else {
-                    dates_.add(temp);
-                    isRegular_.add(new Boolean(true));
+                    serials = ensure(serials, size+1);
+                    serials[size++] = (int) temp;
+                    isRegular = ensure(isRegular, regulars+1);
+                    isRegular[regulars++] = true;
                     ++periods;
                 }
             }
@@ -310,15 +337,19 @@ public class Schedule {
                 convention = BusinessDayConvention.Preceding;
             }
 
-            if (calendar.adjust(dates_.get(dates_.size()-1),terminationDateConvention).ne(
-                calendar.adjust(terminationDate, terminationDateConvention)))
+            if (calendar.adjust(serials[size-1], terminationDateConvention) !=
+                calendar.adjust(termination, terminationDateConvention))
                 if (rule_ == DateGeneration.Rule.Twentieth ||
                     rule_ == DateGeneration.Rule.TwentiethIMM) {
-                    dates_.add(nextTwentieth(terminationDate, rule_));
-                    isRegular_.add(Boolean.valueOf(true));
+                    serials = ensure(serials, size+1);
+                    serials[size++] = (int) nextTwentieth(terminationDate, rule_).serialNumber();
+                    isRegular = ensure(isRegular, regulars+1);
+                    isRegular[regulars++] = true;
                 } else {
-                    dates_.add(terminationDate);
-                    isRegular_.add(Boolean.valueOf(false));
+                    serials = ensure(serials, size+1);
+                    serials[size++] = (int) termination;
+                    isRegular = ensure(isRegular, regulars+1);
+                    isRegular[regulars++] = false;
                 }
 
             break;
@@ -330,15 +361,15 @@ public class Schedule {
 
         // adjustments
         if (rule_== DateGeneration.Rule.ThirdWednesday) {
-            for (int i=1; i<dates_.size()-1; ++i) {
-                dates_.set(i, Date.nthWeekday(3, Weekday.Wednesday,
-                                             dates_.get(i).month(),
-                                             dates_.get(i).year()));
+            for (int i=1; i<size-1; ++i) {
+                serials[i] = (int) Date.nthWeekday(3, Weekday.Wednesday,
+                                                   Date.month(serials[i]),
+                                                   Date.year(serials[i])).serialNumber();
             }
         }
 
-        for (int i=0; i<dates_.size()-1; ++i) {
-            dates_.set(i, calendar.adjust(dates_.get(i), convention));
+        for (int i=0; i<size-1; ++i) {
+            serials[i] = (int) calendar.adjust(serials[i], convention);
         }
 
         // termination date is NOT adjusted as per ISDA
@@ -348,57 +379,85 @@ public class Schedule {
         if (terminationDateConvention != BusinessDayConvention.Unadjusted
             || rule_ == DateGeneration.Rule.Twentieth
             || rule_ == DateGeneration.Rule.TwentiethIMM) {
-            dates_.set(dates_.size()-1, calendar.adjust(dates_.get(dates_.size()-1),
-                                                    terminationDateConvention));
+            serials[size-1] = (int) calendar.adjust(serials[size-1], terminationDateConvention);
         }
+
+        this.serials_ = Arrays.copyOf(serials, size);
+        this.isRegular_ = Arrays.copyOf(isRegular, regulars);
     }
 
     // Date access
     public int size() /* @ReadOnly */ {
-    	return dates_.size();
+    	return serials_.length;
     }
 
     public final Date at(final int i) /* @ReadOnly */ {
-    	return dates_.get(i);
+    	return new Date(serials_[i]);
     }
 
     public final Date date(final int i) /* @ReadOnly */ {
-    	return dates_.get(i);
+    	return new Date(serials_[i]);
+    }
+
+    /**
+     * @return the serial number of the i-th date, without allocating a {@link Date}
+     */
+    public final long serialNumber(final int i) /* @ReadOnly */ {
+        return serials_[i];
+    }
+
+    /**
+     * @return a copy of the serial numbers of all dates
+     */
+    public final int[] serialNumbers() /* @ReadOnly */ {
+        return serials_.clone();
     }
 
 
     public Date previousDate(final Date  refDate) /* @ReadOnly */ {
-        final int index = Date.lowerBound(dates_, refDate);
+        final int index = lowerBound(refDate.serialNumber());
     	if ( index > 0 )
-            return dates_.get(index-1).clone();
+            return new Date(serials_[index-1]);
         else
             return new Date();
     }
 
     public Date nextDate(final Date  refDate) /* @ReadOnly */ {
-    	final int index = Date.lowerBound(dates_, refDate);
-    	if ( index < dates_.size() )
-            return dates_.get(index).clone();
+    	final int index = lowerBound(refDate.serialNumber());
+    	if ( index < serials_.length )
+            return new Date(serials_[index]);
         else
             return new Date();
     }
 
+    /**
+     * @return an unmodifiable view of the dates, backed by their serial numbers
+     */
     public List<Date> dates() /* @ReadOnly */ {
-        return dates_;
+        return new AbstractList<Date>() {
+            @Override
+            public Date get(final int i) {
+                return new Date(serials_[i]);
+            }
+            @Override
+            public int size() {
+                return serials_.length;
+            }
+        };
     }
 
     public boolean isRegular(final int i) /* @ReadOnly */ {
        QL.require(fullInterface_, "full interface not available"); // TODO: message
-       QL.require(i<=isRegular_.size() && i>0,
+       QL.require(i<=isRegular_.length && i>0,
                        "index (" + i + ") must be in [1, " +
-                       isRegular_.size() +"]"); // TODO: message
-       return isRegular_.get(i-1);
+                       isRegular_.length +"]"); // TODO: message
+       return isRegular_[i-1];
     }
 
     // Other inspectors
 
     public boolean empty() /* @ReadOnly */ {
-        return  dates_.isEmpty();
+        return  serials_.length == 0;
     }
 
     public final Calendar calendar() /* @ReadOnly */ {
@@ -406,11 +465,11 @@ public class Schedule {
     }
 
     public final Date  startDate() /* @ReadOnly */ {
-         return dates_.isEmpty() ? null :  dates_.get(0);
+         return serials_.length == 0 ? null : new Date(serials_[0]);
     }
 
     public final Date  endDate() /* @ReadOnly */ {
-        return dates_.isEmpty() ? null : dates_.get(dates_.size()-1);
+        return serials_.length == 0 ? null : new Date(serials_[serials_.length-1]);
     }
 
     public final Period  tenor() /* @ReadOnly */ {
@@ -456,7 +515,7 @@ public class Schedule {
 
     public int lowerBound(final Date refDate) /* @ReadOnly */{
         final Date d = (refDate.isNull() ? new Settings().evaluationDate() : refDate);
-        return Date.lowerBound(dates_, d.clone());
+        return lowerBound(d.serialNumber());
     }
 
 
@@ -464,6 +523,62 @@ public class Schedule {
     //TODO :: operator Schedule() const;
 
 
+    /**
+     * @return the index of the first date which is not earlier than a given serial number
+     */
+    private int lowerBound(final long serialNumber) {
+        int first = 0;
+        int len = serials_.length;
+        while (len > 0) {
+            final int half = len >> 1;
+            final int middle = first + half;
+            if (serials_[middle] < serialNumber) {
+                first = middle + 1;
+                len = len - half - 1;
+            } else {
+                len = half;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @return an upper estimate of the number of dates generated with a given tenor
+     */
+    private static int estimateSize(final long from, final long to, final Period tenor) {
+        final double days;
+        switch (tenor.units()) {
+          case Days:   days = tenor.length(); break;
+          case Weeks:  days = 7.0*tenor.length(); break;
+          case Months: days = 28.0*tenor.length(); break;
+          default:     days = 365.0*tenor.length(); break;
+        }
+        return (int) Math.min((to - from)/days, 1024);
+    }
+
+    /**
+     * @return the given array, or a copy of it with more room if it cannot hold the given number of elements
+     */
+    private static int[] ensure(final int[] a, final int size) {
+        return size <= a.length ? a : Arrays.copyOf(a, Math.max(size, 2*a.length));
+    }
+
+    private static boolean[] ensure(final boolean[] a, final int size) {
+        return size <= a.length ? a : Arrays.copyOf(a, Math.max(size, 2*a.length));
+    }
+
+    private static void reverse(final int[] a, final int size) {
+        for (int i=0, j=size-1; i<j; i++, j--) {
+            final int t = a[i]; a[i] = a[j]; a[j] = t;
+        }
+    }
+
+    private static void reverse(final boolean[] a, final int size) {
+        for (int i=0, j=size-1; i<j; i++, j--) {
+            final boolean t = a[i]; a[i] = a[j]; a[j] = t;
+        }
+    }
+
     private Date nextTwentieth(final Date d, final DateGeneration.Rule rule) {
         final Date result = new Date(20, d.month(), d.year());
         if (result.lt(d) ) {
@@ -492,18 +607,17 @@ public class Schedule {
 
         final List<Date> ldates = new ArrayList<Date>();
 
-        if (dates_.size() > 0) {
+        if (serials_.length > 0) {
             int index = -1;
-            for (int i = 0; i < dates_.size(); i++) {
-                final Date d = dates_.get(i);
-                if (d.equals(date)) {
+            for (int i = 0; i < serials_.length; i++) {
+                if (serials_[i] == date.serialNumber()) {
                     index = i;
                     break;
                 }
             }
             if (index > 0) {
-                for (int i = index; i < dates_.size(); i++) {
-                    ldates.add(dates_.get(i));
+                for (int i = index; i < serials_.length; i++) {
+                    ldates.add(new Date(serials_[i]));
                 }
                 return ldates.iterator();
             }
@@ -0,0 +1,377 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.time;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.jquantlib.QL;
+import org.jquantlib.math.Constants;
+
+/**
+ * Container for historical data backed by primitive types
+ * <p>
+ * This class keeps the same kind of data as a {@link TimeSeries TimeSeries&lt;Double&gt;}, in columnar form: dates are
+ * stored as sorted serial numbers in an <code>int[]</code> and values in a <code>double[]</code>. A datum therefore costs
+ * 12 bytes, instead of a boxed {@link Double}, a {@link Date} and a map entry. Data is looked up by binary search.
+ * <p>
+ * Data is expected to be added in chronological order, which costs amortized constant time. Data added out of order
+ * is inserted, which costs linear time.
+ * <p>
+ * Missing data is reported as {@link Constants#NULL_REAL}, as QuantLib does.
+ *
+ * @note Series obtained from {@link #subSeries(Date, Date)} are read-only views over the data of their parent series.
+ * They are not affected by later changes to their parent.
+ *
+ * @note Series obtained from {@link TimeSeriesFile} serve lookups directly from the mapped file. Their data is copied
+ * to the heap the first time they are modified, if ever.
+ *
+ * @note This class is not thread safe, as {@link TimeSeries} is not.
+ *
+ * @see TimeSeries
+ *
+ * @author agent
+ */
+public class TimeSeriesDouble {
+
+    private static final String READ_ONLY_SERIES = "series is read-only";
+    private static final String EMPTY_SERIES = "empty series";
+    private static final int DEFAULT_CAPACITY = 16;
+
+    //
+    // private fields
+    //
+
+    private int[] serials;
+    private double[] values;
+    private int from;
+    private int to;
+
+    /**
+     * Data mapped from a file, if any, in which case arrays are not used
+     */
+    private IntBuffer mappedSerials;
+    private DoubleBuffer mappedValues;
+
+    /**
+     * Tells whether data is shared with views or mapped, so that it must be copied before it is modified
+     */
+    private boolean shared;
+    private final boolean readOnly;
+
+
+    //
+    // public constructors
+    //
+
+    public TimeSeriesDouble() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TimeSeriesDouble(final int capacity) {
+        QL.require(capacity >= 0, "negative capacity"); // TODO: message
+        this.serials = new int[capacity];
+        this.values = new double[capacity];
+        this.from = 0;
+        this.to = 0;
+        this.shared = false;
+        this.readOnly = false;
+    }
+
+    /**
+     * Creates a series which contains the same data as a {@link TimeSeries}
+     */
+    public TimeSeriesDouble(final TimeSeries<Double> series) {
+        this(series.size());
+        for (final Map.Entry<Date, Double> entry : series.entrySet()) {
+            serials[to] = (int) entry.getKey().serialNumber();
+            values[to] = entry.getValue();
+            to++;
+        }
+    }
+
+
+    //
+    // private constructors
+    //
+
+    private TimeSeriesDouble(final TimeSeriesDouble parent, final int from, final int to) {
+        this.serials = parent.serials;
+        this.values = parent.values;
+        this.mappedSerials = parent.mappedSerials;
+        this.mappedValues = parent.mappedValues;
+        this.from = from;
+        this.to = to;
+        this.shared = true;
+        this.readOnly = true;
+    }
+
+
+    //
+    // package private constructors
+    //
+
+    /**
+     * Creates a series backed by buffers, which are typically obtained from a memory mapped file
+     *
+     * @param serials holds sorted serial numbers from index 0 to <code>size-1</code>
+     * @param values holds data from index 0 to <code>size-1</code>
+     */
+    TimeSeriesDouble(final IntBuffer serials, final DoubleBuffer values, final int size) {
+        QL.require(serials.limit() >= size && values.limit() >= size, "buffers too small"); // TODO: message
+        this.mappedSerials = serials;
+        this.mappedValues = values;
+        this.from = 0;
+        this.to = size;
+        this.shared = true;
+        this.readOnly = false;
+    }
+
+
+    //
+    // public methods
+    //
+
+    public int size() {
+        return to - from;
+    }
+
+    public boolean isEmpty() {
+        return to == from;
+    }
+
+    public boolean containsKey(final Date date) {
+        return containsKey(date.serialNumber());
+    }
+
+    public boolean containsKey(final long serialNumber) {
+        return search(serialNumber) >= 0;
+    }
+
+    /**
+     * @return the datum at a given date, or {@link Constants#NULL_REAL} if missing
+     */
+    public double get(final Date date) {
+        return get(date.serialNumber());
+    }
+
+    /**
+     * @return the datum at a date given by its serial number, or {@link Constants#NULL_REAL} if missing
+     */
+    public double get(final long serialNumber) {
+        final int i = search(serialNumber);
+        return i >= 0 ? valueAt(i) : Constants.NULL_REAL;
+    }
+
+    /**
+     * Stores a datum at a given date
+     *
+     * @return the datum previously stored at the same date, or {@link Constants#NULL_REAL} if missing
+     */
+    public double put(final Date date, final double value) {
+        return put(date.serialNumber(), value);
+    }
+
+    /**
+     * Stores a datum at a date given by its serial number
+     *
+     * @return the datum previously stored at the same date, or {@link Constants#NULL_REAL} if missing
+     */
+    public double put(final long serialNumber, final double value) {
+        QL.require(!readOnly, READ_ONLY_SERIES);
+        QL.require(serialNumber > 0, "null date"); // TODO: message
+        if (shared) {
+            unshare(to);
+        }
+
+        // most of the times, data is added in chronological order
+        final int i = (to == 0 || serialAt(to-1) < serialNumber) ? -(to+1) : search(serialNumber);
+        if (i >= 0) {
+            final double previous = values[i];
+            values[i] = value;
+            return previous;
+        }
+
+        final int pos = -(i+1);
+        if (to == serials.length) {
+            final int capacity = Math.max(DEFAULT_CAPACITY, 2*to);
+            serials = Arrays.copyOf(serials, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(serials, pos, serials, pos+1, to-pos);
+        System.arraycopy(values, pos, values, pos+1, to-pos);
+        serials[pos] = (int) serialNumber;
+        values[pos] = value;
+        to++;
+        return Constants.NULL_REAL;
+    }
+
+    public void clear() {
+        QL.require(!readOnly, READ_ONLY_SERIES);
+        if (shared) {
+            unshare(0);
+        }
+        to = 0;
+    }
+
+    public Date firstDate() {
+        QL.require(!isEmpty(), EMPTY_SERIES);
+        return new Date(serialAt(from));
+    }
+
+    public Date lastDate() {
+        QL.require(!isEmpty(), EMPTY_SERIES);
+        return new Date(serialAt(to-1));
+    }
+
+    /**
+     * @return the serial number of the date of the i-th datum, in chronological order
+     */
+    public long serialNumber(final int i) {
+        QL.require(i >= 0 && i < size(), "index out of range"); // TODO: message
+        return serialAt(from+i);
+    }
+
+    /**
+     * @return the i-th datum, in chronological order
+     */
+    public double value(final int i) {
+        QL.require(i >= 0 && i < size(), "index out of range"); // TODO: message
+        return valueAt(from+i);
+    }
+
+    /**
+     * @return a copy of the serial numbers of all dates, in chronological order
+     */
+    public int[] serialNumbers() {
+        if (mappedSerials != null) {
+            final int[] result = new int[to-from];
+            ((IntBuffer) mappedSerials.duplicate().position(from)).get(result);
+            return result;
+        }
+        return Arrays.copyOfRange(serials, from, to);
+    }
+
+    /**
+     * @return a copy of all data, in chronological order
+     */
+    public double[] values() {
+        if (mappedValues != null) {
+            final double[] result = new double[to-from];
+            ((DoubleBuffer) mappedValues.duplicate().position(from)).get(result);
+            return result;
+        }
+        return Arrays.copyOfRange(values, from, to);
+    }
+
+    /**
+     * Returns a read-only view of the data whose dates range from <code>fromDate</code>, inclusive, to
+     * <code>toDate</code>, exclusive.
+     * <p>
+     * No data is copied when the view is created. Data is copied by this series the next time it is modified, if ever.
+     */
+    public TimeSeriesDouble subSeries(final Date fromDate, final Date toDate) {
+        final long fromSerial = fromDate.serialNumber();
+        final long toSerial = toDate.serialNumber();
+        QL.require(fromSerial <= toSerial, "fromDate later than toDate"); // TODO: message
+        final int lo = lowerBound(fromSerial);
+        final int hi = lowerBound(toSerial);
+        this.shared = true;
+        return new TimeSeriesDouble(this, lo, hi);
+    }
+
+    /**
+     * @return a new {@link TimeSeries} which contains the same data
+     */
+    public TimeSeries<Double> toTimeSeries() {
+        final TimeSeries<Double> result = new TimeSeries<Double>(Double.class);
+        for (int i = from; i < to; i++) {
+            result.put(new Date(serialAt(i)), valueAt(i));
+        }
+        return result;
+    }
+
+
+    //
+    // private methods
+    //
+
+    private int serialAt(final int i) {
+        return mappedSerials == null ? serials[i] : mappedSerials.get(i);
+    }
+
+    private double valueAt(final int i) {
+        return mappedValues == null ? values[i] : mappedValues.get(i);
+    }
+
+    /**
+     * Copies data to arrays owned by this series, so that it can be modified
+     * <p>
+     * Arrays have room for as many data again, as when they grow, because the copy is usually made to add data.
+     */
+    private void unshare(final int size) {
+        final int capacity = Math.max(DEFAULT_CAPACITY, 2*size);
+        final int[] s = new int[capacity];
+        final double[] v = new double[capacity];
+        for (int i = 0; i < size; i++) {
+            s[i] = serialAt(i);
+            v[i] = valueAt(i);
+        }
+        serials = s;
+        values = v;
+        mappedSerials = null;
+        mappedValues = null;
+        shared = false;
+    }
+
+    /**
+     * @return the index of a serial number, or <code>-(insertion point)-1</code> if missing
+     */
+    private int search(final long serialNumber) {
+        final int i = lowerBound(serialNumber);
+        return (i < to && serialAt(i) == serialNumber) ? i : -(i+1);
+    }
+
+    /**
+     * @return the index of the first serial number which is not less than a given one
+     */
+    private int lowerBound(final long serialNumber) {
+        int first = from;
+        int len = to - from;
+        while (len > 0) {
+            final int half = len >> 1;
+            final int middle = first + half;
+            if (serialAt(middle) < serialNumber) {
+                first = middle + 1;
+                len = len - half - 1;
+            } else {
+                len = half;
+            }
+        }
+        return first;
+    }
+
+}
@@ -0,0 +1,345 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.time;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jquantlib.QL;
+import org.jquantlib.lang.exceptions.LibraryException;
+
+/**
+ * Binary file which holds named {@link TimeSeriesDouble} instances, typically historical index fixings
+ * <p>
+ * Files are memory mapped when read, so that series obtained from {@link #map(File)} serve lookups directly from the file,
+ * without any deserialization. Only names are decoded.
+ * <p>
+ * The layout of a file is as follows, where all numbers are big endian:
+ * <pre>
+ *     int     magic number
+ *     int     version
+ *     int     number of series
+ *     int     reserved
+ *     for each series:
+ *         short   length of the name, followed by its UTF-8 bytes
+ *         long    offset of the block of the series
+ *     for each series, a block aligned to 8 bytes:
+ *         int     size
+ *         int     capacity
+ *         int     serial numbers [capacity]
+ *         double  values [capacity], aligned to 8 bytes
+ * </pre>
+ * Blocks are written with room for additional data, so that daily fixings can be appended in place by
+ * {@link #append(File, String, Date, double)}. The file is rewritten only when a block is full.
+ *
+ * @note Series already mapped are not affected by data appended afterwards.
+ *
+ * @note A file is rewritten aside, then renamed over the original. Where the platform cannot rename over an existing
+ * file, the original is deleted first. If the process dies between both steps, only the file written aside remains,
+ * which {@link #map(File)} and {@link #append(File, String, Date, double)} then take in place of the original.
+ *
+ * @see TimeSeriesDouble
+ *
+ * @author agent
+ */
+public final class TimeSeriesFile {
+
+    private static final int MAGIC = 0x4A514653; // "JQFS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String NOT_A_SERIES_FILE = "not a time series file";
+    private static final String UNSUPPORTED_VERSION = "unsupported time series file version";
+    private static final String CANNOT_READ = "could not read time series file";
+    private static final String CANNOT_WRITE = "could not write time series file";
+    private static final String NOT_CHRONOLOGICAL = "data must be appended in chronological order";
+
+
+    //
+    // private constructors
+    //
+
+    private TimeSeriesFile() {
+        // only static methods
+    }
+
+
+    //
+    // public static methods
+    //
+
+    /**
+     * Writes series to a file, replacing its contents
+     * <p>
+     * The file is written aside and renamed over the original, so that series still mapped from the original, possibly
+     * the very series being written, remain valid.
+     */
+    public static void write(final File file, final Map<String, TimeSeriesDouble> series) {
+        final File tmp = aside(file);
+        writeFile(tmp, series);
+        if (!tmp.renameTo(file)) {
+            // some platforms do not rename over existing files
+            QL.require(file.delete() && tmp.renameTo(file), CANNOT_WRITE);
+        }
+    }
+
+    /**
+     * Maps a file in memory
+     *
+     * @return series held by the file, in the order they were written
+     */
+    public static Map<String, TimeSeriesDouble> map(final File file) {
+        recover(file);
+        try {
+            final RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                // mappings remain valid after the channel is closed
+                final MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+                final Map<String, TimeSeriesDouble> result = new LinkedHashMap<String, TimeSeriesDouble>();
+                final int n = readHeader(buffer);
+                int pos = HEADER_SIZE;
+                for (int i = 0; i < n; i++) {
+                    final int len = buffer.getShort(pos) & 0xffff;
+                    final String name = readName(buffer, pos + 2, len);
+                    final int block = (int) buffer.getLong(pos + 2 + len);
+                    result.put(name, series(buffer, block));
+                    pos += 2 + len + 8;
+                }
+                return result;
+            } finally {
+                raf.close();
+            }
+        } catch (final IOException e) {
+            throw new LibraryException(CANNOT_READ, e);
+        }
+    }
+
+    /**
+     * Appends a datum to a series held by a file, creating the file or the series if needed
+     * <p>
+     * The datum is written in place, unless the block of the series is full, in which case the file is rewritten
+     * with room for more data.
+     */
+    public static void append(final File file, final String name, final Date date, final double value) {
+        final long serial = date.serialNumber();
+        QL.require(serial > 0, "null date"); // TODO: message
+        recover(file);
+        if (file.exists() && appendInPlace(file, name, serial, value))
+            return;
+
+        final Map<String, TimeSeriesDouble> series =
+            file.exists() ? map(file) : new LinkedHashMap<String, TimeSeriesDouble>();
+        TimeSeriesDouble s = series.get(name);
+        if (s == null) {
+            s = new TimeSeriesDouble();
+            series.put(name, s);
+        }
+        QL.require(s.isEmpty() || s.serialNumber(s.size()-1) < serial, NOT_CHRONOLOGICAL);
+        s.put(serial, value);
+        write(file, series);
+    }
+
+
+    //
+    // private static methods
+    //
+
+    /**
+     * @return the file which is written aside when a file is rewritten
+     */
+    private static File aside(final File file) {
+        return new File(file.getPath() + ".tmp");
+    }
+
+    /**
+     * Completes a rewrite interrupted after the original file was deleted, if any
+     */
+    private static void recover(final File file) {
+        final File tmp = aside(file);
+        if (!file.exists() && tmp.exists()) {
+            QL.require(tmp.renameTo(file), CANNOT_READ);
+        }
+    }
+
+    private static void writeFile(final File file, final Map<String, TimeSeriesDouble> series) {
+        try {
+            final FileOutputStream fos = new FileOutputStream(file);
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos));
+            try {
+                write(out, series);
+                out.flush();
+                fos.getFD().sync();
+            } finally {
+                out.close();
+            }
+        } catch (final IOException e) {
+            throw new LibraryException(CANNOT_WRITE, e);
+        }
+    }
+
+    private static void write(final DataOutputStream out, final Map<String, TimeSeriesDouble> series) throws IOException {
+        final byte[][] names = new byte[series.size()][];
+        int i = 0;
+        long pos = HEADER_SIZE;
+        for (final String name : series.keySet()) {
+            names[i] = name.getBytes(UTF8);
+            QL.require(names[i].length <= 0xffff, "name too long"); // TODO: message
+            pos += 2 + names[i].length + 8;
+            i++;
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(series.size());
+        out.writeInt(0);
+
+        // directory
+        i = 0;
+        pos = align(pos);
+        long written = HEADER_SIZE;
+        for (final TimeSeriesDouble s : series.values()) {
+            out.writeShort(names[i].length);
+            out.write(names[i]);
+            out.writeLong(pos);
+            written += 2 + names[i].length + 8;
+            pos += blockSize(capacity(s.size()));
+            i++;
+        }
+
+        // blocks
+        for (final TimeSeriesDouble s : series.values()) {
+            written = pad(out, written);
+            final int size = s.size();
+            final int capacity = capacity(size);
+            out.writeInt(size);
+            out.writeInt(capacity);
+            for (int j = 0; j < capacity; j++) {
+                out.writeInt(j < size ? (int) s.serialNumber(j) : 0);
+            }
+            written = pad(out, written + 8 + 4L*capacity);
+            for (int j = 0; j < capacity; j++) {
+                out.writeDouble(j < size ? s.value(j) : 0.0);
+            }
+            written += 8L*capacity;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the datum could be written in place
+     */
+    private static boolean appendInPlace(final File file, final String name, final long serial, final double value) {
+        try {
+            final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                final MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length());
+                final int n = readHeader(buffer);
+                int pos = HEADER_SIZE;
+                for (int i = 0; i < n; i++) {
+                    final int len = buffer.getShort(pos) & 0xffff;
+                    if (name.equals(readName(buffer, pos + 2, len))) {
+                        final int block = (int) buffer.getLong(pos + 2 + len);
+                        final int size = buffer.getInt(block);
+                        final int capacity = buffer.getInt(block + 4);
+                        QL.require(size == 0 || buffer.getInt(block + 8 + 4*(size-1)) < serial, NOT_CHRONOLOGICAL);
+                        if (size == capacity)
+                            return false;
+                        buffer.putInt(block + 8 + 4*size, (int) serial);
+                        buffer.putDouble(valuesOffset(block, capacity) + 8*size, value);
+                        // size is updated last, so that the datum is complete when it becomes visible
+                        buffer.putInt(block, size + 1);
+                        buffer.force();
+                        return true;
+                    }
+                    pos += 2 + len + 8;
+                }
+                return false;
+            } finally {
+                raf.close();
+            }
+        } catch (final IOException e) {
+            throw new LibraryException(CANNOT_WRITE, e);
+        }
+    }
+
+    private static int readHeader(final ByteBuffer buffer) {
+        QL.require(buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC, NOT_A_SERIES_FILE);
+        QL.require(buffer.getInt(4) == VERSION, UNSUPPORTED_VERSION);
+        return buffer.getInt(8);
+    }
+
+    private static String readName(final ByteBuffer buffer, final int pos, final int len) {
+        final byte[] bytes = new byte[len];
+        ((ByteBuffer) buffer.duplicate().position(pos)).get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    private static TimeSeriesDouble series(final ByteBuffer buffer, final int block) {
+        final int size = buffer.getInt(block);
+        final int capacity = buffer.getInt(block + 4);
+        final ByteBuffer serials = ((ByteBuffer) buffer.duplicate().position(block + 8)).slice();
+        final ByteBuffer values = ((ByteBuffer) buffer.duplicate().position(valuesOffset(block, capacity))).slice();
+        serials.limit(4*capacity);
+        values.limit(8*capacity);
+        return new TimeSeriesDouble(serials.asIntBuffer(), values.asDoubleBuffer(), size);
+    }
+
+    /**
+     * @return capacity of a block which holds a given number of data, leaving room for about one year of daily data
+     */
+    private static int capacity(final int size) {
+        return size + Math.max(256, size/8);
+    }
+
+    private static long blockSize(final int capacity) {
+        return align(8 + 4L*capacity) + 8L*capacity;
+    }
+
+    private static int valuesOffset(final int block, final int capacity) {
+        return (int) (block + align(8 + 4L*capacity));
+    }
+
+    private static long align(final long pos) {
+        return (pos + 7) & ~7L;
+    }
+
+    private static long pad(final DataOutputStream out, final long pos) throws IOException {
+        final long aligned = align(pos);
+        for (long p = pos; p < aligned; p++) {
+            out.writeByte(0);
+        }
+        return aligned;
+    }
+
+}
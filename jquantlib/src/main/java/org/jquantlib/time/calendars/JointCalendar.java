@@ -133,6 +133,18 @@ public class JointCalendar extends Calendar {
             return sb.toString();
         }
 
+        /**
+         * The joint calendar changes whenever any of the given calendars does
+         */
+        @Override
+        protected long version() {
+            long result = super.version();
+            for (final Calendar calendar : calendars_) {
+                result += Calendar.version(calendar);
+            }
+            return result;
+        }
+
         @Override
         public boolean isWeekend(final Weekday w) /* @ReadOnly */{
             switch (rule_) {
@@ -109,8 +109,14 @@ public class DefaultObservable implements Observable {
         notifyObservers(null);
     }
 
+    /**
+     * Notifies all observers, unless an {@link ObservableBatch} is active on the current thread, in which case observers
+     * are collected by the batch and notified when it ends.
+     */
     @Override
     public void notifyObservers(final Object arg) {
+        if (ObservableBatch.defer(this, observers))
+            return;
         Exception exception = null;
         for (final Observer observer : observers) {
             try {
@@ -129,6 +135,18 @@ public class DefaultObservable implements Observable {
         if (exception!=null) QL.error(DefaultObservable.CANNOT_NOTIFY_OBSERVERS, exception);
     }
 
+    //
+    // package private methods
+    //
+
+    /**
+     * Notifies a single observer on behalf of an {@link ObservableBatch}
+     */
+    void notifyObserver(final Observer observer) {
+        wrappedNotify(observer, observable, null);
+    }
+
+
     //
     // protected methods
     //
@@ -0,0 +1,188 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+package org.jquantlib.util;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jquantlib.QL;
+
+/**
+ * Defers and coalesces notifications sent by {@link DefaultObservable} instances.
+ * <p>
+ * Between {@link #begin()} and the matching {@link #end()}, notifications sent on the current thread are not delivered.
+ * Instead, the observers which would have been notified are collected. When the outermost scope ends, every collected
+ * observer is notified once, no matter how many times, or by how many observables, it would have been notified
+ * in the meantime. Notifications sent by these observers in turn are collected as well, and delivered in the same way
+ * once all of them have been notified, and so on until no notification is left. Each level of a chain of observers is
+ * therefore notified once.
+ * <p>
+ * This is intended for bulk updates of market data, for instance:
+ * <pre>
+ *     ObservableBatch.begin();
+ *     try {
+ *         for (int i=0; i&lt;quotes.length; i++) {
+ *             quotes[i].setValue(values[i]);
+ *         }
+ *     } finally {
+ *         ObservableBatch.end();
+ *     }
+ * </pre>
+ * A yield curve built on these quotes, either directly or through rate helpers, is then invalidated once, and so are
+ * the instruments priced off that curve, instead of once per quote.
+ *
+ * @note Objects observing data changed inside a batch are not aware of such changes until the batch ends. Results
+ * obtained from them inside the batch may be stale.
+ *
+ * @note An observer reachable from a changed observable through paths of different lengths is notified once per
+ * length.
+ *
+ * @note Batches are confined to the thread which begins them.
+ *
+ * @see DefaultObservable
+ *
+ * @author agent
+ */
+public final class ObservableBatch {
+
+    private static final String NO_ACTIVE_BATCH = "no active notification batch";
+    private static final String CANNOT_NOTIFY_OBSERVERS = "could not notify one or more observers";
+
+    private static final ThreadLocal<ObservableBatch> current = new ThreadLocal<ObservableBatch>();
+
+
+    //
+    // private fields
+    //
+
+    private int depth;
+    private Map<Observer, DefaultObservable> sources;
+    private List<Observer> observers;
+
+
+    //
+    // private constructors
+    //
+
+    private ObservableBatch() {
+        this.depth = 0;
+        this.sources = new IdentityHashMap<Observer, DefaultObservable>();
+        this.observers = new ArrayList<Observer>();
+    }
+
+
+    //
+    // public static methods
+    //
+
+    /**
+     * Starts deferring notifications on the current thread. Batches can be nested: notifications are delivered when
+     * the outermost batch ends.
+     */
+    public static void begin() {
+        ObservableBatch batch = current.get();
+        if (batch == null) {
+            batch = new ObservableBatch();
+            current.set(batch);
+        }
+        batch.depth++;
+    }
+
+    /**
+     * Ends a batch started by {@link #begin()}. When the outermost batch ends, each observer collected in the meantime
+     * is notified once, in the order in which it was first collected, and so are the observers they notify in turn.
+     */
+    public static void end() {
+        final ObservableBatch batch = current.get();
+        QL.require(batch != null, NO_ACTIVE_BATCH);
+        if (batch.depth > 1) {
+            batch.depth--;
+            return;
+        }
+        // the batch remains active while flushing, so that notifications sent by observers are coalesced as well
+        try {
+            batch.flush();
+        } finally {
+            batch.depth = 0;
+            current.remove();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if notifications are being deferred on the current thread
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+
+    //
+    // package private static methods
+    //
+
+    /**
+     * Collects observers of a given observable, in case a batch is active on the current thread.
+     *
+     * @return <code>true</code> if observers were collected, <code>false</code> if they must be notified immediately
+     */
+    static boolean defer(final DefaultObservable observable, final List<Observer> observers) {
+        final ObservableBatch batch = current.get();
+        if (batch == null)
+            return false;
+        for (final Observer observer : observers) {
+            if (!batch.sources.containsKey(observer)) {
+                batch.sources.put(observer, observable);
+                batch.observers.add(observer);
+            }
+        }
+        return true;
+    }
+
+
+    //
+    // private methods
+    //
+
+    private void flush() {
+        Exception exception = null;
+        while (!observers.isEmpty()) {
+            // observers notified in this round collect their own observers for the next one
+            final Map<Observer, DefaultObservable> roundSources = sources;
+            final List<Observer> round = observers;
+            this.sources = new IdentityHashMap<Observer, DefaultObservable>();
+            this.observers = new ArrayList<Observer>();
+            for (final Observer observer : round) {
+                try {
+                    roundSources.get(observer).notifyObserver(observer);
+                } catch (final Exception e) {
+                    // notify all observers anyway, as DefaultObservable does
+                    exception = e;
+                }
+            }
+        }
+        if (exception!=null) QL.error(CANNOT_NOTIFY_OBSERVERS, exception);
+    }
+
+}
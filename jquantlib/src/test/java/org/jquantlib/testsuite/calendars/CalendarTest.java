@@ -24,6 +24,9 @@ package org.jquantlib.testsuite.calendars;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jquantlib.QL;
 import org.jquantlib.time.BusinessDayConvention;
 import org.jquantlib.time.Calendar;
@@ -163,6 +166,77 @@ public class CalendarTest {
         }
     }
     
+    @Test
+    public void testModifiedCalendars() {
+
+        QL.info("Testing calendar modification...");
+
+        final Calendar c1 = new Target();
+        final Calendar c2 = new UnitedKingdom();
+        final Calendar joint = new JointCalendar(c1, c2, JointCalendarRule.JoinHolidays);
+
+        // holidays are looked up before the calendars are modified
+        final Date d1 = new Date(2, Month.September, 2004);   // Thursday
+        final Date d2 = new Date(3, Month.September, 2004);   // Friday
+        final Date d3 = new Date(1, Month.January, 2004);     // holiday for both
+        if (!c1.isBusinessDay(d1) || !c2.isBusinessDay(d2) || !joint.isBusinessDay(d1) || !joint.isBusinessDay(d2))
+            Assert.fail("wrong test dates");
+        assertEquals(2, c1.businessDaysBetween(d1, new Date(6, Month.September, 2004)));
+
+        c1.addHoliday(d1);
+        c2.addHoliday(d2);
+        c1.removeHoliday(d3);
+
+        if (c1.isBusinessDay(d1) || joint.isBusinessDay(d1))
+            Assert.fail(d1 + " still a business day");
+        if (c2.isBusinessDay(d2) || joint.isBusinessDay(d2))
+            Assert.fail(d2 + " still a business day");
+        if (!c1.isBusinessDay(d3))
+            Assert.fail(d3 + " still a holiday");
+        if (joint.isBusinessDay(d3))
+            Assert.fail(d3 + " still a holiday for " + c2.name() + " but not for " + joint.name());
+
+        assertEquals(1, c1.businessDaysBetween(d1, new Date(6, Month.September, 2004)));
+        assertEquals(new Date(6, Month.September, 2004), joint.advance(new Date(1, Month.September, 2004), 1, TimeUnit.Days));
+
+        c1.removeHoliday(d1);
+        if (!c1.isBusinessDay(d1) || !joint.isBusinessDay(d1))
+            Assert.fail(d1 + " still a holiday");
+    }
+
+    @Test
+    public void testBusinessDaysArithmetic() {
+
+        QL.info("Testing business days arithmetic...");
+
+        final Calendar c = new JointCalendar(new Target(), new UnitedStates(UnitedStates.Market.NYSE));
+        final Date first = new Date(1, Month.January, 1999);
+        final Date last = new Date(31, Month.December, 2031);
+
+        // business days of a long period, counted one by one
+        final List<Date> businessDays = new ArrayList<Date>();
+        for (Date d = first.clone(); d.le(last); d.inc()) {
+            if (c.isBusinessDay(d))
+                businessDays.add(d.clone());
+        }
+
+        final int n = businessDays.size();
+        assertEquals(n, c.businessDaysBetween(first, last, true, true));
+        assertEquals(-n, c.businessDaysBetween(last, first, true, true));
+
+        for (int i = 0; i < n; i += 97) {
+            for (int step = 1; step < 2000; step *= 3) {
+                if (i+step < n) {
+                    assertEquals(businessDays.get(i+step), c.advance(businessDays.get(i), step, TimeUnit.Days));
+                    assertEquals(step, c.businessDaysBetween(businessDays.get(i), businessDays.get(i+step), false, true));
+                }
+                if (i-step >= 0) {
+                    assertEquals(businessDays.get(i-step), c.advance(businessDays.get(i), -step, TimeUnit.Days));
+                }
+            }
+        }
+    }
+
     @Test
     public void testJointCalendars() {
 
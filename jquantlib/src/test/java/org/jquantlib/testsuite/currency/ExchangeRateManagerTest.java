@@ -0,0 +1,179 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.currency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jquantlib.QL;
+import org.jquantlib.currencies.Currency;
+import org.jquantlib.currencies.ExchangeRate;
+import org.jquantlib.currencies.ExchangeRateManager;
+import org.jquantlib.currencies.Money;
+import org.jquantlib.currencies.America.USDCurrency;
+import org.jquantlib.currencies.Asia.JPYCurrency;
+import org.jquantlib.currencies.Europe.CHFCurrency;
+import org.jquantlib.currencies.Europe.DEMCurrency;
+import org.jquantlib.currencies.Europe.EURCurrency;
+import org.jquantlib.currencies.Europe.GBPCurrency;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.Month;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for ExchangeRateManager
+ *
+ * @author agent
+ */
+public class ExchangeRateManagerTest {
+
+    private final Currency EUR = new EURCurrency();
+    private final Currency GBP = new GBPCurrency();
+    private final Currency USD = new USDCurrency();
+    private final Currency CHF = new CHFCurrency();
+    private final Currency JPY = new JPYCurrency();
+
+    private final ExchangeRateManager manager;
+
+    public ExchangeRateManagerTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        System.setProperty("EXPERIMENTAL", "true");
+        this.manager = ExchangeRateManager.getInstance();
+        manager.clear();
+    }
+
+    @After
+    public void tearDown() {
+        manager.clear();
+    }
+
+    @Test
+    public void testValidityIntervals() {
+        QL.info("Testing validity intervals of exchange rates...");
+
+        final Date d1 = new Date(1, Month.January, 2000);
+        final Date d2 = new Date(1, Month.January, 2005);
+        final Date d3 = new Date(1, Month.January, 2006);
+        final Date d4 = new Date(1, Month.January, 2010);
+
+        manager.add(new ExchangeRate(EUR, USD, 1.0), d1, d4);
+        manager.add(new ExchangeRate(EUR, USD, 2.0), d2, d3);
+        manager.add(new ExchangeRate(USD, EUR, 0.25), d3, d3);
+
+        assertNull(manager.fetch(EUR, USD, d1.sub(1)));
+        assertEquals(1.0, manager.fetch(EUR, USD, d1).rate(), 0.0);
+        assertEquals(1.0, manager.fetch(EUR, USD, d2.sub(1)).rate(), 0.0);
+        assertEquals(2.0, manager.fetch(EUR, USD, d2).rate(), 0.0);
+        assertEquals(2.0, manager.fetch(USD, EUR, d3.sub(1)).rate(), 0.0);
+        assertEquals(0.25, manager.fetch(EUR, USD, d3).rate(), 0.0);
+        assertEquals(1.0, manager.fetch(EUR, USD, d3.add(1)).rate(), 0.0);
+        assertEquals(1.0, manager.fetch(EUR, USD, d4).rate(), 0.0);
+        assertNull(manager.fetch(EUR, USD, d4.add(1)));
+    }
+
+    @Test
+    public void testDerivedRates() {
+        QL.info("Testing derived exchange rates...");
+
+        final Date today = new Date(1, Month.June, 2010);
+        manager.add(new ExchangeRate(EUR, USD, 1.2042));
+        manager.add(new ExchangeRate(EUR, GBP, 0.6612));
+        manager.add(new ExchangeRate(USD, JPY, 90.0));
+
+        // chained rates
+        assertEquals(0.6612/1.2042, manager.lookup(USD, GBP, today).rate(), 1.0e-15);
+        assertEquals(0.6612/1.2042/90.0, manager.lookup(JPY, GBP, today).rate(), 1.0e-15);
+        assertTrue(manager.lookup(JPY, GBP, today) == manager.lookup(JPY, GBP, today));
+
+        // triangulated through EUR
+        final Money dem = new Money(1955.83, new DEMCurrency());
+        assertEquals(1204.20, manager.lookup(new DEMCurrency(), USD, today).exchange(dem).value(), 1.0e-10);
+
+        // cached rates are discarded when rates are added
+        manager.add(new ExchangeRate(EUR, GBP, 0.8));
+        assertEquals(0.8/1.2042, manager.lookup(USD, GBP, today).rate(), 1.0e-15);
+        manager.add(new ExchangeRate(USD, GBP, 0.5));
+        assertEquals(0.5, manager.lookup(USD, GBP, today).rate(), 0.0);
+    }
+
+    @Test(expected=RuntimeException.class)
+    public void testNoConversion() {
+        manager.add(new ExchangeRate(EUR, USD, 1.2042));
+        manager.lookup(CHF, USD, new Date(1, Month.June, 2010));
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        QL.info("Testing concurrent lookups of exchange rates...");
+
+        final Date today = new Date(1, Month.June, 2010);
+        manager.add(new ExchangeRate(EUR, USD, 1.2042));
+        manager.add(new ExchangeRate(EUR, GBP, 0.6612));
+        manager.add(new ExchangeRate(USD, JPY, 90.0));
+        manager.add(new ExchangeRate(EUR, CHF, 1.4));
+        final Currency[] currencies = { EUR, GBP, USD, CHF, JPY };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < 4; t++) {
+                final int seed = t;
+                futures.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int n = 0;
+                        for (int i = 0; i < 2000; i++) {
+                            final Currency source = currencies[(i + seed) % currencies.length];
+                            final Currency target = currencies[(i / currencies.length + seed) % currencies.length];
+                            final Date date = today.add(i % 50);
+                            final ExchangeRate rate = manager.lookup(source, target, date);
+                            final Money money = rate.exchange(new Money(100.0, source));
+                            if (money.currency().eq(target)) n++;
+                            if (seed == 0 && i % 500 == 0) {
+                                // adding rates concurrently invalidates cached rates
+                                manager.add(new ExchangeRate(GBP, CHF, 2.0), today.add(100), today.add(200));
+                            }
+                        }
+                        return n;
+                    }
+                }));
+            }
+            for (final Future<Integer> future : futures) {
+                assertEquals(2000, future.get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
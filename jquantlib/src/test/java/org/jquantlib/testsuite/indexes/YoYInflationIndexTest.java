@@ -0,0 +1,97 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.indexes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.jquantlib.QL;
+import org.jquantlib.Settings;
+import org.jquantlib.indexes.IndexManager;
+import org.jquantlib.indexes.YoYInflationIndex;
+import org.jquantlib.indexes.inflation.YYUKRPIr;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.Frequency;
+import org.jquantlib.time.Month;
+import org.jquantlib.time.TimeSeriesDouble;
+import org.junit.Test;
+
+/**
+ * Unit tests for YoYInflationIndex
+ *
+ * @author agent
+ */
+public class YoYInflationIndexTest {
+
+    private final Date fixingDate;
+    private final Date previousDate;
+
+    public YoYInflationIndexTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        this.fixingDate = new Date(1, Month.January, 2010);
+        this.previousDate = new Date(1, Month.January, 2009);
+    }
+
+    @Test
+    public void testPastFixing() {
+        QL.info("Testing past fixings of year-on-year inflation indices...");
+
+        final TimeSeriesDouble history = new TimeSeriesDouble();
+        history.put(previousDate, 200.0);
+        history.put(fixingDate, 210.0);
+        assertEquals(0.05, fixing(history), 1.0e-15);
+    }
+
+    @Test
+    public void testMissingPreviousFixing() {
+        QL.info("Testing missing previous-year fixings of year-on-year inflation indices...");
+
+        final TimeSeriesDouble history = new TimeSeriesDouble();
+        history.put(fixingDate, 210.0);
+        try {
+            final double result = fixing(history);
+            fail("missing previous-year fixing not detected: fixing returned " + result);
+        } catch (final LibraryException e) {
+            // expected
+        }
+    }
+
+
+    private double fixing(final TimeSeriesDouble history) {
+        final Settings settings = new Settings();
+        final Date evaluationDate = settings.evaluationDate().clone();
+        final YoYInflationIndex index = new YYUKRPIr(Frequency.Monthly, false, false);
+        final IndexManager manager = IndexManager.getInstance();
+        manager.setHistory(index.name(), history);
+        try {
+            settings.setEvaluationDate(new Date(15, Month.June, 2010));
+            return index.fixing(fixingDate);
+        } finally {
+            manager.clearHistory(index.name());
+            settings.setEvaluationDate(evaluationDate);
+        }
+    }
+
+}
@@ -45,6 +45,8 @@ import static org.junit.Assert.fail;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jquantlib.QL;
 import org.jquantlib.Settings;
@@ -62,6 +64,10 @@ import org.jquantlib.instruments.PlainVanillaPayoff;
 import org.jquantlib.instruments.StrikedTypePayoff;
 import org.jquantlib.instruments.VanillaOption;
 import org.jquantlib.lang.annotation.NonNegative;
+import org.jquantlib.math.Constants;
+import org.jquantlib.math.randomnumbers.MersenneTwisterUniformRng;
+import org.jquantlib.math.randomnumbers.PseudoRandom;
+import org.jquantlib.math.statistics.Statistics;
 import org.jquantlib.methods.lattices.AdditiveEQPBinomialTree;
 import org.jquantlib.methods.lattices.CoxRossRubinstein;
 import org.jquantlib.methods.lattices.JarrowRudd;
@@ -73,6 +79,7 @@ import org.jquantlib.pricingengines.AnalyticEuropeanEngine;
 import org.jquantlib.pricingengines.PricingEngine;
 import org.jquantlib.pricingengines.vanilla.BinomialVanillaEngine;
 import org.jquantlib.pricingengines.vanilla.IntegralEngine;
+import org.jquantlib.pricingengines.vanilla.MakeMCEuropeanEngine;
 import org.jquantlib.pricingengines.vanilla.finitedifferences.FDEuropeanEngine;
 import org.jquantlib.processes.BlackScholesMertonProcess;
 import org.jquantlib.processes.GeneralizedBlackScholesProcess;
@@ -218,11 +225,12 @@ public class EuropeanOptionTest {
                 engine = new IntegralEngine(stochProcess);
                 break;
 
-                //        case PseudoMonteCarlo:
-                //          engine = MakeMCEuropeanEngine<PseudoRandom>().withSteps(1)
-                //                                                       .withSamples(samples)
-                //                                                       .withSeed(42);
-                //          break;
+            case PseudoMonteCarlo:
+                engine = new MakeMCEuropeanEngine<MersenneTwisterUniformRng, Statistics>(stochProcess, new PseudoRandom(), Statistics.class)
+                                .withSteps(1)
+                                .withSamples(samples)
+                                .withSeed(42).value();
+                break;
 
                 //        case QuasiMonteCarlo:
                 //          engine = MakeMCEuropeanEngine<LowDiscrepancy>().withSteps(1)
@@ -1281,19 +1289,71 @@ public class EuropeanOptionTest {
     }
 
 
-    //
-    //  void EuropeanOptionTest::testMcEngines() {
-    //
-    //      BOOST_MESSAGE("Testing Monte Carlo European engines "
-    //                    "against analytic results...");
-    //
-    //      EngineType engine = PseudoMonteCarlo;
-    //      Size steps = Null<Size>();
-    //      Size samples = 40000;
-    //      std::map<std::string,Real> relativeTol;
-    //      relativeTol["value"] = 0.01;
-    //      testEngineConsistency(engine,steps,samples,relativeTol);
-    //  }
+    @Test
+    public void testMcEngines() {
+
+        QL.info("Testing Monte Carlo European engines against analytic results...");
+
+        final EngineType engine = EngineType.PseudoMonteCarlo;
+        final int steps = Constants.NULL_INTEGER;
+        final int samples = 40000;
+        final Map<String,Double> relativeTol = new HashMap<String, Double>(1);
+        relativeTol.put("value", 0.01);
+        testEngineConsistency(engine, steps, samples, relativeTol);
+    }
+
+    @Test
+    public void testMcEnginesParallelReproducibility() {
+
+        QL.info("Testing reproducibility of Monte Carlo European engines running on parallel streams...");
+
+        final Date today = new Settings().evaluationDate();
+        final DayCounter dc = new Actual360();
+        final SimpleQuote spot = new SimpleQuote(100.0);
+        final YieldTermStructure qTS = Utilities.flatRate(today, new SimpleQuote(0.02), dc);
+        final YieldTermStructure rTS = Utilities.flatRate(today, new SimpleQuote(0.05), dc);
+        final BlackVolTermStructure volTS = Utilities.flatVol(today, new SimpleQuote(0.25), dc);
+        final GeneralizedBlackScholesProcess stochProcess = makeProcess(spot, qTS, rTS, volTS);
+
+        final Exercise exercise = new EuropeanExercise(today.add(timeToDays(1.0)));
+        final StrikedTypePayoff payoff = new PlainVanillaPayoff(Option.Type.Call, 100.0);
+        final VanillaOption refOption = makeOption(payoff, exercise, spot, qTS, rTS, volTS, EngineType.Analytic, 0, 0);
+
+        final int samples = 20001;
+        final int streams = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(streams);
+        try {
+            final VanillaOption sequential = new EuropeanOption(payoff, exercise);
+            sequential.setPricingEngine(
+                    new MakeMCEuropeanEngine<MersenneTwisterUniformRng, Statistics>(stochProcess, new PseudoRandom(), Statistics.class)
+                        .withSteps(10).withSamples(samples).withSeed(42).withStreams(streams).value());
+
+            final VanillaOption parallel = new EuropeanOption(payoff, exercise);
+            parallel.setPricingEngine(
+                    new MakeMCEuropeanEngine<MersenneTwisterUniformRng, Statistics>(stochProcess, new PseudoRandom(), Statistics.class)
+                        .withSteps(10).withSamples(samples).withSeed(42).withStreams(streams).withExecutor(executor).value());
+
+            final double expected = sequential.NPV();
+            final double calculated = parallel.NPV();
+            if (Double.doubleToLongBits(expected) != Double.doubleToLongBits(calculated)) {
+                fail("parallel streams do not reproduce sequential streams:"
+                        + "\n    sequential: " + expected
+                        + "\n    parallel:   " + calculated);
+            }
+            if (Double.doubleToLongBits(sequential.errorEstimate()) != Double.doubleToLongBits(parallel.errorEstimate())) {
+                fail("parallel streams do not reproduce error estimate of sequential streams");
+            }
+
+            final double error = Utilities.relativeError(refOption.NPV(), calculated, spot.value());
+            if (error > 0.01) {
+                fail("Monte Carlo value too far from analytic value:"
+                        + "\n    analytic:    " + refOption.NPV()
+                        + "\n    Monte Carlo: " + calculated);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 
     //  void EuropeanOptionTest::testQmcEngines() {
     //
@@ -27,6 +27,8 @@ import static org.junit.Assert.fail;
 
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.jquantlib.QL;
 import org.jquantlib.lang.annotation.QualityAssurance;
@@ -685,6 +687,57 @@ public class MatrixTest {
         }
     }
 
+    @Test
+    public void mulLargeMatrix() {
+        final Matrix mA = sample(301, 203, jFlags);
+        final Matrix mB = sample(203, 157, fFlags);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // blocked kernel, sequential and parallel, must reproduce the plain triple loop exactly
+            mulLargeMatrix(mA, mB, mA.mul(mB));
+            mulLargeMatrix(mA, mB, mA.mul(mB, executor));
+
+            // operands which are views of a larger matrix
+            final Matrix vA = mA.range(1, 290, 3, 200);
+            final Matrix vB = mB.range(4, 201, 1, 151);
+            mulLargeMatrix(vA, vB, vA.mul(vB));
+            mulLargeMatrix(vA, vB, vA.mul(vB, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void mulLargeMatrix(final Matrix mA, final Matrix mB, final Matrix m) {
+        if (m.rows() != mA.rows() || m.cols() != mB.cols()) {
+            fail("'mul' failed");
+        }
+        final int offsetA = mA.flags().contains(Address.Flags.FORTRAN) ? 1 : 0;
+        final int offsetB = mB.flags().contains(Address.Flags.FORTRAN) ? 1 : 0;
+        final int offset = m.flags().contains(Address.Flags.FORTRAN) ? 1 : 0;
+        for (int row=0; row<mA.rows(); row++) {
+            for (int col=0; col<mB.cols(); col++) {
+                double sum = 0.0;
+                for (int i=0; i<mA.cols(); i++) {
+                    sum += mA.get(row+offsetA, i+offsetA) * mB.get(i+offsetB, col+offsetB);
+                }
+                if (m.get(row+offset, col+offset) != sum) {
+                    fail("'mul' failed at (" + row + "," + col + ")");
+                }
+            }
+        }
+    }
+
+    private Matrix sample(final int rows, final int cols, final Set<Address.Flags> flags) {
+        final Matrix m = new Matrix(rows, cols, flags);
+        final int offset = flags.contains(Address.Flags.FORTRAN) ? 1 : 0;
+        for (int row=0; row<rows; row++) {
+            for (int col=0; col<cols; col++) {
+                m.set(row+offset, col+offset, Math.sin(row*cols+col+1.0));
+            }
+        }
+        return m;
+    }
+
     @Test
     public void divScalar() {
         divScalar(jFlags);
@@ -29,6 +29,7 @@ import static org.junit.Assert.fail;
 import org.jquantlib.QL;
 import org.jquantlib.Settings;
 import org.jquantlib.math.distributions.InverseCumulativeNormal;
+import org.jquantlib.testsuite.math.randomnumbers.InverseCumulativeRsgTest;
 import org.junit.Test;
 
 /**
@@ -115,4 +116,29 @@ public class InverseCumulativeNormalTest {
         settings.setRefineHighPrecisionUsingHalleysMethod(oldHighPrecision);
     }
 
+    @Test
+    public void testTransform() {
+        QL.info("Testing bulk transform of inverse cumulative normal...");
+
+        final double[] in = InverseCumulativeRsgTest.probabilities();
+        final double[] out = new double[in.length];
+
+        final Settings settings = new Settings();
+        final boolean oldHighPrecision = settings.isRefineHighPrecisionUsingHalleysMethod();
+        try {
+            for (final boolean highPrecision : new boolean[] { false, true }) {
+                settings.setRefineHighPrecisionUsingHalleysMethod(highPrecision);
+                final InverseCumulativeNormal icn = new InverseCumulativeNormal(0.5, 2.0);
+                icn.transform(in, out, in.length);
+                for (int i = 0; i < in.length; i++) {
+                    final double expected = icn.op(in[i]);
+                    if (Double.doubleToLongBits(out[i]) != Double.doubleToLongBits(expected))
+                        fail("x_position " + in[i] + " expected: " + expected + " transformed: " + out[i]);
+                }
+            }
+        } finally {
+            settings.setRefineHighPrecisionUsingHalleysMethod(oldHighPrecision);
+        }
+    }
+
 }
@@ -26,6 +26,7 @@ import static org.junit.Assert.fail;
 
 import org.jquantlib.QL;
 import org.jquantlib.math.distributions.MoroInverseCumulativeNormal;
+import org.jquantlib.testsuite.math.randomnumbers.InverseCumulativeRsgTest;
 import org.junit.Test;
 
 /**
@@ -75,4 +76,27 @@ public class MoroInverseCumulativeNormalTest {
         }
     }
 
+    @Test
+    public void testTransform() {
+        QL.info("Testing bulk transform of Moro's inverse cumulative normal...");
+
+        final double[] in = InverseCumulativeRsgTest.probabilities();
+        final double[] out = new double[in.length];
+        final MoroInverseCumulativeNormal icn = new MoroInverseCumulativeNormal(0.5, 2.0);
+        icn.transform(in, out, in.length);
+        for (int i = 0; i < in.length; i++) {
+            final double expected = icn.op(in[i]);
+            if (Double.doubleToLongBits(out[i]) != Double.doubleToLongBits(expected))
+                fail("x_position " + in[i] + " expected: " + expected + " transformed: " + out[i]);
+        }
+
+        // in place
+        final double[] inout = in.clone();
+        icn.transform(inout, inout, inout.length);
+        for (int i = 0; i < in.length; i++) {
+            if (Double.doubleToLongBits(inout[i]) != Double.doubleToLongBits(out[i]))
+                fail("x_position " + in[i] + " expected: " + out[i] + " transformed in place: " + inout[i]);
+        }
+    }
+
 }
@@ -37,6 +37,8 @@ import org.jquantlib.math.interpolations.CubicInterpolation;
 import org.jquantlib.math.interpolations.ForwardFlatInterpolation;
 import org.jquantlib.math.interpolations.Interpolation;
 import org.jquantlib.math.interpolations.LinearInterpolation;
+import org.jquantlib.math.interpolations.LogLinearInterpolation;
+import org.jquantlib.math.interpolations.NaturalCubicInterpolation;
 import org.jquantlib.math.interpolations.SABRInterpolation;
 import org.jquantlib.math.matrixutilities.Array;
 import org.jquantlib.math.optimization.EndCriteria;
@@ -108,6 +110,93 @@ public class InterpolationTest {
     }
 
 
+    @Test
+    public void testBulkInterpolation() {
+
+        QL.info("Testing interpolation of many points at once...");
+
+        final Array x = new Array(new double[] { 0.0, 0.5, 1.0, 2.0, 3.0, 5.0, 7.0, 10.0 });
+        final Array y = new Array(new double[] { 1.0, 0.98, 0.95, 0.91, 0.86, 0.78, 0.70, 0.61 });
+
+        final Interpolation[] interpolations = new Interpolation[] {
+                new LinearInterpolation(x, y),
+                new LogLinearInterpolation(x, y),
+                new BackwardFlatInterpolation(x, y),
+                new ForwardFlatInterpolation(x, y),
+                new NaturalCubicInterpolation(x, y) };
+
+        // sorted points, including nodes and points out of range
+        final double[] sorted = new double[121];
+        for (int i=0; i<sorted.length; i++) {
+            sorted[i] = -1.0 + 0.1*i;
+        }
+        // unsorted points
+        final double[] unsorted = new double[] { 4.0, 0.25, 10.0, 2.0, -0.5, 7.5, 0.0, 11.0, 3.0 };
+
+        for (final Interpolation f : interpolations) {
+            for (final double[] points : new double[][] { sorted, unsorted }) {
+                final double[] calculated = new double[points.length];
+                f.op(points, calculated, true);
+                for (int i=0; i<points.length; i++) {
+                    final double expected = f.op(points[i], true);
+                    assertFalse(f.getClass().getSimpleName() + " failed to reproduce interpolated value"
+                            +"\n    x:                "+points[i]
+                            +"\n    expected value:   "+expected
+                            +"\n    calculated value: "+calculated[i],
+                            expected != calculated[i]);
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testQueryOrder() {
+
+        QL.info("Testing interpolation of points queried in any order...");
+
+        final double[][] grids = new double[][] {
+                { 0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0, 10.0 },
+                { 0.0, 0.1, 0.15, 1.0, 2.5, 2.6, 4.0, 7.0, 10.0 } };
+
+        final int N = 201;
+        final double[] ascending = new double[N];
+        final double[] descending = new double[N];
+        final double[] scattered = new double[N];
+        for (int i=0; i<N; i++) {
+            ascending[i] = 0.05*i;
+            descending[i] = 0.05*(N-1-i);
+            scattered[i] = 0.05*((i*67) % N);
+        }
+
+        for (final double[] grid : grids) {
+            final Array x = new Array(grid);
+            final Array y = new Array(grid.length);
+            for (int i=0; i<grid.length; i++) {
+                y.set(i, Math.sin(grid[i]));
+            }
+            final Interpolation f = new LinearInterpolation(x, y);
+
+            for (final double[] points : new double[][] { ascending, descending, scattered }) {
+                for (final double p : points) {
+                    int i = grid.length-2;
+                    while (i > 0 && grid[i] > p) {
+                        i--;
+                    }
+                    final double slope = (y.get(i+1) - y.get(i)) / (grid[i+1] - grid[i]);
+                    final double expected = y.get(i) + (p - grid[i])*slope;
+                    final double calculated = f.op(p);
+                    assertFalse("failed to reproduce interpolated value"
+                            +"\n    x:                "+p
+                            +"\n    expected value:   "+expected
+                            +"\n    calculated value: "+calculated,
+                            abs(expected - calculated) > 1.0e-15);
+                }
+            }
+        }
+    }
+
+
     @Test
     public void testBackwardFlat() {
 
@@ -26,6 +26,8 @@ import static java.lang.Math.abs;
 import static org.junit.Assert.fail;
 
 import org.jquantlib.QL;
+import org.jquantlib.Settings;
+import org.jquantlib.lang.exceptions.LibraryException;
 import org.jquantlib.math.interpolations.Interpolation;
 import org.jquantlib.math.interpolations.factories.Linear;
 import org.jquantlib.math.matrixutilities.Array;
@@ -91,4 +93,27 @@ public class LinearInterpolationTest {
 	    }
 	}
 
+	@Test
+	public void testUnsortedNodesOnUpdate(){
+		final Settings settings = new Settings();
+		final boolean extraSafetyChecks = settings.isExtraSafetyChecks();
+		settings.setExtraSafetyChecks(true);
+		try {
+			final Array xs = x.clone();
+			final Interpolation unsorted = new Linear().interpolate(xs, y);
+			unsorted.update();
+
+			// nodes are checked when the interpolation is told they changed
+			xs.set(2, 5.0);
+			try {
+				unsorted.update();
+				fail("unsorted nodes must be detected on update");
+			} catch (final LibraryException e) {
+				// expected
+			}
+		} finally {
+			settings.setExtraSafetyChecks(extraSafetyChecks);
+		}
+	}
+
 }
@@ -0,0 +1,109 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.math.randomnumbers;
+
+import static org.junit.Assert.fail;
+
+import org.jquantlib.QL;
+import org.jquantlib.math.distributions.InverseCumulativeNormal;
+import org.jquantlib.math.distributions.MoroInverseCumulativeNormal;
+import org.jquantlib.math.randomnumbers.BulkInverseCumulative;
+import org.jquantlib.math.randomnumbers.InverseCumulativeRsg;
+import org.jquantlib.math.randomnumbers.MersenneTwisterUniformRng;
+import org.jquantlib.math.randomnumbers.RandomSequenceGenerator;
+import org.jquantlib.math.randomnumbers.SobolRsg;
+import org.jquantlib.math.randomnumbers.UniformRandomSequenceGenerator;
+import org.junit.Test;
+
+/**
+ * Unit tests for InverseCumulativeRsg
+ *
+ * @author agent
+ */
+public class InverseCumulativeRsgTest {
+
+    private static final int DIMENSION = 7;
+    private static final int COUNT = 100;
+
+    public InverseCumulativeRsgTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        System.setProperty("EXPERIMENTAL", "true");
+    }
+
+    /**
+     * @return cumulative probabilities covering the central region, both tails and the break-points in between
+     */
+    public static double[] probabilities() {
+        final double[] special = { 1.0e-300, 1.0e-10, 0.02425, 0.0242500001, 0.08, 0.92, 0.97575, 0.9757499999, 1.0-1.0e-10 };
+        final double[] result = new double[999 + special.length];
+        for (int i = 1; i < 1000; i++) {
+            result[i-1] = i / 1000.0;
+        }
+        System.arraycopy(special, 0, result, 999, special.length);
+        return result;
+    }
+
+    @Test
+    public void testNextBlock() {
+        QL.info("Testing blocks of Gaussian sequences...");
+
+        check(new InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>(
+                        pseudoRandom(), new InverseCumulativeNormal()),
+              new InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>(
+                        pseudoRandom(), new InverseCumulativeNormal()));
+
+        check(new InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, MoroInverseCumulativeNormal>(
+                        pseudoRandom(), new MoroInverseCumulativeNormal()),
+              new InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, MoroInverseCumulativeNormal>(
+                        pseudoRandom(), new MoroInverseCumulativeNormal()));
+
+        check(new InverseCumulativeRsg<SobolRsg, InverseCumulativeNormal>(new SobolRsg(DIMENSION), new InverseCumulativeNormal()),
+              new InverseCumulativeRsg<SobolRsg, InverseCumulativeNormal>(new SobolRsg(DIMENSION), new InverseCumulativeNormal()));
+    }
+
+
+    private static RandomSequenceGenerator<MersenneTwisterUniformRng> pseudoRandom() {
+        return new RandomSequenceGenerator<MersenneTwisterUniformRng>(
+                MersenneTwisterUniformRng.class, DIMENSION, new MersenneTwisterUniformRng(42L));
+    }
+
+    private static <USG extends UniformRandomSequenceGenerator, IC extends BulkInverseCumulative> void check(
+            final InverseCumulativeRsg<USG, IC> block, final InverseCumulativeRsg<USG, IC> single) {
+        final double[] out = new double[COUNT * DIMENSION];
+        // draw two blocks, so that the buffer of uniform deviates is reused
+        for (int b = 0; b < 2; b++) {
+            block.nextBlock(out, COUNT);
+            for (int i = 0; i < COUNT; i++) {
+                final double[] expected = single.nextSequence().value();
+                for (int k = 0; k < DIMENSION; k++) {
+                    if (Double.doubleToLongBits(out[i*DIMENSION+k]) != Double.doubleToLongBits(expected[k]))
+                        fail("block #" + b + ", sequence #" + i + ", dimension #" + k + "\n"
+                                + "    calculated: " + out[i*DIMENSION+k] + "\n"
+                                + "    expected:   " + expected[k]);
+                }
+            }
+        }
+    }
+
+}
@@ -39,6 +39,9 @@ When applicable, the original copyright notice follows this notice.
 
 package org.jquantlib.testsuite.math.randomnumbers;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.List;
 
 import org.jquantlib.math.randomnumbers.MersenneTwisterUniformRng;
 import org.junit.Test;
@@ -441,4 +444,77 @@ public class MersenneTwisterTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testJump() {
+        // jumps must match draws one by one, whatever the position within the current block
+        final int[] offsets = { 0, 1, 100, 623, 624, 625 };
+        for (int k = 0; k <= 16; k += 4) {
+            for (final int offset : offsets) {
+                final MersenneTwisterUniformRng jumped = new MersenneTwisterUniformRng(42L);
+                final MersenneTwisterUniformRng drawn = new MersenneTwisterUniformRng(42L);
+                for (int i = 0; i < offset; i++) {
+                    jumped.nextInt32();
+                    drawn.nextInt32();
+                }
+                jumped.jump(k);
+                for (int i = 0; i < (1 << k); i++) {
+                    drawn.nextInt32();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (jumped.nextInt32() != drawn.nextInt32())
+                        fail("jump by 2^" + k + " after " + offset + " draws differs from sequential draws at draw #" + i);
+                }
+            }
+        }
+
+        // jumps compose
+        final MersenneTwisterUniformRng twice = new MersenneTwisterUniformRng(7L);
+        final MersenneTwisterUniformRng once = new MersenneTwisterUniformRng(7L);
+        twice.jump(40);
+        twice.jump(40);
+        once.jump(41);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(once.nextInt32(), twice.nextInt32());
+        }
+    }
+
+    @Test
+    public void testSubstreams() {
+        final MersenneTwisterUniformRng mt = new MersenneTwisterUniformRng(12345L);
+        mt.nextInt32();
+        final List<MersenneTwisterUniformRng> streams = mt.substreams(3);
+        assertEquals(3, streams.size());
+
+        // each stream starts 2^64 draws after the previous one
+        for (int n = 0; n < streams.size(); n++) {
+            final MersenneTwisterUniformRng expected = new MersenneTwisterUniformRng(12345L);
+            expected.nextInt32();
+            for (int i = 0; i < n; i++) {
+                expected.jump(MersenneTwisterUniformRng.SUBSTREAM_LOG2_LENGTH);
+            }
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(expected.nextReal(), streams.get(n).nextReal(), 0.0);
+            }
+        }
+
+        // this generator is left untouched
+        final MersenneTwisterUniformRng expected = new MersenneTwisterUniformRng(12345L);
+        expected.nextInt32();
+        assertEquals(expected.nextInt32(), mt.nextInt32());
+    }
+
+    @Test
+    public void testNextDoubles() {
+        final MersenneTwisterUniformRng bulk = new MersenneTwisterUniformRng(4442733263L);
+        final MersenneTwisterUniformRng single = new MersenneTwisterUniformRng(4442733263L);
+        bulk.nextInt32();
+        single.nextInt32();
+        final double[] out = new double[2000];
+        bulk.nextDoubles(out);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(single.nextReal(), out[i], 0.0);
+        }
+        assertEquals(single.nextInt32(), bulk.nextInt32());
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.math.randomnumbers;
+
+import static org.junit.Assert.fail;
+
+import org.jquantlib.QL;
+import org.jquantlib.math.randomnumbers.SobolRsg;
+import org.junit.Test;
+
+/**
+ * Unit tests for SobolRsg
+ *
+ * @author agent
+ */
+public class SobolRsgTest {
+
+    private static final int DIMENSION = 50;
+
+    public SobolRsgTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        System.setProperty("EXPERIMENTAL", "true");
+    }
+
+    @Test
+    public void testFirstDimension() {
+        QL.info("Testing the first dimension of Sobol sequences...");
+        // van der Corput sequence in Gray code order
+        final double[] expected = { 0.5, 0.75, 0.25, 0.375, 0.875, 0.625, 0.125, 0.1875, 0.6875, 0.9375, 0.4375 };
+        final SobolRsg rsg = new SobolRsg(1);
+        for (int i = 0; i < expected.length; i++) {
+            final double calculated = rsg.nextSequence().value()[0];
+            if (calculated != expected[i])
+                fail("draw #" + i + "\n"
+                        + "    calculated: " + calculated + "\n"
+                        + "    expected:   " + expected[i]);
+        }
+    }
+
+    @Test
+    public void testMeans() {
+        QL.info("Testing means of Sobol sequences...");
+        for (final SobolRsg.DirectionIntegers direction : SobolRsg.DirectionIntegers.values()) {
+            final SobolRsg rsg = new SobolRsg(DIMENSION, 42, direction);
+            final double[] sum = new double[DIMENSION];
+            // the first 2^k-1 points of every dimension average exactly 1/2
+            final int points = (1 << 12) - 1;
+            for (int i = 0; i < points; i++) {
+                final double[] point = rsg.nextSequence().value();
+                for (int k = 0; k < DIMENSION; k++)
+                    sum[k] += point[k];
+            }
+            for (int k = 0; k < DIMENSION; k++) {
+                if (sum[k] / points != 0.5)
+                    fail(direction + ": mean of dimension " + (k + 1) + " is " + (sum[k] / points));
+            }
+        }
+    }
+
+    @Test
+    public void testSkipTo() {
+        QL.info("Testing skip-ahead of Sobol sequences...");
+        final int points = 1000;
+        final double[] expected = draw(new SobolRsg(DIMENSION, 42), points);
+
+        final SobolRsg rsg = new SobolRsg(DIMENSION, 42);
+        for (int n = points - 1; n >= 0; n -= 37) {
+            rsg.skipTo(n);
+            check("skipTo(" + n + ")", rsg.nextSequence().value(), expected, n);
+            if (n + 1 < points)
+                check("draw after skipTo(" + n + ")", rsg.nextSequence().value(), expected, n + 1);
+        }
+    }
+
+    @Test
+    public void testNextBlock() {
+        QL.info("Testing block generation of Sobol sequences...");
+        final int points = 1000;
+        final double[] expected = draw(new SobolRsg(DIMENSION, 42), points);
+
+        final SobolRsg rsg = new SobolRsg(DIMENSION, 42);
+        final double[] block = new double[300 * DIMENSION];
+        for (int first = 0; first < points; first += 300) {
+            final int count = Math.min(300, points - first);
+            rsg.nextBlock(block, count);
+            for (int i = 0; i < count * DIMENSION; i++) {
+                if (block[i] != expected[first * DIMENSION + i])
+                    fail("block starting at point " + first + " differs at coordinate " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testPartition() {
+        QL.info("Testing partition of Sobol sequences...");
+        final int points = 1003;
+        final int parts = 4;
+        final double[] expected = draw(new SobolRsg(DIMENSION, 42), points);
+
+        final SobolRsg[] rsgs = new SobolRsg(DIMENSION, 42).partition(points, parts);
+        int n = 0;
+        for (int p = 0; p < parts; p++) {
+            final int count = points / parts + (p < points % parts ? 1 : 0);
+            for (int i = 0; i < count; i++, n++) {
+                check("part " + p, rsgs[p].nextSequence().value(), expected, n);
+            }
+        }
+        if (n != points)
+            fail("partition covers " + n + " points instead of " + points);
+    }
+
+
+    private static double[] draw(final SobolRsg rsg, final int points) {
+        final int dimension = rsg.dimension();
+        final double[] result = new double[points * dimension];
+        for (int i = 0; i < points; i++)
+            System.arraycopy(rsg.nextSequence().value(), 0, result, i * dimension, dimension);
+        return result;
+    }
+
+    private static void check(final String what, final double[] calculated, final double[] expected, final int n) {
+        for (int k = 0; k < calculated.length; k++) {
+            if (calculated[k] != expected[n * calculated.length + k])
+                fail(what + ": point #" + n + " differs in dimension " + (k + 1) + "\n"
+                        + "    calculated: " + calculated[k] + "\n"
+                        + "    expected:   " + expected[n * calculated.length + k]);
+        }
+    }
+
+}
@@ -42,16 +42,24 @@ package org.jquantlib.testsuite.math.statistics;
 
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.jquantlib.QL;
 import org.jquantlib.lang.annotation.Real;
 import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.math.statistics.ConcurrentIncrementalStatistics;
 import org.jquantlib.math.statistics.ConvergenceStatistics;
 import org.jquantlib.math.statistics.GenericRiskStatistics;
 import org.jquantlib.math.statistics.GenericSequenceStatistics;
 import org.jquantlib.math.statistics.IncrementalStatistics;
 import org.jquantlib.math.statistics.RiskStatistics;
+import org.jquantlib.util.ComparablePair;
 import org.jquantlib.util.Pair;
 import org.junit.Test;
 
@@ -102,6 +110,145 @@ public class StatisticsTest {
     
     
     
+    @Test
+    public void testCombinedIncrementalStatistics() {
+        QL.info("Testing combination of incremental statistics ...");
+
+        final IncrementalStatistics s1 = new IncrementalStatistics();
+        final IncrementalStatistics s2 = new IncrementalStatistics();
+        for (int i = 0; i<data.size(); i++) {
+            if (i % 3 == 0)
+                s1.add(data.get(i), weights.get(i));
+            else
+                s2.add(data.get(i), weights.get(i));
+        }
+        final IncrementalStatistics calculated = new IncrementalStatistics();
+        calculated.combine(new IncrementalStatistics());
+        calculated.combine(s1);
+        calculated.merge(s2);
+
+        final IncrementalStatistics expected = new IncrementalStatistics();
+        expected.addSequence(data, weights);
+        checkCombined(calculated, expected);
+    }
+
+
+    @Test
+    public void testConcurrentIncrementalStatistics() throws Exception {
+        QL.info("Testing incremental statistics fed by concurrent threads ...");
+
+        final int threads = 4;
+        final int samples = 100000;
+        final ConcurrentIncrementalStatistics concurrent = new ConcurrentIncrementalStatistics();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t<threads; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = thread; i<threads*samples; i += threads)
+                            concurrent.add(Math.sin(i), 1.0 + (i % 3));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        final IncrementalStatistics expected = new IncrementalStatistics();
+        for (int i = 0; i<threads*samples; i++)
+            expected.add(Math.sin(i), 1.0 + (i % 3));
+        checkCombined(concurrent.statistics(), expected);
+    }
+
+
+    private void checkCombined(final IncrementalStatistics calculated, final IncrementalStatistics expected) {
+        if (calculated.samples() != expected.samples() || calculated.weightSum() != expected.weightSum())
+            fail("wrong number of samples");
+        if (calculated.min() != expected.min() || calculated.max() != expected.max())
+            fail("wrong extreme values");
+
+        final double tolerance = 1.0e-9;
+        final double[][] values = {
+                { calculated.mean(), expected.mean() },
+                { calculated.variance(), expected.variance() },
+                { calculated.skewness(), expected.skewness() },
+                { calculated.kurtosis(), expected.kurtosis() },
+                { calculated.downsideVariance(), expected.downsideVariance() } };
+        for (final double[] v : values) {
+            if (Math.abs(v[0]-v[1]) > tolerance)
+                fail("wrong statistics\n"
+                        + "    calculated: " + v[0] + "\n"
+                        + "    expected:   " + v[1]);
+        }
+    }
+
+
+    @Test
+    public void testPercentiles() {
+        QL.info("Testing percentiles of weighted samples ...");
+        checkPercentiles(false);
+        checkPercentiles(true);
+    }
+
+
+    private void checkPercentiles(final boolean uniformWeights) {
+        final int n = 2001;
+        final double[] values = new double[n];
+        final double[] weights = new double[n];
+        final RiskStatistics s = new RiskStatistics();
+        for (int i = 0; i<n; i++) {
+            // plenty of ties, so that weights must move along with values
+            values[i] = Math.floor(100.0*Math.sin(i*7.0 + 1.0));
+            weights[i] = uniformWeights ? 2.0 : 1.0 + (i % 5);
+            s.add(values[i], weights[i]);
+        }
+
+        final List<ComparablePair<Double, Double>> data = s.data();
+        if (data.size() != n || data.get(17).first() != values[17] || data.get(17).second() != weights[17])
+            fail("wrong data view");
+
+        // reference: samples sorted by value
+        final Integer[] idx = new Integer[n];
+        for (int i = 0; i<n; i++)
+            idx[i] = i;
+        Arrays.sort(idx, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer a, final Integer b) {
+                return Double.compare(values[a], values[b]);
+            }
+        });
+        double total = 0.0;
+        for (int i = 0; i<n; i++)
+            total += weights[i];
+
+        final double[] percents = { 0.001, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99, 1.0 };
+        for (final double percent : percents) {
+            final double target = percent*total;
+            double integral = 0.0;
+            double expected = 0.0;
+            for (int k = 0; k<n; k++) {
+                integral += weights[idx[k]];
+                expected = values[idx[k]];
+                if (integral >= target)
+                    break;
+            }
+            final double calculated = s.percentile(percent);
+            if (calculated != expected)
+                fail("wrong percentile " + percent + "\n"
+                        + "    calculated: " + calculated + "\n"
+                        + "    expected:   " + expected);
+        }
+
+        if (s.min() != values[idx[0]] || s.max() != values[idx[n-1]])
+            fail("wrong extreme values");
+    }
+
+
     private void check(final GenericRiskStatistics s, final String name) {
         for (int i = 0; i<data.size(); i++)
             s.add(data.get(i), weights.get(i));
@@ -0,0 +1,243 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.methods.lattices;
+
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jquantlib.QL;
+import org.jquantlib.instruments.DiscretizedAsset;
+import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.methods.lattices.BlackScholesLattice;
+import org.jquantlib.methods.lattices.CoxRossRubinstein;
+import org.jquantlib.methods.lattices.TreeLattice;
+import org.jquantlib.methods.lattices.TreeLattice1D;
+import org.jquantlib.methods.lattices.TreeLattice2D;
+import org.jquantlib.methods.lattices.TrinomialTree;
+import org.jquantlib.processes.OrnsteinUhlenbeckProcess;
+import org.jquantlib.time.TimeGrid;
+import org.junit.Test;
+
+/**
+ * Unit tests for TreeLattice and TrinomialTree
+ *
+ * @author agent
+ */
+public class TreeLatticeTest {
+
+    private static final double tolerance = 1.0e-12;
+
+    private final TimeGrid grid;
+    private final TrinomialTree tree;
+    private final ShortRateLattice lattice;
+
+    public TreeLatticeTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        this.grid = new TimeGrid(5.0, 250);
+        this.tree = new TrinomialTree(new OrnsteinUhlenbeckProcess(1.0, 0.01), grid);
+        this.lattice = new ShortRateLattice(tree, grid);
+    }
+
+    @Test
+    public void testTrinomialProbabilities() {
+        QL.info("Testing trinomial tree probabilities...");
+        for (int i = 0; i < grid.size() - 1; i++) {
+            for (int j = 0; j < tree.size(i); j++) {
+                final double sum = tree.probability(i, j, 0) + tree.probability(i, j, 1) + tree.probability(i, j, 2);
+                if (Math.abs(sum - 1.0) > tolerance)
+                    fail("probabilities at node (" + i + ", " + j + ") sum to " + sum);
+                if (tree.descendant(i, j, 0) < 0 || tree.descendant(i, j, 2) >= tree.size(i + 1))
+                    fail("descendants of node (" + i + ", " + j + ") out of range");
+            }
+        }
+    }
+
+    @Test
+    public void testStepback() {
+        QL.info("Testing lattice stepback against node-by-node calculations...");
+        for (int i = grid.size() - 2; i >= 0; i--) {
+            final Array values = new Array(tree.size(i + 1));
+            for (int j = 0; j < values.size(); j++)
+                values.set(j, Math.sin(0.1 * j + i));
+            final Array calculated = new Array(tree.size(i));
+            lattice.stepback(i, values, calculated);
+            for (int j = 0; j < calculated.size(); j++) {
+                double expected = 0.0;
+                for (int l = 0; l < 3; l++)
+                    expected += lattice.probability(i, j, l) * values.get(lattice.descendant(i, j, l));
+                expected *= lattice.discount(i, j);
+                if (Math.abs(calculated.get(j) - expected) > tolerance)
+                    fail("failed to step back node (" + i + ", " + j + ")\n"
+                            + "    calculated: " + calculated.get(j) + "\n"
+                            + "    expected:   " + expected);
+            }
+        }
+    }
+
+    @Test
+    public void testRollbackAgainstStatePrices() {
+        QL.info("Testing lattice rollback against state prices...");
+        final int last = grid.size() - 1;
+        for (int i = 0; i <= last; i += 50) {
+            final Array statePrices = lattice.statePrices(i);
+            double expected = 0.0;
+            for (int j = 0; j < statePrices.size(); j++)
+                expected += statePrices.get(j);
+
+            final Bond bond = new Bond();
+            bond.initialize(lattice, grid.get(i));
+            bond.rollback(0.0);
+            final double calculated = bond.presentValue();
+            if (Math.abs(calculated - expected) > tolerance)
+                fail("failed to reproduce discount bond maturing at " + grid.get(i) + "\n"
+                        + "    calculated: " + calculated + "\n"
+                        + "    expected:   " + expected);
+
+            // rolling back in stages must give the same result
+            final Bond staged = new Bond();
+            staged.initialize(lattice, grid.get(i));
+            staged.partialRollback(grid.get(i / 2));
+            staged.rollback(0.0);
+            if (Math.abs(staged.presentValue() - expected) > tolerance)
+                fail("failed to reproduce discount bond maturing at " + grid.get(i) + " in stages\n"
+                        + "    calculated: " + staged.presentValue() + "\n"
+                        + "    expected:   " + expected);
+        }
+    }
+
+    @Test
+    public void testParallelRollback() {
+        QL.info("Testing parallel lattice rollback against sequential rollback...");
+        final TrinomialTree tree2 = new TrinomialTree(new OrnsteinUhlenbeckProcess(0.5, 0.02), grid);
+        final CoxRossRubinstein binomial = new CoxRossRubinstein(new OrnsteinUhlenbeckProcess(0.5, 0.2, 1.0), 5.0, 250, 1.0);
+        final TreeLattice[] lattices = new TreeLattice[] {
+                new ShortRateLattice(tree, grid),
+                new TwoFactorLattice(tree, tree2, -0.3),
+                new BlackScholesLattice<CoxRossRubinstein>(binomial, 0.05, 5.0, 250) };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (final TreeLattice lattice : lattices) {
+                final Array expected = rollback(lattice, grid.get(200));
+
+                lattice.setExecutor(executor);
+                lattice.setParallelThreshold(1);
+                final Array calculated = rollback(lattice, grid.get(200));
+
+                for (int j = 0; j < expected.size(); j++) {
+                    if (calculated.get(j) != expected.get(j))
+                        fail(lattice.getClass().getSimpleName() + ": parallel rollback differs at node " + j + "\n"
+                                + "    calculated: " + calculated.get(j) + "\n"
+                                + "    expected:   " + expected.get(j));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Array rollback(final TreeLattice lattice, final double time) {
+        final Bond bond = new Bond();
+        bond.initialize(lattice, time);
+        bond.rollback(lattice.timeGrid().get(1));
+        return bond.values();
+    }
+
+
+    /**
+     * Lattice on a short rate which deviates from 5% as an Ornstein-Uhlenbeck process
+     */
+    private static class ShortRateLattice extends TreeLattice1D {
+
+        private final TrinomialTree tree;
+
+        public ShortRateLattice(final TrinomialTree tree, final TimeGrid grid) {
+            super(grid, 3);
+            this.tree = tree;
+        }
+
+        @Override
+        public int size(final int i) {
+            return tree.size(i);
+        }
+
+        @Override
+        public double discount(final int i, final int index) {
+            return Math.exp(-(0.05 + tree.underlying(i, index)) * timeGrid().dt(i));
+        }
+
+        @Override
+        public double underlying(final int i, final int index) {
+            return tree.underlying(i, index);
+        }
+
+        @Override
+        public int descendant(final int i, final int index, final int branch) {
+            return tree.descendant(i, index, branch);
+        }
+
+        @Override
+        public double probability(final int i, final int index, final int branch) {
+            return tree.probability(i, index, branch);
+        }
+    }
+
+    /**
+     * Lattice on a short rate given by the sum of two correlated factors
+     */
+    private static class TwoFactorLattice extends TreeLattice2D<TrinomialTree> {
+
+        public TwoFactorLattice(final TrinomialTree tree1, final TrinomialTree tree2, final double correlation) {
+            super(tree1, tree2, correlation);
+        }
+
+        @Override
+        public double discount(final int i, final int index) {
+            final int modulo = tree1.size(i);
+            final double r = 0.05 + tree1.underlying(i, index % modulo) + tree2.underlying(i, index / modulo);
+            return Math.exp(-r * timeGrid().dt(i));
+        }
+    }
+
+    /**
+     * Pays one unit at the time it is initialized at
+     */
+    private static class Bond extends DiscretizedAsset {
+
+        @Override
+        public void reset(final int size) {
+            values_ = new Array(size).fill(1.0);
+        }
+
+        @Override
+        public List<Double> mandatoryTimes() {
+            return new ArrayList<Double>();
+        }
+    }
+
+}
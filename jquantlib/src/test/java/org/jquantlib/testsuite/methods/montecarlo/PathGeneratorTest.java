@@ -0,0 +1,205 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+package org.jquantlib.testsuite.methods.montecarlo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.jquantlib.QL;
+import org.jquantlib.daycounters.Actual360;
+import org.jquantlib.daycounters.DayCounter;
+import org.jquantlib.math.distributions.InverseCumulativeNormal;
+import org.jquantlib.math.randomnumbers.InverseCumulativeRsg;
+import org.jquantlib.math.randomnumbers.MersenneTwisterUniformRng;
+import org.jquantlib.math.randomnumbers.PseudoRandom;
+import org.jquantlib.math.randomnumbers.RandomSequenceGenerator;
+import org.jquantlib.methods.montecarlo.Path;
+import org.jquantlib.methods.montecarlo.PathBlock;
+import org.jquantlib.methods.montecarlo.PathGenerator;
+import org.jquantlib.methods.montecarlo.Sample;
+import org.jquantlib.processes.BlackScholesMertonProcess;
+import org.jquantlib.processes.HullWhiteProcess;
+import org.jquantlib.processes.OrnsteinUhlenbeckProcess;
+import org.jquantlib.processes.StochasticProcess1D;
+import org.jquantlib.quotes.Handle;
+import org.jquantlib.quotes.Quote;
+import org.jquantlib.quotes.SimpleQuote;
+import org.jquantlib.termstructures.BlackVolTermStructure;
+import org.jquantlib.termstructures.YieldTermStructure;
+import org.jquantlib.testsuite.util.Utilities;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.TimeGrid;
+import org.junit.Test;
+
+public class PathGeneratorTest {
+
+    public PathGeneratorTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+    }
+
+    @Test
+    public void testInPlaceGeneration() {
+        QL.info("Testing in-place path generation against allocating path generation...");
+        checkInPlaceGeneration(false);
+    }
+
+    @Test
+    public void testInPlaceGenerationWithBrownianBridge() {
+        QL.info("Testing in-place path generation with Brownian bridge against allocating path generation...");
+        checkInPlaceGeneration(true);
+    }
+
+    @Test
+    public void testBlockGeneration() {
+        QL.info("Testing generation of blocks of paths against generation of single paths...");
+        checkBlockGeneration(false);
+        checkBlockGeneration(true);
+    }
+
+    @Test
+    public void testBatchedEvolution() {
+        QL.info("Testing batched evolution of processes against scalar evolution...");
+
+        final DayCounter dc = new Actual360();
+        final Date today = Date.todaysDate();
+        final Handle<YieldTermStructure> rTS = new Handle<YieldTermStructure>(Utilities.flatRate(today, 0.04, dc));
+        final StochasticProcess1D[] processes = new StochasticProcess1D[] {
+            makeProcess(),
+            new OrnsteinUhlenbeckProcess(0.1, 0.02, 0.03, 0.05),
+            new HullWhiteProcess(rTS, 0.1, 0.01)
+        };
+
+        final double[] x = new double[] { 0.01, 0.02, 0.03, 0.04, 0.05 };
+        final double[] dw = new double[] { -1.5, -0.3, 0.0, 0.7, 2.1 };
+        for (final StochasticProcess1D process : processes) {
+            final double[] batch = x.clone();
+            process.evolve(0.5, 0.25, batch, dw);
+            for (int j = 0; j < x.length; j++) {
+                assertEquals(process.evolve(0.5, x[j], 0.25, dw[j]), batch[j], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testPathOfWrongLength() {
+        QL.info("Testing that in-place path generation rejects paths built on another time grid...");
+
+        final PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>> generator =
+            makeGenerator(10, false);
+        try {
+            generator.next(new Path(new TimeGrid(1.0, 5)));
+        } catch (final Exception e) {
+            return;
+        }
+        fail("path of wrong length should have been rejected");
+    }
+
+
+    //
+    // private methods
+    //
+
+    private void checkInPlaceGeneration(final boolean brownianBridge) {
+        final int steps = 16;
+        final PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>> allocating =
+            makeGenerator(steps, brownianBridge);
+        final PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>> inPlace =
+            makeGenerator(steps, brownianBridge);
+
+        final Path path = new Path(inPlace.timeGrid());
+        final double[] values = path.getValues_();
+        for (int i = 0; i < 100; i++) {
+            final Sample<Path> expected = allocating.next();
+            final double weight = inPlace.next(path);
+            assertEquals(expected.weight(), weight, 0.0);
+            assertSame(values, path.getValues_());
+            for (int j = 0; j < path.length(); j++) {
+                assertEquals(expected.value().getValues_(j), path.getValues_(j), 0.0);
+            }
+
+            final Sample<Path> expectedAntithetic = allocating.antithetic();
+            inPlace.antithetic(path);
+            for (int j = 0; j < path.length(); j++) {
+                assertEquals(expectedAntithetic.value().getValues_(j), path.getValues_(j), 0.0);
+            }
+        }
+    }
+
+    private void checkBlockGeneration(final boolean brownianBridge) {
+        final int steps = 12;
+        final int size = 7;
+        final PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>> single =
+            makeGenerator(steps, brownianBridge);
+        final PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>> batched =
+            makeGenerator(steps, brownianBridge);
+
+        final Path path = new Path(single.timeGrid());
+        final PathBlock block = new PathBlock(batched.timeGrid(), size);
+        final double[] values = block.values();
+        for (int k = 0; k < 5; k++) {
+            batched.next(block);
+            final double[] expected = new double[block.length() * size];
+            final double[] expectedAntithetic = new double[block.length() * size];
+            for (int p = 0; p < size; p++) {
+                final double weight = single.next(path);
+                assertEquals(weight, block.weight(p), 0.0);
+                for (int i = 0; i < path.length(); i++) {
+                    expected[block.offset(i) + p] = path.getValues_(i);
+                }
+                single.antithetic(path);
+                for (int i = 0; i < path.length(); i++) {
+                    expectedAntithetic[block.offset(i) + p] = path.getValues_(i);
+                }
+            }
+            for (int j = 0; j < values.length; j++) {
+                assertEquals(expected[j], values[j], 0.0);
+            }
+            batched.antithetic(block);
+            for (int j = 0; j < values.length; j++) {
+                assertEquals(expectedAntithetic[j], values[j], 0.0);
+            }
+        }
+    }
+
+    private StochasticProcess1D makeProcess() {
+        final DayCounter dc = new Actual360();
+        final Date today = Date.todaysDate();
+        final Handle<Quote> spot = new Handle<Quote>(new SimpleQuote(100.0));
+        final Handle<YieldTermStructure> qTS = new Handle<YieldTermStructure>(Utilities.flatRate(today, 0.02, dc));
+        final Handle<YieldTermStructure> rTS = new Handle<YieldTermStructure>(Utilities.flatRate(today, 0.05, dc));
+        final Handle<BlackVolTermStructure> volTS = new Handle<BlackVolTermStructure>(Utilities.flatVol(today, 0.20, dc));
+        return new BlackScholesMertonProcess(spot, qTS, rTS, volTS);
+    }
+
+    private PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>>
+        makeGenerator(final int steps, final boolean brownianBridge) {
+
+        final StochasticProcess1D process = makeProcess();
+        final InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal> rsg =
+            new PseudoRandom().makeSequenceGenerator(steps, 42L);
+        return new PathGenerator<InverseCumulativeRsg<RandomSequenceGenerator<MersenneTwisterUniformRng>, InverseCumulativeNormal>>(
+                process, 1.0, steps, rsg, brownianBridge);
+    }
+
+}
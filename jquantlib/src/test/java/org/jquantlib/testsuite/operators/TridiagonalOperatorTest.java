@@ -32,6 +32,7 @@ import static org.junit.Assert.fail;
 
 import org.jquantlib.QL;
 import org.jquantlib.math.matrixutilities.Array;
+import org.jquantlib.math.matrixutilities.Matrix;
 import org.jquantlib.methods.finitedifferences.TridiagonalOperator;
 import org.junit.Test;
 
@@ -79,4 +80,149 @@ public class TridiagonalOperatorTest {
             }
         }
 	}
+
+    @Test
+    public void testInPlaceOperations() {
+        QL.info("Testing in-place application and solution of tridiagonal operators...");
+
+        final int n = 7;
+        final Array low = new Array(n-1);
+        final Array mid = new Array(n);
+        final Array high = new Array(n-1);
+        final Array v = new Array(n);
+        for (int i=0; i<n; i++) {
+            mid.set(i, 4.0 + 0.5*i);
+            v.set(i, 1.0 + 0.25*i*i);
+            if (i < n-1) {
+                low.set(i, -1.0 - 0.1*i);
+                high.set(i, 1.5 - 0.2*i);
+            }
+        }
+        final TridiagonalOperator t = new TridiagonalOperator(low, mid, high);
+
+        final Array applied = new Array(n);
+        t.applyTo(v, applied);
+        check("applyTo", t.applyTo(v), applied);
+
+        final Array solved = new Array(n);
+        t.solveFor(v, solved);
+        check("solveFor", t.solveFor(v), solved);
+
+        // the solution may overwrite the right-hand side
+        final Array inPlace = v.clone();
+        t.solveFor(inPlace, inPlace);
+        check("solveFor in place", t.solveFor(v), inPlace);
+
+        final double a = -0.35;
+        final TridiagonalOperator combined = new TridiagonalOperator(n);
+        combined.assignIdentityPlus(a, t);
+        final TridiagonalOperator expected = (TridiagonalOperator) t.identity(n).add(t.multiply(a));
+        check("assignIdentityPlus", expected.applyTo(v), combined.applyTo(v));
+    }
+
+    @Test
+    public void testMultipleRightHandSides() {
+        QL.info("Testing tridiagonal operators on several right-hand sides at once...");
+
+        final int n = 9;
+        final int k = 4;
+        final TridiagonalOperator t = new TridiagonalOperator(n);
+        t.setFirstRow(3.0, -1.0);
+        t.setMidRows(-0.75, 2.5, -1.25);
+        t.setLastRow(-1.0, 3.0);
+
+        final Matrix rhs = new Matrix(n, k);
+        final Array[] columns = new Array[k];
+        for (int c=0; c<k; c++) {
+            columns[c] = new Array(n);
+            for (int i=0; i<n; i++) {
+                final double value = Math.sin(1.0 + i + 0.3*c);
+                rhs.set(i, c, value);
+                columns[c].set(i, value);
+            }
+        }
+
+        final Matrix applied = new Matrix(n, k);
+        t.applyTo(rhs, applied);
+        final Matrix solved = new Matrix(n, k);
+        t.solveFor(rhs, solved);
+        for (int c=0; c<k; c++) {
+            check("applyTo column " + c, t.applyTo(columns[c]), applied.rangeCol(c));
+            check("solveFor column " + c, t.solveFor(columns[c]), solved.rangeCol(c));
+        }
+
+        // the solution may overwrite the right-hand sides
+        t.solveFor(rhs, rhs);
+        for (int c=0; c<k; c++) {
+            check("solveFor in place column " + c, t.solveFor(columns[c]), rhs.rangeCol(c));
+        }
+
+        // matrices which are views on a larger storage take the general path
+        final Matrix wide = new Matrix(n, k+2);
+        for (int c=0; c<k; c++) {
+            wide.fillCol(c+1, columns[c]);
+        }
+        final Matrix view = wide.range(0, n, 1, k+1);
+        final Matrix viewSolved = new Matrix(n, k);
+        t.solveFor(view, viewSolved);
+        for (int c=0; c<k; c++) {
+            check("solveFor on a view, column " + c, t.solveFor(columns[c]), viewSolved.rangeCol(c));
+        }
+    }
+
+    @Test
+    public void testSharedOperator() throws InterruptedException {
+        QL.info("Testing tridiagonal operators shared by several threads...");
+
+        final int n = 101;
+        final TridiagonalOperator t = new TridiagonalOperator(n);
+        t.setFirstRow(3.0, -1.0);
+        t.setMidRows(-1.0, 3.0, -1.0);
+        t.setLastRow(-1.0, 3.0);
+
+        final int threads = 4;
+        final Array[] rhs = new Array[threads];
+        final Array[] expected = new Array[threads];
+        final Array[] solved = new Array[threads];
+        final Thread[] workers = new Thread[threads];
+        for (int w=0; w<threads; w++) {
+            rhs[w] = new Array(n);
+            for (int i=0; i<n; i++) {
+                rhs[w].set(i, (w+1) * Math.sin(0.1*i));
+            }
+            expected[w] = t.solveFor(rhs[w]);
+            solved[w] = new Array(n);
+            final int id = w;
+            workers[w] = new Thread() {
+                @Override
+                public void run() {
+                    // each thread solves with its own scratch buffer
+                    final double[] work = new double[n];
+                    for (int r=0; r<2000; r++) {
+                        t.solveFor(rhs[id], solved[id], work);
+                    }
+                }
+            };
+        }
+        for (final Thread worker : workers) {
+            worker.start();
+        }
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        for (int w=0; w<threads; w++) {
+            check("solveFor on thread " + w, expected[w], solved[w]);
+        }
+    }
+
+    private void check(final String what, final Array expected, final Array calculated) {
+        for (int i=0; i<expected.size(); i++) {
+            final double error = Math.abs(calculated.get(i) - expected.get(i));
+            if (error > 1e-15) {
+                fail(what + " failed at " + i + ":\n"
+                        + "    expected:   " + expected.get(i) + "\n"
+                        + "    calculated: " + calculated.get(i));
+            }
+        }
+    }
 }
@@ -23,9 +23,17 @@
 package org.jquantlib.testsuite.termstructures.yieldcurves;
 
 
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.jquantlib.QL;
 import org.jquantlib.Settings;
 import org.jquantlib.daycounters.Actual360;
+import org.jquantlib.daycounters.Actual365Fixed;
 import org.jquantlib.daycounters.ActualActual;
 import org.jquantlib.daycounters.ActualActual.Convention;
 import org.jquantlib.daycounters.DayCounter;
@@ -57,6 +65,7 @@ import org.jquantlib.quotes.Quote;
 import org.jquantlib.quotes.RelinkableHandle;
 import org.jquantlib.quotes.SimpleQuote;
 import org.jquantlib.termstructures.Bootstrap;
+import org.jquantlib.termstructures.Compounding;
 import org.jquantlib.termstructures.IterativeBootstrap;
 import org.jquantlib.termstructures.RateHelper;
 import org.jquantlib.termstructures.YieldTermStructure;
@@ -68,8 +77,10 @@ import org.jquantlib.termstructures.yieldcurves.FlatForward;
 import org.jquantlib.termstructures.yieldcurves.ForwardRate;
 import org.jquantlib.termstructures.yieldcurves.FraRateHelper;
 import org.jquantlib.termstructures.yieldcurves.PiecewiseYieldCurve;
+import org.jquantlib.termstructures.yieldcurves.PiecewiseYieldCurveFactory;
 import org.jquantlib.termstructures.yieldcurves.SwapRateHelper;
 import org.jquantlib.termstructures.yieldcurves.Traits;
+import org.jquantlib.termstructures.yieldcurves.YieldCurveSnapshot;
 import org.jquantlib.termstructures.yieldcurves.ZeroYield;
 import org.jquantlib.testsuite.util.Flag;
 import org.jquantlib.time.BusinessDayConvention;
@@ -1005,4 +1016,316 @@ public class PiecewiseYieldCurveTest {
 	    }
 	}	
 
+
+	@Test
+	public void testIncrementalBootstrap() {
+	    System.setProperty("EXPERIMENTAL", "true");
+
+	    QL.info("Testing incremental bootstrap of piecewise yield curve...");
+
+	    final Date today = new Date(15, Month.March, 2010);
+	    new Settings().setEvaluationDate(today);
+
+	    final int n = 40;
+	    final SimpleQuote[] rates1 = new SimpleQuote[n];
+	    final SimpleQuote[] rates2 = new SimpleQuote[n];
+	    final RateHelper[] helpers1 = new RateHelper[n];
+	    final RateHelper[] helpers2 = new RateHelper[n];
+	    for (int i=0; i<n; i++) {
+	        final Date maturity = today.add(new Period(6*(i+1), TimeUnit.Months));
+	        rates1[i] = new SimpleQuote(0.02 + 0.03*(1.0-Math.exp(-0.1*i)));
+	        rates2[i] = new SimpleQuote(rates1[i].value());
+	        helpers1[i] = new ZeroRateHelper(new Handle<Quote>(rates1[i]), maturity);
+	        helpers2[i] = new ZeroRateHelper(new Handle<Quote>(rates2[i]), maturity);
+	    }
+
+	    final IterativeBootstrap<?> full = new IterativeBootstrap(PiecewiseYieldCurve.class);
+	    final IterativeBootstrap<?> incremental = new IterativeBootstrap(PiecewiseYieldCurve.class);
+	    incremental.setIncremental(true);
+
+	    final YieldTermStructure curve1 = new PiecewiseYieldCurve(
+	    		Discount.class, LogLinear.class, IterativeBootstrap.class,
+	    		today, helpers1, new Actual365Fixed(),
+	    		new Handle/*<Quote>*/[0], new Date[0], 1.0e-12, new LogLinear(), full);
+	    final YieldTermStructure curve2 = new PiecewiseYieldCurve(
+	    		Discount.class, LogLinear.class, IterativeBootstrap.class,
+	    		today, helpers2, new Actual365Fixed(),
+	    		new Handle/*<Quote>*/[0], new Date[0], 1.0e-12, new LogLinear(), incremental);
+
+	    // initial bootstrap
+	    curve1.discount(today);
+	    curve2.discount(today);
+	    if (incremental.solvedPillars() != n)
+	        fail("initial bootstrap solved " + incremental.solvedPillars() + " pillars instead of " + n);
+
+	    for (int k=0; k<5; k++) {
+	        final int bumped = n-10-3*k;
+	        rates1[bumped].setValue(rates1[bumped].value()+0.0001);
+	        rates2[bumped].setValue(rates2[bumped].value()+0.0001);
+
+	        for (int i=0; i<n; i++) {
+	            final Date maturity = helpers1[i].latestDate();
+	            /*@DiscountFactor*/ final double expected = curve1.discount(maturity);
+	            /*@DiscountFactor*/ final double calculated = curve2.discount(maturity);
+	            if (Math.abs(expected-calculated) > 1.0e-15)
+	                fail("discount mismatch at " + maturity
+	                        + "\n    full bootstrap:        " + expected
+	                        + "\n    incremental bootstrap: " + calculated);
+	            if (Math.abs(helpers2[i].quoteError()) > 1.0e-9)
+	                fail("instrument maturing at " + maturity + " not repriced");
+	        }
+
+	        if (full.solvedPillars() != n)
+	            fail("full bootstrap solved " + full.solvedPillars() + " pillars instead of " + n);
+	        if (incremental.solvedPillars() != n-bumped)
+	            fail("incremental bootstrap solved " + incremental.solvedPillars() + " pillars instead of " + (n-bumped));
+	        if (incremental.iterations() != 1)
+	            fail("incremental bootstrap performed " + incremental.iterations() + " iterations instead of 1");
+	    }
+	}
+
+
+	@Test
+	public void testConcurrentBootstrap() {
+	    System.setProperty("EXPERIMENTAL", "true");
+
+	    QL.info("Testing concurrent bootstrap of piecewise yield curves...");
+
+	    final Date today = new Date(1, Month.June, 2011);
+	    new Settings().setEvaluationDate(today);
+	    final Date evaluationDate = new Date(15, Month.March, 2010);
+	    final Calendar calendar = new Target();
+
+	    final PiecewiseYieldCurveFactory<Discount, LogLinear> factory = new PiecewiseYieldCurveFactory<Discount, LogLinear>(
+	    		Discount.class, LogLinear.class, 2, calendar, new Actual365Fixed());
+
+	    final int n = 20;
+	    final int curves = 24;
+	    final List<PiecewiseYieldCurveFactory.Instruments> scenarios = new ArrayList<PiecewiseYieldCurveFactory.Instruments>();
+	    for (int k=0; k<curves; k++) {
+	        final double shift = 0.0005*k;
+	        scenarios.add(new PiecewiseYieldCurveFactory.Instruments() {
+	            @Override
+	            public RateHelper[] instruments() {
+	                final Date today = new Settings().evaluationDate();
+	                final RateHelper[] helpers = new RateHelper[n];
+	                for (int i=0; i<n; i++) {
+	                    final Date maturity = today.add(new Period(6*(i+1), TimeUnit.Months));
+	                    final Quote rate = new SimpleQuote(0.02 + shift + 0.03*(1.0-Math.exp(-0.1*i)));
+	                    helpers[i] = new ZeroRateHelper(new Handle<Quote>(rate), maturity);
+	                }
+	                return helpers;
+	            }
+	        });
+	    }
+
+	    final List<YieldCurveSnapshot> results;
+	    final ExecutorService executor = Executors.newFixedThreadPool(4);
+	    try {
+	        results = factory.build(evaluationDate, scenarios, executor);
+	    } finally {
+	        executor.shutdown();
+	    }
+
+	    final Date referenceDate = calendar.advance(evaluationDate, 2, TimeUnit.Days);
+	    for (int k=0; k<curves; k++) {
+	        final YieldTermStructure expected = factory.build(evaluationDate, scenarios.get(k));
+	        final YieldTermStructure calculated = results.get(k);
+	        if (!calculated.referenceDate().equals(referenceDate))
+	            fail("wrong reference date " + calculated.referenceDate() + " instead of " + referenceDate);
+	        for (int i=1; i<=n; i++) {
+	            final Date d = evaluationDate.add(new Period(6*i, TimeUnit.Months));
+	            if (expected.discount(d) != calculated.discount(d))
+	                fail("discount mismatch at " + d
+	                        + "\n    sequential bootstrap: " + expected.discount(d)
+	                        + "\n    concurrent bootstrap: " + calculated.discount(d));
+	        }
+	    }
+
+	    if (!new Settings().evaluationDate().equals(today))
+	        fail("evaluation date of the calling thread has changed");
+	}
+
+
+
+	@Test
+	public void testConcurrentDepositSwapBootstrap() {
+	    System.setProperty("EXPERIMENTAL", "true");
+
+	    QL.info("Testing concurrent bootstrap of deposit and swap curves...");
+
+	    final Date today = new Date(1, Month.June, 2011);
+	    new Settings().setEvaluationDate(today);
+	    final Date evaluationDate = new Date(15, Month.March, 2010);
+	    final Calendar calendar = new Target();
+	    final int settlementDays = 2;
+
+	    final PiecewiseYieldCurveFactory<Discount, LogLinear> factory = new PiecewiseYieldCurveFactory<Discount, LogLinear>(
+	    		Discount.class, LogLinear.class, settlementDays, calendar, new Actual360());
+
+	    final int curves = 6;
+	    final List<PiecewiseYieldCurveFactory.Instruments> scenarios = new ArrayList<PiecewiseYieldCurveFactory.Instruments>();
+	    for (int k=0; k<curves; k++) {
+	        final double shift = 0.0010*k;
+	        scenarios.add(new PiecewiseYieldCurveFactory.Instruments() {
+	            @Override
+	            public RateHelper[] instruments() {
+	                return depositSwapHelpers(calendar, shift);
+	            }
+	        });
+	    }
+
+	    final List<YieldCurveSnapshot> results;
+	    final ExecutorService executor = Executors.newFixedThreadPool(3);
+	    try {
+	        results = factory.build(evaluationDate, scenarios, executor);
+	    } finally {
+	        executor.shutdown();
+	    }
+
+	    // each curve is bootstrapped again by a PiecewiseYieldCurve on this thread
+	    new Settings().setEvaluationDate(evaluationDate);
+	    try {
+	        final Date referenceDate = calendar.advance(evaluationDate, settlementDays, TimeUnit.Days);
+	        for (int k=0; k<curves; k++) {
+	            final PiecewiseYieldCurve<Discount, LogLinear, IterativeBootstrap> expected =
+	                new PiecewiseYieldCurve<Discount, LogLinear, IterativeBootstrap>(
+	                        Discount.class, LogLinear.class, IterativeBootstrap.class,
+	                        referenceDate, depositSwapHelpers(calendar, 0.0010*k), new Actual360(),
+	                        new Handle/*<Quote>*/[0], new Date[0], 1.0e-12);
+	            final YieldTermStructure calculated = results.get(k);
+	            if (!calculated.referenceDate().equals(referenceDate))
+	                fail("wrong reference date " + calculated.referenceDate() + " instead of " + referenceDate);
+	            for (final Datum datum : swapData) {
+	                final Date d = calendar.advance(referenceDate, datum.n, datum.units);
+	                if (Math.abs(expected.discount(d) - calculated.discount(d)) > 1.0e-15)
+	                    fail("discount mismatch at " + d
+	                            + "\n    sequential bootstrap: " + expected.discount(d)
+	                            + "\n    concurrent bootstrap: " + calculated.discount(d));
+	            }
+	        }
+	    } finally {
+	        new Settings().setEvaluationDate(today);
+	    }
+	}
+
+	/**
+	 * Deposit and swap helpers on the Euribor 6M curve of the consistency tests, with quotes shifted in parallel
+	 */
+	private RateHelper[] depositSwapHelpers(final Calendar calendar, final double shift) {
+	    final RateHelper[] helpers = new RateHelper[depositData.length+swapData.length];
+	    final IborIndex euribor6m = new Euribor(new Period(6, TimeUnit.Months), new Handle<YieldTermStructure>());
+	    for (int i=0; i<depositData.length; i++) {
+	        final Handle<Quote> r = new Handle<Quote>(new SimpleQuote(depositData[i].rate/100 + shift));
+	        helpers[i] = new DepositRateHelper(r, new Period(depositData[i].n, depositData[i].units),
+	                euribor6m.fixingDays(), calendar,
+	                euribor6m.businessDayConvention(),
+	                euribor6m.endOfMonth(),
+	                euribor6m.dayCounter());
+	    }
+	    for (int i=0; i<swapData.length; i++) {
+	        final Handle<Quote> r = new Handle<Quote>(new SimpleQuote(swapData[i].rate/100 + shift));
+	        helpers[i+depositData.length] = new SwapRateHelper(r, new Period(swapData[i].n, swapData[i].units),
+	                calendar,
+	                Frequency.Annual, BusinessDayConvention.Unadjusted,
+	                new org.jquantlib.daycounters.Thirty360(), euribor6m);
+	    }
+	    return helpers;
+	}
+
+	@Test
+	public void testSnapshot() {
+	    System.setProperty("EXPERIMENTAL", "true");
+
+	    QL.info("Testing snapshots of piecewise yield curves...");
+
+	    checkSnapshot(Discount.class, LogLinear.class);
+	    checkSnapshot(Discount.class, Linear.class);
+	    checkSnapshot(ZeroYield.class, Linear.class);
+	    checkSnapshot(ZeroYield.class, Cubic.class);
+	}
+
+	private void checkSnapshot(final Class<? extends Traits> classT, final Class<? extends Interpolator> classI) {
+	    final Date today = new Date(15, Month.March, 2010);
+	    new Settings().setEvaluationDate(today);
+
+	    final int n = 20;
+	    final SimpleQuote[] rates = new SimpleQuote[n];
+	    final RateHelper[] helpers = new RateHelper[n];
+	    for (int i=0; i<n; i++) {
+	        final Date maturity = today.add(new Period(6*(i+1), TimeUnit.Months));
+	        rates[i] = new SimpleQuote(0.02 + 0.03*(1.0-Math.exp(-0.1*i)));
+	        helpers[i] = new ZeroRateHelper(new Handle<Quote>(rates[i]), maturity);
+	    }
+	    final PiecewiseYieldCurve curve = new PiecewiseYieldCurve(
+	    		classT, classI, IterativeBootstrap.class,
+	    		today, helpers, new Actual365Fixed(),
+	    		new Handle/*<Quote>*/[0], new Date[0], 1.0e-12);
+
+	    final YieldCurveSnapshot snapshot = curve.snapshot();
+	    if (!snapshot.referenceDate().equals(curve.referenceDate()) || !snapshot.maxDate().equals(curve.maxDate()))
+	        fail(classT.getSimpleName() + "/" + classI.getSimpleName() + ": wrong snapshot dates");
+
+	    final int samples = 200;
+	    final double[] expected = new double[samples];
+	    for (int k=0; k<samples; k++) {
+	        /*@Time*/ final double t = curve.maxTime()*k/(samples-1);
+	        expected[k] = curve.discount(t);
+	        if (snapshot.discount(t) != expected[k])
+	            fail(classT.getSimpleName() + "/" + classI.getSimpleName() + ": discount mismatch at t=" + t
+	                    + "\n    curve:    " + expected[k]
+	                    + "\n    snapshot: " + snapshot.discount(t));
+	        if (k > 0) {
+	            /*@Time*/ final double t1 = curve.maxTime()*(k-1)/(samples-1);
+	            /*@Rate*/ final double zero = curve.zeroRate(t, Compounding.Continuous, Frequency.Annual, true).rate();
+	            /*@Rate*/ final double forward = curve.forwardRate(t1, t, Compounding.Continuous, Frequency.Annual, true).rate();
+	            if (Math.abs(snapshot.zeroRate(t)-zero) > 1.0e-15 || Math.abs(snapshot.forwardRate(t1, t)-forward) > 1.0e-12)
+	                fail(classT.getSimpleName() + "/" + classI.getSimpleName() + ": rate mismatch at t=" + t);
+	        }
+	    }
+
+	    // discount factors for many times at once
+	    final double[] times = new double[samples];
+	    for (int k=0; k<samples; k++) {
+	        times[k] = curve.maxTime()*k/(samples-1);
+	    }
+	    final double[] fromCurve = new double[samples];
+	    final double[] fromSnapshot = new double[samples];
+	    curve.discount(times, fromCurve);
+	    snapshot.discount(times, fromSnapshot);
+	    for (int k=0; k<samples; k++) {
+	        if (fromCurve[k] != expected[k] || fromSnapshot[k] != expected[k])
+	            fail(classT.getSimpleName() + "/" + classI.getSimpleName() + ": bulk discount mismatch at t=" + times[k]);
+	    }
+
+	    // snapshots are not affected by quotes
+	    rates[n/2].setValue(rates[n/2].value()+0.001);
+	    if (curve.discount(curve.maxTime()*(samples/2)/(samples-1)) == expected[samples/2])
+	        fail(classT.getSimpleName() + "/" + classI.getSimpleName() + ": curve not updated");
+	    for (int k=0; k<samples; k++) {
+	        /*@Time*/ final double t = curve.maxTime()*k/(samples-1);
+	        if (snapshot.discount(t) != expected[k])
+	            fail(classT.getSimpleName() + "/" + classI.getSimpleName() + ": snapshot changed at t=" + t);
+	    }
+	}
+
+
+	/**
+	 * Helper quoted as the continuously compounded zero rate up to its maturity
+	 */
+	private static class ZeroRateHelper extends RateHelper {
+
+	    public ZeroRateHelper(final Handle<Quote> rate, final Date maturity) {
+	        super(rate);
+	        this.earliestDate = maturity;
+	        this.latestDate = maturity;
+	    }
+
+	    @Override
+	    public double impliedQuote() {
+	        /*@Time*/ final double t = termStructure.timeFromReference(latestDate);
+	        return -Math.log(termStructure.discount(latestDate))/t;
+	    }
+	}
+
 }
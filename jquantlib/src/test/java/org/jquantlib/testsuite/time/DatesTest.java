@@ -344,6 +344,49 @@ public class DatesTest {
         }
     }
 
+    @Test
+    public void testSerialNumberRoundTrip() {
+
+        QL.info("Testing conversion of serial numbers to day, month and year...");
+
+        for (long serial = Date.minDate().serialNumber(); serial <= Date.maxDate().serialNumber(); serial++) {
+            final Date date = new Date(serial);
+            final Date rebuilt = new Date(date.dayOfMonth(), date.month(), date.year());
+            if (rebuilt.serialNumber() != serial) {
+                fail("wrong day, month or year: \n"
+                        + "    serial number: " + serial + "\n"
+                        + "    rebuilt:       " + rebuilt.serialNumber());
+            }
+        }
+    }
+
+    @Test
+    public void testNotificationClone() {
+
+        QL.info("Testing that clones of observed dates do not share observers...");
+
+        final Date me = Date.todaysDate();
+        if (me.countObservers() != 0 || !me.getObservers().isEmpty()) {
+            fail("A new date must not have observers");
+        }
+
+        final Flag f = new Flag();
+        me.addObserver(f);
+        final Date other = me.clone();
+        if (other.countObservers() != 0) {
+            fail("Observers must not be copied by clone");
+        }
+
+        other.subAssign(1);
+        if (f.isUp()) {
+            fail("Observer was notified of a change of a clone");
+        }
+        me.subAssign(1);
+        if (!f.isUp()) {
+            fail("Observer was not notified of date change");
+        }
+    }
+
     @Test
     public void testNotificationHandle() {
 
@@ -37,6 +37,7 @@ import org.jquantlib.time.Month;
 import org.jquantlib.time.Period;
 import org.jquantlib.time.Schedule;
 import org.jquantlib.time.TimeUnit;
+import org.jquantlib.time.calendars.NullCalendar;
 import org.jquantlib.time.calendars.Target;
 import org.junit.Test;
 
@@ -80,6 +81,79 @@ public class ScheduleTest {
 
     }
 
+    @Test
+    public void testSerialNumbers() {
+        QL.info("Testing consistency between serial numbers and dates in schedules...");
+
+        final Calendar calendar = new Target();
+        final Date maturityDate = startDate.add(new Period(30, TimeUnit.Years));
+        final Schedule schedule = new Schedule(
+                startDate, maturityDate, new Period(3, TimeUnit.Months),
+                calendar, BusinessDayConvention.ModifiedFollowing, BusinessDayConvention.Unadjusted,
+                DateGeneration.Rule.Backward, true, null, null);
+
+        final int[] serials = schedule.serialNumbers();
+        final List<Date> dates = schedule.dates();
+        assertTrue(serials.length == schedule.size());
+        assertTrue(dates.size() == schedule.size());
+        for (int i = 0; i < schedule.size(); i++) {
+            assertTrue(schedule.serialNumber(i) == serials[i]);
+            assertTrue(schedule.date(i).serialNumber() == serials[i]);
+            assertTrue(dates.get(i).eq(schedule.date(i)));
+            if (i > 0) {
+                assertTrue(serials[i-1] < serials[i]);
+            }
+        }
+
+        // serial numbers are copied, so that the schedule cannot be modified
+        serials[0] = 0;
+        assertTrue(schedule.serialNumber(0) == startDate.serialNumber());
+
+        // Calendar methods working on serial numbers must agree with those working on dates
+        final Date d = startDate.clone();
+        for (int i = 0; i < 1000; i++) {
+            final long serial = d.serialNumber();
+            assertTrue(calendar.isBusinessDay(serial) == calendar.isBusinessDay(d));
+            assertTrue(calendar.isEndOfMonth(serial) == calendar.isEndOfMonth(d));
+            assertTrue(calendar.endOfMonth(serial) == calendar.endOfMonth(d).serialNumber());
+            for (final BusinessDayConvention c : BusinessDayConvention.values()) {
+                assertTrue(calendar.adjust(serial, c) == calendar.adjust(d, c).serialNumber());
+            }
+            for (final TimeUnit unit : new TimeUnit[] { TimeUnit.Days, TimeUnit.Weeks, TimeUnit.Months, TimeUnit.Years }) {
+                final long advanced = calendar.advance(serial, i % 13 - 6, unit, BusinessDayConvention.ModifiedFollowing, true);
+                assertTrue(advanced == calendar.advance(d, i % 13 - 6, unit, BusinessDayConvention.ModifiedFollowing, true).serialNumber());
+            }
+            d.inc();
+        }
+    }
+
+    @Test
+    public void testLongWeeklySchedule() {
+        QL.info("Testing long weekly schedules...");
+
+        final Calendar calendar = new NullCalendar();
+        final Date effective = new Date(3, Month.January, 1950);
+        for (final DateGeneration.Rule rule : new DateGeneration.Rule[] { DateGeneration.Rule.Forward, DateGeneration.Rule.Backward }) {
+            for (int days = 14386; days <= 14391; days++) {
+                final Date termination = effective.add(days);
+                final Schedule schedule = new Schedule(
+                        effective, termination, new Period(1, TimeUnit.Weeks),
+                        calendar, BusinessDayConvention.Unadjusted, BusinessDayConvention.Unadjusted,
+                        rule, false, null, null);
+
+                // one date a week, plus a stub when the tenor does not divide the whole period
+                final int expected = days/7 + (days % 7 == 0 ? 1 : 2);
+                assertTrue(schedule.size() == expected);
+                assertTrue(schedule.startDate().eq(effective));
+                assertTrue(schedule.endDate().eq(termination));
+                for (int i = 1; i < schedule.size(); i++) {
+                    final long step = schedule.serialNumber(i) - schedule.serialNumber(i-1);
+                    assertTrue(step > 0 && step <= 7);
+                }
+            }
+        }
+    }
+
     private void testDateAfter(final Schedule schedule) {
         Iterator<Date> dates = schedule.getDatesAfter(startDate);
         while (dates.hasNext()) {
@@ -0,0 +1,133 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.jquantlib.QL;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.math.Constants;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.Month;
+import org.jquantlib.time.TimeSeries;
+import org.jquantlib.time.TimeSeriesDouble;
+import org.junit.Test;
+
+/**
+ * Unit tests for TimeSeriesDouble
+ *
+ * @author agent
+ */
+public class TimeSeriesDoubleTest {
+
+    private final Date start;
+
+    public TimeSeriesDoubleTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        this.start = new Date(2, Month.January, 1990);
+    }
+
+    @Test
+    public void testAgainstTimeSeries() {
+        QL.info("Testing TimeSeriesDouble against TimeSeries...");
+
+        final TimeSeries<Double> expected = new TimeSeries<Double>(Double.class);
+        final TimeSeriesDouble series = new TimeSeriesDouble(4);
+
+        // mostly chronological, with some data out of order and some overwritten
+        final Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final Date date = (i % 10 == 9) ? start.add(random.nextInt(i)) : start.add(i);
+            final double value = random.nextDouble();
+            final Double previous = expected.put(date, value);
+            final double actual = series.put(date, value);
+            assertEquals(previous == null ? Constants.NULL_REAL : previous.doubleValue(), actual, 0.0);
+        }
+
+        assertEquals(expected.size(), series.size());
+        assertTrue(expected.firstKey().eq(series.firstDate()));
+        assertTrue(expected.lastKey().eq(series.lastDate()));
+
+        int i = 0;
+        for (final Date date : expected.keySet()) {
+            assertEquals(date.serialNumber(), series.serialNumber(i));
+            assertEquals(expected.get(date), series.value(i), 0.0);
+            assertEquals(expected.get(date), series.get(date), 0.0);
+            i++;
+        }
+
+        assertFalse(series.containsKey(start.sub(1)));
+        assertEquals(Constants.NULL_REAL, series.get(start.sub(1)), 0.0);
+        assertEquals(Constants.NULL_REAL, series.get(start.add(10000)), 0.0);
+
+        final TimeSeriesDouble copy = new TimeSeriesDouble(series.toTimeSeries());
+        assertEquals(series.size(), copy.size());
+        for (i = 0; i < series.size(); i++) {
+            assertEquals(series.serialNumber(i), copy.serialNumber(i));
+            assertEquals(series.value(i), copy.value(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testSubSeries() {
+        QL.info("Testing views of TimeSeriesDouble...");
+
+        final TimeSeriesDouble series = new TimeSeriesDouble();
+        for (int i = 0; i < 100; i += 2) {
+            series.put(start.add(i), i);
+        }
+
+        final TimeSeriesDouble view = series.subSeries(start.add(9), start.add(20));
+        assertEquals(5, view.size());
+        assertTrue(view.firstDate().eq(start.add(10)));
+        assertTrue(view.lastDate().eq(start.add(18)));
+        assertEquals(12.0, view.get(start.add(12)), 0.0);
+        assertEquals(Constants.NULL_REAL, view.get(start.add(20)), 0.0);
+        assertEquals(Constants.NULL_REAL, view.get(start.add(8)), 0.0);
+
+        // views are not affected by later changes to their parent
+        series.put(start.add(12), -1.0);
+        series.put(start.add(11), -1.0);
+        assertEquals(12.0, view.get(start.add(12)), 0.0);
+        assertFalse(view.containsKey(start.add(11)));
+        assertEquals(-1.0, series.get(start.add(12)), 0.0);
+        assertEquals(-1.0, series.get(start.add(11)), 0.0);
+
+        // views are read-only
+        try {
+            view.put(start.add(14), 0.0);
+            fail("view must be read-only");
+        } catch (final LibraryException e) {
+            // expected
+        }
+
+        assertTrue(series.subSeries(start.add(200), start.add(300)).isEmpty());
+    }
+
+}
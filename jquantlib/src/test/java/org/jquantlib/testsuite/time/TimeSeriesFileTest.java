@@ -0,0 +1,221 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+
+package org.jquantlib.testsuite.time;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jquantlib.QL;
+import org.jquantlib.indexes.IndexManager;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.math.Constants;
+import org.jquantlib.time.Date;
+import org.jquantlib.time.Month;
+import org.jquantlib.time.TimeSeriesDouble;
+import org.jquantlib.time.TimeSeriesFile;
+import org.junit.Test;
+
+/**
+ * Unit tests for TimeSeriesFile
+ *
+ * @author agent
+ */
+public class TimeSeriesFileTest {
+
+    private final Date start;
+
+    public TimeSeriesFileTest() {
+        QL.info("::::: " + this.getClass().getSimpleName() + " :::::");
+        this.start = new Date(2, Month.January, 1990);
+    }
+
+    @Test
+    public void testWriteAndMap() throws IOException {
+        QL.info("Testing time series files...");
+
+        final Map<String, TimeSeriesDouble> series = new LinkedHashMap<String, TimeSeriesDouble>();
+        series.put("Euribor6M Actual/360", series(0, 5000, 1.0));
+        series.put("USDLibor3M Actual/360", series(100, 3000, 2.0));
+        series.put("empty", new TimeSeriesDouble());
+
+        final File file = tempFile();
+        TimeSeriesFile.write(file, series);
+
+        final Map<String, TimeSeriesDouble> mapped = TimeSeriesFile.map(file);
+        assertEquals(series.keySet().toString(), mapped.keySet().toString());
+        for (final String name : series.keySet()) {
+            check(series.get(name), mapped.get(name));
+        }
+
+        // mapped series can be modified in memory
+        final TimeSeriesDouble s = mapped.get("Euribor6M Actual/360");
+        s.put(start.add(10), -1.0);
+        s.put(start.add(10000), -2.0);
+        assertEquals(-1.0, s.get(start.add(10)), 0.0);
+        assertEquals(-2.0, s.get(start.add(10000)), 0.0);
+        assertEquals(5001, s.size());
+        check(series.get("Euribor6M Actual/360"), TimeSeriesFile.map(file).get("Euribor6M Actual/360"));
+    }
+
+    @Test
+    public void testAppend() throws IOException {
+        QL.info("Testing appending to time series files...");
+
+        final Map<String, TimeSeriesDouble> series = new LinkedHashMap<String, TimeSeriesDouble>();
+        series.put("A", series(0, 10, 1.0));
+        series.put("B", series(0, 20, 2.0));
+        final File file = tempFile();
+        TimeSeriesFile.write(file, series);
+        final TimeSeriesDouble before = TimeSeriesFile.map(file).get("A");
+
+        // appended in place at first, then the file is rewritten as blocks become full
+        final TimeSeriesDouble expected = series(0, 10, 1.0);
+        for (int i = 10; i < 1000; i++) {
+            TimeSeriesFile.append(file, "A", start.add(i), i);
+            expected.put(start.add(i), i);
+        }
+        TimeSeriesFile.append(file, "C", start, 3.0);
+
+        final Map<String, TimeSeriesDouble> mapped = TimeSeriesFile.map(file);
+        check(expected, mapped.get("A"));
+        check(series.get("B"), mapped.get("B"));
+        assertEquals(3.0, mapped.get("C").get(start), 0.0);
+        assertEquals(10, before.size());
+
+        final File missing = new File(file.getPath() + ".new");
+        missing.deleteOnExit();
+        TimeSeriesFile.append(missing, "D", start, 4.0);
+        assertEquals(4.0, TimeSeriesFile.map(missing).get("D").get(start), 0.0);
+
+        try {
+            TimeSeriesFile.append(file, "A", start.add(500), 0.0);
+            fail("data must be appended in chronological order");
+        } catch (final LibraryException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRecovery() throws IOException {
+        QL.info("Testing recovery of interrupted rewrites of time series files...");
+
+        // the original was deleted but the file written aside was not renamed yet
+        final File file = tempFile();
+        final File aside = new File(file.getPath() + ".tmp");
+        aside.deleteOnExit();
+        final Map<String, TimeSeriesDouble> series = new LinkedHashMap<String, TimeSeriesDouble>();
+        series.put("A", series(0, 10, 1.0));
+        TimeSeriesFile.write(aside, series);
+        assertTrue(file.delete());
+
+        check(series.get("A"), TimeSeriesFile.map(file).get("A"));
+        assertTrue(file.exists());
+        assertTrue(!aside.exists());
+
+        TimeSeriesFile.append(file, "A", start.add(10), 11.0);
+        assertEquals(11.0, TimeSeriesFile.map(file).get("A").get(start.add(10)), 0.0);
+    }
+
+    @Test
+    public void testWriteOverMapped() throws IOException {
+        QL.info("Testing writing of time series files over the file they are mapped from...");
+
+        final Map<String, TimeSeriesDouble> series = new LinkedHashMap<String, TimeSeriesDouble>();
+        series.put("A", series(0, 5000, 1.0));
+        series.put("B", series(0, 10, 2.0));
+        final File file = tempFile();
+        TimeSeriesFile.write(file, series);
+
+        // series mapped from the file are written back over it
+        final Map<String, TimeSeriesDouble> mapped = TimeSeriesFile.map(file);
+        mapped.remove("B");
+        TimeSeriesFile.write(file, mapped);
+        check(series.get("A"), mapped.get("A"));
+        final Map<String, TimeSeriesDouble> written = TimeSeriesFile.map(file);
+        assertEquals("[A]", written.keySet().toString());
+        check(series.get("A"), written.get("A"));
+
+        final IndexManager manager = IndexManager.getInstance();
+        manager.loadHistories(file);
+        try {
+            manager.saveHistories(file);
+            assertEquals(1.0 + 42, manager.getHistory("A").get(start.add(42)), 0.0);
+            check(series.get("A"), TimeSeriesFile.map(file).get("A"));
+        } finally {
+            manager.clearHistory("A");
+        }
+    }
+
+    @Test
+    public void testIndexManager() throws IOException {
+        QL.info("Testing loading of index fixings from time series files...");
+
+        final Map<String, TimeSeriesDouble> series = new LinkedHashMap<String, TimeSeriesDouble>();
+        series.put("TimeSeriesFileTest", series(0, 100, 1.0));
+        final File file = tempFile();
+        TimeSeriesFile.write(file, series);
+
+        final IndexManager manager = IndexManager.getInstance();
+        manager.loadHistories(file);
+        try {
+            assertEquals(1.0 + 42, manager.getHistory("TimeSeriesFileTest").get(start.add(42)), 0.0);
+            assertEquals(Constants.NULL_REAL, manager.getHistory("TimeSeriesFileTest").get(start.add(142)), 0.0);
+        } finally {
+            manager.clearHistory("TimeSeriesFileTest");
+        }
+    }
+
+
+    private TimeSeriesDouble series(final int offset, final int size, final double base) {
+        final TimeSeriesDouble result = new TimeSeriesDouble();
+        for (int i = 0; i < size; i++) {
+            result.put(start.add(offset + i), base + i);
+        }
+        return result;
+    }
+
+    private void check(final TimeSeriesDouble expected, final TimeSeriesDouble actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.serialNumber(i), actual.serialNumber(i));
+            assertEquals(expected.value(i), actual.value(i), 0.0);
+            final Date date = new Date(expected.serialNumber(i));
+            assertEquals(expected.get(date), actual.get(date), 0.0);
+        }
+        assertTrue(actual.isEmpty() || actual.subSeries(start, start.add(10000)).size() == actual.size());
+    }
+
+    private static File tempFile() throws IOException {
+        final File file = File.createTempFile("jquantlib", ".series");
+        file.deleteOnExit();
+        return file;
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ Copyright (C) 2026 agent
+
+ This source code is release under the BSD License.
+
+ This file is part of JQuantLib, a free-software/open-source library
+ for financial quantitative analysts and developers - http://jquantlib.org/
+
+ JQuantLib is free software: you can redistribute it and/or modify it
+ under the terms of the JQuantLib license.  You should have received a
+ copy of the license along with this program; if not, please email
+ <jquant-devel@lists.sourceforge.net>. The license is also available online at
+ <http://www.jquantlib.org/index.php/LICENSE.TXT>.
+
+ This program is distributed in the hope that it will be useful, but WITHOUT
+ ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ FOR A PARTICULAR PURPOSE.  See the license for more details.
+
+ JQuantLib is based on QuantLib. http://quantlib.org/
+ When applicable, the original copyright notice follows this notice.
+ */
+
+package org.jquantlib.testsuite.util;
+
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.jquantlib.QL;
+import org.jquantlib.lang.exceptions.LibraryException;
+import org.jquantlib.quotes.SimpleQuote;
+import org.jquantlib.util.DefaultObservable;
+import org.jquantlib.util.Observable;
+import org.jquantlib.util.ObservableBatch;
+import org.jquantlib.util.Observer;
+import org.junit.Test;
+
+/**
+ * Unit tests for ObservableBatch
+ *
+ * @author agent
+ */
+public class ObservableBatchTest {
+
+    private static final int QUOTES = 100;
+
+    private final SimpleQuote[] quotes;
+    private final Relay curve;
+    private final Relay instrument;
+
+    public ObservableBatchTest() {
+        QL.info("Testing batched notifications...");
+        this.quotes = new SimpleQuote[QUOTES];
+        this.curve = new Relay();
+        this.instrument = new Relay();
+        for (int i = 0; i < QUOTES; i++) {
+            quotes[i] = new SimpleQuote(0.01*i);
+            quotes[i].addObserver(curve);
+        }
+        curve.addObserver(instrument);
+    }
+
+    @Test
+    public void testImmediateNotifications() {
+        bump();
+        check(QUOTES, QUOTES);
+    }
+
+    @Test
+    public void testBatchedNotifications() {
+        ObservableBatch.begin();
+        try {
+            bump();
+            check(0, 0);
+        } finally {
+            ObservableBatch.end();
+        }
+        check(1, 1);
+        if (ObservableBatch.isActive())
+            fail("batch must not be active after it ends");
+
+        // notifications are delivered immediately again
+        bump();
+        check(QUOTES+1, QUOTES+1);
+    }
+
+    @Test
+    public void testNestedBatches() {
+        ObservableBatch.begin();
+        try {
+            bump();
+            ObservableBatch.begin();
+            try {
+                bump();
+            } finally {
+                ObservableBatch.end();
+            }
+            check(0, 0);
+            bump();
+        } finally {
+            ObservableBatch.end();
+        }
+        check(1, 1);
+    }
+
+    @Test
+    public void testChainedNotifications() {
+        // quotes feed a curve through one helper each, as rate helpers do
+        final Relay[] helpers = new Relay[QUOTES];
+        final Relay chainedCurve = new Relay();
+        final Relay chainedInstrument = new Relay();
+        for (int i = 0; i < QUOTES; i++) {
+            helpers[i] = new Relay();
+            quotes[i].addObserver(helpers[i]);
+            helpers[i].addObserver(chainedCurve);
+        }
+        chainedCurve.addObserver(chainedInstrument);
+
+        ObservableBatch.begin();
+        try {
+            bump();
+        } finally {
+            ObservableBatch.end();
+        }
+        for (final Relay helper : helpers) {
+            if (helper.updates != 1)
+                fail("wrong number of helper updates\n"
+                        + "    calculated: " + helper.updates + "\n"
+                        + "    expected:   1");
+        }
+        if (chainedCurve.updates != 1 || chainedInstrument.updates != 1)
+            fail("chained observers must be notified once per batch\n"
+                    + "    curve updates:      " + chainedCurve.updates + "\n"
+                    + "    instrument updates: " + chainedInstrument.updates);
+        if (ObservableBatch.isActive())
+            fail("batch must not be active after it ends");
+    }
+
+    @Test(expected=LibraryException.class)
+    public void testEndWithoutBegin() {
+        ObservableBatch.end();
+    }
+
+
+    private void bump() {
+        for (final SimpleQuote quote : quotes) {
+            quote.setValue(quote.value() + 0.0001);
+        }
+    }
+
+    private void check(final int expectedCurveUpdates, final int expectedInstrumentUpdates) {
+        if (curve.updates != expectedCurveUpdates)
+            fail("wrong number of curve updates\n"
+                    + "    calculated: " + curve.updates + "\n"
+                    + "    expected:   " + expectedCurveUpdates);
+        if (instrument.updates != expectedInstrumentUpdates)
+            fail("wrong number of instrument updates\n"
+                    + "    calculated: " + instrument.updates + "\n"
+                    + "    expected:   " + expectedInstrumentUpdates);
+    }
+
+
+    /**
+     * Counts notifications and forwards every one of them to its own observers
+     */
+    private static class Relay implements Observer, Observable {
+
+        private int updates;
+        private final Observable delegatedObservable = new DefaultObservable(this);
+
+        @Override
+        public void update() {
+            updates++;
+            notifyObservers();
+        }
+
+        @Override
+        public void addObserver(final Observer observer) {
+            delegatedObservable.addObserver(observer);
+        }
+
+        @Override
+        public int countObservers() {
+            return delegatedObservable.countObservers();
+        }
+
+        @Override
+        public void deleteObserver(final Observer observer) {
+            delegatedObservable.deleteObserver(observer);
+        }
+
+        @Override
+        public void notifyObservers() {
+            delegatedObservable.notifyObservers();
+        }
+
+        @Override
+        public void notifyObservers(final Object arg) {
+            delegatedObservable.notifyObservers(arg);
+        }
+
+        @Override
+        public void deleteObservers() {
+            delegatedObservable.deleteObservers();
+        }
+
+        @Override
+        public List<Observer> getObservers() {
+            return delegatedObservable.getObservers();
+        }
+    }
+
+}